@@ -0,0 +1,69 @@
+package sqlancer;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caches the results of the unpartitioned baseline queries of the TLP oracles on a database. For a fixed FROM clause
+ * and fetch columns, the baseline query is the same for every predicate, and its result does not change until the next
+ * statement is executed by the {@link Main.QueryManager}, which invalidates the whole cache. The cache holds at most
+ * <code>--baseline-result-cache-size</code> results and evicts the least recently used one.
+ */
+public class BaselineResultCache {
+
+    private static final LongAdder NR_LOOKUPS = new LongAdder();
+    private static final LongAdder NR_HITS = new LongAdder();
+
+    private final Map<String, List<String>> results;
+    private long dataVersion = -1;
+
+    public BaselineResultCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException(String.valueOf(maxSize));
+        }
+        this.results = new LinkedHashMap<String, List<String>>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<String>> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached result of the query, or <code>null</code> if it is not cached or a statement was executed
+     * since it was cached.
+     */
+    public List<String> get(String query, long currentDataVersion) {
+        NR_LOOKUPS.increment();
+        if (currentDataVersion != dataVersion) {
+            results.clear();
+            dataVersion = currentDataVersion;
+            return null;
+        }
+        List<String> result = results.get(query);
+        if (result != null) {
+            NR_HITS.increment();
+        }
+        return result;
+    }
+
+    public void put(String query, long currentDataVersion, List<String> result) {
+        if (currentDataVersion == dataVersion) {
+            results.put(query, result);
+        }
+    }
+
+    public static long getNrLookups() {
+        return NR_LOOKUPS.sum();
+    }
+
+    public static long getNrHits() {
+        return NR_HITS.sum();
+    }
+
+}
@@ -0,0 +1,108 @@
+package sqlancer;
+
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fingerprints bug reports, so that a campaign that continues after a bug (see <code>--continue-on-bug</code>) reports
+ * each distinct bug only once. The signature of a bug consists of the test oracle that detected it, the type of the
+ * exception, the DBMS error message if the bug is an unexpected error and the first line of the assertion message
+ * otherwise, and, if the query was reduced, the skeleton of the query. Constants and the numbers in table and column
+ * names are removed from all parts.
+ */
+public final class BugSignatures {
+
+    private static final int MAX_MESSAGE_LENGTH = 200;
+    private static final Map<String, LongAdder> SIGNATURES = new ConcurrentHashMap<>();
+    private static final LongAdder NR_REPORTS = new LongAdder();
+    // the simple name of each class on the stack of a bug if it is a test oracle, and an empty string otherwise
+    private static final Map<String, String> ORACLE_NAMES = new ConcurrentHashMap<>();
+
+    private BugSignatures() {
+    }
+
+    public static String compute(Throwable bug, StateToReproduce state, MainOptions options) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(getOracleName(bug));
+        sb.append('|');
+        sb.append(bug.getClass().getName());
+        sb.append('|');
+        String dbmsError = getDBMSError(bug);
+        if (dbmsError != null) {
+            sb.append(normalize(dbmsError));
+        } else if (bug.getMessage() != null) {
+            sb.append(normalize(bug.getMessage().split("\n", 2)[0]));
+        }
+        if (options.reduceOracleQueries() && state.getQueryString() != null) {
+            // only a reduced query is small enough for its structure to characterize the bug
+            sb.append('|');
+            sb.append(normalize(state.getQueryString()));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Records a report of the bug with the given signature.
+     *
+     * @return whether no bug with the same signature has been reported before
+     */
+    public static boolean register(String signature) {
+        NR_REPORTS.increment();
+        boolean[] isNew = new boolean[1];
+        SIGNATURES.computeIfAbsent(signature, s -> {
+            isNew[0] = true;
+            return new LongAdder();
+        }).increment();
+        return isNew[0];
+    }
+
+    public static int getNrUniqueBugs() {
+        return SIGNATURES.size();
+    }
+
+    public static long getNrReports() {
+        return NR_REPORTS.sum();
+    }
+
+    /**
+     * Returns the innermost test oracle on the stack of the exception, since composite oracles delegate to others.
+     */
+    private static String getOracleName(Throwable bug) {
+        for (StackTraceElement element : bug.getStackTrace()) {
+            String oracleName = ORACLE_NAMES.computeIfAbsent(element.getClassName(), BugSignatures::loadOracleName);
+            if (!oracleName.isEmpty()) {
+                return oracleName;
+            }
+        }
+        return "";
+    }
+
+    private static String loadOracleName(String className) {
+        try {
+            Class<?> clazz = Class.forName(className, false, BugSignatures.class.getClassLoader());
+            if (TestOracle.class.isAssignableFrom(clazz) && clazz != CompositeTestOracle.class) {
+                return clazz.getSimpleName();
+            }
+        } catch (ClassNotFoundException e) {
+            // a class of the JDK or the JDBC driver that is not visible to our class loader
+        }
+        return "";
+    }
+
+    private static String getDBMSError(Throwable bug) {
+        for (Throwable t = bug; t != null; t = t.getCause()) {
+            if (t instanceof SQLException) {
+                return t.getMessage();
+            }
+        }
+        return null;
+    }
+
+    private static String normalize(String message) {
+        String normalized = message.replaceAll("'[^']*'|\"[^\"]*\"", "?").replaceAll("\\d+(\\.\\d+)?", "N");
+        return normalized.length() > MAX_MESSAGE_LENGTH ? normalized.substring(0, MAX_MESSAGE_LENGTH) : normalized;
+    }
+
+}
@@ -0,0 +1,86 @@
+package sqlancer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Samples the values of the columns of a database, so that the expression generators can compare columns with values
+ * that occur in them, which makes the generated predicates more selective than predicates on random constants (see
+ * <code>--sampled-constant-probability</code>). For each column, a uniform sample of its values is kept using reservoir
+ * sampling, together with its minimum and maximum value as determined by the DBMS. The samples are taken by the thread
+ * of the database and only read afterwards; they must be taken again when the data was modified.
+ *
+ * @param <V>
+ *            the constants of the DBMS
+ */
+public final class ColumnValueSampler<V> {
+
+    private static final int SAMPLE_SIZE = 16;
+
+    private final Map<String, ColumnSample<V>> samples = new HashMap<>();
+    private long dataVersion = -1;
+
+    private static final class ColumnSample<V> {
+
+        private final List<V> reservoir = new ArrayList<>(SAMPLE_SIZE);
+        private long nrValues;
+        private V min;
+        private V max;
+
+    }
+
+    /**
+     * Returns whether the data was modified since the samples were taken.
+     *
+     * @param currentDataVersion
+     *            the data version of the database (see {@link sqlancer.Main.QueryManager#getDataVersion()})
+     */
+    public boolean isStale(long currentDataVersion) {
+        return dataVersion != currentDataVersion;
+    }
+
+    /**
+     * Discards the current samples before the values of the database with the given data version are added.
+     */
+    public void startSampling(long currentDataVersion) {
+        samples.clear();
+        dataVersion = currentDataVersion;
+    }
+
+    public void add(String column, V value) {
+        ColumnSample<V> sample = samples.computeIfAbsent(column, c -> new ColumnSample<>());
+        sample.nrValues++;
+        if (sample.reservoir.size() < SAMPLE_SIZE) {
+            sample.reservoir.add(value);
+        } else {
+            long index = Randomly.getNotCachedInteger(0, (int) Math.min(sample.nrValues, Integer.MAX_VALUE));
+            if (index < SAMPLE_SIZE) {
+                sample.reservoir.set((int) index, value);
+            }
+        }
+    }
+
+    public void setMinMax(String column, V min, V max) {
+        ColumnSample<V> sample = samples.computeIfAbsent(column, c -> new ColumnSample<>());
+        sample.min = min;
+        sample.max = max;
+    }
+
+    /**
+     * Returns a value of the column, which is its minimum or maximum value with a small probability, or
+     * <code>null</code> if no values of the column were sampled.
+     */
+    public V getRandomValue(String column) {
+        ColumnSample<V> sample = samples.get(column);
+        if (sample == null || sample.reservoir.isEmpty()) {
+            return null;
+        }
+        if (sample.min != null && sample.max != null && Randomly.getBooleanWithSmallProbability()) {
+            return Randomly.getBoolean() ? sample.min : sample.max;
+        }
+        return Randomly.fromList(sample.reservoir);
+    }
+
+}
@@ -3,6 +3,8 @@ package sqlancer;
 import java.sql.SQLException;
 import java.util.List;
 
+import sqlancer.events.OracleCheckEvent;
+
 public class CompositeTestOracle implements TestOracle {
 
     private final TestOracle[] oracles;
@@ -15,7 +17,7 @@ public class CompositeTestOracle implements TestOracle {
     @Override
     public void check() throws SQLException {
         try {
-            oracles[i].check();
+            OracleCheckEvent.check(oracles[i]);
         } finally {
             i = (i + 1) % oracles.length;
         }
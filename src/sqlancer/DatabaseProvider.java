@@ -9,6 +9,9 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
+import sqlancer.corpus.CorpusGenerator;
+import sqlancer.coverage.QueryPlanFingerprinter;
+
 public interface DatabaseProvider<G extends GlobalState<O>, O> {
 
     void generateAndTestDatabase(G globalState) throws SQLException;
@@ -32,6 +35,28 @@ public interface DatabaseProvider<G extends GlobalState<O>, O> {
 
     O getCommand();
 
+    /**
+     * Returns the fingerprinter used to track query plan coverage, or null if the DBMS does not support it.
+     */
+    default QueryPlanFingerprinter getQueryPlanFingerprinter() {
+        return null;
+    }
+
+    /**
+     * Returns the generator used to export a corpus without connecting to the DBMS, or null if the DBMS does not
+     * support it.
+     */
+    default CorpusGenerator<G> getCorpusGenerator() {
+        return null;
+    }
+
+    /**
+     * Returns whether the DBMS supports the stress mode (see <code>--stress-connections</code>).
+     */
+    default boolean supportsStressMode() {
+        return false;
+    }
+
     static boolean isEqualDouble(String first, String second) {
         try {
             double val = Double.parseDouble(first);
@@ -74,6 +99,7 @@ public interface DatabaseProvider<G extends GlobalState<O>, O> {
                 resultSet.add(result.getString(1));
             }
             result.getStatement().close();
+            state.getPlanCoverage().sample(con, queryString);
         } catch (Exception e) {
             if (e instanceof IgnoreMeException) {
                 throw e;
@@ -85,10 +111,9 @@ public interface DatabaseProvider<G extends GlobalState<O>, O> {
             if (e.getMessage() == null) {
                 throw new AssertionError(queryString, e);
             }
-            for (String error : errors) {
-                if (e.getMessage().contains(error)) {
-                    throw new IgnoreMeException();
-                }
+            if (ExpectedErrors.matches(errors, e.getMessage())) {
+                state.getPlanCoverage().recordError(e.getMessage());
+                throw new IgnoreMeException();
             }
             throw new AssertionError(queryString, e);
         } finally {
@@ -0,0 +1,21 @@
+package sqlancer;
+
+/**
+ * Creates the {@link DatabaseProvider} of a DBMS. The factories are discovered using {@link java.util.ServiceLoader},
+ * so a DBMS can also be supported by a separate jar that lists its factory in
+ * <code>META-INF/services/sqlancer.DatabaseProviderFactory</code>. Only the provider of the DBMS that is tested is
+ * loaded.
+ */
+public interface DatabaseProviderFactory {
+
+    /**
+     * Returns the name of the DBMS, which must be the same as {@link DatabaseProvider#getDBMSName()}.
+     */
+    String getDBMSName();
+
+    /**
+     * Creates a new provider. A new provider is created for each database, in case the provider has a global state.
+     */
+    DatabaseProvider<?, ?> createProvider();
+
+}
@@ -0,0 +1,177 @@
+package sqlancer;
+
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * An immutable set of expected error messages, compiled to an Aho-Corasick automaton, so that checking whether an error
+ * message contains any of the expected errors requires a single scan of the message, independently of the number of
+ * expected errors. Since compiling the automaton is more expensive than scanning a message, the errors of a DBMS or
+ * generator are compiled once into a constant (see {@link #build(Consumer)}), which is passed to the queries instead of
+ * a new collection. Other collections of expected errors are scanned linearly by {@link #matches(Collection, String)}.
+ */
+public final class ExpectedErrors extends AbstractSet<String> {
+
+    private final Set<String> errors;
+    // the outgoing transitions of each state, sorted by their character
+    private final char[][] transitionChars;
+    private final int[][] transitionTargets;
+    private final int[] failure;
+    // whether an expected error ends in the state or in one of the states reachable via its failure links
+    private final boolean[] accepting;
+
+    private ExpectedErrors(Set<String> errors) {
+        this.errors = Collections.unmodifiableSet(errors);
+        List<Map<Character, Integer>> transitions = new ArrayList<>();
+        List<Boolean> isEnd = new ArrayList<>();
+        transitions.add(new TreeMap<>());
+        isEnd.add(false);
+        for (String error : errors) {
+            int state = 0;
+            for (int i = 0; i < error.length(); i++) {
+                Integer next = transitions.get(state).get(error.charAt(i));
+                if (next == null) {
+                    next = transitions.size();
+                    transitions.add(new TreeMap<>());
+                    isEnd.add(false);
+                    transitions.get(state).put(error.charAt(i), next);
+                }
+                state = next;
+            }
+            isEnd.set(state, true);
+        }
+        int nrStates = transitions.size();
+        transitionChars = new char[nrStates][];
+        transitionTargets = new int[nrStates][];
+        failure = new int[nrStates];
+        accepting = new boolean[nrStates];
+        for (int state = 0; state < nrStates; state++) {
+            Map<Character, Integer> stateTransitions = transitions.get(state);
+            transitionChars[state] = new char[stateTransitions.size()];
+            transitionTargets[state] = new int[stateTransitions.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> transition : stateTransitions.entrySet()) {
+                transitionChars[state][i] = transition.getKey();
+                transitionTargets[state][i] = transition.getValue();
+                i++;
+            }
+            accepting[state] = isEnd.get(state);
+        }
+        // compute the failure links in breadth-first order, so that the links of shorter prefixes are known
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int child : transitionTargets[0]) {
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.remove();
+            accepting[state] |= accepting[failure[state]];
+            for (int i = 0; i < transitionChars[state].length; i++) {
+                int child = transitionTargets[state][i];
+                failure[child] = step(failure[state], transitionChars[state][i]);
+                queue.add(child);
+            }
+        }
+    }
+
+    /**
+     * Compiles the given expected errors. This should only be called to initialize constants.
+     */
+    public static ExpectedErrors from(Collection<String> errors) {
+        return new ExpectedErrors(new HashSet<>(errors));
+    }
+
+    /**
+     * Compiles the expected errors that are added by the given function, such as <code>addExpressionErrors</code> of
+     * the DBMS-specific error classes. This should only be called to initialize constants.
+     */
+    public static ExpectedErrors build(Consumer<Set<String>> adder) {
+        Set<String> errors = new HashSet<>();
+        adder.accept(errors);
+        return new ExpectedErrors(errors);
+    }
+
+    /**
+     * Returns whether the message contains at least one of the expected errors, using the automaton if the errors were
+     * compiled.
+     */
+    public static boolean matches(Collection<String> expectedErrors, String message) {
+        if (expectedErrors instanceof ExpectedErrors) {
+            return ((ExpectedErrors) expectedErrors).matches(message);
+        }
+        if (message == null) {
+            return false;
+        }
+        for (String error : expectedErrors) {
+            if (message.contains(error)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return errors.iterator();
+    }
+
+    @Override
+    public int size() {
+        return errors.size();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return errors.contains(o);
+    }
+
+    /**
+     * Returns whether the message contains at least one of the expected errors.
+     */
+    public boolean matches(String message) {
+        if (accepting[0]) {
+            // the empty string is contained in every message
+            return true;
+        }
+        if (message == null) {
+            return false;
+        }
+        int state = 0;
+        for (int i = 0; i < message.length(); i++) {
+            state = step(state, message.charAt(i));
+            if (accepting[state]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Follows the transition for the character, taking failure links until a state with such a transition is found.
+     */
+    private int step(int state, char c) {
+        int current = state;
+        while (true) {
+            int index = Arrays.binarySearch(transitionChars[current], c);
+            if (index >= 0) {
+                return transitionTargets[current][index];
+            }
+            if (current == 0) {
+                return 0;
+            }
+            current = failure[current];
+        }
+    }
+
+}
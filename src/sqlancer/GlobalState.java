@@ -1,9 +1,13 @@
 package sqlancer;
 
 import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Set;
 
 import sqlancer.Main.QueryManager;
 import sqlancer.Main.StateLogger;
+import sqlancer.coverage.QueryPlanCoverage;
 
 public class GlobalState<O> {
 
@@ -15,6 +19,10 @@ public class GlobalState<O> {
     private StateToReproduce state;
     private QueryManager manager;
     private String databaseName;
+    private QueryPlanCoverage planCoverage;
+    private SeenQueryFilter seenQueries;
+    private BaselineResultCache baselineResults;
+    private VacuousCheckController vacuousCheckController;
 
     public void setConnection(Connection con) {
         this.con = con;
@@ -81,4 +89,58 @@ public class GlobalState<O> {
         this.databaseName = databaseName;
     }
 
+    public QueryPlanCoverage getPlanCoverage() {
+        return planCoverage;
+    }
+
+    public void setPlanCoverage(QueryPlanCoverage planCoverage) {
+        this.planCoverage = planCoverage;
+    }
+
+    /**
+     * Returns the controller that steers the generators of this database when too many checks are vacuous.
+     */
+    public VacuousCheckController getVacuousCheckController() {
+        if (vacuousCheckController == null) {
+            vacuousCheckController = new VacuousCheckController(options);
+        }
+        return vacuousCheckController;
+    }
+
+    /**
+     * Throws an {@link IgnoreMeException} if the query was (probably) already checked on this database, so that the
+     * oracle does not spend its queries on duplicates. Does nothing if the seen-query filter is disabled.
+     */
+    public void ignoreIfSeen(String query) {
+        if (options.getSeenQueryFilterBits() <= 0) {
+            return;
+        }
+        if (seenQueries == null) {
+            seenQueries = new SeenQueryFilter(options.getSeenQueryFilterBits());
+        }
+        if (seenQueries.add(query)) {
+            throw new IgnoreMeException();
+        }
+    }
+
+    /**
+     * Returns the result of the unpartitioned baseline query of a TLP oracle, which is taken from the baseline result
+     * cache if no statement was executed since the same query was last executed.
+     */
+    public List<String> getBaselineResultSet(String query, Set<String> errors) throws SQLException {
+        if (options.getBaselineResultCacheSize() <= 0) {
+            return DatabaseProvider.getResultSetFirstColumnAsString(query, errors, con, this);
+        }
+        if (baselineResults == null) {
+            baselineResults = new BaselineResultCache(options.getBaselineResultCacheSize());
+        }
+        long dataVersion = manager.getDataVersion();
+        List<String> resultSet = baselineResults.get(query, dataVersion);
+        if (resultSet == null) {
+            resultSet = DatabaseProvider.getResultSetFirstColumnAsString(query, errors, con, this);
+            baselineResults.put(query, dataVersion, resultSet);
+        }
+        return resultSet;
+    }
+
 }
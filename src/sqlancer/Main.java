@@ -6,9 +6,8 @@ import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.io.Writer;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.SQLFeatureNotSupportedException;
@@ -19,23 +18,32 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.ServiceLoader;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 import com.beust.jcommander.JCommander;
 import com.beust.jcommander.JCommander.Builder;
-
-import sqlancer.clickhouse.ClickhouseProvider;
-import sqlancer.cockroachdb.CockroachDBProvider;
-import sqlancer.duckdb.DuckDBProvider;
-import sqlancer.mariadb.MariaDBProvider;
-import sqlancer.mysql.MySQLProvider;
-import sqlancer.postgres.PostgresProvider;
-import sqlancer.sqlite3.SQLite3Provider;
-import sqlancer.tidb.TiDBProvider;
+import com.beust.jcommander.Parameter;
+import com.beust.jcommander.ParameterException;
+import com.beust.jcommander.Parameters;
+
+import sqlancer.corpus.CorpusExporter;
+import sqlancer.coverage.QueryPlanCoverage;
+import sqlancer.events.LogWriteEvent;
+import sqlancer.events.SQLancerEvent;
+import sqlancer.events.StatementEvent;
+import sqlancer.reducer.StatementReducer;
+import sqlancer.replay.Recorder;
+import sqlancer.replay.ReplayDivergenceException;
+import sqlancer.replay.Replayer;
+import sqlancer.replay.StatementOutcomeListener;
+import sqlancer.stress.TransactionStatistics;
 
 public final class Main {
 
@@ -57,7 +65,8 @@ public final class Main {
 
     public static final class StateLogger {
 
-        private final File loggerFile;
+        private final File dir;
+        private File loggerFile;
         private File curFile;
         private FileWriter logFileWriter;
         public FileWriter currentFileWriter;
@@ -86,7 +95,7 @@ public final class Main {
 
         public StateLogger(String databaseName, DatabaseProvider<?, ?> provider, MainOptions options) {
             this.provider = provider;
-            File dir = new File(LOG_DIRECTORY, provider.getDBMSName());
+            dir = new File(LOG_DIRECTORY, provider.getDBMSName());
             if (dir.exists() && !dir.isDirectory()) {
                 throw new AssertionError(dir);
             }
@@ -119,6 +128,15 @@ public final class Main {
             INITIALIZED_PROVIDER_NAMES.add(provider.getDBMSName());
         }
 
+        /**
+         * Writes the subsequent bug reports to a log file with the given name, so that the reports of a thread that
+         * continues after a bug do not overwrite each other.
+         */
+        void setLogFileName(String name) {
+            loggerFile = new File(dir, name + ".log");
+            logFileWriter = null;
+        }
+
         private FileWriter getLogFileWriter() {
             if (logFileWriter == null) {
                 try {
@@ -148,11 +166,14 @@ public final class Main {
             if (!logEachSelect) {
                 throw new UnsupportedOperationException();
             }
+            LogWriteEvent event = new LogWriteEvent();
+            event.begin();
             printState(getCurrentFileWriter(), state);
             try {
                 currentFileWriter.flush();
-
+                event.commit(SQLancerEvent.SUCCESS, "current state");
             } catch (IOException e) {
+                event.commit(SQLancerEvent.ERROR, "current state");
                 e.printStackTrace();
             }
         }
@@ -161,39 +182,53 @@ public final class Main {
             if (!logEachSelect) {
                 throw new UnsupportedOperationException();
             }
+            LogWriteEvent event = new LogWriteEvent();
+            event.begin();
             try {
                 getCurrentFileWriter().write(queryString + ";\n");
                 currentFileWriter.flush();
+                event.commit(SQLancerEvent.SUCCESS, "current query");
             } catch (IOException e) {
+                event.commit(SQLancerEvent.ERROR, "current query");
                 // TODO Auto-generated catch block
                 e.printStackTrace();
             }
         }
 
         public void logRowNotFound(StateToReproduce state) {
+            LogWriteEvent event = new LogWriteEvent();
+            event.begin();
             printState(getLogFileWriter(), state);
             try {
                 getLogFileWriter().flush();
+                event.commit(SQLancerEvent.SUCCESS, "row not found");
             } catch (IOException e) {
+                event.commit(SQLancerEvent.ERROR, "row not found");
                 throw new AssertionError(e);
             }
         }
 
         public void logException(Throwable reduce, StateToReproduce state) {
+            LogWriteEvent event = new LogWriteEvent();
+            event.begin();
             String stackTrace = getStackTrace(reduce);
             FileWriter logFileWriter2 = getLogFileWriter();
+            String eventOutcome = SQLancerEvent.ERROR;
             try {
                 logFileWriter2.write(stackTrace);
                 printState(logFileWriter2, state);
+                eventOutcome = SQLancerEvent.SUCCESS;
             } catch (IOException e) {
                 throw new AssertionError(e);
             } finally {
                 try {
                     logFileWriter2.flush();
                 } catch (IOException e) {
+                    eventOutcome = SQLancerEvent.ERROR;
                     // TODO Auto-generated catch block
                     e.printStackTrace();
                 }
+                event.commit(eventOutcome, "exception");
             }
         }
 
@@ -234,8 +269,17 @@ public final class Main {
 
     public static class QueryManager {
 
+        // statements that start with one of these keywords are assumed to change the schema, even if the generator
+        // did not mark them accordingly; transaction boundaries are included since DDL statements can be rolled back
+        private static final Pattern SCHEMA_CHANGING_STATEMENT = Pattern.compile(
+                "\\s*(CREATE|ALTER|DROP|RENAME|TRUNCATE|COMMIT|ROLLBACK|BEGIN|START|IMPORT|RESTORE|DISCARD)\\b",
+                Pattern.CASE_INSENSITIVE);
+
         private final Connection con;
         private final StateToReproduce stateToRepro;
+        private StatementOutcomeListener outcomeListener;
+        private long schemaVersion;
+        private long dataVersion;
 
         QueryManager(Connection con, StateToReproduce state) {
             if (con == null || state == null) {
@@ -248,11 +292,46 @@ public final class Main {
 
         public boolean execute(Query q) throws SQLException {
             stateToRepro.statements.add(q);
-            boolean success = q.execute(con);
+            dataVersion++;
+            if (q.couldAffectSchema() || SCHEMA_CHANGING_STATEMENT.matcher(q.getQueryString()).lookingAt()) {
+                // also failing statements might have changed the schema partially
+                schemaVersion++;
+            }
+            StatementEvent event = new StatementEvent();
+            event.begin();
+            boolean success;
+            try {
+                success = q.execute(con);
+            } catch (Throwable t) {
+                event.commit(SQLancerEvent.ERROR, q.getQueryString());
+                throw t;
+            }
+            event.commit(success ? SQLancerEvent.SUCCESS : SQLancerEvent.EXPECTED_ERROR, q.getQueryString());
             Main.nrSuccessfulActions.addAndGet(1);
+            if (outcomeListener != null) {
+                outcomeListener.statementExecuted(success);
+            }
             return success;
         }
 
+        /**
+         * Returns a counter that is incremented whenever a statement is executed that could change the schema.
+         */
+        public long getSchemaVersion() {
+            return schemaVersion;
+        }
+
+        /**
+         * Returns a counter that is incremented whenever a statement is executed, which could change the data.
+         */
+        public long getDataVersion() {
+            return dataVersion;
+        }
+
+        public void setOutcomeListener(StatementOutcomeListener outcomeListener) {
+            this.outcomeListener = outcomeListener;
+        }
+
         public void incrementSelectQueryCount() {
             Main.nrQueries.addAndGet(1);
         }
@@ -274,20 +353,31 @@ public final class Main {
     }
 
     public static int executeMain(String[] args) throws AssertionError {
-        List<DatabaseProvider<?, ?>> providers = getDBMSProviders();
+        List<DatabaseProviderFactory> factories = getDBMSProviderFactories();
+        Map<String, DatabaseProviderFactory> nameToFactory = new HashMap<>();
         Map<String, DatabaseProvider<?, ?>> nameToProvider = new HashMap<>();
         Map<String, Object> nameToOptions = new HashMap<>();
         MainOptions options = new MainOptions();
         Builder commandBuilder = JCommander.newBuilder().addObject(options);
-        for (DatabaseProvider<?, ?> provider : providers) {
-            String name = provider.getDBMSName();
+        // only load the provider of the tested DBMS, unless none is given and the usage of all DBMSs is printed
+        String testedDBMS = getTestedDBMSName(factories, args);
+        for (DatabaseProviderFactory factory : factories) {
+            String name = factory.getDBMSName();
+            if (testedDBMS != null && !testedDBMS.equals(name)) {
+                continue;
+            }
             if (!name.toLowerCase().equals(name)) {
                 throw new AssertionError(name + " should be in lowercase!");
             }
+            DatabaseProvider<?, ?> provider = factory.createProvider();
+            if (!provider.getDBMSName().equals(name)) {
+                throw new AssertionError(name + " does not match " + provider.getDBMSName());
+            }
             Object command = provider.getCommand();
             if (command == null) {
                 throw new IllegalStateException();
             }
+            nameToFactory.put(name, factory);
             nameToProvider.put(name, provider);
             nameToOptions.put(name, command);
             commandBuilder = commandBuilder.addCommand(name, command);
@@ -299,9 +389,28 @@ public final class Main {
             jc.usage();
             return options.getErrorExitCode();
         }
+        SQLancerEvent.setDBMSName(jc.getParsedCommand());
+
+        if (options.getReduceFile() != null) {
+            return StatementReducer.reduce(nameToFactory.get(jc.getParsedCommand()),
+                    nameToOptions.get(jc.getParsedCommand()), options);
+        }
+
+        if (options.getCorpusDirectory() != null) {
+            return CorpusExporter.export(nameToProvider.get(jc.getParsedCommand()),
+                    nameToOptions.get(jc.getParsedCommand()), options);
+        }
+
+        if (options.getReplayFile() != null) {
+            return replay(nameToProvider.get(jc.getParsedCommand()), nameToOptions.get(jc.getParsedCommand()), options);
+        }
+
+        if (options.getNrStressConnections() > 0 && !nameToProvider.get(jc.getParsedCommand()).supportsStressMode()) {
+            throw new ParameterException("--stress-connections is not supported for " + jc.getParsedCommand());
+        }
 
         if (options.printProgressInformation()) {
-            startProgressMonitor();
+            startProgressMonitor(options.getPlanCoverageInterval() > 0);
         }
 
         ExecutorService executor = Executors.newFixedThreadPool(options.getNumberConcurrentThreads());
@@ -313,6 +422,9 @@ public final class Main {
                 StateToReproduce stateToRepro;
                 StateLogger logger;
                 DatabaseProvider<?, ?> provider;
+                int nrReportedBugs;
+                // the name of the log of the bug that was reported for the current database in the continue-on-bug mode
+                String bugLogName;
 
                 @Override
                 public void run() {
@@ -323,22 +435,30 @@ public final class Main {
                     Thread.currentThread().setName(databaseName);
                     while (true) {
                         // create a new instance of the provider in case it has a global state
-                        try {
-                            provider = nameToProvider.get(jc.getParsedCommand()).getClass().getDeclaredConstructor()
-                                    .newInstance();
-                        } catch (Exception e) {
-                            throw new AssertionError(e);
-                        }
+                        provider = nameToFactory.get(jc.getParsedCommand()).createProvider();
                         GlobalState<?> state = provider.generateGlobalState();
                         stateToRepro = provider.getStateToReproduce(databaseName);
                         state.setState(stateToRepro);
                         logger = new StateLogger(databaseName, provider, options);
+                        Recorder recorder = null;
+                        File recording = new File(new File(LOG_DIRECTORY, provider.getDBMSName()),
+                                databaseName + ".rec");
+                        if (options.record()) {
+                            try {
+                                recorder = new Recorder(recording);
+                            } catch (IOException e) {
+                                throw new AssertionError(e);
+                            }
+                            Randomly.setThreadRandom(recorder.createRandom());
+                        }
                         Randomly r = new Randomly();
                         state.setRandomly(r);
                         state.setDatabaseName(databaseName);
                         state.setMainOptions(options);
                         Object dmbsSpecificOptions = nameToOptions.get(jc.getParsedCommand());
                         state.setDmbsSpecificOptions(dmbsSpecificOptions);
+                        state.setPlanCoverage(new QueryPlanCoverage(provider.getQueryPlanFingerprinter(),
+                                options.getPlanCoverageInterval()));
                         try (Connection con = provider.createDatabase(state)) {
                             QueryManager manager = new QueryManager(con, stateToRepro);
                             try {
@@ -350,30 +470,32 @@ public final class Main {
                             state.setConnection(con);
                             state.setStateLogger(logger);
                             state.setManager(manager);
-                            Method method = provider.getClass().getMethod("generateAndTestDatabase", state.getClass());
-                            method.setAccessible(true);
-                            method.invoke(provider, state);
+                            manager.setOutcomeListener(recorder);
+                            generateAndTestDatabase(provider, state);
                         } catch (IgnoreMeException e) {
                             continue;
-                        } catch (InvocationTargetException e) {
-                            if (e.getCause() instanceof IgnoreMeException) {
-                                continue;
-                            } else {
-                                e.getCause().printStackTrace();
-                                stateToRepro.exception = e.getCause().getMessage();
-                                logger.logFileWriter = null;
-                                logger.logException(e.getCause(), stateToRepro);
-                                threadsShutdown++;
+                        } catch (Throwable reduce) {
+                            if (reportBug(reduce)) {
                                 break;
                             }
-                        } catch (Throwable reduce) {
-                            reduce.printStackTrace();
-                            stateToRepro.exception = reduce.getMessage();
-                            logger.logFileWriter = null;
-                            logger.logException(reduce, stateToRepro);
-                            threadsShutdown++;
-                            break;
                         } finally {
+                            stateToRepro.statements.close();
+                            if (recorder != null) {
+                                try {
+                                    recorder.close();
+                                    if (bugLogName != null) {
+                                        // keep the recording next to the log of the bug, since the recording of the
+                                        // next database would overwrite it
+                                        Files.move(recording.toPath(),
+                                                new File(recording.getParentFile(), bugLogName + ".rec").toPath(),
+                                                StandardCopyOption.REPLACE_EXISTING);
+                                    }
+                                } catch (IOException e) {
+                                    e.printStackTrace();
+                                }
+                                Randomly.setThreadRandom(null);
+                            }
+                            bugLogName = null;
                             try {
                                 if (options.logEachSelect()) {
                                     if (logger.currentFileWriter != null) {
@@ -390,6 +512,30 @@ public final class Main {
                         }
                     }
                 }
+
+                /**
+                 * Logs the bug, unless it is a duplicate of a bug that was already reported in the continue-on-bug
+                 * mode.
+                 *
+                 * @return whether the thread should stop
+                 */
+                private boolean reportBug(Throwable bug) {
+                    stateToRepro.exception = bug.getMessage();
+                    logger.logFileWriter = null;
+                    if (!options.continueOnBug()) {
+                        bug.printStackTrace();
+                        logger.logException(bug, stateToRepro);
+                        threadsShutdown++;
+                        return true;
+                    }
+                    if (BugSignatures.register(BugSignatures.compute(bug, stateToRepro, options))) {
+                        bug.printStackTrace();
+                        bugLogName = databaseName + "_" + nrReportedBugs++;
+                        logger.setLogFileName(bugLogName);
+                        logger.logException(bug, stateToRepro);
+                    }
+                    return false;
+                }
             });
         }
         try {
@@ -401,23 +547,111 @@ public final class Main {
         } catch (InterruptedException e) {
             e.printStackTrace();
         }
-        return threadsShutdown == 0 ? 0 : options.getErrorExitCode();
+        return threadsShutdown == 0 && BugSignatures.getNrReports() == 0 ? 0 : options.getErrorExitCode();
+    }
+
+    private static int replay(DatabaseProvider<?, ?> provider, Object dbmsSpecificOptions, MainOptions options) {
+        File recording = new File(options.getReplayFile());
+        String databaseName = recording.getName().replaceFirst("\\.rec$", "");
+        Replayer replayer;
+        try {
+            replayer = new Replayer(recording);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return options.getErrorExitCode();
+        }
+        // the log directory usually also contains the recording and the log of the recorded run, so keep it
+        StateLogger.INITIALIZED_PROVIDER_NAMES.add(provider.getDBMSName());
+        StateLogger logger = new StateLogger(databaseName, provider, options);
+        GlobalState<?> state = provider.generateGlobalState();
+        StateToReproduce stateToRepro = provider.getStateToReproduce(databaseName);
+        state.setState(stateToRepro);
+        state.setRandomly(new Randomly());
+        state.setDatabaseName(databaseName);
+        state.setMainOptions(options);
+        state.setDmbsSpecificOptions(dbmsSpecificOptions);
+        state.setPlanCoverage(new QueryPlanCoverage(null, 0));
+        Randomly.setThreadRandom(replayer.createRandom());
+        try (Connection con = provider.createDatabase(state)) {
+            QueryManager manager = new QueryManager(con, stateToRepro);
+            manager.setOutcomeListener(replayer);
+            state.setConnection(con);
+            state.setStateLogger(logger);
+            state.setManager(manager);
+            generateAndTestDatabase(provider, state);
+            System.out.println(String.format("The replay of %d statements did not reproduce a bug%s.",
+                    replayer.getNrStatements(), replayer.isFinished() ? "" : " and ended before the recording"));
+            return 0;
+        } catch (ReplayDivergenceException e) {
+            System.err.println("The replay diverged from the recording: " + e.getMessage());
+            return options.getErrorExitCode();
+        } catch (IgnoreMeException e) {
+            System.out.println(
+                    "The replay ended with an ignored exception after " + replayer.getNrStatements() + " statements.");
+            return 0;
+        } catch (Throwable cause) {
+            cause.printStackTrace();
+            stateToRepro.exception = cause.getMessage();
+            logger.logException(cause, stateToRepro);
+            return options.getErrorExitCode();
+        } finally {
+            stateToRepro.statements.close();
+            Randomly.setThreadRandom(null);
+        }
+    }
+
+    /**
+     * Calls the provider directly with the global state that it created, whose type cannot be expressed here.
+     */
+    @SuppressWarnings("unchecked")
+    private static <G extends GlobalState<O>, O> void generateAndTestDatabase(DatabaseProvider<G, O> provider,
+            GlobalState<?> state) throws SQLException {
+        provider.generateAndTestDatabase((G) state);
+    }
+
+    /**
+     * Determines the DBMS command without creating the providers, whose options are not known yet. The arguments are
+     * parsed by JCommander with placeholder commands that accept any option, so that option values that happen to be
+     * the name of a DBMS are not mistaken for the command.
+     *
+     * @return the name of the DBMS, or null if none is given
+     */
+    private static String getTestedDBMSName(List<DatabaseProviderFactory> factories, String[] args) {
+        Builder builder = JCommander.newBuilder().addObject(new MainOptions()).acceptUnknownOptions(true);
+        for (DatabaseProviderFactory factory : factories) {
+            builder = builder.addCommand(factory.getDBMSName(), new UnparsedCommand());
+        }
+        JCommander jc = builder.build();
+        try {
+            jc.parse(args);
+        } catch (ParameterException e) {
+            // reported by the parser that knows the options of the DBMSs
+            return null;
+        }
+        return jc.getParsedCommand();
+    }
+
+    @Parameters
+    private static final class UnparsedCommand {
+
+        @Parameter
+        List<String> arguments = new ArrayList<>();
+
+    }
+
+    static List<DatabaseProviderFactory> getDBMSProviderFactories() {
+        List<DatabaseProviderFactory> factories = new ArrayList<>();
+        for (DatabaseProviderFactory factory : ServiceLoader.load(DatabaseProviderFactory.class)) {
+            factories.add(factory);
+        }
+        return factories;
     }
 
     static List<DatabaseProvider<?, ?>> getDBMSProviders() {
-        List<DatabaseProvider<?, ?>> providers = new ArrayList<>();
-        providers.add(new SQLite3Provider());
-        providers.add(new CockroachDBProvider());
-        providers.add(new MySQLProvider());
-        providers.add(new MariaDBProvider());
-        providers.add(new TiDBProvider());
-        providers.add(new PostgresProvider());
-        providers.add(new ClickhouseProvider());
-        providers.add(new DuckDBProvider());
-        return providers;
+        return getDBMSProviderFactories().stream().map(f -> f.createProvider()).collect(Collectors.toList());
     }
 
-    private static void startProgressMonitor() {
+    private static void startProgressMonitor(boolean printPlanCoverage) {
         final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
         scheduler.scheduleAtFixedRate(new Runnable() {
 
@@ -446,6 +680,36 @@ public final class Main {
                         "[%s] Executed %d queries (%d queries/s; %.2f/s dbs, successful statements: %2d%%). Threads shut down: %d.",
                         dateFormat.format(date), currentNrQueries, (int) throughput, throughputDbs,
                         successfulStatementsRatio, threadsShutdown));
+                if (printPlanCoverage) {
+                    System.out.println(String.format(
+                            "Query plans: %d distinct shapes with %d distinct operators (%d queries explained). Distinct expected errors: %d.",
+                            QueryPlanCoverage.getNrShapes(), QueryPlanCoverage.getNrOperators(),
+                            QueryPlanCoverage.getNrExplainedQueries(), QueryPlanCoverage.getNrErrors()));
+                }
+                if (BugSignatures.getNrReports() != 0) {
+                    System.out.println(String.format("Found %d distinct bugs in %d bug reports.",
+                            BugSignatures.getNrUniqueBugs(), BugSignatures.getNrReports()));
+                }
+                long nrCheckedQueries = SeenQueryFilter.getNrCheckedQueries();
+                if (nrCheckedQueries != 0) {
+                    System.out.println(String.format("Skipped %d of %d queries as duplicates (%.1f%%).",
+                            SeenQueryFilter.getNrSeenQueries(), nrCheckedQueries,
+                            100.0 * SeenQueryFilter.getNrSeenQueries() / nrCheckedQueries));
+                }
+                String transactionStatistics = TransactionStatistics.getSummary();
+                if (!transactionStatistics.isEmpty()) {
+                    System.out.println(transactionStatistics);
+                }
+                String oracleStatistics = OracleStatistics.getSummary();
+                if (!oracleStatistics.isEmpty()) {
+                    System.out.println(oracleStatistics);
+                }
+                long nrBaselineLookups = BaselineResultCache.getNrLookups();
+                if (nrBaselineLookups != 0) {
+                    System.out.println(String.format("Reused %d of %d baseline query results (%.1f%%).",
+                            BaselineResultCache.getNrHits(), nrBaselineLookups,
+                            100.0 * BaselineResultCache.getNrHits() / nrBaselineLookups));
+                }
                 timeMillis = System.currentTimeMillis();
                 lastNrQueries = currentNrQueries;
                 lastNrDbs = currentNrDbs;
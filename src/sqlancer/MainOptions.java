@@ -47,6 +47,57 @@ public class MainOptions {
     @Parameter(names = "--exit-code-error", description = "The exit code that should be returned when an error is encountered (or a bug is found)")
     private int errorExitCode = -1;
 
+    @Parameter(names = "--plan-coverage-interval", description = "Explain every n-th query issued by a test oracle to track the query plan shapes that were covered (0 disables plan coverage tracking)")
+    private int planCoverageInterval;
+
+    @Parameter(names = "--coverage-guided-generation", description = "Mutate queries that resulted in a new query plan shape or a new expected error rather than always generating queries from scratch (only supported by the DuckDB query partitioning oracles)", arity = 1)
+    private boolean coverageGuidedGeneration;
+
+    @Parameter(names = "--record", description = "Record the random decisions and statement outcomes for each database in logs/<dbms>/<database>.rec (in the continue-on-bug mode, in a file named after the log of each reported bug), so that the run can be reproduced using --replay", arity = 1)
+    private boolean record;
+
+    @Parameter(names = "--replay", description = "Replay the given recording against a fresh database rather than generating new databases (the other options must be the same as during the recording)")
+    private String replayFile;
+
+    @Parameter(names = "--reduce", description = "Reduce the statements of the given bug log (logs/<dbms>/<database>.log) using delta debugging, where --num-threads candidates are checked in parallel on separate databases")
+    private String reduceFile;
+
+    @Parameter(names = "--reduce-oracle-queries", description = "Reduce the query that exposes a bug on its AST before writing the bug report, where --num-threads candidates are checked in parallel on separate connections (only supported by the DuckDB query partitioning oracles)", arity = 1)
+    private boolean reduceOracleQueries;
+
+    @Parameter(names = "--export-corpus", description = "Write the statements and queries that are generated for --num-tries databases to gzip-compressed files in the given directory without connecting to the DBMS, using --num-threads threads (only supported by some DBMSs)")
+    private String corpusDirectory;
+
+    @Parameter(names = "--seen-query-filter-bits", description = "The size in bits of a per-database Bloom filter that is used to skip queries that a test oracle has already checked on the database (0 disables the filter; only supported by some test oracles)")
+    private int seenQueryFilterBits;
+
+    @Parameter(names = "--continue-on-bug", description = "Continue with a new database after a bug rather than stopping the thread, and log only the first bug of each signature (i.e., each test oracle and error message) in logs/<dbms>/<database>_<n>.log", arity = 1)
+    private boolean continueOnBug;
+
+    @Parameter(names = "--transaction-batch-size", description = "Execute the INSERT, UPDATE, and DELETE statements that generate a database in explicit transactions of the given number of statements rather than in autocommit mode (0 disables batching; only supported by some DBMSs)")
+    private int transactionBatchSize;
+
+    @Parameter(names = "--baseline-result-cache-size", description = "The number of results of unpartitioned baseline queries that the TLP oracles cache per database until the next statement is executed (0 disables the cache; only supported by some test oracles)")
+    private int baselineResultCacheSize;
+
+    @Parameter(names = "--pregenerated-queries", description = "The number of checks of a test oracle whose queries are generated in advance by a separate thread while the queries of the current check are executed (0 disables pre-generation; only supported by some test oracles)")
+    private int nrPregeneratedQueries;
+
+    @Parameter(names = "--sampled-constant-probability", description = "The probability with which the expression generators compare a column with values that were sampled from it rather than generating a random comparison (0 disables sampling; only supported by some DBMSs)")
+    private double sampledConstantProbability;
+
+    @Parameter(names = "--vacuous-check-threshold", description = "The ratio of vacuous checks (for example, TLP checks whose partitions are all empty) above which the generators are steered towards fewer joined tables, shallower expressions and sampled constants (1 disables the steering; only supported by some DBMSs)")
+    private double vacuousCheckThreshold = 1;
+
+    @Parameter(names = "--stress-connections", description = "The number of connections that concurrently execute transactions on each generated database instead of the test oracles (0 disables the stress mode; only supported by SQLite and PostgreSQL)")
+    private int nrStressConnections;
+
+    @Parameter(names = "--stress-transactions", description = "The number of transactions that the connections of the stress mode execute concurrently before their serializability is checked")
+    private int nrStressTransactions = 8;
+
+    @Parameter(names = "--max-serializability-history", description = "The maximum number of committed transactions of the stress mode that are replayed in every order to check whether their execution was serializable")
+    private int maxSerializabilityHistory = 5;
+
     public int getMaxExpressionDepth() {
         return maxExpressionDepth;
     }
@@ -110,4 +161,72 @@ public class MainOptions {
         return errorExitCode;
     }
 
+    public int getPlanCoverageInterval() {
+        return planCoverageInterval;
+    }
+
+    public boolean continueOnBug() {
+        return continueOnBug;
+    }
+
+    public int getSeenQueryFilterBits() {
+        return seenQueryFilterBits;
+    }
+
+    public int getTransactionBatchSize() {
+        return transactionBatchSize;
+    }
+
+    public int getBaselineResultCacheSize() {
+        return baselineResultCacheSize;
+    }
+
+    public int getNrPregeneratedQueries() {
+        return nrPregeneratedQueries;
+    }
+
+    public double getSampledConstantProbability() {
+        return sampledConstantProbability;
+    }
+
+    public double getVacuousCheckThreshold() {
+        return vacuousCheckThreshold;
+    }
+
+    public int getNrStressConnections() {
+        return nrStressConnections;
+    }
+
+    public int getNrStressTransactions() {
+        return nrStressTransactions;
+    }
+
+    public int getMaxSerializabilityHistory() {
+        return maxSerializabilityHistory;
+    }
+
+    public boolean useCoverageGuidedGeneration() {
+        return coverageGuidedGeneration;
+    }
+
+    public boolean record() {
+        return record;
+    }
+
+    public String getReplayFile() {
+        return replayFile;
+    }
+
+    public String getReduceFile() {
+        return reduceFile;
+    }
+
+    public boolean reduceOracleQueries() {
+        return reduceOracleQueries;
+    }
+
+    public String getCorpusDirectory() {
+        return corpusDirectory;
+    }
+
 }
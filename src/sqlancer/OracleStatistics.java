@@ -0,0 +1,83 @@
+package sqlancer;
+
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the checks of each test oracle by their outcome, which shows how many checks could not have detected a bug. A
+ * check is vacuous if it passed, but compared only empty results, for example, a NoREC check whose counts are both 0 or
+ * a TLP check whose partitions are all empty. The oracles report this with {@link #reportVacuousCheck()} on the thread
+ * that executes the check.
+ */
+public final class OracleStatistics {
+
+    public enum Outcome {
+        MEANINGFUL, VACUOUS, IGNORED, ERROR
+    }
+
+    private static final Map<String, LongAdder[]> COUNTERS = new ConcurrentHashMap<>();
+    private static final ThreadLocal<boolean[]> VACUOUS_CHECK = ThreadLocal.withInitial(() -> new boolean[1]);
+
+    private OracleStatistics() {
+    }
+
+    /**
+     * Resets whether the current check of the thread is vacuous.
+     */
+    public static void startCheck() {
+        VACUOUS_CHECK.get()[0] = false;
+    }
+
+    public static void reportVacuousCheck() {
+        VACUOUS_CHECK.get()[0] = true;
+    }
+
+    public static boolean isVacuousCheck() {
+        return VACUOUS_CHECK.get()[0];
+    }
+
+    public static void record(String oracle, Outcome outcome) {
+        COUNTERS.computeIfAbsent(oracle, o -> newCounters())[outcome.ordinal()].increment();
+    }
+
+    private static LongAdder[] newCounters() {
+        LongAdder[] counters = new LongAdder[Outcome.values().length];
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = new LongAdder();
+        }
+        return counters;
+    }
+
+    /**
+     * Returns a line for each oracle with the percentages of its checks per outcome, or an empty string if no checks
+     * were recorded.
+     */
+    public static String getSummary() {
+        StringBuilder sb = new StringBuilder();
+        for (Entry<String, LongAdder[]> entry : new TreeMap<>(COUNTERS).entrySet()) {
+            long[] counts = new long[Outcome.values().length];
+            long nrChecks = 0;
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = entry.getValue()[i].sum();
+                nrChecks += counts[i];
+            }
+            if (nrChecks == 0) {
+                continue;
+            }
+            if (sb.length() != 0) {
+                sb.append('\n');
+            }
+            sb.append(String.format(
+                    "%s: %d checks (meaningful: %.1f%%, vacuous: %.1f%%, ignored: %.1f%%, errors: %.1f%%).",
+                    entry.getKey(), nrChecks, 100.0 * counts[Outcome.MEANINGFUL.ordinal()] / nrChecks,
+                    100.0 * counts[Outcome.VACUOUS.ordinal()] / nrChecks,
+                    100.0 * counts[Outcome.IGNORED.ordinal()] / nrChecks,
+                    100.0 * counts[Outcome.ERROR.ordinal()] / nrChecks));
+        }
+        return sb.toString();
+    }
+
+}
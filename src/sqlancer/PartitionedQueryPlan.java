@@ -0,0 +1,90 @@
+package sqlancer;
+
+import java.sql.SQLException;
+
+/**
+ * The queries of a check of a ternary logic partitioning oracle: the original query, and the three queries whose
+ * results are combined and compared to the result of the original query. Since the queries are strings, the plan can be
+ * passed from the thread that generates it to the thread that executes it (see {@link PlannedTestOracle}).
+ */
+public final class PartitionedQueryPlan {
+
+    private final String seenQueryKey;
+    private final String originalQueryString;
+    private final String firstQueryString;
+    private final String secondQueryString;
+    private final String thirdQueryString;
+    private final boolean asUnion;
+    private final Reduction reduction;
+
+    /**
+     * Computes the queries of the same check with a reduced predicate, see {@link MainOptions#reduceOracleQueries()}.
+     */
+    @FunctionalInterface
+    public interface Reduction {
+
+        PartitionedQueryPlan reduce() throws SQLException;
+
+    }
+
+    public PartitionedQueryPlan(String seenQueryKey, String originalQueryString, String firstQueryString,
+            String secondQueryString, String thirdQueryString, boolean asUnion) {
+        this(seenQueryKey, originalQueryString, firstQueryString, secondQueryString, thirdQueryString, asUnion, null);
+    }
+
+    private PartitionedQueryPlan(String seenQueryKey, String originalQueryString, String firstQueryString,
+            String secondQueryString, String thirdQueryString, boolean asUnion, Reduction reduction) {
+        this.seenQueryKey = seenQueryKey;
+        this.originalQueryString = originalQueryString;
+        this.firstQueryString = firstQueryString;
+        this.secondQueryString = secondQueryString;
+        this.thirdQueryString = thirdQueryString;
+        this.asUnion = asUnion;
+        this.reduction = reduction;
+    }
+
+    /**
+     * Returns a copy of the plan that can be reduced if its results mismatch. The reduction is only invoked by the
+     * execute phase, so it may use the connection.
+     */
+    public PartitionedQueryPlan withReduction(Reduction newReduction) {
+        return new PartitionedQueryPlan(seenQueryKey, originalQueryString, firstQueryString, secondQueryString,
+                thirdQueryString, asUnion, newReduction);
+    }
+
+    /**
+     * Returns the key that is passed to {@link GlobalState#ignoreIfSeen(String)}, or <code>null</code> if the oracle
+     * does not skip queries that it already checked.
+     */
+    public String getSeenQueryKey() {
+        return seenQueryKey;
+    }
+
+    public String getOriginalQueryString() {
+        return originalQueryString;
+    }
+
+    public String getFirstQueryString() {
+        return firstQueryString;
+    }
+
+    public String getSecondQueryString() {
+        return secondQueryString;
+    }
+
+    public String getThirdQueryString() {
+        return thirdQueryString;
+    }
+
+    public boolean isAsUnion() {
+        return asUnion;
+    }
+
+    /**
+     * Returns the reduction of the plan, or <code>null</code> if the oracle does not reduce its queries.
+     */
+    public Reduction getReduction() {
+        return reduction;
+    }
+
+}
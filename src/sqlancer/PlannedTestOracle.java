@@ -0,0 +1,31 @@
+package sqlancer;
+
+import java.sql.SQLException;
+
+/**
+ * A test oracle whose check is split into a plan phase, which generates the queries of the check without accessing the
+ * database, and an execute phase, which executes them and compares their results. This allows the queries of the next
+ * check to be generated while the queries of the current check are executed (see {@link PregeneratingTestOracle}).
+ *
+ * @param <P>
+ *            the queries of a check, which must not be modified after they were planned
+ */
+public interface PlannedTestOracle<P> extends TestOracle {
+
+    /**
+     * Generates the queries of a check. This method can be called by a different thread than {@link #execute(Object)},
+     * so it must not use the connection or any state that the execute phase modifies.
+     */
+    P plan();
+
+    /**
+     * Executes the planned queries and checks their results. This method must not make any random decisions.
+     */
+    void execute(P plan) throws SQLException;
+
+    @Override
+    default void check() throws SQLException {
+        execute(plan());
+    }
+
+}
@@ -0,0 +1,126 @@
+package sqlancer;
+
+import java.sql.SQLException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Runs the plan phase of a {@link PlannedTestOracle} on a separate producer thread, which keeps up to
+ * <code>--pregenerated-queries</code> planned checks in a bounded queue, so that the queries of the next checks are
+ * generated while the current check is executed on the database.
+ *
+ * Since the generators and the {@link Randomly} of a global state are not thread-safe, only the producer thread may
+ * make random decisions until the pipeline is closed. The pipeline is therefore only used when a single planned oracle
+ * is checked, and not when a run is recorded or replayed, whose random decisions must be made by the thread of the
+ * database.
+ */
+public final class PregeneratingTestOracle<P> implements TestOracle, AutoCloseable {
+
+    private final PlannedTestOracle<P> oracle;
+    private final BlockingQueue<PlannedCheck<P>> plannedChecks;
+    private final Thread producer;
+
+    private static final class PlannedCheck<P> {
+
+        private final P plan;
+        private final Throwable failure;
+
+        PlannedCheck(P plan, Throwable failure) {
+            this.plan = plan;
+            this.failure = failure;
+        }
+
+    }
+
+    private PregeneratingTestOracle(PlannedTestOracle<P> oracle, int capacity) {
+        this.oracle = oracle;
+        this.plannedChecks = new ArrayBlockingQueue<>(capacity);
+        this.producer = new Thread(this::produce, Thread.currentThread().getName() + "-pregeneration");
+        producer.setDaemon(true);
+        producer.start();
+    }
+
+    /**
+     * Starts pre-generating the queries of the oracle if this is enabled and supported by the oracle.
+     *
+     * @return the oracle that should be checked instead of the given one and closed after the last check, or
+     *         <code>null</code> if the given oracle should be checked directly
+     */
+    public static PregeneratingTestOracle<?> wrap(TestOracle oracle, MainOptions options) {
+        if (options.getNrPregeneratedQueries() <= 0 || !(oracle instanceof PlannedTestOracle) || options.record()
+                || options.getReplayFile() != null) {
+            return null;
+        }
+        return create((PlannedTestOracle<?>) oracle, options.getNrPregeneratedQueries());
+    }
+
+    private static <P> PregeneratingTestOracle<P> create(PlannedTestOracle<P> oracle, int capacity) {
+        return new PregeneratingTestOracle<>(oracle, capacity);
+    }
+
+    public PlannedTestOracle<P> getOracle() {
+        return oracle;
+    }
+
+    private void produce() {
+        while (true) {
+            PlannedCheck<P> check;
+            try {
+                check = new PlannedCheck<>(oracle.plan(), null);
+            } catch (Throwable t) {
+                // also IgnoreMeException, which must skip the check in the thread that checks the oracle
+                check = new PlannedCheck<>(null, t);
+            }
+            try {
+                plannedChecks.put(check);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void check() throws SQLException {
+        PlannedCheck<P> check;
+        try {
+            check = plannedChecks.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IgnoreMeException();
+        }
+        if (check.failure instanceof RuntimeException) {
+            throw (RuntimeException) check.failure;
+        } else if (check.failure instanceof Error) {
+            throw (Error) check.failure;
+        } else if (check.failure != null) {
+            throw new AssertionError(check.failure);
+        }
+        oracle.execute(check.plan);
+    }
+
+    @Override
+    public boolean onlyWorksForNonEmptyTables() {
+        return oracle.onlyWorksForNonEmptyTables();
+    }
+
+    /**
+     * Stops the producer thread and waits until it has terminated, after which the thread of the database can again use
+     * the generators.
+     */
+    @Override
+    public void close() {
+        producer.interrupt();
+        boolean isInterrupted = false;
+        while (producer.isAlive()) {
+            try {
+                producer.join();
+            } catch (InterruptedException e) {
+                isInterrupted = true;
+            }
+        }
+        if (isInterrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
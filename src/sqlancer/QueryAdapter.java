@@ -4,8 +4,11 @@ import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
-import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+
+import sqlancer.events.QueryEvent;
+import sqlancer.events.SQLancerEvent;
 
 public class QueryAdapter extends Query {
 
@@ -14,11 +17,11 @@ public class QueryAdapter extends Query {
     private final boolean couldAffectSchema;
 
     public QueryAdapter(String query) {
-        this(query, new ArrayList<>());
+        this(query, Collections.emptyList());
     }
 
     public QueryAdapter(String query, boolean couldAffectSchema) {
-        this(query, new ArrayList<>(), couldAffectSchema);
+        this(query, Collections.emptyList(), couldAffectSchema);
     }
 
     public QueryAdapter(String query, Collection<String> expectedErrors) {
@@ -52,40 +55,31 @@ public class QueryAdapter extends Query {
     }
 
     public void checkException(Exception e) throws AssertionError {
-        boolean isExcluded = false;
-        for (String expectedError : expectedErrors) {
-            if (e.getMessage().contains(expectedError)) {
-                isExcluded = true;
-                break;
-            }
-        }
-        if (!isExcluded) {
+        if (!ExpectedErrors.matches(expectedErrors, e.getMessage())) {
             throw new AssertionError(query, e);
         }
     }
 
     @Override
     public ResultSet executeAndGet(Connection con) throws SQLException {
+        QueryEvent event = new QueryEvent();
+        event.begin();
         Statement s = con.createStatement();
         ResultSet result = null;
         try {
             result = s.executeQuery(query);
             Main.nrSuccessfulActions.addAndGet(1);
+            event.commit(SQLancerEvent.SUCCESS, query);
             return result;
         } catch (Exception e) {
             s.close();
-            boolean isExcluded = false;
             Main.nrUnsuccessfulActions.addAndGet(1);
-            for (String expectedError : expectedErrors) {
-                if (e.getMessage().contains(expectedError)) {
-                    isExcluded = true;
-                    break;
-                }
-            }
-            if (!isExcluded) {
+            if (!ExpectedErrors.matches(expectedErrors, e.getMessage())) {
+                event.commit(SQLancerEvent.ERROR, query);
                 throw e;
             }
         }
+        event.commit(SQLancerEvent.EXPECTED_ERROR, query);
         return null;
     }
 
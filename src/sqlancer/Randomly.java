@@ -4,6 +4,7 @@ import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Supplier;
 
@@ -19,6 +20,7 @@ public final class Randomly {
     private static final String ALPHABET = new String(
             "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyzöß!#<>/.,~-+'*()[]{} ^*?%_\t\n\r|&\\");
     private Supplier<String> provider;
+    private static final ThreadLocal<Random> THREAD_RANDOM = new ThreadLocal<>();
 
     private void addToCache(long val) {
         if (USE_CACHING && cachedLongs.size() < CACHE_SIZE && !cachedLongs.contains(val)) {
@@ -51,7 +53,7 @@ public final class Randomly {
             byte[] bytes = Randomly.fromList(cachedBytes);
             if (Randomly.getBoolean()) {
                 for (int i = 0; i < Randomly.smallNumber(); i++) {
-                    bytes[getInteger(0, bytes.length)] = (byte) ThreadLocalRandom.current().nextInt();
+                    bytes[getInteger(0, bytes.length)] = (byte) getThreadRandom().nextInt();
                 }
             }
             return bytes;
@@ -114,28 +116,28 @@ public final class Randomly {
     }
 
     private static boolean cacheProbability() {
-        return USE_CACHING && ThreadLocalRandom.current().nextInt(3) == 1;
+        return USE_CACHING && getThreadRandom().nextInt(3) == 1;
     }
 
     // CACHING END
 
     public static <T> T fromList(List<T> list) {
-        return list.get(ThreadLocalRandom.current().nextInt(list.size()));
+        return list.get(getThreadRandom().nextInt(list.size()));
     }
 
     @SafeVarargs
     public static <T> T fromOptions(T... options) {
-        return options[ThreadLocalRandom.current().nextInt(options.length)];
+        return options[getThreadRandom().nextInt(options.length)];
     }
 
     @SafeVarargs
     public static <T> List<T> nonEmptySubset(T... options) {
-        int nr = 1 + ThreadLocalRandom.current().nextInt(options.length);
+        int nr = 1 + getThreadRandom().nextInt(options.length);
         return extractNrRandomColumns(Arrays.asList(options), nr);
     }
 
     public static <T> List<T> nonEmptySubset(List<T> columns) {
-        int nr = 1 + ThreadLocalRandom.current().nextInt(columns.size());
+        int nr = 1 + getThreadRandom().nextInt(columns.size());
         return nonEmptySubset(columns, nr);
     }
 
@@ -155,7 +157,7 @@ public final class Randomly {
     }
 
     public static <T> List<T> subset(List<T> columns) {
-        int nr = ThreadLocalRandom.current().nextInt(columns.size() + 1);
+        int nr = getThreadRandom().nextInt(columns.size() + 1);
         return extractNrRandomColumns(columns, nr);
     }
 
@@ -180,18 +182,18 @@ public final class Randomly {
         List<T> selectedColumns = new ArrayList<>();
         List<T> remainingColumns = new ArrayList<>(columns);
         for (int i = 0; i < nr; i++) {
-            selectedColumns.add(remainingColumns.remove(ThreadLocalRandom.current().nextInt(remainingColumns.size())));
+            selectedColumns.add(remainingColumns.remove(getThreadRandom().nextInt(remainingColumns.size())));
         }
         return selectedColumns;
     }
 
     public static int smallNumber() {
         // no need to cache for small numbers
-        return (int) (Math.abs(ThreadLocalRandom.current().nextGaussian()) * 2);
+        return (int) (Math.abs(getThreadRandom().nextGaussian()) * 2);
     }
 
     public static boolean getBoolean() {
-        return ThreadLocalRandom.current().nextBoolean();
+        return getThreadRandom().nextBoolean();
     }
 
     public long getInteger() {
@@ -204,7 +206,7 @@ public final class Randomly {
                     return l;
                 }
             }
-            long nextLong = ThreadLocalRandom.current().nextInt();
+            long nextLong = getThreadRandom().nextInt();
             addToCache(nextLong);
             return nextLong;
         }
@@ -238,7 +240,7 @@ public final class Randomly {
                     sb.append(val);
                 }
             } else {
-                sb.append(ALPHABET.charAt(ThreadLocalRandom.current().nextInt(n)));
+                sb.append(ALPHABET.charAt(getThreadRandom().nextInt(n)));
             }
         }
         while (Randomly.getBooleanWithSmallProbability()) {
@@ -275,7 +277,7 @@ public final class Randomly {
         }
         int size = Randomly.smallNumber();
         byte[] arr = new byte[size];
-        ThreadLocalRandom.current().nextBytes(arr);
+        getThreadRandom().nextBytes(arr);
         return arr;
     }
 
@@ -309,7 +311,7 @@ public final class Randomly {
         if (smallBiasProbability()) {
             value = Randomly.fromOptions(0L, Long.MAX_VALUE, 1L);
         } else {
-            value = ThreadLocalRandom.current().nextLong(Long.MAX_VALUE);
+            value = nextLong(0, Long.MAX_VALUE);
         }
         addToCache(value);
         assert value >= 0;
@@ -335,17 +337,17 @@ public final class Randomly {
                 return d;
             }
         }
-        double value = ThreadLocalRandom.current().nextDouble();
+        double value = getThreadRandom().nextDouble();
         addToCache(value);
         return value;
     }
 
     private static boolean smallBiasProbability() {
-        return ThreadLocalRandom.current().nextInt(100) == 1;
+        return getThreadRandom().nextInt(100) == 1;
     }
 
     public static boolean getBooleanWithRatherLowProbability() {
-        return ThreadLocalRandom.current().nextInt(10) == 1;
+        return getThreadRandom().nextInt(10) == 1;
     }
 
     public static boolean getBooleanWithSmallProbability() {
@@ -356,18 +358,18 @@ public final class Randomly {
         if (left == right) {
             return left;
         }
-        return ThreadLocalRandom.current().nextInt(left, right);
+        return nextInt(left, right);
     }
 
     public long getLong(long left, long right) {
         if (left == right) {
             return left;
         }
-        return ThreadLocalRandom.current().nextLong(left, right);
+        return nextLong(left, right);
     }
 
     public BigDecimal getRandomBigDecimal() {
-        return new BigDecimal(ThreadLocalRandom.current().nextDouble());
+        return new BigDecimal(getThreadRandom().nextDouble());
     }
 
     public long getPositiveIntegerNotNull() {
@@ -380,19 +382,19 @@ public final class Randomly {
     }
 
     public static long getNonCachedInteger() {
-        return ThreadLocalRandom.current().nextLong();
+        return getThreadRandom().nextLong();
     }
 
     public static long getPositiveNonCachedInteger() {
-        return ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE);
+        return nextLong(1, Long.MAX_VALUE);
     }
 
     public static long getPositiveOrZeroNonCachedInteger() {
-        return ThreadLocalRandom.current().nextLong(0, Long.MAX_VALUE);
+        return nextLong(0, Long.MAX_VALUE);
     }
 
     public static long getNotCachedInteger(int lower, int upper) {
-        return ThreadLocalRandom.current().nextLong(lower, upper);
+        return nextLong(lower, upper);
     }
 
     public Randomly(Supplier<String> provider) {
@@ -402,8 +404,64 @@ public final class Randomly {
     public Randomly() {
     }
 
+    /**
+     * Replaces the source of all random decisions made by the current thread, for example, to record or replay them.
+     * Passing null restores the default source.
+     */
+    public static void setThreadRandom(Random random) {
+        if (random == null) {
+            THREAD_RANDOM.remove();
+        } else {
+            THREAD_RANDOM.set(random);
+        }
+    }
+
+    private static Random getThreadRandom() {
+        Random random = THREAD_RANDOM.get();
+        return random == null ? ThreadLocalRandom.current() : random;
+    }
+
+    // java.util.Random provides bounded values only for positive upper bounds, so we compute ranges ourselves
+
+    private static int nextInt(int lower, int upper) {
+        if (lower >= upper) {
+            throw new IllegalArgumentException(lower + " " + upper);
+        }
+        int n = upper - lower;
+        if (n > 0) {
+            return lower + getThreadRandom().nextInt(n);
+        }
+        int value;
+        do {
+            value = getThreadRandom().nextInt();
+        } while (value < lower || value >= upper);
+        return value;
+    }
+
+    private static long nextLong(long lower, long upper) {
+        if (lower >= upper) {
+            throw new IllegalArgumentException(lower + " " + upper);
+        }
+        Random random = getThreadRandom();
+        long n = upper - lower;
+        if (n > 0) {
+            long bits;
+            long value;
+            do {
+                bits = random.nextLong() >>> 1;
+                value = bits % n;
+            } while (bits - value + (n - 1) < 0);
+            return lower + value;
+        }
+        long value;
+        do {
+            value = random.nextLong();
+        } while (value < lower || value >= upper);
+        return value;
+    }
+
     public static double getUncachedDouble() {
-        return ThreadLocalRandom.current().nextDouble();
+        return getThreadRandom().nextDouble();
     }
 
     public String getChar() {
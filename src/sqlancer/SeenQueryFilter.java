@@ -0,0 +1,78 @@
+package sqlancer;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A Bloom filter over the queries that a test oracle has already checked on a database. Since the memory of the filter
+ * is bounded, a query that was not checked before is skipped with a small probability (a false positive), which is
+ * acceptable, as the next randomly generated query will typically differ. A query that was checked before is always
+ * detected.
+ */
+public class SeenQueryFilter {
+
+    private static final int NR_HASH_FUNCTIONS = 4;
+    private static final LongAdder NR_CHECKED_QUERIES = new LongAdder();
+    private static final LongAdder NR_SEEN_QUERIES = new LongAdder();
+
+    private final long[] bits;
+    private final long nrBits;
+
+    public SeenQueryFilter(int nrBits) {
+        if (nrBits <= 0) {
+            throw new IllegalArgumentException(String.valueOf(nrBits));
+        }
+        this.bits = new long[(nrBits + Long.SIZE - 1) / Long.SIZE];
+        this.nrBits = (long) bits.length * Long.SIZE;
+    }
+
+    /**
+     * Adds the query to the filter.
+     *
+     * @return whether the query was (probably) already added before
+     */
+    public boolean add(String query) {
+        long hash = hash(query);
+        // derive the indexes from two halves of the hash (Kirsch and Mitzenmacher)
+        long h1 = hash & 0xFFFFFFFFL;
+        long h2 = (hash >>> 32) | 1;
+        boolean seen = true;
+        for (int i = 0; i < NR_HASH_FUNCTIONS; i++) {
+            long index = Math.floorMod(h1 + i * h2, nrBits);
+            long mask = 1L << (index % Long.SIZE);
+            int word = (int) (index / Long.SIZE);
+            if ((bits[word] & mask) == 0) {
+                seen = false;
+                bits[word] |= mask;
+            }
+        }
+        NR_CHECKED_QUERIES.increment();
+        if (seen) {
+            NR_SEEN_QUERIES.increment();
+        }
+        return seen;
+    }
+
+    public static long getNrCheckedQueries() {
+        return NR_CHECKED_QUERIES.sum();
+    }
+
+    public static long getNrSeenQueries() {
+        return NR_SEEN_QUERIES.sum();
+    }
+
+    /**
+     * Computes the 64-bit FNV-1a hash of the query, followed by a finalizer that spreads the bits over both halves.
+     */
+    private static long hash(String query) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < query.length(); i++) {
+            hash ^= query.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+}
@@ -1,7 +1,5 @@
 package sqlancer;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Map;
 
 import sqlancer.mysql.MySQLSchema.MySQLColumn;
@@ -16,7 +14,7 @@ import sqlancer.sqlite3.schema.SQLite3Schema.SQLite3Column;
 
 public class StateToReproduce {
 
-    public final List<Query> statements = new ArrayList<>();
+    public final StatementJournal statements = new StatementJournal();
     public String queryString;
 
     private String databaseName;
@@ -48,7 +46,7 @@ public class StateToReproduce {
         return databaseVersion;
     }
 
-    public List<Query> getStatements() {
+    public StatementJournal getStatements() {
         return statements;
     }
 
@@ -10,6 +10,7 @@ public class StatementExecutor<G extends GlobalState<?>, A extends AbstractActio
     private final A[] actions;
     private final ActionMapper<G, A> mapping;
     private final AfterQueryAction queryConsumer;
+    private TransactionBatcher batcher;
 
     @FunctionalInterface
     public interface AfterQueryAction {
@@ -26,6 +27,23 @@ public class StatementExecutor<G extends GlobalState<?>, A extends AbstractActio
         this.actions = actions;
         this.mapping = mapping;
         this.queryConsumer = queryConsumer;
+        this.batcher = new TransactionBatcher(globalState);
+    }
+
+    /**
+     * Executes the data-modifying statements in transactions of <code>--transaction-batch-size</code> statements (see
+     * {@link TransactionBatcher}).
+     *
+     * @param useSavepoints
+     *            whether the DBMS aborts the whole transaction when a statement fails
+     * @param beginStatements
+     *            the statements that start a transaction in which each statement checks all constraints, or BEGIN if
+     *            none are given
+     */
+    public StatementExecutor<G, A> enableTransactionBatching(boolean useSavepoints, String... beginStatements) {
+        batcher = new TransactionBatcher(globalState, globalState.getOptions().getTransactionBatchSize(), useSavepoints,
+                beginStatements);
+        return this;
     }
 
     public void executeStatements() throws SQLException {
@@ -67,7 +85,7 @@ public class StatementExecutor<G extends GlobalState<?>, A extends AbstractActio
                     if (globalState.getOptions().logEachSelect()) {
                         globalState.getLogger().writeCurrent(query.getQueryString());
                     }
-                    success = globalState.getManager().execute(query);
+                    success = batcher.execute(query);
                 } while (!success && nrTries++ < globalState.getOptions().getNrStatementRetryCount());
             } catch (IgnoreMeException e) {
 
@@ -77,5 +95,6 @@ public class StatementExecutor<G extends GlobalState<?>, A extends AbstractActio
             }
             total--;
         }
+        batcher.commit();
     }
 }
@@ -0,0 +1,136 @@
+package sqlancer;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * The append-only history of the statements that were executed on a database, which is printed when a bug is found.
+ * Only the SQL strings of the statements are retained. The most recent statements are kept in memory; when there are
+ * more than {@link #MAX_IN_MEMORY_STATEMENTS} of them, they are moved to a temporary file, so that the memory used by a
+ * thread does not grow with the number of statements and queries that it executes on a database.
+ */
+public class StatementJournal implements Iterable<Query> {
+
+    private static final int MAX_IN_MEMORY_STATEMENTS = 1000;
+
+    private final List<String> inMemoryStatements = new ArrayList<>();
+    private File file;
+    private DataOutputStream out;
+    private int nrStatementsInFile;
+
+    public synchronized void add(Query query) {
+        inMemoryStatements.add(query.getQueryString());
+        if (inMemoryStatements.size() > MAX_IN_MEMORY_STATEMENTS) {
+            spill();
+        }
+    }
+
+    public synchronized int size() {
+        return nrStatementsInFile + inMemoryStatements.size();
+    }
+
+    /**
+     * Returns the statements in the order in which they were added. The statements that are added while iterating are
+     * not returned.
+     */
+    @Override
+    public synchronized Iterator<Query> iterator() {
+        Iterator<String> tail = new ArrayList<>(inMemoryStatements).iterator();
+        if (file == null) {
+            return new JournalIterator(null, 0, tail);
+        }
+        try {
+            out.flush();
+            return new JournalIterator(new DataInputStream(new BufferedInputStream(new FileInputStream(file))),
+                    nrStatementsInFile, tail);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * Deletes the temporary file, after which the journal must no longer be used.
+     */
+    public synchronized void close() {
+        if (file != null) {
+            try {
+                out.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            file.delete();
+            file = null;
+        }
+        inMemoryStatements.clear();
+        nrStatementsInFile = 0;
+    }
+
+    private void spill() {
+        try {
+            if (file == null) {
+                file = File.createTempFile("sqlancer-statements", ".journal");
+                out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+            }
+            for (String statement : inMemoryStatements) {
+                byte[] bytes = statement.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+        nrStatementsInFile += inMemoryStatements.size();
+        inMemoryStatements.clear();
+    }
+
+    private static final class JournalIterator implements Iterator<Query> {
+
+        private final DataInputStream in;
+        private final Iterator<String> tail;
+        private int nrRemainingInFile;
+
+        JournalIterator(DataInputStream in, int nrStatementsInFile, Iterator<String> tail) {
+            this.in = in;
+            this.nrRemainingInFile = nrStatementsInFile;
+            this.tail = tail;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nrRemainingInFile != 0 || tail.hasNext();
+        }
+
+        @Override
+        public Query next() {
+            if (nrRemainingInFile == 0) {
+                if (!tail.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return new QueryAdapter(tail.next());
+            }
+            try {
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                if (--nrRemainingInFile == 0) {
+                    in.close();
+                }
+                return new QueryAdapter(new String(bytes, StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                throw new AssertionError(e);
+            }
+        }
+
+    }
+
+}
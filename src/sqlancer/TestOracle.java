@@ -17,6 +17,9 @@ public interface TestOracle {
 
     static void assumeResultSetsAreEqual(List<String> resultSet, List<String> secondResultSet,
             String originalQueryString, List<String> combinedString, GlobalState<?> state) {
+        if (resultSet.isEmpty() && secondResultSet.isEmpty()) {
+            OracleStatistics.reportVacuousCheck();
+        }
         if (resultSet.size() != secondResultSet.size()) {
             String queryFormatString = "%s; -- cardinality: %d";
             String firstQueryString = String.format(queryFormatString, originalQueryString, resultSet.size());
@@ -0,0 +1,140 @@
+package sqlancer;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
+import sqlancer.Main.QueryManager;
+
+/**
+ * Executes the statements that generate a database, grouping consecutive data-modifying statements into explicit
+ * transactions of <code>--transaction-batch-size</code> statements, so that not every statement pays for a commit
+ * (which requires a consensus round in distributed DBMSs). All other statements first end the current transaction.
+ *
+ * For DBMSs in which an error aborts the whole transaction, each statement is preceded by a savepoint, to which the
+ * transaction is rolled back if the statement fails with an expected error. DBMSs with statement-level rollback, such
+ * as MySQL, do not need savepoints. The transaction boundaries and savepoints are executed by the {@link QueryManager}
+ * and are thus part of the statements of the {@link StateToReproduce}.
+ *
+ * Transactions that the generators start themselves are left to them: batching is suspended from a generated BEGIN
+ * until the next generated COMMIT or ROLLBACK.
+ *
+ * A batched statement must fail with the same errors as in autocommit mode, so constraints that the DBMS would only
+ * check at COMMIT, such as deferred foreign keys in PostgreSQL or unique keys in optimistic transactions in TiDB, must
+ * be checked by each statement. DBMSs with such constraints start the transactions with statements that request this.
+ */
+public class TransactionBatcher {
+
+    private static final Pattern BATCHABLE_STATEMENT = Pattern.compile("\\s*(INSERT|UPDATE|DELETE|REPLACE)\\b",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern TRANSACTION_START = Pattern.compile("\\s*(BEGIN|START\\s+TRANSACTION)\\b",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern TRANSACTION_END = Pattern.compile("\\s*(COMMIT|END|ROLLBACK|ABORT)\\b",
+            Pattern.CASE_INSENSITIVE);
+    private static final String SAVEPOINT_NAME = "sqlancer_statement";
+    // a statement that is not batched could still abort a transaction that the batcher did not notice
+    private static final ExpectedErrors CONTROL_STATEMENT_ERRORS = ExpectedErrors
+            .from(Arrays.asList("current transaction is aborted, commands ignored until end of transaction block"));
+
+    private final GlobalState<?> globalState;
+    private final int batchSize;
+    private final boolean useSavepoints;
+    private final String[] beginStatements;
+    private int nrStatementsInTransaction;
+    private boolean isInGeneratedTransaction;
+
+    /**
+     * Creates a batcher that executes all statements in autocommit mode.
+     */
+    public TransactionBatcher(GlobalState<?> globalState) {
+        this(globalState, 0, false);
+    }
+
+    /**
+     * @param beginStatements
+     *            the statements that start a transaction in which each statement checks all constraints, or BEGIN if
+     *            none are given
+     */
+    public TransactionBatcher(GlobalState<?> globalState, int batchSize, boolean useSavepoints,
+            String... beginStatements) {
+        this.globalState = globalState;
+        this.batchSize = batchSize;
+        this.useSavepoints = useSavepoints;
+        this.beginStatements = beginStatements.length == 0 ? new String[] { "BEGIN" } : beginStatements.clone();
+    }
+
+    /**
+     * Executes the statement, which the caller has already logged.
+     *
+     * @return whether the statement was executed successfully
+     */
+    public boolean execute(Query query) throws SQLException {
+        QueryManager manager = globalState.getManager();
+        if (batchSize <= 0) {
+            return manager.execute(query);
+        }
+        String queryString = query.getQueryString();
+        if (TRANSACTION_START.matcher(queryString).lookingAt()) {
+            commit();
+            // even if BEGIN fails, the DBMS is typically already in a transaction
+            isInGeneratedTransaction = true;
+            return manager.execute(query);
+        }
+        if (TRANSACTION_END.matcher(queryString).lookingAt()) {
+            commit();
+            isInGeneratedTransaction = false;
+            return manager.execute(query);
+        }
+        if (isInGeneratedTransaction) {
+            return manager.execute(query);
+        }
+        if (query.couldAffectSchema() || !BATCHABLE_STATEMENT.matcher(queryString).lookingAt()) {
+            commit();
+            return manager.execute(query);
+        }
+        if (nrStatementsInTransaction == 0) {
+            for (String statement : beginStatements) {
+                executeControlStatement(statement);
+            }
+        }
+        if (useSavepoints && !executeControlStatement("SAVEPOINT " + SAVEPOINT_NAME)) {
+            rollback();
+            return manager.execute(query);
+        }
+        boolean success = manager.execute(query);
+        if (!success && useSavepoints && !executeControlStatement("ROLLBACK TO SAVEPOINT " + SAVEPOINT_NAME)) {
+            rollback();
+            return success;
+        }
+        if (++nrStatementsInTransaction >= batchSize) {
+            commit();
+        }
+        return success;
+    }
+
+    /**
+     * Commits the current transaction, if there is one.
+     */
+    public void commit() throws SQLException {
+        if (nrStatementsInTransaction != 0) {
+            nrStatementsInTransaction = 0;
+            executeControlStatement("COMMIT");
+        }
+    }
+
+    /**
+     * Rolls back the current transaction, which is necessary if it was aborted.
+     */
+    private void rollback() throws SQLException {
+        nrStatementsInTransaction = 0;
+        executeControlStatement("ROLLBACK");
+    }
+
+    private boolean executeControlStatement(String statement) throws SQLException {
+        if (globalState.getOptions().logEachSelect()) {
+            globalState.getLogger().writeCurrent(statement);
+        }
+        return globalState.getManager().execute(new QueryAdapter(statement, CONTROL_STATEMENT_ERRORS));
+    }
+
+}
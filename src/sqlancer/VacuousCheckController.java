@@ -0,0 +1,87 @@
+package sqlancer;
+
+/**
+ * Steers the generators of a database towards queries that select some rows when too many of the checks of its test
+ * oracle are vacuous (see {@link OracleStatistics}). After every {@link #WINDOW_SIZE} checks, the controller uses fewer
+ * joined tables, shallower expressions and more constants that were sampled from the columns if the ratio of vacuous
+ * checks exceeds <code>--vacuous-check-threshold</code>, and moves back towards the configured generation if the ratio
+ * is below half of the threshold. The generators read the settings through the controller; since queries can be
+ * pre-generated by another thread, the settings are volatile.
+ */
+public final class VacuousCheckController {
+
+    private static final int WINDOW_SIZE = 100;
+    private static final double SAMPLED_CONSTANT_PROBABILITY_STEP = 0.25;
+    private static final int MAX_STEERING_STEPS = 3;
+
+    private final double threshold;
+    private final int configuredMaxExpressionDepth;
+    private final double configuredSampledConstantProbability;
+
+    private int nrChecks;
+    private int nrVacuousChecks;
+    private int nrSteeringSteps;
+
+    private volatile int maxExpressionDepth;
+    private volatile int maxNrTables = Integer.MAX_VALUE;
+    private volatile double sampledConstantProbability;
+
+    public VacuousCheckController(MainOptions options) {
+        this.threshold = options.getVacuousCheckThreshold();
+        this.configuredMaxExpressionDepth = options.getMaxExpressionDepth();
+        this.configuredSampledConstantProbability = options.getSampledConstantProbability();
+        this.maxExpressionDepth = configuredMaxExpressionDepth;
+        this.sampledConstantProbability = configuredSampledConstantProbability;
+    }
+
+    public boolean isEnabled() {
+        return threshold < 1;
+    }
+
+    /**
+     * Records a check that passed, and adjusts the settings at the end of a window of checks.
+     */
+    public void recordCheck(boolean vacuous) {
+        if (!isEnabled()) {
+            return;
+        }
+        nrChecks++;
+        if (vacuous) {
+            nrVacuousChecks++;
+        }
+        if (nrChecks < WINDOW_SIZE) {
+            return;
+        }
+        double vacuousRatio = (double) nrVacuousChecks / nrChecks;
+        nrChecks = 0;
+        nrVacuousChecks = 0;
+        if (vacuousRatio > threshold && nrSteeringSteps < MAX_STEERING_STEPS) {
+            nrSteeringSteps++;
+        } else if (vacuousRatio < threshold / 2 && nrSteeringSteps > 0) {
+            nrSteeringSteps--;
+        } else {
+            return;
+        }
+        maxExpressionDepth = Math.max(1, configuredMaxExpressionDepth - nrSteeringSteps);
+        maxNrTables = nrSteeringSteps == 0 ? Integer.MAX_VALUE : MAX_STEERING_STEPS + 1 - nrSteeringSteps;
+        sampledConstantProbability = Math.min(1,
+                configuredSampledConstantProbability + nrSteeringSteps * SAMPLED_CONSTANT_PROBABILITY_STEP);
+    }
+
+    public int getMaxExpressionDepth() {
+        return maxExpressionDepth;
+    }
+
+    /**
+     * Returns the maximum number of tables that a query should join, which is not limited unless the checks are
+     * steered.
+     */
+    public int getMaxNrTables() {
+        return maxNrTables;
+    }
+
+    public double getSampledConstantProbability() {
+        return sampledConstantProbability;
+    }
+
+}
@@ -0,0 +1,239 @@
+package sqlancer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A compiled LIKE or GLOB pattern, which is used to compute the expected value of these operators. A pattern is
+ * compiled once into a sequence of elements, and a string is matched by simulating the corresponding nondeterministic
+ * automaton, which tracks the set of pattern positions that can be reached after each character. Matching thus takes at
+ * most O(n * m) steps for a string of length n and a pattern with m elements, while a backtracking matcher takes
+ * exponential time for patterns with several wildcards, such as <code>%a%a%a%b</code>.
+ */
+public final class WildcardPattern {
+
+    public static final char NO_ESCAPE = 0;
+
+    private enum ElementKind {
+        LITERAL, ANY_CHARACTER, ANY_SEQUENCE, CHARACTER_SET, NOTHING
+    }
+
+    private final ElementKind[] kinds;
+    private final char[] literals;
+    private final String[] characterSets;
+    private final boolean[] isInverted;
+    private final boolean caseSensitive;
+
+    private WildcardPattern(List<ElementKind> kinds, List<Character> literals, List<String> characterSets,
+            List<Boolean> isInverted, boolean caseSensitive) {
+        int nrElements = kinds.size();
+        this.kinds = kinds.toArray(new ElementKind[nrElements]);
+        this.literals = new char[nrElements];
+        this.characterSets = characterSets.toArray(new String[nrElements]);
+        this.isInverted = new boolean[nrElements];
+        for (int i = 0; i < nrElements; i++) {
+            this.literals[i] = literals.get(i);
+            this.isInverted[i] = isInverted.get(i);
+        }
+        this.caseSensitive = caseSensitive;
+    }
+
+    /**
+     * Compiles a LIKE pattern, in which <code>%</code> matches any sequence of characters and <code>_</code> matches
+     * any single character. If the pattern is not case sensitive, only ASCII letters are folded.
+     */
+    public static WildcardPattern like(String pattern, boolean caseSensitive) {
+        return like(pattern, caseSensitive, NO_ESCAPE);
+    }
+
+    /**
+     * Compiles a LIKE pattern in which the escape character causes the next character to be matched literally.
+     */
+    public static WildcardPattern like(String pattern, boolean caseSensitive, char escape) {
+        Builder builder = new Builder();
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (escape != NO_ESCAPE && c == escape) {
+                if (i == pattern.length() - 1) {
+                    // a pattern that ends with the escape character is an error in most DBMSs
+                    throw new IgnoreMeException();
+                }
+                i++;
+                builder.add(ElementKind.LITERAL, caseSensitive ? pattern.charAt(i) : toUpper(pattern.charAt(i)));
+            } else if (c == '%') {
+                builder.addAnySequence();
+            } else if (c == '_') {
+                builder.add(ElementKind.ANY_CHARACTER, c);
+            } else {
+                builder.add(ElementKind.LITERAL, caseSensitive ? c : toUpper(c));
+            }
+        }
+        return builder.build(caseSensitive);
+    }
+
+    /**
+     * Compiles a case-sensitive SQLite GLOB pattern, in which <code>*</code> matches any sequence of characters,
+     * <code>?</code> matches any single character, and <code>[...]</code> matches a character in (or, starting with
+     * <code>^</code>, not in) the set, which can contain ranges such as <code>a-z</code>. A set that is empty or not
+     * closed matches no character.
+     */
+    public static WildcardPattern glob(String pattern) {
+        Builder builder = new Builder();
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            switch (c) {
+            case '*':
+                builder.addAnySequence();
+                break;
+            case '?':
+                builder.add(ElementKind.ANY_CHARACTER, c);
+                break;
+            case '[':
+                int endingBracket = pattern.indexOf(']', i + 1);
+                if (endingBracket == -1) {
+                    builder.add(ElementKind.NOTHING, c);
+                    return builder.build(true);
+                }
+                builder.addCharacterSet(pattern.substring(i + 1, endingBracket));
+                i = endingBracket;
+                break;
+            default:
+                builder.add(ElementKind.LITERAL, c);
+                break;
+            }
+        }
+        return builder.build(true);
+    }
+
+    public boolean matches(String str) {
+        int nrElements = kinds.length;
+        boolean[] current = new boolean[nrElements + 1];
+        boolean[] next = new boolean[nrElements + 1];
+        current[0] = true;
+        skipAnySequences(current);
+        for (int strPosition = 0; strPosition < str.length(); strPosition++) {
+            char c = caseSensitive ? str.charAt(strPosition) : toUpper(str.charAt(strPosition));
+            boolean isAnyReachable = false;
+            for (int i = 0; i < nrElements; i++) {
+                if (current[i]) {
+                    if (kinds[i] == ElementKind.ANY_SEQUENCE) {
+                        next[i] = true;
+                        isAnyReachable = true;
+                    } else if (matches(i, c)) {
+                        next[i + 1] = true;
+                        isAnyReachable = true;
+                    }
+                }
+            }
+            if (!isAnyReachable) {
+                return false;
+            }
+            skipAnySequences(next);
+            boolean[] tmp = current;
+            current = next;
+            next = tmp;
+            Arrays.fill(next, false);
+        }
+        return current[nrElements];
+    }
+
+    /**
+     * Adds the positions that can be reached by matching an empty sequence.
+     */
+    private void skipAnySequences(boolean[] positions) {
+        for (int i = 0; i < kinds.length; i++) {
+            if (positions[i] && kinds[i] == ElementKind.ANY_SEQUENCE) {
+                positions[i + 1] = true;
+            }
+        }
+    }
+
+    private boolean matches(int element, char c) {
+        switch (kinds[element]) {
+        case LITERAL:
+            return literals[element] == c;
+        case ANY_CHARACTER:
+            return true;
+        case CHARACTER_SET:
+            return characterSets[element].indexOf(c) != -1 != isInverted[element];
+        case NOTHING:
+            return false;
+        default:
+            throw new AssertionError(kinds[element]);
+        }
+    }
+
+    private static char toUpper(char cur) {
+        if (cur >= 'a' && cur <= 'z') {
+            return (char) (cur + 'A' - 'a');
+        } else {
+            return cur;
+        }
+    }
+
+    private static final class Builder {
+
+        private final List<ElementKind> kinds = new ArrayList<>();
+        private final List<Character> literals = new ArrayList<>();
+        private final List<String> characterSets = new ArrayList<>();
+        private final List<Boolean> isInverted = new ArrayList<>();
+
+        void add(ElementKind kind, char literal) {
+            add(kind, literal, null, false);
+        }
+
+        void addAnySequence() {
+            // consecutive wildcards are equivalent to a single one
+            if (kinds.isEmpty() || kinds.get(kinds.size() - 1) != ElementKind.ANY_SEQUENCE) {
+                add(ElementKind.ANY_SEQUENCE, '%');
+            }
+        }
+
+        void addCharacterSet(String set) {
+            boolean inverted = false;
+            StringBuilder characters = new StringBuilder(set);
+            if (set.startsWith("^")) {
+                if (set.length() == 1) {
+                    add(ElementKind.NOTHING, '^');
+                    return;
+                }
+                inverted = true;
+                characters.deleteCharAt(0);
+            }
+            // expand the ranges in the same way as the GLOB implementation that this class replaced
+            int currentSearchIndex = 0;
+            while (true) {
+                int minusPosition = characters.indexOf("-", currentSearchIndex);
+                if (minusPosition == -1 || minusPosition == 0 || minusPosition == characters.length() - 1) {
+                    break;
+                }
+                StringBuilder expandedRange = new StringBuilder();
+                for (char start = characters.charAt(minusPosition - 1); start < characters
+                        .charAt(minusPosition + 1); start++) {
+                    expandedRange.append(start);
+                }
+                characters.replace(minusPosition, minusPosition + 1, expandedRange.toString());
+                currentSearchIndex = minusPosition + expandedRange.length();
+            }
+            if (characters.length() == 0) {
+                add(ElementKind.NOTHING, '[');
+            } else {
+                add(ElementKind.CHARACTER_SET, '[', characters.toString(), inverted);
+            }
+        }
+
+        private void add(ElementKind kind, char literal, String characterSet, boolean inverted) {
+            kinds.add(kind);
+            literals.add(literal);
+            characterSets.add(characterSet);
+            isInverted.add(inverted);
+        }
+
+        WildcardPattern build(boolean caseSensitive) {
+            return new WildcardPattern(kinds, literals, characterSets, isInverted, caseSensitive);
+        }
+
+    }
+
+}
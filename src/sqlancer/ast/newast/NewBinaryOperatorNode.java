@@ -18,6 +18,10 @@ public class NewBinaryOperatorNode<T> implements Node<T> {
         return op.getTextRepresentation();
     }
 
+    public Operator getOp() {
+        return op;
+    }
+
     public Node<T> getLeft() {
         return left;
     }
@@ -2,9 +2,24 @@ package sqlancer.ast.newast;
 
 import java.util.List;
 
+/**
+ * Prints expressions of the generic AST. By default, every operation is enclosed in parentheses, so that the printed
+ * expression does not depend on the operator precedence of the DBMS. If an {@link OperatorPrecedence} is given, only
+ * the parentheses that the DBMS needs to parse the expression as intended are printed, which results in considerably
+ * shorter queries for deep expressions.
+ */
 public abstract class NewToStringVisitor<E> {
 
     protected final StringBuilder sb = new StringBuilder();
+    private final OperatorPrecedence<E> precedence;
+
+    public NewToStringVisitor() {
+        this(null);
+    }
+
+    public NewToStringVisitor(OperatorPrecedence<E> precedence) {
+        this.precedence = precedence;
+    }
 
     @SuppressWarnings("unchecked")
     public void visit(Node<E> expr) {
@@ -50,7 +65,13 @@ public abstract class NewToStringVisitor<E> {
     }
 
     public void visit(NewPostfixTextNode<E> postFixText) {
-        visit(postFixText.getExpr());
+        if (precedence == null) {
+            visit(postFixText.getExpr());
+        } else {
+            // the text might contain operators of any precedence
+            visitOperand(postFixText.getExpr(),
+                    precedence.getPrecedence(postFixText.getExpr()) != OperatorPrecedence.ATOMIC);
+        }
         sb.append(postFixText.getText());
     }
 
@@ -87,6 +108,18 @@ public abstract class NewToStringVisitor<E> {
     }
 
     public void visit(NewBetweenOperatorNode<E> opNode) {
+        if (precedence != null) {
+            visitOperand(opNode.getLeft(), bindsAtMostAsTightly(opNode.getLeft(), opNode));
+            if (!opNode.isTrue()) {
+                sb.append(" NOT");
+            }
+            sb.append(" BETWEEN ");
+            // the AND of the BETWEEN operator must not be confused with a logical AND
+            visitOperand(opNode.getMiddle(), precedence.getPrecedence(opNode.getMiddle()) != OperatorPrecedence.ATOMIC);
+            sb.append(" AND ");
+            visitOperand(opNode.getRight(), bindsAtMostAsTightly(opNode.getRight(), opNode));
+            return;
+        }
         sb.append("(");
         visit(opNode.getLeft());
         if (!opNode.isTrue()) {
@@ -100,6 +133,12 @@ public abstract class NewToStringVisitor<E> {
     }
 
     public void visit(NewUnaryPostfixOperatorNode<E> opNode) {
+        if (precedence != null) {
+            visitOperand(opNode.getExpr(), bindsLooser(opNode.getExpr(), opNode));
+            sb.append(" ");
+            sb.append(opNode.getOperatorRepresentation());
+            return;
+        }
         sb.append("((");
         visit(opNode.getExpr());
         sb.append(") ");
@@ -115,6 +154,16 @@ public abstract class NewToStringVisitor<E> {
     }
 
     public void visit(NewInOperatorNode<E> in) {
+        if (precedence != null) {
+            visitOperand(in.getLeft(), bindsAtMostAsTightly(in.getLeft(), in));
+            if (in.isNegated()) {
+                sb.append(" NOT");
+            }
+            sb.append(" IN (");
+            visit(in.getRight());
+            sb.append(")");
+            return;
+        }
         sb.append("(");
         visit(in.getLeft());
         if (in.isNegated()) {
@@ -126,6 +175,12 @@ public abstract class NewToStringVisitor<E> {
     }
 
     public void visit(NewUnaryPrefixOperatorNode<E> opNode) {
+        if (precedence != null) {
+            sb.append(opNode.getOperatorRepresentation());
+            sb.append(" ");
+            visitOperand(opNode.getExpr(), bindsLooser(opNode.getExpr(), opNode));
+            return;
+        }
         sb.append("(");
         sb.append(opNode.getOperatorRepresentation());
         sb.append(" ");
@@ -134,6 +189,15 @@ public abstract class NewToStringVisitor<E> {
     }
 
     public void visit(NewBinaryOperatorNode<E> opNode) {
+        if (precedence != null) {
+            visitOperand(opNode.getLeft(), bindsLooser(opNode.getLeft(), opNode));
+            // the spaces are needed since, for example, a - -1 must not be printed as a comment
+            sb.append(" ");
+            sb.append(opNode.getOperatorRepresentation());
+            sb.append(" ");
+            visitOperand(opNode.getRight(), bindsAtMostAsTightly(opNode.getRight(), opNode));
+            return;
+        }
         sb.append("(");
         sb.append("(");
 
@@ -148,6 +212,18 @@ public abstract class NewToStringVisitor<E> {
     }
 
     public void visit(NewTernaryNode<E> ternaryNode) {
+        if (precedence != null) {
+            visitOperand(ternaryNode.getLeft(), bindsAtMostAsTightly(ternaryNode.getLeft(), ternaryNode));
+            sb.append(" ");
+            sb.append(ternaryNode.getLeftStr());
+            sb.append(" ");
+            visitOperand(ternaryNode.getMiddle(), bindsAtMostAsTightly(ternaryNode.getMiddle(), ternaryNode));
+            sb.append(" ");
+            sb.append(ternaryNode.getRightStr());
+            sb.append(" ");
+            visitOperand(ternaryNode.getRight(), bindsAtMostAsTightly(ternaryNode.getRight(), ternaryNode));
+            return;
+        }
         sb.append("(");
         visit(ternaryNode.getLeft());
         sb.append(" ");
@@ -161,6 +237,41 @@ public abstract class NewToStringVisitor<E> {
         sb.append(")");
     }
 
+    private void visitOperand(Node<E> operand, boolean parenthesize) {
+        if (parenthesize) {
+            sb.append("(");
+        }
+        visit(operand);
+        if (parenthesize) {
+            sb.append(")");
+        }
+    }
+
+    /**
+     * Returns whether the operand needs parentheses on the side to which the operator associates.
+     */
+    private boolean bindsLooser(Node<E> operand, Node<E> operator) {
+        int operandPrecedence = precedence.getPrecedence(operand);
+        int operatorPrecedence = precedence.getPrecedence(operator);
+        if (operatorPrecedence == OperatorPrecedence.UNKNOWN) {
+            return operandPrecedence != OperatorPrecedence.ATOMIC;
+        }
+        return operandPrecedence < operatorPrecedence
+                || operandPrecedence == operatorPrecedence && !precedence.isAssociative(operator);
+    }
+
+    /**
+     * Returns whether the operand needs parentheses on the side to which the operator does not associate.
+     */
+    private boolean bindsAtMostAsTightly(Node<E> operand, Node<E> operator) {
+        int operandPrecedence = precedence.getPrecedence(operand);
+        int operatorPrecedence = precedence.getPrecedence(operator);
+        if (operatorPrecedence == OperatorPrecedence.UNKNOWN) {
+            return operandPrecedence != OperatorPrecedence.ATOMIC;
+        }
+        return operandPrecedence <= operatorPrecedence;
+    }
+
     public String get() {
         return sb.toString();
     }
@@ -16,6 +16,10 @@ public class NewUnaryPostfixOperatorNode<T> implements Node<T> {
         return op.getTextRepresentation();
     }
 
+    public Operator getOp() {
+        return op;
+    }
+
     public Node<T> getExpr() {
         return expr;
     }
@@ -0,0 +1,141 @@
+package sqlancer.ast.newast;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import sqlancer.reducer.ExpressionReducer;
+import sqlancer.reducer.ExpressionReducer.ExpressionStructure;
+
+/**
+ * Provides structural operations on expression trees that consist of the generic {@link Node} classes, such as
+ * enumerating subtrees and replacing a subtree with another expression. Nodes are immutable from the point of view of
+ * this class; a replacement creates copies of all nodes on the path to the replaced subtree. DBMS-specific nodes and
+ * subclasses of the generic nodes are treated as leaves.
+ */
+public final class NodeRewriter {
+
+    private NodeRewriter() {
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <E> List<Node<E>> getChildren(Node<E> node) {
+        Class<?> c = node.getClass();
+        if (c == NewBinaryOperatorNode.class) {
+            NewBinaryOperatorNode<E> op = (NewBinaryOperatorNode<E>) node;
+            return Arrays.asList(op.getLeft(), op.getRight());
+        } else if (c == NewUnaryPrefixOperatorNode.class) {
+            return Arrays.asList(((NewUnaryPrefixOperatorNode<E>) node).getExpr());
+        } else if (c == NewUnaryPostfixOperatorNode.class) {
+            return Arrays.asList(((NewUnaryPostfixOperatorNode<E>) node).getExpr());
+        } else if (c == NewBetweenOperatorNode.class) {
+            NewBetweenOperatorNode<E> op = (NewBetweenOperatorNode<E>) node;
+            return Arrays.asList(op.getLeft(), op.getMiddle(), op.getRight());
+        } else if (c == NewTernaryNode.class) {
+            NewTernaryNode<E> op = (NewTernaryNode<E>) node;
+            return Arrays.asList(op.getLeft(), op.getMiddle(), op.getRight());
+        } else if (c == NewFunctionNode.class) {
+            return ((NewFunctionNode<E, ?>) node).getArgs();
+        } else if (c == NewInOperatorNode.class) {
+            NewInOperatorNode<E> op = (NewInOperatorNode<E>) node;
+            List<Node<E>> children = new ArrayList<>();
+            children.add(op.getLeft());
+            children.addAll(op.getRight());
+            return children;
+        } else {
+            // CASE nodes have optional children and are therefore also treated as leaves
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Creates a copy of the node in which the children are replaced by the given ones, which must match the children
+     * returned by {@link #getChildren(Node)} in number.
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> Node<E> withChildren(Node<E> node, List<Node<E>> children) {
+        Class<?> c = node.getClass();
+        if (c == NewBinaryOperatorNode.class) {
+            return new NewBinaryOperatorNode<>(children.get(0), children.get(1),
+                    ((NewBinaryOperatorNode<E>) node).getOp());
+        } else if (c == NewUnaryPrefixOperatorNode.class) {
+            return new NewUnaryPrefixOperatorNode<>(children.get(0), ((NewUnaryPrefixOperatorNode<E>) node).getOp());
+        } else if (c == NewUnaryPostfixOperatorNode.class) {
+            return new NewUnaryPostfixOperatorNode<>(children.get(0), ((NewUnaryPostfixOperatorNode<E>) node).getOp());
+        } else if (c == NewBetweenOperatorNode.class) {
+            return new NewBetweenOperatorNode<>(children.get(0), children.get(1), children.get(2),
+                    ((NewBetweenOperatorNode<E>) node).isTrue());
+        } else if (c == NewTernaryNode.class) {
+            NewTernaryNode<E> op = (NewTernaryNode<E>) node;
+            return new NewTernaryNode<>(children.get(0), children.get(1), children.get(2), op.getLeftStr(),
+                    op.getRightStr());
+        } else if (c == NewFunctionNode.class) {
+            return new NewFunctionNode<>(new ArrayList<>(children), ((NewFunctionNode<E, Object>) node).getFunc());
+        } else if (c == NewInOperatorNode.class) {
+            return new NewInOperatorNode<>(children.get(0), new ArrayList<>(children.subList(1, children.size())),
+                    ((NewInOperatorNode<E>) node).isNegated());
+        } else {
+            if (!children.isEmpty()) {
+                throw new AssertionError(node);
+            }
+            return node;
+        }
+    }
+
+    /**
+     * Returns all subtrees of the given expression in pre-order, including the expression itself.
+     */
+    public static <E> List<Node<E>> getSubtrees(Node<E> root) {
+        List<Node<E>> subtrees = new ArrayList<>();
+        addSubtrees(root, subtrees);
+        return subtrees;
+    }
+
+    private static <E> void addSubtrees(Node<E> node, List<Node<E>> subtrees) {
+        subtrees.add(node);
+        for (Node<E> child : getChildren(node)) {
+            addSubtrees(child, subtrees);
+        }
+    }
+
+    /**
+     * Returns a copy of the expression in which the subtree that is identical (by reference) to the target is replaced
+     * by the replacement.
+     */
+    public static <E> Node<E> replace(Node<E> root, Node<E> target, Node<E> replacement) {
+        if (root == target) {
+            return replacement;
+        }
+        List<Node<E>> children = getChildren(root);
+        List<Node<E>> newChildren = new ArrayList<>(children.size());
+        boolean changed = false;
+        for (Node<E> child : children) {
+            Node<E> newChild = replace(child, target, replacement);
+            changed |= newChild != child;
+            newChildren.add(newChild);
+        }
+        return changed ? withChildren(root, newChildren) : root;
+    }
+
+    /**
+     * Creates a reducer for expressions that consist of the generic nodes, which replaces subtrees with their children
+     * or with one of the given constants.
+     */
+    public static <E> ExpressionReducer<Node<E>> createReducer(List<Node<E>> constants) {
+        return new ExpressionReducer<>(new ExpressionStructure<Node<E>>() {
+
+            @Override
+            public List<Node<E>> getChildren(Node<E> expr) {
+                return NodeRewriter.getChildren(expr);
+            }
+
+            @Override
+            public Node<E> withChildren(Node<E> expr, List<Node<E>> children) {
+                return NodeRewriter.withChildren(expr, children);
+            }
+
+        }, constants);
+    }
+
+}
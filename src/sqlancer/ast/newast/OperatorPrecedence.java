@@ -0,0 +1,33 @@
+package sqlancer.ast.newast;
+
+/**
+ * Describes the operator precedence of a SQL dialect, so that {@link NewToStringVisitor} can omit parentheses that the
+ * DBMS does not need to parse an expression as intended.
+ */
+public interface OperatorPrecedence<E> {
+
+    /**
+     * The precedence of expressions that are never split by a surrounding operator, such as constants, column
+     * references, function calls, and expressions that are printed in parentheses anyway.
+     */
+    int ATOMIC = Integer.MAX_VALUE;
+
+    /**
+     * The precedence of expressions whose binding is unknown. Such expressions are parenthesized when they are
+     * operands, and their operands are parenthesized unless they are atomic.
+     */
+    int UNKNOWN = Integer.MIN_VALUE;
+
+    /**
+     * Returns how tightly the operator of the node binds its operands, where a higher value binds more tightly.
+     */
+    int getPrecedence(Node<E> node);
+
+    /**
+     * Returns whether an operand that has the same precedence as the node can be printed without parentheses on the
+     * side to which the operator associates (i.e., the left side for binary and postfix operators, and the right side
+     * for prefix operators).
+     */
+    boolean isAssociative(Node<E> node);
+
+}
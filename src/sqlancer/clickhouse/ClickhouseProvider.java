@@ -8,6 +8,7 @@ import java.sql.Statement;
 
 import sqlancer.AbstractAction;
 import sqlancer.DatabaseProvider;
+import sqlancer.DatabaseProviderFactory;
 import sqlancer.GlobalState;
 import sqlancer.IgnoreMeException;
 import sqlancer.Main.QueryManager;
@@ -22,6 +23,7 @@ import sqlancer.clickhouse.ClickhouseProvider.ClickhouseGlobalState;
 import sqlancer.clickhouse.gen.ClickhouseInsertGenerator;
 import sqlancer.clickhouse.gen.ClickhouseTableGenerator;
 import sqlancer.clickhouse.oracle.ClickhouseTLPWhereOracle;
+import sqlancer.events.OracleCheckEvent;
 
 public class ClickhouseProvider implements DatabaseProvider<ClickhouseGlobalState, ClickhouseOptions> {
 
@@ -106,7 +108,7 @@ public class ClickhouseProvider implements DatabaseProvider<ClickhouseGlobalStat
 
         for (int i = 0; i < globalState.getOptions().getNrQueries(); i++) {
             try {
-                oracle.check();
+                OracleCheckEvent.check(oracle);
                 manager.incrementSelectQueryCount();
             } catch (IgnoreMeException e) {
 
@@ -146,6 +148,20 @@ public class ClickhouseProvider implements DatabaseProvider<ClickhouseGlobalStat
         return con;
     }
 
+    public static final class Factory implements DatabaseProviderFactory {
+
+        @Override
+        public String getDBMSName() {
+            return "clickhouse";
+        }
+
+        @Override
+        public ClickhouseProvider createProvider() {
+            return new ClickhouseProvider();
+        }
+
+    }
+
     @Override
     public String getDBMSName() {
         return "clickhouse";
@@ -10,6 +10,7 @@ import java.util.List;
 
 import sqlancer.Randomly;
 import sqlancer.clickhouse.ClickhouseSchema.ClickhouseTable;
+import sqlancer.events.SchemaRefreshEvent;
 import sqlancer.schema.AbstractSchema;
 import sqlancer.schema.AbstractTable;
 import sqlancer.schema.AbstractTableColumn;
@@ -124,6 +125,10 @@ public class ClickhouseSchema extends AbstractSchema<ClickhouseTable> {
     }
 
     public static ClickhouseSchema fromConnection(Connection con, String databaseName) throws SQLException {
+        return SchemaRefreshEvent.record(() -> readSchema(con));
+    }
+
+    private static ClickhouseSchema readSchema(Connection con) throws SQLException {
         List<ClickhouseTable> databaseTables = new ArrayList<>();
         List<String> tableNames = getTableNames(con);
         for (String tableName : tableNames) {
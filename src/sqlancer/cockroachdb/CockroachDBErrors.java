@@ -2,8 +2,14 @@ package sqlancer.cockroachdb;
 
 import java.util.Set;
 
+import sqlancer.ExpectedErrors;
+
 public final class CockroachDBErrors {
 
+    public static final ExpectedErrors EXPRESSION_ERRORS = ExpectedErrors.build(CockroachDBErrors::addExpressionErrors);
+    public static final ExpectedErrors TRANSACTION_ERRORS = ExpectedErrors
+            .build(CockroachDBErrors::addTransactionErrors);
+
     private CockroachDBErrors() {
     }
 
@@ -13,6 +13,7 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 import sqlancer.DatabaseProvider;
+import sqlancer.DatabaseProviderFactory;
 import sqlancer.GlobalState;
 import sqlancer.IgnoreMeException;
 import sqlancer.Main.QueryManager;
@@ -25,6 +26,7 @@ import sqlancer.Randomly;
 import sqlancer.StateToReproduce;
 import sqlancer.StateToReproduce.CockroachDBStateToReproduce;
 import sqlancer.TestOracle;
+import sqlancer.TransactionBatcher;
 import sqlancer.cockroachdb.CockroachDBProvider.CockroachDBGlobalState;
 import sqlancer.cockroachdb.CockroachDBSchema.CockroachDBTable;
 import sqlancer.cockroachdb.gen.CockroachDBCommentOnGenerator;
@@ -40,6 +42,9 @@ import sqlancer.cockroachdb.gen.CockroachDBTableGenerator;
 import sqlancer.cockroachdb.gen.CockroachDBTruncateGenerator;
 import sqlancer.cockroachdb.gen.CockroachDBUpdateGenerator;
 import sqlancer.cockroachdb.gen.CockroachDBViewGenerator;
+import sqlancer.coverage.QueryPlanFingerprinter;
+import sqlancer.events.OracleCheckEvent;
+import sqlancer.schema.SchemaCache;
 
 public class CockroachDBProvider implements DatabaseProvider<CockroachDBGlobalState, CockroachDBOptions> {
 
@@ -117,11 +122,21 @@ public class CockroachDBProvider implements DatabaseProvider<CockroachDBGlobalSt
     public static class CockroachDBGlobalState extends GlobalState<CockroachDBOptions> {
 
         private CockroachDBSchema schema;
+        private final SchemaCache<CockroachDBSchema> schemaCache = new SchemaCache<>(
+                () -> CockroachDBSchema.fromConnection(getConnection(), getDatabaseName()));
 
         public void setSchema(CockroachDBSchema schema) {
             this.schema = schema;
         }
 
+        /**
+         * Reads the schema from the database, unless no statement that could have changed it was executed since it was
+         * last read.
+         */
+        public void updateSchema() throws SQLException {
+            setSchema(schemaCache.get(getManager()));
+        }
+
         public CockroachDBSchema getSchema() {
             return schema;
         }
@@ -131,13 +146,11 @@ public class CockroachDBProvider implements DatabaseProvider<CockroachDBGlobalSt
     @Override
     public void generateAndTestDatabase(CockroachDBGlobalState globalState) throws SQLException {
         Randomly r = new Randomly();
-        Connection con = globalState.getConnection();
-        String databaseName = globalState.getDatabaseName();
         QueryManager manager = globalState.getManager();
         StateLogger logger = globalState.getLogger();
         StateToReproduce state = globalState.getState();
         MainOptions options = globalState.getOptions();
-        globalState.setSchema(CockroachDBSchema.fromConnection(con, databaseName));
+        globalState.updateSchema();
 
         List<String> standardSettings = new ArrayList<>();
         standardSettings.add("--Don't send automatic bug reports\n"
@@ -179,10 +192,12 @@ public class CockroachDBProvider implements DatabaseProvider<CockroachDBGlobalSt
                     // continue trying
                 }
             } while (!success);
-            globalState.setSchema(CockroachDBSchema.fromConnection(con, databaseName));
+            globalState.updateSchema();
         }
         logger.writeCurrent(state);
 
+        // an error aborts the whole transaction in CockroachDB
+        TransactionBatcher batcher = new TransactionBatcher(globalState, options.getTransactionBatchSize(), true);
         int[] nrRemaining = new int[Action.values().length];
         List<Action> actions = new ArrayList<>();
         int total = 0;
@@ -260,19 +275,20 @@ public class CockroachDBProvider implements DatabaseProvider<CockroachDBGlobalSt
                     if (options.logEachSelect()) {
                         logger.writeCurrent(query.getQueryString());
                     }
-                    success = manager.execute(query);
+                    success = batcher.execute(query);
                 } while (!success && nrTries++ < 1000);
             } catch (IgnoreMeException e) {
 
             }
             if (query != null && query.couldAffectSchema()) {
-                globalState.setSchema(CockroachDBSchema.fromConnection(con, databaseName));
+                globalState.updateSchema();
                 if (globalState.getSchema().getDatabaseTables().isEmpty()) {
                     throw new IgnoreMeException();
                 }
             }
             total--;
         }
+        batcher.commit();
         manager.incrementCreateDatabase();
         if (globalState.getDmbsSpecificOptions().makeVectorizationMoreLikely && Randomly.getBoolean()) {
             manager.execute(new QueryAdapter("SET vectorize=on;"));
@@ -280,7 +296,7 @@ public class CockroachDBProvider implements DatabaseProvider<CockroachDBGlobalSt
         TestOracle oracle = globalState.getDmbsSpecificOptions().oracle.create(globalState);
         for (int i = 0; i < options.getNrQueries(); i++) {
             try {
-                oracle.check();
+                OracleCheckEvent.check(oracle);
                 manager.incrementSelectQueryCount();
             } catch (IgnoreMeException e) {
 
@@ -321,6 +337,20 @@ public class CockroachDBProvider implements DatabaseProvider<CockroachDBGlobalSt
         return con;
     }
 
+    public static final class Factory implements DatabaseProviderFactory {
+
+        @Override
+        public String getDBMSName() {
+            return "cockroachdb";
+        }
+
+        @Override
+        public CockroachDBProvider createProvider() {
+            return new CockroachDBProvider();
+        }
+
+    }
+
     @Override
     public String getDBMSName() {
         return "cockroachdb";
@@ -340,4 +370,9 @@ public class CockroachDBProvider implements DatabaseProvider<CockroachDBGlobalSt
     public CockroachDBOptions getCommand() {
         return new CockroachDBOptions();
     }
+
+    @Override
+    public QueryPlanFingerprinter getQueryPlanFingerprinter() {
+        return new CockroachDBQueryPlanFingerprinter();
+    }
 }
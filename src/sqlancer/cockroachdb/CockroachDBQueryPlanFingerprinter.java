@@ -0,0 +1,31 @@
+package sqlancer.cockroachdb;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import sqlancer.coverage.QueryPlanFingerprinter;
+
+public class CockroachDBQueryPlanFingerprinter implements QueryPlanFingerprinter {
+
+    @Override
+    public List<String> getOperators(Connection con, String query) throws SQLException {
+        List<String> operators = new ArrayList<>();
+        try (Statement s = con.createStatement()) {
+            try (ResultSet rs = s.executeQuery("EXPLAIN " + query)) {
+                while (rs.next()) {
+                    // rows without an operator in the tree column describe properties of the previous operator
+                    String operator = rs.getString(1).replaceAll("[^a-zA-Z ]", "").trim();
+                    if (!operator.isEmpty()) {
+                        operators.add(operator);
+                    }
+                }
+            }
+        }
+        return operators;
+    }
+
+}
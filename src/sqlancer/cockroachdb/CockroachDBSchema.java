@@ -5,10 +5,16 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import sqlancer.Randomly;
 import sqlancer.cockroachdb.CockroachDBSchema.CockroachDBTable;
+import sqlancer.events.SchemaRefreshEvent;
 import sqlancer.schema.AbstractSchema;
 import sqlancer.schema.AbstractTable;
 import sqlancer.schema.AbstractTableColumn;
@@ -17,6 +23,18 @@ import sqlancer.schema.TableIndex;
 
 public class CockroachDBSchema extends AbstractSchema<CockroachDBTable> {
 
+    // reads the columns and indexes of all tables with a single query, rather than with a query per table; the index
+    // rows of a table are returned before its columns, so that the primary key columns are known
+    private static final String CATALOG_QUERY = "SELECT c.table_name, FALSE AS is_index, c.column_name, "
+            + "c.crdb_sql_type AS data_type, c.is_nullable, NULL AS index_name, c.ordinal_position AS position "
+            + "FROM information_schema.columns c JOIN information_schema.tables t "
+            + "ON c.table_schema = t.table_schema AND c.table_name = t.table_name "
+            + "WHERE t.table_type IN ('BASE TABLE', 'LOCAL TEMPORARY') "
+            + "UNION ALL SELECT s.table_name, TRUE, s.column_name, NULL, NULL, s.index_name, s.seq_in_index "
+            + "FROM information_schema.statistics s JOIN information_schema.tables t "
+            + "ON s.table_schema = t.table_schema AND s.table_name = t.table_name "
+            + "WHERE t.table_type IN ('BASE TABLE', 'LOCAL TEMPORARY') ORDER BY table_name, is_index DESC, position";
+
     public enum CockroachDBDataType {
 
         INT, BOOL, STRING, FLOAT, BYTES, BIT, VARBIT, SERIAL, INTERVAL, TIMESTAMP, TIMESTAMPTZ, DECIMAL, JSONB, TIME, TIMETZ, ARRAY;
@@ -289,68 +307,49 @@ public class CockroachDBSchema extends AbstractSchema<CockroachDBTable> {
     }
 
     public static CockroachDBSchema fromConnection(Connection con, String databaseName) throws SQLException {
-        List<CockroachDBTable> databaseTables = new ArrayList<>();
-        List<String> tableNames = getTableNames(con);
-        for (String tableName : tableNames) {
-            List<CockroachDBColumn> databaseColumns = getTableColumns(con, tableName);
-            List<TableIndex> indexes = getIndexes(con, tableName);
-            boolean isView = tableName.startsWith("v");
-            CockroachDBTable t = new CockroachDBTable(tableName, databaseColumns, indexes, isView);
-            for (CockroachDBColumn c : databaseColumns) {
-                c.setTable(t);
-            }
-            databaseTables.add(t);
-
-        }
-        return new CockroachDBSchema(databaseTables);
-    }
-
-    private static List<String> getTableNames(Connection con) throws SQLException {
-        List<String> tableNames = new ArrayList<>();
-        try (Statement s = con.createStatement()) {
-            ResultSet tableRs = s.executeQuery(
-                    "SELECT table_name FROM information_schema.tables WHERE TABLE_TYPE IN ('BASE TABLE', 'LOCAL TEMPORARY');");
-            while (tableRs.next()) {
-                String tableName = tableRs.getString(1);
-                tableNames.add(tableName);
-            }
-        }
-        return tableNames;
+        return SchemaRefreshEvent.record(() -> readSchema(con));
     }
 
-    private static List<TableIndex> getIndexes(Connection con, String tableName) throws SQLException {
-        List<TableIndex> indexes = new ArrayList<>();
+    private static CockroachDBSchema readSchema(Connection con) throws SQLException {
+        Map<String, List<CockroachDBColumn>> columns = new LinkedHashMap<>();
+        Map<String, List<TableIndex>> indexes = new HashMap<>();
+        Set<String> primaryKeyColumns = new HashSet<>();
         try (Statement s = con.createStatement()) {
-            try (ResultSet rs = s.executeQuery(String.format("SHOW INDEX FROM %s", tableName))) {
-                while (rs.next()) {
-                    String indexName = rs.getString("index_name");
-                    indexes.add(TableIndex.create(indexName));
-                }
-            }
-        }
-        return indexes;
-    }
-
-    private static List<CockroachDBColumn> getTableColumns(Connection con, String tableName) throws SQLException {
-        List<CockroachDBColumn> columns = new ArrayList<>();
-        try (Statement s = con.createStatement()) {
-            try (ResultSet rs = s.executeQuery("SHOW COLUMNS FROM " + tableName)) {
+            try (ResultSet rs = s.executeQuery(CATALOG_QUERY)) {
                 while (rs.next()) {
+                    String tableName = rs.getString("table_name");
                     String columnName = rs.getString("column_name");
-                    if (columnName.contains("crdb_internal")) {
-                        continue; // created for CREATE INDEX ON t0(c0) USING HASH WITH BUCKET_COUNT = 1;
+                    if (rs.getBoolean("is_index")) {
+                        String indexName = rs.getString("index_name");
+                        indexes.computeIfAbsent(tableName, t -> new ArrayList<>()).add(TableIndex.create(indexName));
+                        if (indexName.contains("primary")) {
+                            primaryKeyColumns.add(tableName + "." + columnName);
+                        }
+                    } else if (!columnName.contains("crdb_internal")) {
+                        // created for CREATE INDEX ON t0(c0) USING HASH WITH BUCKET_COUNT = 1;
+                        String dataType = rs.getString("data_type");
+                        boolean isNullable = rs.getString("is_nullable").contentEquals("YES");
+                        boolean isPrimaryKey = primaryKeyColumns.contains(tableName + "." + columnName);
+                        columns.computeIfAbsent(tableName, t -> new ArrayList<>()).add(
+                                new CockroachDBColumn(columnName, getColumnType(dataType), isPrimaryKey, isNullable));
                     }
-                    String dataType = rs.getString("data_type");
-                    boolean isNullable = rs.getBoolean("is_nullable");
-                    String indices = rs.getString("indices");
-                    boolean isPrimaryKey = indices.contains("primary");
-                    CockroachDBColumn c = new CockroachDBColumn(columnName, getColumnType(dataType), isPrimaryKey,
-                            isNullable);
-                    columns.add(c);
                 }
             }
         }
-        return columns;
+        List<CockroachDBTable> databaseTables = new ArrayList<>();
+        for (Map.Entry<String, List<CockroachDBColumn>> table : columns.entrySet()) {
+            String tableName = table.getKey();
+            List<CockroachDBColumn> databaseColumns = table.getValue();
+            boolean isView = tableName.startsWith("v");
+            CockroachDBTable t = new CockroachDBTable(tableName, databaseColumns,
+                    indexes.getOrDefault(tableName, new ArrayList<>()), isView);
+            for (CockroachDBColumn c : databaseColumns) {
+                c.setTable(t);
+            }
+            databaseTables.add(t);
+
+        }
+        return new CockroachDBSchema(databaseTables);
     }
 
 }
@@ -1,8 +1,6 @@
 package sqlancer.cockroachdb.gen;
 
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 import sqlancer.IgnoreMeException;
 import sqlancer.Query;
@@ -53,9 +51,7 @@ public final class CockroachDBCommentOnGenerator {
         sb.append(" IS '");
         sb.append(globalState.getRandomly().getString().replace("'", "''"));
         sb.append("'");
-        Set<String> errors = new HashSet<>();
-        CockroachDBErrors.addTransactionErrors(errors);
-        return new QueryAdapter(sb.toString(), errors);
+        return new QueryAdapter(sb.toString(), CockroachDBErrors.TRANSACTION_ERRORS);
     }
 
 }
@@ -1,8 +1,6 @@
 package sqlancer.cockroachdb.gen;
 
-import java.util.HashSet;
-import java.util.Set;
-
+import sqlancer.ExpectedErrors;
 import sqlancer.Query;
 import sqlancer.QueryAdapter;
 import sqlancer.Randomly;
@@ -14,25 +12,34 @@ import sqlancer.cockroachdb.CockroachDBVisitor;
 
 public final class CockroachDBDeleteGenerator {
 
+    private static final ExpectedErrors WHERE_ERRORS = ExpectedErrors.build(errors -> {
+        CockroachDBErrors.addExpressionErrors(errors);
+        errors.add("foreign key violation");
+        CockroachDBErrors.addTransactionErrors(errors);
+    });
+    private static final ExpectedErrors NO_WHERE_ERRORS = ExpectedErrors.build(errors -> {
+        errors.add("rejected: DELETE without WHERE clause (sql_safe_updates = true)");
+        errors.add("foreign key violation");
+        CockroachDBErrors.addTransactionErrors(errors);
+    });
+
     private CockroachDBDeleteGenerator() {
     }
 
     public static Query delete(CockroachDBGlobalState globalState) {
-        Set<String> errors = new HashSet<>();
+        ExpectedErrors errors;
         StringBuilder sb = new StringBuilder();
         CockroachDBTable table = globalState.getSchema().getRandomTable(t -> !t.isView());
         sb.append("DELETE FROM ");
         sb.append(table.getName());
         if (Randomly.getBoolean()) {
             sb.append(" WHERE ");
-            CockroachDBErrors.addExpressionErrors(errors);
+            errors = WHERE_ERRORS;
             sb.append(CockroachDBVisitor.asString(new CockroachDBExpressionGenerator(globalState)
                     .setColumns(table.getColumns()).generateExpression(CockroachDBDataType.BOOL.get())));
         } else {
-            errors.add("rejected: DELETE without WHERE clause (sql_safe_updates = true)");
+            errors = NO_WHERE_ERRORS;
         }
-        errors.add("foreign key violation");
-        CockroachDBErrors.addTransactionErrors(errors);
         return new QueryAdapter(sb.toString(), errors);
     }
 
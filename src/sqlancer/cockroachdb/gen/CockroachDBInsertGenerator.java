@@ -1,10 +1,10 @@
 package sqlancer.cockroachdb.gen;
 
-import java.util.HashSet;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Set;
 import java.util.stream.Collectors;
 
+import sqlancer.ExpectedErrors;
 import sqlancer.Query;
 import sqlancer.QueryAdapter;
 import sqlancer.Randomly;
@@ -16,23 +16,37 @@ import sqlancer.cockroachdb.CockroachDBVisitor;
 
 public final class CockroachDBInsertGenerator {
 
+    private static final String AFFECT_ROW_TWICE = "UPSERT or INSERT...ON CONFLICT command cannot affect row a second time";
+    private static final String NO_CONFLICT_CONSTRAINT = "there is no unique or exclusion constraint matching the ON CONFLICT specification";
+    private static final ExpectedErrors INSERT_ERRORS = getErrors();
+    private static final ExpectedErrors UPSERT_ERRORS = getErrors(AFFECT_ROW_TWICE);
+    private static final ExpectedErrors ON_CONFLICT_DO_NOTHING_ERRORS = getErrors(NO_CONFLICT_CONSTRAINT);
+    private static final ExpectedErrors ON_CONFLICT_DO_UPDATE_ERRORS = getErrors(AFFECT_ROW_TWICE,
+            NO_CONFLICT_CONSTRAINT);
+
     private CockroachDBInsertGenerator() {
     }
 
-    public static Query insert(CockroachDBGlobalState globalState) {
-        Set<String> errors = new HashSet<>();
+    private static ExpectedErrors getErrors(String... additionalErrors) {
+        return ExpectedErrors.build(errors -> {
+            CockroachDBErrors.addExpressionErrors(errors); // e.g., caused by computed columns
+            errors.add("violates not-null constraint");
+            errors.add("violates unique constraint");
+            errors.add("primary key column");
+            errors.add("cannot write directly to computed column"); // TODO: do not select generated columns
 
-        CockroachDBErrors.addExpressionErrors(errors); // e.g., caused by computed columns
-        errors.add("violates not-null constraint");
-        errors.add("violates unique constraint");
-        errors.add("primary key column");
-        errors.add("cannot write directly to computed column"); // TODO: do not select generated columns
+            errors.add("failed to satisfy CHECK constraint");
 
-        errors.add("failed to satisfy CHECK constraint");
+            errors.add("violates foreign key constraint");
+            errors.add("foreign key violation");
+            errors.add("multi-part foreign key");
+            errors.addAll(Arrays.asList(additionalErrors));
+            CockroachDBErrors.addTransactionErrors(errors);
+        });
+    }
 
-        errors.add("violates foreign key constraint");
-        errors.add("foreign key violation");
-        errors.add("multi-part foreign key");
+    public static Query insert(CockroachDBGlobalState globalState) {
+        ExpectedErrors errors = INSERT_ERRORS;
         StringBuilder sb = new StringBuilder();
         CockroachDBTable table = globalState.getSchema().getRandomTable(t -> !t.isView());
         boolean isUpsert = Randomly.getBoolean();
@@ -40,7 +54,7 @@ public final class CockroachDBInsertGenerator {
             sb.append("INSERT INTO ");
         } else {
             sb.append("UPSERT INTO ");
-            errors.add("UPSERT or INSERT...ON CONFLICT command cannot affect row a second time");
+            errors = UPSERT_ERRORS;
         }
         sb.append(table.getName());
         sb.append(" ");
@@ -78,6 +92,7 @@ public final class CockroachDBInsertGenerator {
             sb.append(" DO ");
             if (Randomly.getBoolean()) {
                 sb.append(" NOTHING ");
+                errors = ON_CONFLICT_DO_NOTHING_ERRORS;
             } else {
                 // TODO: also support excluded. (see
                 // https://www.cockroachlabs.com/docs/stable/insert.html)
@@ -92,11 +107,9 @@ public final class CockroachDBInsertGenerator {
                     sb.append(" = ");
                     sb.append(CockroachDBVisitor.asString(gen.generateConstant(c.getType())));
                 }
-                errors.add("UPSERT or INSERT...ON CONFLICT command cannot affect row a second time");
+                errors = ON_CONFLICT_DO_UPDATE_ERRORS;
             }
-            errors.add("there is no unique or exclusion constraint matching the ON CONFLICT specification");
         }
-        CockroachDBErrors.addTransactionErrors(errors);
         return new QueryAdapter(sb.toString(), errors);
     }
 
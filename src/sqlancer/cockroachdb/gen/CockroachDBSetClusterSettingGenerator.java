@@ -1,9 +1,8 @@
 package sqlancer.cockroachdb.gen;
 
-import java.util.HashSet;
-import java.util.Set;
 import java.util.function.Function;
 
+import sqlancer.ExpectedErrors;
 import sqlancer.Query;
 import sqlancer.QueryAdapter;
 import sqlancer.Randomly;
@@ -12,6 +11,11 @@ import sqlancer.cockroachdb.CockroachDBProvider.CockroachDBGlobalState;
 
 public final class CockroachDBSetClusterSettingGenerator {
 
+    private static final ExpectedErrors ERRORS = ExpectedErrors.build(errors -> {
+        CockroachDBErrors.addTransactionErrors(errors);
+        errors.add("setting updated but timed out waiting to read new value");
+    });
+
     private CockroachDBSetClusterSettingGenerator() {
     }
 
@@ -54,12 +58,7 @@ public final class CockroachDBSetClusterSettingGenerator {
         } else {
             sb.append(s.f.apply(globalState));
         }
-        Set<String> errors = new HashSet<>();
-        CockroachDBErrors.addTransactionErrors(errors);
-        errors.add("setting updated but timed out waiting to read new value");
-
-        CockroachDBErrors.addTransactionErrors(errors);
-        return new QueryAdapter(sb.toString(), errors);
+        return new QueryAdapter(sb.toString(), ERRORS);
     }
 
 }
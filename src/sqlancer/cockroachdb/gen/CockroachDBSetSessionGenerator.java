@@ -1,7 +1,5 @@
 package sqlancer.cockroachdb.gen;
 
-import java.util.HashSet;
-import java.util.Set;
 import java.util.function.Function;
 
 import sqlancer.Query;
@@ -53,9 +51,7 @@ public final class CockroachDBSetSessionGenerator {
         sb.append(s);
         sb.append("=");
         sb.append(s.f.apply(globalState));
-        Set<String> errors = new HashSet<>();
-        CockroachDBErrors.addTransactionErrors(errors);
-        return new QueryAdapter(sb.toString(), errors);
+        return new QueryAdapter(sb.toString(), CockroachDBErrors.TRANSACTION_ERRORS);
     }
 
 }
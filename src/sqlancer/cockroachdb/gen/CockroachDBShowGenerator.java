@@ -1,8 +1,6 @@
 package sqlancer.cockroachdb.gen;
 
-import java.util.HashSet;
-import java.util.Set;
-
+import sqlancer.ExpectedErrors;
 import sqlancer.Query;
 import sqlancer.QueryAdapter;
 import sqlancer.Randomly;
@@ -11,6 +9,12 @@ import sqlancer.cockroachdb.CockroachDBProvider.CockroachDBGlobalState;
 
 public final class CockroachDBShowGenerator {
 
+    private static final ExpectedErrors FINGERPRINTS_ERRORS = ExpectedErrors.build(errors -> {
+        errors.add("as type bytes: bytea encoded value ends with incomplete escape sequence");
+        errors.add("invalid bytea escape sequence");
+        CockroachDBErrors.addTransactionErrors(errors);
+    });
+
     private CockroachDBShowGenerator() {
     }
 
@@ -20,14 +24,13 @@ public final class CockroachDBShowGenerator {
     }
 
     public static Query show(CockroachDBGlobalState globalState) {
-        Set<String> errors = new HashSet<>();
+        ExpectedErrors errors = CockroachDBErrors.TRANSACTION_ERRORS;
         StringBuilder sb = new StringBuilder();
         switch (Randomly.fromOptions(Option.values())) {
         case EXPERIMENTAL_FINGERPRINTS:
             sb.append("SHOW EXPERIMENTAL_FINGERPRINTS FROM TABLE "
                     + globalState.getSchema().getRandomTable(t -> !t.isView()).getName());
-            errors.add("as type bytes: bytea encoded value ends with incomplete escape sequence");
-            errors.add("invalid bytea escape sequence");
+            errors = FINGERPRINTS_ERRORS;
             break;
         case DATABASES:
             sb.append("SHOW DATABASES");
@@ -57,7 +60,6 @@ public final class CockroachDBShowGenerator {
         default:
             throw new AssertionError();
         }
-        CockroachDBErrors.addTransactionErrors(errors);
         return new QueryAdapter(sb.toString(), errors);
     }
 
@@ -1,8 +1,6 @@
 package sqlancer.cockroachdb.gen;
 
-import java.util.HashSet;
-import java.util.Set;
-
+import sqlancer.ExpectedErrors;
 import sqlancer.Query;
 import sqlancer.QueryAdapter;
 import sqlancer.Randomly;
@@ -10,17 +8,19 @@ import sqlancer.cockroachdb.CockroachDBProvider.CockroachDBGlobalState;
 
 public final class CockroachDBTruncateGenerator {
 
-    private CockroachDBTruncateGenerator() {
-    }
-
-    // https://www.cockroachlabs.com/docs/v19.2/truncate.html
-    public static Query truncate(CockroachDBGlobalState globalState) {
-        Set<String> errors = new HashSet<>();
+    private static final ExpectedErrors ERRORS = ExpectedErrors.build(errors -> {
         errors.add("is interleaved by table");
         errors.add("is referenced by foreign key");
 
         // https://github.com/cockroachdb/cockroach/issues/47030
         errors.add("unexpected value: <nil>");
+    });
+
+    private CockroachDBTruncateGenerator() {
+    }
+
+    // https://www.cockroachlabs.com/docs/v19.2/truncate.html
+    public static Query truncate(CockroachDBGlobalState globalState) {
         StringBuilder sb = new StringBuilder();
         sb.append("TRUNCATE");
         if (Randomly.getBoolean()) {
@@ -41,7 +41,7 @@ public final class CockroachDBTruncateGenerator {
             sb.append(" ");
             sb.append(Randomly.fromOptions("CASCADE", "RESTRICT"));
         }
-        return new QueryAdapter(sb.toString(), errors);
+        return new QueryAdapter(sb.toString(), ERRORS);
     }
 
 }
@@ -1,9 +1,8 @@
 package sqlancer.cockroachdb.gen;
 
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
+import sqlancer.ExpectedErrors;
 import sqlancer.Query;
 import sqlancer.QueryAdapter;
 import sqlancer.Randomly;
@@ -16,11 +15,22 @@ import sqlancer.cockroachdb.CockroachDBVisitor;
 
 public final class CockroachDBUpdateGenerator {
 
+    private static final ExpectedErrors ERRORS = ExpectedErrors.build(errors -> {
+        errors.add("violates unique constraint");
+        errors.add("violates not-null constraint");
+        errors.add("violates foreign key constraint");
+        errors.add("UPDATE without WHERE clause (sql_safe_updates = true)");
+        errors.add("numeric constant out of int64 range");
+        errors.add("failed to satisfy CHECK constraint");
+        errors.add("cannot write directly to computed column");
+        CockroachDBErrors.addExpressionErrors(errors);
+        CockroachDBErrors.addTransactionErrors(errors);
+    });
+
     private CockroachDBUpdateGenerator() {
     }
 
     public static Query gen(CockroachDBGlobalState globalState) {
-        Set<String> errors = new HashSet<>();
         CockroachDBTable table = globalState.getSchema().getRandomTable(t -> !t.isView());
         List<CockroachDBColumn> columns = table.getRandomNonEmptyColumnSubset();
         CockroachDBExpressionGenerator gen = new CockroachDBExpressionGenerator(globalState).setColumns(columns);
@@ -45,16 +55,7 @@ public final class CockroachDBUpdateGenerator {
             sb.append(" WHERE ");
             sb.append(CockroachDBVisitor.asString(gen.generateExpression(CockroachDBDataType.BOOL.get())));
         }
-        errors.add("violates unique constraint");
-        errors.add("violates not-null constraint");
-        errors.add("violates foreign key constraint");
-        errors.add("UPDATE without WHERE clause (sql_safe_updates = true)");
-        errors.add("numeric constant out of int64 range");
-        errors.add("failed to satisfy CHECK constraint");
-        errors.add("cannot write directly to computed column");
-        CockroachDBErrors.addExpressionErrors(errors);
-        CockroachDBErrors.addTransactionErrors(errors);
-        return new QueryAdapter(sb.toString(), errors);
+        return new QueryAdapter(sb.toString(), ERRORS);
     }
 
 }
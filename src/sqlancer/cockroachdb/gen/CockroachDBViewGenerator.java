@@ -1,8 +1,6 @@
 package sqlancer.cockroachdb.gen;
 
-import java.util.HashSet;
-import java.util.Set;
-
+import sqlancer.ExpectedErrors;
 import sqlancer.Query;
 import sqlancer.QueryAdapter;
 import sqlancer.Randomly;
@@ -11,6 +9,13 @@ import sqlancer.cockroachdb.CockroachDBProvider.CockroachDBGlobalState;
 
 public final class CockroachDBViewGenerator {
 
+    private static final ExpectedErrors ERRORS = ExpectedErrors.build(errors -> {
+        CockroachDBErrors.addExpressionErrors(errors);
+        CockroachDBErrors.addTransactionErrors(errors);
+        errors.add("value type unknown cannot be used for table columns");
+        errors.add("already exists");
+    });
+
     private CockroachDBViewGenerator() {
     }
 
@@ -28,12 +33,7 @@ public final class CockroachDBViewGenerator {
         }
         sb.append(") AS ");
         sb.append(CockroachDBRandomQuerySynthesizer.generate(globalState, nrColumns).getQueryString());
-        Set<String> errors = new HashSet<>();
-        CockroachDBErrors.addExpressionErrors(errors);
-        CockroachDBErrors.addTransactionErrors(errors);
-        errors.add("value type unknown cannot be used for table columns");
-        errors.add("already exists");
-        return new QueryAdapter(sb.toString(), errors, true);
+        return new QueryAdapter(sb.toString(), ERRORS, true);
     }
 
 }
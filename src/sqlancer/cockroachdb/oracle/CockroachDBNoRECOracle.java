@@ -5,12 +5,13 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import sqlancer.ExpectedErrors;
 import sqlancer.IgnoreMeException;
+import sqlancer.OracleStatistics;
 import sqlancer.Query;
 import sqlancer.QueryAdapter;
 import sqlancer.Randomly;
@@ -32,19 +33,21 @@ import sqlancer.cockroachdb.gen.CockroachDBExpressionGenerator;
 
 public class CockroachDBNoRECOracle implements TestOracle {
 
+    private static final ExpectedErrors ERRORS = ExpectedErrors.build(errors -> {
+        CockroachDBErrors.addExpressionErrors(errors);
+        CockroachDBErrors.addTransactionErrors(errors);
+        errors.add("unable to vectorize execution plan"); // SET vectorize=experimental_always;
+        errors.add(" mismatched physical types at index"); // SET vectorize=experimental_always;
+    });
+
     private final CockroachDBGlobalState globalState;
-    private final Set<String> errors = new HashSet<>();
+    private final ExpectedErrors errors = ERRORS;
     private String optimizableQueryString;
     private String unoptimizedQuery;
     private CockroachDBExpressionGenerator gen;
 
     public CockroachDBNoRECOracle(CockroachDBGlobalState globalState) {
         this.globalState = globalState;
-        CockroachDBErrors.addExpressionErrors(errors);
-        CockroachDBErrors.addTransactionErrors(errors);
-        errors.add("unable to vectorize execution plan"); // SET vectorize=experimental_always;
-        errors.add(" mismatched physical types at index"); // SET vectorize=experimental_always;
-
     }
 
     @Override
@@ -66,10 +69,14 @@ public class CockroachDBNoRECOracle implements TestOracle {
         if (nonOptimizableCount == -1) {
             throw new IgnoreMeException();
         }
+        if (optimizableCount == 0 && nonOptimizableCount == 0) {
+            OracleStatistics.reportVacuousCheck();
+        }
         if (optimizableCount != nonOptimizableCount) {
             globalState.getState().queryString = optimizableQueryString + ";\n" + unoptimizedQuery + ";";
             throw new AssertionError(CockroachDBVisitor.asString(whereCondition));
         }
+        globalState.getPlanCoverage().sample(globalState.getConnection(), optimizableQueryString);
     }
 
     public static List<CockroachDBExpression> getJoins(List<CockroachDBExpression> tableList,
@@ -4,14 +4,13 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.postgresql.util.PSQLException;
 
 import sqlancer.DatabaseProvider;
+import sqlancer.ExpectedErrors;
 import sqlancer.IgnoreMeException;
 import sqlancer.QueryAdapter;
 import sqlancer.Randomly;
@@ -38,8 +37,14 @@ import sqlancer.cockroachdb.oracle.CockroachDBNoRECOracle;
 
 public class CockroachDBTLPAggregateOracle implements TestOracle {
 
+    private static final ExpectedErrors ERRORS = ExpectedErrors.build(errors -> {
+        CockroachDBErrors.addExpressionErrors(errors);
+        errors.add("interface conversion: coldata.column");
+        errors.add("float out of range");
+    });
+
     private final CockroachDBGlobalState state;
-    private final Set<String> errors = new HashSet<>();
+    private final ExpectedErrors errors = ERRORS;
     private CockroachDBExpressionGenerator gen;
     private String firstResult;
     private String secondResult;
@@ -48,9 +53,6 @@ public class CockroachDBTLPAggregateOracle implements TestOracle {
 
     public CockroachDBTLPAggregateOracle(CockroachDBGlobalState state) {
         this.state = state;
-        CockroachDBErrors.addExpressionErrors(errors);
-        errors.add("interface conversion: coldata.column");
-        errors.add("float out of range");
     }
 
     @Override
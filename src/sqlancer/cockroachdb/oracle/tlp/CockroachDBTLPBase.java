@@ -2,11 +2,10 @@ package sqlancer.cockroachdb.oracle.tlp;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 import java.util.stream.Collectors;
 
+import sqlancer.ExpectedErrors;
 import sqlancer.Randomly;
 import sqlancer.TestOracle;
 import sqlancer.cockroachdb.CockroachDBErrors;
@@ -28,8 +27,13 @@ import sqlancer.cockroachdb.oracle.CockroachDBNoRECOracle;
 
 public class CockroachDBTLPBase implements TestOracle {
 
+    static final ExpectedErrors GROUP_BY_ERRORS = ExpectedErrors.build(errors -> {
+        CockroachDBErrors.addExpressionErrors(errors);
+        errors.add("GROUP BY term out of range");
+    });
+
     final CockroachDBGlobalState state;
-    final Set<String> errors = new HashSet<>();
+    final ExpectedErrors errors;
 
     CockroachDBSchema s;
     CockroachDBTables targetTables;
@@ -40,8 +44,12 @@ public class CockroachDBTLPBase implements TestOracle {
     CockroachDBExpression isNullPredicate;
 
     public CockroachDBTLPBase(CockroachDBGlobalState state) {
+        this(state, CockroachDBErrors.EXPRESSION_ERRORS);
+    }
+
+    CockroachDBTLPBase(CockroachDBGlobalState state, ExpectedErrors errors) {
         this.state = state;
-        CockroachDBErrors.addExpressionErrors(errors);
+        this.errors = errors;
     }
 
     @Override
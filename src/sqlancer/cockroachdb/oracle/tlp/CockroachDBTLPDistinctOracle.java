@@ -17,8 +17,7 @@ import sqlancer.cockroachdb.ast.CockroachDBUnaryPostfixOperation.CockroachDBUnar
 public class CockroachDBTLPDistinctOracle extends CockroachDBTLPBase {
 
     public CockroachDBTLPDistinctOracle(CockroachDBGlobalState state) {
-        super(state);
-        errors.add("GROUP BY term out of range");
+        super(state, GROUP_BY_ERRORS);
     }
 
     @Override
@@ -7,7 +7,6 @@ import java.util.List;
 import sqlancer.DatabaseProvider;
 import sqlancer.Randomly;
 import sqlancer.TestOracle;
-import sqlancer.cockroachdb.CockroachDBErrors;
 import sqlancer.cockroachdb.CockroachDBProvider.CockroachDBGlobalState;
 import sqlancer.cockroachdb.CockroachDBVisitor;
 import sqlancer.cockroachdb.ast.CockroachDBBinaryLogicalOperation;
@@ -22,9 +21,7 @@ public class CockroachDBTLPExtendedWhereOracle extends CockroachDBTLPBase {
     private CockroachDBExpression originalPredicate;
 
     public CockroachDBTLPExtendedWhereOracle(CockroachDBGlobalState state) {
-        super(state);
-        CockroachDBErrors.addExpressionErrors(errors);
-        errors.add("GROUP BY term out of range");
+        super(state, GROUP_BY_ERRORS);
     }
 
     @Override
@@ -15,8 +15,7 @@ import sqlancer.cockroachdb.ast.CockroachDBExpression;
 public class CockroachDBTLPHavingOracle extends CockroachDBTLPBase {
 
     public CockroachDBTLPHavingOracle(CockroachDBGlobalState state) {
-        super(state);
-        errors.add("GROUP BY term out of range");
+        super(state, GROUP_BY_ERRORS);
     }
 
     @Override
@@ -3,15 +3,13 @@ package sqlancer.cockroachdb.oracle.tlp;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 import java.util.stream.Collectors;
 
 import sqlancer.DatabaseProvider;
+import sqlancer.ExpectedErrors;
 import sqlancer.Randomly;
 import sqlancer.TestOracle;
-import sqlancer.cockroachdb.CockroachDBErrors;
 import sqlancer.cockroachdb.CockroachDBProvider.CockroachDBGlobalState;
 import sqlancer.cockroachdb.CockroachDBSchema;
 import sqlancer.cockroachdb.CockroachDBSchema.CockroachDBDataType;
@@ -33,7 +31,7 @@ import sqlancer.cockroachdb.gen.CockroachDBExpressionGenerator;
 public class CockroachDBTLPJoinOracle implements TestOracle {
 
     final CockroachDBGlobalState state;
-    final Set<String> errors = new HashSet<>();
+    final ExpectedErrors errors = CockroachDBTLPBase.GROUP_BY_ERRORS;
 
     CockroachDBSchema s;
     CockroachDBTables targetTables;
@@ -44,8 +42,6 @@ public class CockroachDBTLPJoinOracle implements TestOracle {
     CockroachDBExpression isNullPredicate;
 
     public CockroachDBTLPJoinOracle(CockroachDBGlobalState state) {
-        errors.add("GROUP BY term out of range");
-        CockroachDBErrors.addExpressionErrors(errors);
         this.state = state;
     }
 
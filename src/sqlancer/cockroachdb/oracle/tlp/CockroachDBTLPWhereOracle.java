@@ -4,7 +4,6 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 
-import sqlancer.DatabaseProvider;
 import sqlancer.Randomly;
 import sqlancer.TestOracle;
 import sqlancer.cockroachdb.CockroachDBProvider.CockroachDBGlobalState;
@@ -18,8 +17,7 @@ import sqlancer.cockroachdb.ast.CockroachDBUnaryPostfixOperation.CockroachDBUnar
 public class CockroachDBTLPWhereOracle extends CockroachDBTLPBase {
 
     public CockroachDBTLPWhereOracle(CockroachDBGlobalState state) {
-        super(state);
-        errors.add("GROUP BY term out of range");
+        super(state, GROUP_BY_ERRORS);
     }
 
     @Override
@@ -27,8 +25,7 @@ public class CockroachDBTLPWhereOracle extends CockroachDBTLPBase {
         super.check();
         String originalQueryString = CockroachDBVisitor.asString(select);
 
-        List<String> resultSet = DatabaseProvider.getResultSetFirstColumnAsString(originalQueryString, errors,
-                state.getConnection(), state);
+        List<String> resultSet = state.getBaselineResultSet(originalQueryString, errors);
 
         boolean allowOrderBy = Randomly.getBoolean();
         if (allowOrderBy) {
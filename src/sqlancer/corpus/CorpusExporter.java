@@ -0,0 +1,153 @@
+package sqlancer.corpus;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import sqlancer.DatabaseProvider;
+import sqlancer.GlobalState;
+import sqlancer.IgnoreMeException;
+import sqlancer.MainOptions;
+import sqlancer.coverage.QueryPlanCoverage;
+
+/**
+ * Exports the statements and queries that are generated for <code>--num-tries</code> databases without connecting to
+ * the DBMS, which yields corpora for other tools and measures the throughput of the generators alone. Each of the
+ * <code>--num-threads</code> threads writes the databases that it generates to its own file in the corpus directory.
+ */
+public final class CorpusExporter {
+
+    private final DatabaseProvider<?, ?> provider;
+    private final CorpusGenerator<?> generator;
+    private final Object dbmsSpecificOptions;
+    private final MainOptions options;
+    private final AtomicInteger nextDatabase = new AtomicInteger();
+    private final LongAdder nrAllocatedBytes = new LongAdder();
+    private final long deadlineMillis;
+
+    private CorpusExporter(DatabaseProvider<?, ?> provider, CorpusGenerator<?> generator, Object dbmsSpecificOptions,
+            MainOptions options) {
+        this.provider = provider;
+        this.generator = generator;
+        this.dbmsSpecificOptions = dbmsSpecificOptions;
+        this.options = options;
+        this.deadlineMillis = options.getTimeoutSeconds() == -1 ? Long.MAX_VALUE
+                : System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(options.getTimeoutSeconds());
+    }
+
+    public static int export(DatabaseProvider<?, ?> provider, Object dbmsSpecificOptions, MainOptions options) {
+        CorpusGenerator<?> generator = provider.getCorpusGenerator();
+        if (generator == null) {
+            System.err.println(provider.getDBMSName() + " does not support exporting a corpus");
+            return options.getErrorExitCode();
+        }
+        File directory = new File(options.getCorpusDirectory());
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            System.err.println("Could not create " + directory);
+            return options.getErrorExitCode();
+        }
+        CorpusExporter exporter = new CorpusExporter(provider, generator, dbmsSpecificOptions, options);
+        long startMillis = System.currentTimeMillis();
+        long[] startGarbageCollections = getGarbageCollections();
+        ExecutorService executor = Executors.newFixedThreadPool(options.getNumberConcurrentThreads());
+        List<Future<Long>> results = new ArrayList<>();
+        for (int i = 0; i < options.getNumberConcurrentThreads(); i++) {
+            File file = new File(directory, String.format("%s-%d.sql.gz", provider.getDBMSName(), i));
+            results.add(executor.submit(() -> exporter.exportDatabases(file)));
+        }
+        long nrStatements = 0;
+        try {
+            for (Future<Long> result : results) {
+                nrStatements += result.get();
+            }
+        } catch (InterruptedException | ExecutionException e) {
+            e.printStackTrace();
+            return options.getErrorExitCode();
+        } finally {
+            executor.shutdownNow();
+        }
+        double elapsedSeconds = (System.currentTimeMillis() - startMillis) / 1000d;
+        int nrDatabases = Math.min(exporter.nextDatabase.get(), options.getTotalNumberTries());
+        System.out.println(String.format("Exported %d statements of %d databases to %s in %.1f s (%d statements/s).",
+                nrStatements, nrDatabases, directory, elapsedSeconds, (long) (nrStatements / elapsedSeconds)));
+        long[] garbageCollections = getGarbageCollections();
+        if (exporter.nrAllocatedBytes.sum() != 0 && nrStatements != 0) {
+            System.out.println(String.format("Allocated %d bytes per statement; %d garbage collections took %d ms.",
+                    exporter.nrAllocatedBytes.sum() / nrStatements, garbageCollections[0] - startGarbageCollections[0],
+                    garbageCollections[1] - startGarbageCollections[1]));
+        }
+        return 0;
+    }
+
+    private long exportDatabases(File file) throws IOException {
+        long startAllocatedBytes = getAllocatedBytes();
+        try (CorpusWriter writer = new CorpusWriter(file)) {
+            int databaseNr;
+            while (System.currentTimeMillis() < deadlineMillis
+                    && (databaseNr = nextDatabase.getAndIncrement()) < options.getTotalNumberTries()) {
+                String databaseName = "database" + databaseNr;
+                writer.startDatabase(databaseName);
+                GlobalState<?> state = provider.generateGlobalState();
+                state.setState(provider.getStateToReproduce(databaseName));
+                state.setDatabaseName(databaseName);
+                state.setMainOptions(options);
+                state.setDmbsSpecificOptions(dbmsSpecificOptions);
+                state.setPlanCoverage(new QueryPlanCoverage(null, 0));
+                try {
+                    generate(generator, state, writer);
+                } catch (IgnoreMeException e) {
+                    // the statements that were generated until then are still part of the corpus
+                }
+            }
+            return writer.getNrStatements();
+        } finally {
+            nrAllocatedBytes.add(getAllocatedBytes() - startAllocatedBytes);
+        }
+    }
+
+    /**
+     * Returns the number of bytes that the current thread allocated so far, or 0 if the JVM does not provide it, which
+     * is how the benchmark measures the garbage produced by the generators.
+     */
+    private static long getAllocatedBytes() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return Math.max(0,
+                    ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId()));
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the number of garbage collections and their accumulated time in milliseconds.
+     */
+    private static long[] getGarbageCollections() {
+        long[] garbageCollections = new long[2];
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            garbageCollections[0] += Math.max(0, bean.getCollectionCount());
+            garbageCollections[1] += Math.max(0, bean.getCollectionTime());
+        }
+        return garbageCollections;
+    }
+
+    /**
+     * Calls the generator with the global state that the provider created, whose type cannot be expressed here.
+     */
+    @SuppressWarnings("unchecked")
+    private static <G extends GlobalState<?>> void generate(CorpusGenerator<G> generator, GlobalState<?> state,
+            CorpusWriter writer) {
+        generator.generate((G) state, writer);
+    }
+
+}
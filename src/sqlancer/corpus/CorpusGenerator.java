@@ -0,0 +1,17 @@
+package sqlancer.corpus;
+
+import sqlancer.GlobalState;
+
+/**
+ * Generates the statements and queries of a database without connecting to the DBMS, based on a schema that is
+ * maintained in memory rather than read from the database (see <code>--export-corpus</code>).
+ */
+public interface CorpusGenerator<G extends GlobalState<?>> {
+
+    /**
+     * Generates the statements that create a database, followed by the queries of <code>--num-queries</code> checks of
+     * a test oracle. A generator is used by several threads, each with its own global state.
+     */
+    void generate(G globalState, CorpusWriter writer);
+
+}
@@ -0,0 +1,61 @@
+package sqlancer.corpus;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+import sqlancer.Query;
+
+/**
+ * Writes the statements of a corpus to a gzip-compressed SQL file, in the same format as the logs, that is, each
+ * statement is terminated by a semicolon and a newline. Each database starts with a comment that contains its name. A
+ * writer is used by a single thread.
+ */
+public final class CorpusWriter implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Writer writer;
+    private long nrStatements;
+
+    public CorpusWriter(File file) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(new FileOutputStream(file), BUFFER_SIZE), StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    public void startDatabase(String databaseName) {
+        append("-- " + databaseName + "\n");
+    }
+
+    public void write(Query query) {
+        write(query.getQueryString());
+    }
+
+    public void write(String statement) {
+        append(statement.endsWith(";") ? statement + "\n" : statement + ";\n");
+        nrStatements++;
+    }
+
+    public long getNrStatements() {
+        return nrStatements;
+    }
+
+    private void append(String s) {
+        try {
+            writer.write(s);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+}
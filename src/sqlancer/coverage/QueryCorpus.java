@@ -0,0 +1,63 @@
+package sqlancer.coverage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import sqlancer.Randomly;
+
+/**
+ * A bounded collection of queries (typically their ASTs) that exhibited a new query plan shape or caused a new expected
+ * error. Test oracles submit each query before executing it, and the query is retained if {@link QueryPlanCoverage}
+ * observes new behavior while the same check executes it. Behavior that is observed in other checks, for example those
+ * of other oracles, is not attributed to the query. Oracles can then mutate the retained queries instead of generating
+ * new ones from scratch.
+ *
+ * @param <T>
+ *            the representation of a query
+ */
+public class QueryCorpus<T> {
+
+    private final int maxSize;
+    private final List<T> queries = new ArrayList<>();
+
+    public QueryCorpus(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Submits the query of the current check, which must be called on the thread that executes the check.
+     */
+    public void submit(T query) {
+        QueryPlanCoverage.setNewBehaviorListener(() -> add(query));
+    }
+
+    private void add(T query) {
+        if (queries.size() < maxSize) {
+            queries.add(query);
+        } else {
+            queries.set((int) Randomly.getNotCachedInteger(0, maxSize), query);
+        }
+    }
+
+    public boolean isEmpty() {
+        return queries.isEmpty();
+    }
+
+    /**
+     * Returns a random query that satisfies the filter, or null if the corpus contains no such query.
+     */
+    public T getRandomQuery(Predicate<T> filter) {
+        List<T> candidates = queries.stream().filter(filter).collect(Collectors.toList());
+        if (candidates.isEmpty()) {
+            return null;
+        }
+        return Randomly.fromList(candidates);
+    }
+
+    public int size() {
+        return queries.size();
+    }
+
+}
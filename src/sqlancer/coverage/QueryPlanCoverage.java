@@ -0,0 +1,163 @@
+package sqlancer.coverage;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import sqlancer.Randomly;
+
+/**
+ * Tracks which query plan shapes and operators the generated queries exercise. Every n-th query that is passed to
+ * {@link #sample(Connection, String)} is explained, and its operator shape is recorded in a map that is shared by all
+ * threads. Generators can use {@link #chooseUnderCovered(List, Function)} to prefer options that lead to operators that
+ * have rarely been observed; currently, only the TiDB hint generator does so. In addition, the expected errors that
+ * queries caused are recorded, so that {@link QueryCorpus} can retain queries that exhibited a new plan shape or error.
+ */
+public class QueryPlanCoverage {
+
+    private static final Map<String, LongAdder> SHAPES = new ConcurrentHashMap<>();
+    private static final Map<String, LongAdder> OPERATORS = new ConcurrentHashMap<>();
+    private static final LongAdder NR_EXPLAINED_QUERIES = new LongAdder();
+    private static final Set<String> ERRORS = ConcurrentHashMap.newKeySet();
+    // is called when the current check of the thread exhibits new behavior, see QueryCorpus#submit
+    private static final ThreadLocal<Runnable> NEW_BEHAVIOR_LISTENER = new ThreadLocal<>();
+
+    private final QueryPlanFingerprinter fingerprinter;
+    private final int interval;
+    private long nrQueries;
+
+    public QueryPlanCoverage(QueryPlanFingerprinter fingerprinter, int interval) {
+        this.fingerprinter = fingerprinter;
+        this.interval = interval;
+    }
+
+    public boolean isEnabled() {
+        return fingerprinter != null && interval > 0;
+    }
+
+    /**
+     * Explains the query if it is due, and records its plan shape.
+     *
+     * @return whether the query's plan shape has not been observed before
+     */
+    public boolean sample(Connection con, String query) {
+        if (!isEnabled() || nrQueries++ % interval != 0) {
+            return false;
+        }
+        List<String> operators;
+        try {
+            operators = fingerprinter.getOperators(con, query);
+        } catch (SQLException e) {
+            // the query was already executed, so errors are typically caused by EXPLAIN itself
+            return false;
+        }
+        if (operators.isEmpty()) {
+            return false;
+        }
+        NR_EXPLAINED_QUERIES.increment();
+        for (String operator : operators) {
+            OPERATORS.computeIfAbsent(operator, o -> new LongAdder()).increment();
+        }
+        String shape = String.join(" > ", operators);
+        boolean[] isNew = new boolean[1];
+        SHAPES.computeIfAbsent(shape, s -> {
+            isNew[0] = true;
+            return new LongAdder();
+        }).increment();
+        if (isNew[0]) {
+            notifyNewBehavior();
+        }
+        return isNew[0];
+    }
+
+    /**
+     * Records an expected error that was caused by a query. Constants are removed from the message, so that errors that
+     * differ only in the values that they mention are considered the same.
+     */
+    public void recordError(String message) {
+        if (message == null) {
+            return;
+        }
+        String normalized = message.replaceAll("'[^']*'|\"[^\"]*\"", "?").replaceAll("\\d+", "N");
+        if (ERRORS.add(normalized)) {
+            notifyNewBehavior();
+        }
+    }
+
+    /**
+     * Resets the listener of the current check of the thread, so that new behavior is not attributed to a query of a
+     * previous check.
+     */
+    public static void startCheck() {
+        NEW_BEHAVIOR_LISTENER.remove();
+    }
+
+    /**
+     * Sets the listener that is called once if a query that the current check of the thread executes after this call
+     * results in a new plan shape or a new expected error.
+     */
+    public static void setNewBehaviorListener(Runnable listener) {
+        NEW_BEHAVIOR_LISTENER.set(listener);
+    }
+
+    private static void notifyNewBehavior() {
+        Runnable listener = NEW_BEHAVIOR_LISTENER.get();
+        if (listener != null) {
+            NEW_BEHAVIOR_LISTENER.remove();
+            listener.run();
+        }
+    }
+
+    public static int getNrShapes() {
+        return SHAPES.size();
+    }
+
+    public static int getNrOperators() {
+        return OPERATORS.size();
+    }
+
+    public static int getNrErrors() {
+        return ERRORS.size();
+    }
+
+    public static long getNrExplainedQueries() {
+        return NR_EXPLAINED_QUERIES.sum();
+    }
+
+    public static long getOperatorCount(String operator) {
+        LongAdder count = OPERATORS.get(operator);
+        return count == null ? 0 : count.sum();
+    }
+
+    /**
+     * Randomly selects one of the options, where an option is picked with a probability that is inversely proportional
+     * to how often the operator that it is expected to produce has been observed in query plans. If no plans have been
+     * explained yet, all options are equally likely. The mapping from options to operators is provided by the caller
+     * and is not checked against the plans of the queries that used an option.
+     */
+    public static <T> T chooseUnderCovered(List<T> options, Function<T, String> operatorOf) {
+        if (OPERATORS.isEmpty()) {
+            return Randomly.fromList(options);
+        }
+        double[] weights = new double[options.size()];
+        double totalWeight = 0;
+        for (int i = 0; i < options.size(); i++) {
+            weights[i] = 1.0 / (1 + getOperatorCount(operatorOf.apply(options.get(i))));
+            totalWeight += weights[i];
+        }
+        double selected = Randomly.getUncachedDouble() * totalWeight;
+        for (int i = 0; i < options.size(); i++) {
+            selected -= weights[i];
+            if (selected < 0) {
+                return options.get(i);
+            }
+        }
+        return options.get(options.size() - 1);
+    }
+
+}
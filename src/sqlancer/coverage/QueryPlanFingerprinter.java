@@ -0,0 +1,20 @@
+package sqlancer.coverage;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Obtains the query plan of a query and normalizes it to a DBMS-specific list of operator names, from which the
+ * operator shape of the plan is derived.
+ */
+@FunctionalInterface
+public interface QueryPlanFingerprinter {
+
+    /**
+     * Explains the given query and returns the operators of its plan in the order in which the DBMS prints them. Table
+     * names, column names, constants, and costs must not be part of the operator names.
+     */
+    List<String> getOperators(Connection con, String query) throws SQLException;
+
+}
@@ -2,8 +2,16 @@ package sqlancer.duckdb;
 
 import java.util.Set;
 
+import sqlancer.ExpectedErrors;
+
 public final class DuckDBErrors {
 
+    public static final ExpectedErrors EXPRESSION_ERRORS = ExpectedErrors.build(DuckDBErrors::addExpressionErrors);
+    public static final ExpectedErrors EXPRESSION_GROUP_BY_ERRORS = ExpectedErrors.build(errors -> {
+        addExpressionErrors(errors);
+        addGroupByErrors(errors);
+    });
+
     private DuckDBErrors() {
     }
 
@@ -0,0 +1,121 @@
+package sqlancer.duckdb;
+
+import sqlancer.ast.BinaryOperatorNode.Operator;
+import sqlancer.ast.newast.ColumnReferenceNode;
+import sqlancer.ast.newast.NewBetweenOperatorNode;
+import sqlancer.ast.newast.NewBinaryOperatorNode;
+import sqlancer.ast.newast.NewCaseOperatorNode;
+import sqlancer.ast.newast.NewFunctionNode;
+import sqlancer.ast.newast.NewInOperatorNode;
+import sqlancer.ast.newast.NewTernaryNode;
+import sqlancer.ast.newast.NewUnaryPostfixOperatorNode;
+import sqlancer.ast.newast.NewUnaryPrefixOperatorNode;
+import sqlancer.ast.newast.Node;
+import sqlancer.ast.newast.OperatorPrecedence;
+import sqlancer.ast.newast.TableReferenceNode;
+import sqlancer.duckdb.ast.DuckDBConstant;
+import sqlancer.duckdb.ast.DuckDBExpression;
+import sqlancer.duckdb.gen.DuckDBExpressionGenerator.DuckDBBinaryArithmeticOperator;
+import sqlancer.duckdb.gen.DuckDBExpressionGenerator.DuckDBBinaryComparisonOperator;
+import sqlancer.duckdb.gen.DuckDBExpressionGenerator.DuckDBBinaryLogicalOperator;
+import sqlancer.duckdb.gen.DuckDBExpressionGenerator.DuckDBCastOperation;
+import sqlancer.duckdb.gen.DuckDBExpressionGenerator.DuckDBCollate;
+import sqlancer.duckdb.gen.DuckDBExpressionGenerator.DuckDBUnaryPostfixOperator;
+import sqlancer.duckdb.gen.DuckDBExpressionGenerator.DuckDBUnaryPrefixOperator;
+
+/**
+ * The operator precedence of DuckDB, whose parser is derived from the one of PostgreSQL. See
+ * https://www.postgresql.org/docs/current/sql-syntax-lexical.html#SQL-PRECEDENCE.
+ */
+public final class DuckDBOperatorPrecedence implements OperatorPrecedence<DuckDBExpression> {
+
+    private static final int OR = 1;
+    private static final int AND = 2;
+    private static final int NOT = 3;
+    private static final int IS = 4;
+    private static final int COMPARISON = 5;
+    // BETWEEN, IN, LIKE, and SIMILAR TO
+    private static final int PATTERN = 6;
+    // all other operators, such as ||, &, and ~
+    private static final int OTHER_OPERATOR = 7;
+    private static final int ADDITIVE = 8;
+    private static final int MULTIPLICATIVE = 9;
+    private static final int COLLATE = 10;
+    private static final int UNARY_SIGN = 11;
+    private static final int CAST = 12;
+
+    @Override
+    public int getPrecedence(Node<DuckDBExpression> node) {
+        if (node instanceof DuckDBConstant) {
+            // negative numbers are parsed as a unary minus applied to a positive number
+            return node.toString().startsWith("-") ? UNARY_SIGN : ATOMIC;
+        } else if (node instanceof ColumnReferenceNode<?, ?> || node instanceof TableReferenceNode<?, ?>
+                || node instanceof NewFunctionNode<?, ?> || node instanceof NewCaseOperatorNode<?>) {
+            return ATOMIC;
+        } else if (node instanceof NewBinaryOperatorNode<?>) {
+            return getBinaryPrecedence(((NewBinaryOperatorNode<DuckDBExpression>) node).getOp());
+        } else if (node instanceof NewUnaryPrefixOperatorNode<?>) {
+            return ((NewUnaryPrefixOperatorNode<DuckDBExpression>) node).getOp() == DuckDBUnaryPrefixOperator.NOT ? NOT
+                    : UNARY_SIGN;
+        } else if (node instanceof DuckDBCastOperation) {
+            return CAST;
+        } else if (node instanceof NewUnaryPostfixOperatorNode<?>) {
+            Operator op = ((NewUnaryPostfixOperatorNode<DuckDBExpression>) node).getOp();
+            if (op instanceof DuckDBCollate) {
+                return COLLATE;
+            } else if (op instanceof DuckDBUnaryPostfixOperator) {
+                return IS;
+            } else {
+                return UNKNOWN;
+            }
+        } else if (node instanceof NewBetweenOperatorNode<?> || node instanceof NewInOperatorNode<?>
+                || node instanceof NewTernaryNode<?>) {
+            return PATTERN;
+        } else {
+            return UNKNOWN;
+        }
+    }
+
+    private static int getBinaryPrecedence(Operator op) {
+        if (op == DuckDBBinaryLogicalOperator.OR) {
+            return OR;
+        } else if (op == DuckDBBinaryLogicalOperator.AND) {
+            return AND;
+        } else if (op instanceof DuckDBBinaryComparisonOperator) {
+            switch ((DuckDBBinaryComparisonOperator) op) {
+            case LIKE:
+            case NOT_LIKE:
+            case SIMILAR_TO:
+            case NOT_SIMILAR_TO:
+                return PATTERN;
+            case REGEX_POSIX:
+            case REGEX_POSIT_NOT:
+                return OTHER_OPERATOR;
+            default:
+                return COMPARISON;
+            }
+        } else if (op instanceof DuckDBBinaryArithmeticOperator) {
+            switch ((DuckDBBinaryArithmeticOperator) op) {
+            case ADD:
+            case SUB:
+                return ADDITIVE;
+            case MULT:
+            case DIV:
+            case MOD:
+                return MULTIPLICATIVE;
+            default:
+                return OTHER_OPERATOR;
+            }
+        } else {
+            return UNKNOWN;
+        }
+    }
+
+    @Override
+    public boolean isAssociative(Node<DuckDBExpression> node) {
+        // IS, the comparison operators, and the pattern matching operators are non-associative
+        int precedence = getPrecedence(node);
+        return precedence != IS && precedence != COMPARISON && precedence != PATTERN;
+    }
+
+}
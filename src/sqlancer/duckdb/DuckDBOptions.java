@@ -12,6 +12,7 @@ import sqlancer.CompositeTestOracle;
 import sqlancer.TestOracle;
 import sqlancer.duckdb.DuckDBProvider.DuckDBGlobalState;
 import sqlancer.duckdb.test.DuckDBNoRECOracle;
+import sqlancer.duckdb.test.DuckDBParenthesesOracle;
 import sqlancer.duckdb.test.DuckDBQueryPartitioningAggregateTester;
 import sqlancer.duckdb.test.DuckDBQueryPartitioningDistinctTester;
 import sqlancer.duckdb.test.DuckDBQueryPartitioningGroupByTester;
@@ -87,6 +88,15 @@ public class DuckDBOptions {
     @Parameter(names = "--max-num-updates", description = "The maximum number of UPDATE statements that are issued for a database", arity = 1)
     public int maxNumUpdates = 5;
 
+    @Parameter(names = "--print-minimal-parentheses", description = "Print only the parentheses that are needed given DuckDB's operator precedence, rather than parenthesizing every operation", arity = 1)
+    public boolean printMinimalParentheses;
+
+    @Parameter(names = "--num-shared-connections", description = "The number of additional connections to each generated database that concurrently run the test oracles (0 disables sharing the database)", arity = 1)
+    public int nrSharedConnections;
+
+    @Parameter(names = "--shared-writer", description = "Whether a connection concurrently executes UPDATE and DELETE statements in explicit transactions while the test oracles run on the shared connections", arity = 1)
+    public boolean sharedWriter;
+
     @Parameter(names = "--oracle")
     public List<DuckDBOracle> oracle = Arrays.asList(DuckDBOracle.QUERY_PARTITIONING);
 
@@ -131,6 +141,12 @@ public class DuckDBOptions {
                 return new DuckDBQueryPartitioningDistinctTester(globalState);
             }
         },
+        PARENTHESES {
+            @Override
+            public TestOracle create(DuckDBGlobalState globalState) throws SQLException {
+                return new DuckDBParenthesesOracle(globalState);
+            }
+        },
         QUERY_PARTITIONING {
             @Override
             public TestOracle create(DuckDBGlobalState globalState) throws SQLException {
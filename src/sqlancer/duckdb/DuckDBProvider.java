@@ -4,13 +4,12 @@ import java.io.IOException;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
-import java.util.HashSet;
-import java.util.Set;
 import java.util.stream.Collectors;
 
 import sqlancer.AbstractAction;
 import sqlancer.CompositeTestOracle;
 import sqlancer.DatabaseProvider;
+import sqlancer.DatabaseProviderFactory;
 import sqlancer.GlobalState;
 import sqlancer.IgnoreMeException;
 import sqlancer.Main.QueryManager;
@@ -22,6 +21,8 @@ import sqlancer.Randomly;
 import sqlancer.StateToReproduce;
 import sqlancer.StatementExecutor;
 import sqlancer.TestOracle;
+import sqlancer.coverage.QueryCorpus;
+import sqlancer.coverage.QueryPlanFingerprinter;
 import sqlancer.duckdb.DuckDBProvider.DuckDBGlobalState;
 import sqlancer.duckdb.gen.DuckDBDeleteGenerator;
 import sqlancer.duckdb.gen.DuckDBIndexGenerator;
@@ -30,6 +31,8 @@ import sqlancer.duckdb.gen.DuckDBRandomQuerySynthesizer;
 import sqlancer.duckdb.gen.DuckDBTableGenerator;
 import sqlancer.duckdb.gen.DuckDBUpdateGenerator;
 import sqlancer.duckdb.gen.DuckDBViewGenerator;
+import sqlancer.duckdb.test.DuckDBQueryPartitioningBase.DuckDBQueryPartitioningQuery;
+import sqlancer.events.OracleCheckEvent;
 
 public class DuckDBProvider implements DatabaseProvider<DuckDBGlobalState, DuckDBOptions> {
 
@@ -38,14 +41,10 @@ public class DuckDBProvider implements DatabaseProvider<DuckDBGlobalState, DuckD
         INSERT(DuckDBInsertGenerator::getQuery), CREATE_INDEX(DuckDBIndexGenerator::getQuery), VACUUM(
                 (g) -> new QueryAdapter("VACUUM;")), ANALYZE((g) -> new QueryAdapter("ANALYZE;")), DELETE(
                         DuckDBDeleteGenerator::generate), UPDATE(DuckDBUpdateGenerator::getQuery), CREATE_VIEW(
-                                DuckDBViewGenerator::generate), EXPLAIN((g) -> {
-                                    Set<String> errors = new HashSet<>();
-                                    DuckDBErrors.addExpressionErrors(errors);
-                                    DuckDBErrors.addGroupByErrors(errors);
-                                    return new QueryAdapter("EXPLAIN " + DuckDBToStringVisitor.asString(
-                                            DuckDBRandomQuerySynthesizer.generateSelect(g, Randomly.smallNumber() + 1)),
-                                            errors);
-                                });
+                                DuckDBViewGenerator::generate), EXPLAIN((g) -> new QueryAdapter(
+                                        "EXPLAIN " + DuckDBToStringVisitor.asString(DuckDBRandomQuerySynthesizer
+                                                .generateSelect(g, Randomly.smallNumber() + 1)),
+                                        DuckDBErrors.EXPRESSION_GROUP_BY_ERRORS));
 
         private final QueryProvider<DuckDBGlobalState> queryProvider;
 
@@ -86,7 +85,10 @@ public class DuckDBProvider implements DatabaseProvider<DuckDBGlobalState, DuckD
 
     public static class DuckDBGlobalState extends GlobalState<DuckDBOptions> {
 
+        private static final int MAX_QUERY_CORPUS_SIZE = 100;
+
         private DuckDBSchema schema;
+        private QueryCorpus<DuckDBQueryPartitioningQuery> queryCorpus;
 
         public void setSchema(DuckDBSchema schema) {
             this.schema = schema;
@@ -96,12 +98,20 @@ public class DuckDBProvider implements DatabaseProvider<DuckDBGlobalState, DuckD
             return schema;
         }
 
+        public QueryCorpus<DuckDBQueryPartitioningQuery> getQueryCorpus() {
+            if (queryCorpus == null) {
+                queryCorpus = new QueryCorpus<>(MAX_QUERY_CORPUS_SIZE);
+            }
+            return queryCorpus;
+        }
+
     }
 
     @Override
     public void generateAndTestDatabase(DuckDBGlobalState globalState) throws SQLException {
         StateLogger logger = globalState.getLogger();
         QueryManager manager = globalState.getManager();
+        DuckDBToStringVisitor.setPrintMinimalParentheses(globalState.getDmbsSpecificOptions().printMinimalParentheses);
         globalState.setSchema(DuckDBSchema.fromConnection(globalState.getConnection(), globalState.getDatabaseName()));
         for (int i = 0; i < Randomly.fromOptions(1, 2); i++) {
             boolean success = false;
@@ -131,20 +141,17 @@ public class DuckDBProvider implements DatabaseProvider<DuckDBGlobalState, DuckD
         se.executeStatements();
         manager.incrementCreateDatabase();
 
-        TestOracle oracle = new CompositeTestOracle(globalState.getDmbsSpecificOptions().oracle.stream().map(o -> {
-            try {
-                return o.create(globalState);
-            } catch (SQLException e1) {
-                throw new AssertionError(e1);
-            }
-        }).collect(Collectors.toList()));
-
-        for (int i = 0; i < globalState.getOptions().getNrQueries(); i++) {
-            try {
-                oracle.check();
-                manager.incrementSelectQueryCount();
-            } catch (IgnoreMeException e) {
+        if (globalState.getDmbsSpecificOptions().nrSharedConnections > 0) {
+            new DuckDBSharedDatabaseTester(globalState).run();
+        } else {
+            TestOracle oracle = createOracle(globalState);
+            for (int i = 0; i < globalState.getOptions().getNrQueries(); i++) {
+                try {
+                    OracleCheckEvent.check(oracle);
+                    manager.incrementSelectQueryCount();
+                } catch (IgnoreMeException e) {
 
+                }
             }
         }
         try {
@@ -159,6 +166,16 @@ public class DuckDBProvider implements DatabaseProvider<DuckDBGlobalState, DuckD
         globalState.getConnection().close();
     }
 
+    static TestOracle createOracle(DuckDBGlobalState globalState) {
+        return new CompositeTestOracle(globalState.getDmbsSpecificOptions().oracle.stream().map(o -> {
+            try {
+                return o.create(globalState);
+            } catch (SQLException e1) {
+                throw new AssertionError(e1);
+            }
+        }).collect(Collectors.toList()));
+    }
+
     @Override
     public Connection createDatabase(GlobalState<?> globalState) throws SQLException {
         String url = "jdbc:duckdb:";
@@ -166,6 +183,20 @@ public class DuckDBProvider implements DatabaseProvider<DuckDBGlobalState, DuckD
                 globalState.getOptions().getPassword());
     }
 
+    public static final class Factory implements DatabaseProviderFactory {
+
+        @Override
+        public String getDBMSName() {
+            return "duckdb";
+        }
+
+        @Override
+        public DuckDBProvider createProvider() {
+            return new DuckDBProvider();
+        }
+
+    }
+
     @Override
     public String getDBMSName() {
         return "duckdb";
@@ -185,4 +216,9 @@ public class DuckDBProvider implements DatabaseProvider<DuckDBGlobalState, DuckD
     public DuckDBOptions getCommand() {
         return new DuckDBOptions();
     }
+
+    @Override
+    public QueryPlanFingerprinter getQueryPlanFingerprinter() {
+        return new DuckDBQueryPlanFingerprinter();
+    }
 }
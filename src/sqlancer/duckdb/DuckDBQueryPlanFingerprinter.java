@@ -0,0 +1,35 @@
+package sqlancer.duckdb;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import sqlancer.coverage.QueryPlanFingerprinter;
+
+public class DuckDBQueryPlanFingerprinter implements QueryPlanFingerprinter {
+
+    // the physical plan is printed as a tree of boxes that start with the upper-case operator name
+    private static final Pattern OPERATOR = Pattern.compile("\\b[A-Z][A-Z_]{2,}\\b");
+
+    @Override
+    public List<String> getOperators(Connection con, String query) throws SQLException {
+        List<String> operators = new ArrayList<>();
+        try (Statement s = con.createStatement()) {
+            try (ResultSet rs = s.executeQuery("EXPLAIN " + query)) {
+                while (rs.next()) {
+                    Matcher m = OPERATOR.matcher(rs.getString(2));
+                    while (m.find()) {
+                        operators.add(m.group());
+                    }
+                }
+            }
+        }
+        return operators;
+    }
+
+}
@@ -10,6 +10,7 @@ import java.util.List;
 
 import sqlancer.Randomly;
 import sqlancer.duckdb.DuckDBSchema.DuckDBTable;
+import sqlancer.events.SchemaRefreshEvent;
 import sqlancer.schema.AbstractSchema;
 import sqlancer.schema.AbstractTable;
 import sqlancer.schema.AbstractTableColumn;
@@ -218,6 +219,10 @@ public class DuckDBSchema extends AbstractSchema<DuckDBTable> {
     }
 
     public static DuckDBSchema fromConnection(Connection con, String databaseName) throws SQLException {
+        return SchemaRefreshEvent.record(() -> readSchema(con));
+    }
+
+    private static DuckDBSchema readSchema(Connection con) throws SQLException {
         List<DuckDBTable> databaseTables = new ArrayList<>();
         List<String> tableNames = getTableNames(con);
         for (String tableName : tableNames) {
@@ -0,0 +1,201 @@
+package sqlancer.duckdb;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.duckdb.DuckDBConnection;
+
+import sqlancer.ExpectedErrors;
+import sqlancer.IgnoreMeException;
+import sqlancer.Main.QueryManager;
+import sqlancer.Query;
+import sqlancer.QueryAdapter;
+import sqlancer.Randomly;
+import sqlancer.StateToReproduce;
+import sqlancer.TestOracle;
+import sqlancer.coverage.QueryPlanCoverage;
+import sqlancer.duckdb.DuckDBProvider.DuckDBGlobalState;
+import sqlancer.duckdb.gen.DuckDBDeleteGenerator;
+import sqlancer.duckdb.gen.DuckDBUpdateGenerator;
+import sqlancer.events.OracleCheckEvent;
+
+/**
+ * Runs the test oracles concurrently on several connections to the same in-process DuckDB database, so that the
+ * database that was generated by a worker thread is tested by multiple threads. Optionally, the worker's own connection
+ * is used by a writer that executes UPDATE and DELETE statements in explicit transactions while the oracles run; in
+ * this case, each oracle check is executed in its own transaction, so that all queries of a check observe the same
+ * snapshot. Only the writer's statements are recorded in the worker's {@link StateToReproduce}.
+ */
+public class DuckDBSharedDatabaseTester {
+
+    // constraints are also checked when the transaction is committed
+    private static final ExpectedErrors COMMIT_ERRORS = ExpectedErrors
+            .from(Arrays.asList("Current transaction is aborted", "TransactionContext Error", "Failed to commit"));
+
+    private final DuckDBGlobalState globalState;
+    private final List<DuckDBGlobalState> readers = new ArrayList<>();
+    private final AtomicInteger nrRunningReaders = new AtomicInteger();
+    private final AtomicBoolean failed = new AtomicBoolean();
+
+    public DuckDBSharedDatabaseTester(DuckDBGlobalState globalState) {
+        this.globalState = globalState;
+    }
+
+    public void run() throws SQLException {
+        boolean useWriter = globalState.getDmbsSpecificOptions().sharedWriter;
+        try {
+            for (int i = 0; i < globalState.getDmbsSpecificOptions().nrSharedConnections; i++) {
+                readers.add(createReaderState(duplicateConnection(globalState.getConnection())));
+            }
+            if (!useWriter) {
+                readers.add(globalState);
+            }
+            nrRunningReaders.set(readers.size());
+            ExecutorService executor = Executors.newFixedThreadPool(readers.size() + (useWriter ? 1 : 0));
+            try {
+                CompletionService<Void> completion = new ExecutorCompletionService<>(executor);
+                for (DuckDBGlobalState reader : readers) {
+                    completion.submit(() -> {
+                        runReader(reader, useWriter);
+                        return null;
+                    });
+                }
+                if (useWriter) {
+                    completion.submit(() -> {
+                        runWriter();
+                        return null;
+                    });
+                }
+                for (int i = 0; i < readers.size() + (useWriter ? 1 : 0); i++) {
+                    try {
+                        completion.take().get();
+                    } catch (ExecutionException e) {
+                        failed.set(true);
+                        rethrow(e.getCause());
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(e);
+            } finally {
+                failed.set(true);
+                executor.shutdownNow();
+            }
+        } finally {
+            for (DuckDBGlobalState reader : readers) {
+                if (reader != globalState) {
+                    reader.getConnection().close();
+                }
+            }
+        }
+    }
+
+    private void runReader(DuckDBGlobalState reader, boolean useTransactions) throws SQLException {
+        try {
+            TestOracle oracle = DuckDBProvider.createOracle(reader);
+            for (int i = 0; i < reader.getOptions().getNrQueries() && !failed.get(); i++) {
+                if (useTransactions) {
+                    executeDirectly(reader.getConnection(), "BEGIN TRANSACTION");
+                }
+                try {
+                    OracleCheckEvent.check(oracle);
+                    reader.getManager().incrementSelectQueryCount();
+                } catch (IgnoreMeException e) {
+
+                } catch (AssertionError e) {
+                    // the bug log is written for the worker's state
+                    globalState.getState().queryString = reader.getState().queryString;
+                    throw e;
+                } finally {
+                    if (useTransactions) {
+                        // the check did not modify the database
+                        executeDirectly(reader.getConnection(), "ROLLBACK");
+                    }
+                }
+            }
+        } finally {
+            nrRunningReaders.decrementAndGet();
+        }
+    }
+
+    private void runWriter() throws SQLException {
+        QueryManager manager = globalState.getManager();
+        while (nrRunningReaders.get() != 0 && !failed.get()) {
+            manager.execute(new QueryAdapter("BEGIN TRANSACTION"));
+            boolean aborted = false;
+            for (int i = 0; i < Randomly.smallNumber() + 1 && !aborted; i++) {
+                try {
+                    Query q = Randomly.getBoolean() ? DuckDBUpdateGenerator.getQuery(globalState)
+                            : DuckDBDeleteGenerator.generate(globalState);
+                    // an expected error aborts the transaction, so that all further statements would fail
+                    aborted = !manager.execute(q);
+                } catch (IgnoreMeException e) {
+
+                }
+            }
+            if (aborted) {
+                manager.execute(new QueryAdapter("ROLLBACK"));
+            } else if (Randomly.getBoolean()) {
+                manager.execute(new QueryAdapter("COMMIT", COMMIT_ERRORS));
+            } else {
+                manager.execute(new QueryAdapter("ROLLBACK"));
+            }
+        }
+    }
+
+    private DuckDBGlobalState createReaderState(Connection con) {
+        DuckDBGlobalState reader = new DuckDBGlobalState();
+        reader.setConnection(con);
+        reader.setRandomly(new Randomly());
+        reader.setDatabaseName(globalState.getDatabaseName());
+        reader.setMainOptions(globalState.getOptions());
+        reader.setDmbsSpecificOptions(globalState.getDmbsSpecificOptions());
+        reader.setState(new StateToReproduce(globalState.getDatabaseName()));
+        // the manager is only used to count the queries, since the readers do not execute any statements
+        reader.setManager(globalState.getManager());
+        reader.setStateLogger(globalState.getLogger());
+        reader.setPlanCoverage(new QueryPlanCoverage(new DuckDBQueryPlanFingerprinter(),
+                globalState.getOptions().getPlanCoverageInterval()));
+        // UPDATE and DELETE statements do not change the schema
+        reader.setSchema(globalState.getSchema());
+        return reader;
+    }
+
+    private static void executeDirectly(Connection con, String statement) throws SQLException {
+        try (Statement s = con.createStatement()) {
+            s.execute(statement);
+        }
+    }
+
+    /**
+     * Opens another connection to the same in-process database. The DuckDB JDBC driver does not share databases between
+     * connections that are opened using the same URL, but can duplicate a connection instead.
+     */
+    private static Connection duplicateConnection(Connection con) throws SQLException {
+        return ((DuckDBConnection) con).duplicate();
+    }
+
+    private static void rethrow(Throwable t) throws SQLException {
+        if (t instanceof SQLException) {
+            throw (SQLException) t;
+        } else if (t instanceof RuntimeException) {
+            throw (RuntimeException) t;
+        } else if (t instanceof Error) {
+            throw (Error) t;
+        } else {
+            throw new AssertionError(t);
+        }
+    }
+
+}
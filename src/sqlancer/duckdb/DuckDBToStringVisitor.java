@@ -9,6 +9,21 @@ import sqlancer.duckdb.ast.DuckDBSelect;
 
 public class DuckDBToStringVisitor extends NewToStringVisitor<DuckDBExpression> {
 
+    private static final DuckDBOperatorPrecedence PRECEDENCE = new DuckDBOperatorPrecedence();
+    private static volatile boolean printMinimalParentheses;
+
+    public DuckDBToStringVisitor(boolean minimalParentheses) {
+        super(minimalParentheses ? PRECEDENCE : null);
+    }
+
+    /**
+     * Sets whether {@link #asString(Node)} omits the parentheses that are not needed given DuckDB's operator
+     * precedence.
+     */
+    public static void setPrintMinimalParentheses(boolean minimalParentheses) {
+        printMinimalParentheses = minimalParentheses;
+    }
+
     @Override
     public void visitSpecific(Node<DuckDBExpression> expr) {
         if (expr instanceof DuckDBConstant) {
@@ -83,7 +98,11 @@ public class DuckDBToStringVisitor extends NewToStringVisitor<DuckDBExpression>
     }
 
     public static String asString(Node<DuckDBExpression> expr) {
-        DuckDBToStringVisitor visitor = new DuckDBToStringVisitor();
+        return asString(expr, printMinimalParentheses);
+    }
+
+    public static String asString(Node<DuckDBExpression> expr, boolean minimalParentheses) {
+        DuckDBToStringVisitor visitor = new DuckDBToStringVisitor(minimalParentheses);
         visitor.visit(expr);
         return visitor.get();
     }
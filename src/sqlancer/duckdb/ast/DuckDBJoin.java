@@ -74,31 +74,31 @@ public class DuckDBJoin implements Node<DuckDBExpression> {
         while (tableList.size() >= 2 && Randomly.getBooleanWithRatherLowProbability()) {
             TableReferenceNode<DuckDBExpression, DuckDBTable> leftTable = tableList.remove(0);
             TableReferenceNode<DuckDBExpression, DuckDBTable> rightTable = tableList.remove(0);
-            List<DuckDBColumn> columns = new ArrayList<>(leftTable.getTable().getColumns());
-            columns.addAll(rightTable.getTable().getColumns());
-            DuckDBExpressionGenerator joinGen = new DuckDBExpressionGenerator(globalState).setColumns(columns);
-            switch (DuckDBJoin.JoinType.getRandom()) {
-            case INNER:
-                joinExpressions.add(DuckDBJoin.createInnerJoin(leftTable, rightTable, joinGen.generateExpression()));
-                break;
-            case NATURAL:
-                joinExpressions.add(DuckDBJoin.createNaturalJoin(leftTable, rightTable, OuterType.getRandom()));
-                break;
-            case LEFT:
-                joinExpressions
-                        .add(DuckDBJoin.createLeftOuterJoin(leftTable, rightTable, joinGen.generateExpression()));
-                break;
-            case RIGHT:
-                joinExpressions
-                        .add(DuckDBJoin.createRightOuterJoin(leftTable, rightTable, joinGen.generateExpression()));
-                break;
-            default:
-                throw new AssertionError();
-            }
+            joinExpressions.add(createJoin(leftTable, rightTable, DuckDBJoin.JoinType.getRandom(), globalState));
         }
         return joinExpressions;
     }
 
+    public static Node<DuckDBExpression> createJoin(TableReferenceNode<DuckDBExpression, DuckDBTable> leftTable,
+            TableReferenceNode<DuckDBExpression, DuckDBTable> rightTable, JoinType joinType,
+            DuckDBGlobalState globalState) {
+        List<DuckDBColumn> columns = new ArrayList<>(leftTable.getTable().getColumns());
+        columns.addAll(rightTable.getTable().getColumns());
+        DuckDBExpressionGenerator joinGen = new DuckDBExpressionGenerator(globalState).setColumns(columns);
+        switch (joinType) {
+        case INNER:
+            return DuckDBJoin.createInnerJoin(leftTable, rightTable, joinGen.generateExpression());
+        case NATURAL:
+            return DuckDBJoin.createNaturalJoin(leftTable, rightTable, OuterType.getRandom());
+        case LEFT:
+            return DuckDBJoin.createLeftOuterJoin(leftTable, rightTable, joinGen.generateExpression());
+        case RIGHT:
+            return DuckDBJoin.createRightOuterJoin(leftTable, rightTable, joinGen.generateExpression());
+        default:
+            throw new AssertionError();
+        }
+    }
+
     public static DuckDBJoin createRightOuterJoin(TableReferenceNode<DuckDBExpression, DuckDBTable> left,
             TableReferenceNode<DuckDBExpression, DuckDBTable> right, Node<DuckDBExpression> predicate) {
         return new DuckDBJoin(left, right, JoinType.RIGHT, predicate);
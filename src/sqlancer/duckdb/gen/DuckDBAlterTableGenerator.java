@@ -1,8 +1,8 @@
 package sqlancer.duckdb.gen;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.Arrays;
 
+import sqlancer.ExpectedErrors;
 import sqlancer.Query;
 import sqlancer.QueryAdapter;
 import sqlancer.Randomly;
@@ -14,6 +14,21 @@ import sqlancer.duckdb.DuckDBToStringVisitor;
 
 public final class DuckDBAlterTableGenerator {
 
+    private static final ExpectedErrors ADD_COLUMN_ERRORS = getErrors();
+    private static final ExpectedErrors ALTER_COLUMN_ERRORS = getErrors(
+            "Cannot change the type of this column: an index depends on it!",
+            "Cannot change the type of a column that has a UNIQUE or PRIMARY KEY constraint specified",
+            "Unimplemented type for cast", "Conversion:",
+            "Cannot change the type of a column that has a CHECK constraint specified");
+    private static final ExpectedErrors ALTER_COLUMN_USING_ERRORS = ExpectedErrors.build(errors -> {
+        errors.addAll(ALTER_COLUMN_ERRORS);
+        DuckDBErrors.addExpressionErrors(errors);
+    });
+    private static final ExpectedErrors DROP_COLUMN_ERRORS = getErrors("named in key does not exist", // TODO
+            "Cannot drop this column:", "Cannot drop column: table only has one column remaining!",
+            "because there is a CHECK constraint that depends on it",
+            "because there is a UNIQUE constraint that depends on it");
+
     private DuckDBAlterTableGenerator() {
     }
 
@@ -21,10 +36,16 @@ public final class DuckDBAlterTableGenerator {
         ADD_COLUMN, ALTER_COLUMN, DROP_COLUMN
     }
 
+    private static ExpectedErrors getErrors(String... additionalErrors) {
+        return ExpectedErrors.build(errors -> {
+            errors.add(" does not have a column with name \"rowid\"");
+            errors.add("Table does not contain column rowid referenced in alter statement");
+            errors.addAll(Arrays.asList(additionalErrors));
+        });
+    }
+
     public static Query getQuery(DuckDBGlobalState globalState) {
-        Set<String> errors = new HashSet<>();
-        errors.add(" does not have a column with name \"rowid\"");
-        errors.add("Table does not contain column rowid referenced in alter statement");
+        ExpectedErrors errors;
         StringBuilder sb = new StringBuilder("ALTER TABLE ");
         DuckDBTable table = globalState.getSchema().getRandomTable(t -> !t.isView());
         DuckDBExpressionGenerator gen = new DuckDBExpressionGenerator(globalState).setColumns(table.getColumns());
@@ -38,6 +59,7 @@ public final class DuckDBAlterTableGenerator {
             sb.append(columnName);
             sb.append(" ");
             sb.append(DuckDBCompositeDataType.getRandom().toString());
+            errors = ADD_COLUMN_ERRORS;
             break;
         case ALTER_COLUMN:
             sb.append("ALTER COLUMN ");
@@ -46,23 +68,16 @@ public final class DuckDBAlterTableGenerator {
             sb.append(DuckDBCompositeDataType.getRandom().toString());
             if (Randomly.getBoolean()) {
                 sb.append(" USING ");
-                DuckDBErrors.addExpressionErrors(errors);
                 sb.append(DuckDBToStringVisitor.asString(gen.generateExpression()));
+                errors = ALTER_COLUMN_USING_ERRORS;
+            } else {
+                errors = ALTER_COLUMN_ERRORS;
             }
-            errors.add("Cannot change the type of this column: an index depends on it!");
-            errors.add("Cannot change the type of a column that has a UNIQUE or PRIMARY KEY constraint specified");
-            errors.add("Unimplemented type for cast");
-            errors.add("Conversion:");
-            errors.add("Cannot change the type of a column that has a CHECK constraint specified");
             break;
         case DROP_COLUMN:
             sb.append("DROP COLUMN ");
             sb.append(table.getRandomColumn().getName());
-            errors.add("named in key does not exist"); // TODO
-            errors.add("Cannot drop this column:");
-            errors.add("Cannot drop column: table only has one column remaining!");
-            errors.add("because there is a CHECK constraint that depends on it");
-            errors.add("because there is a UNIQUE constraint that depends on it");
+            errors = DROP_COLUMN_ERRORS;
             break;
         default:
             throw new AssertionError(action);
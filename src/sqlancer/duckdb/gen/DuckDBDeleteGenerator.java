@@ -1,8 +1,5 @@
 package sqlancer.duckdb.gen;
 
-import java.util.HashSet;
-import java.util.Set;
-
 import sqlancer.Query;
 import sqlancer.QueryAdapter;
 import sqlancer.Randomly;
@@ -18,7 +15,6 @@ public final class DuckDBDeleteGenerator {
 
     public static Query generate(DuckDBGlobalState globalState) {
         StringBuilder sb = new StringBuilder("DELETE FROM ");
-        Set<String> errors = new HashSet<>();
         DuckDBTable table = globalState.getSchema().getRandomTable(t -> !t.isView());
         sb.append(table.getName());
         if (Randomly.getBoolean()) {
@@ -26,8 +22,7 @@ public final class DuckDBDeleteGenerator {
             sb.append(DuckDBToStringVisitor.asString(
                     new DuckDBExpressionGenerator(globalState).setColumns(table.getColumns()).generateExpression()));
         }
-        DuckDBErrors.addExpressionErrors(errors);
-        return new QueryAdapter(sb.toString(), errors);
+        return new QueryAdapter(sb.toString(), DuckDBErrors.EXPRESSION_ERRORS);
     }
 
 }
@@ -1,9 +1,8 @@
 package sqlancer.duckdb.gen;
 
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
+import sqlancer.ExpectedErrors;
 import sqlancer.Query;
 import sqlancer.QueryAdapter;
 import sqlancer.Randomly;
@@ -16,15 +15,31 @@ import sqlancer.duckdb.ast.DuckDBExpression;
 
 public final class DuckDBIndexGenerator {
 
+    private static final ExpectedErrors ERRORS = getErrors(false, false);
+    private static final ExpectedErrors UNIQUE_ERRORS = getErrors(true, false);
+    private static final ExpectedErrors ROWID_ERRORS = getErrors(false, true);
+    private static final ExpectedErrors UNIQUE_ROWID_ERRORS = getErrors(true, true);
+
+    private static ExpectedErrors getErrors(boolean isUnique, boolean testRowid) {
+        return ExpectedErrors.build(errors -> {
+            if (isUnique) {
+                errors.add("Cant create unique index, table contains duplicate data on indexed column(s)");
+            }
+            errors.add("already exists!");
+            if (testRowid) {
+                errors.add("Cannot create an index on the rowid!");
+            }
+        });
+    }
+
     private DuckDBIndexGenerator() {
     }
 
     public static Query getQuery(DuckDBGlobalState globalState) {
-        Set<String> errors = new HashSet<>();
         StringBuilder sb = new StringBuilder();
         sb.append("CREATE ");
-        if (Randomly.getBoolean()) {
-            errors.add("Cant create unique index, table contains duplicate data on indexed column(s)");
+        boolean isUnique = Randomly.getBoolean();
+        if (isUnique) {
             sb.append("UNIQUE ");
         }
         sb.append("INDEX ");
@@ -51,9 +66,11 @@ public final class DuckDBIndexGenerator {
                     .generateExpression();
             sb.append(DuckDBToStringVisitor.asString(expr));
         }
-        errors.add("already exists!");
+        ExpectedErrors errors;
         if (globalState.getDmbsSpecificOptions().testRowid) {
-            errors.add("Cannot create an index on the rowid!");
+            errors = isUnique ? UNIQUE_ROWID_ERRORS : ROWID_ERRORS;
+        } else {
+            errors = isUnique ? UNIQUE_ERRORS : ERRORS;
         }
         return new QueryAdapter(sb.toString(), errors, true);
     }
@@ -1,10 +1,9 @@
 package sqlancer.duckdb.gen;
 
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 import java.util.stream.Collectors;
 
+import sqlancer.ExpectedErrors;
 import sqlancer.Query;
 import sqlancer.QueryAdapter;
 import sqlancer.Randomly;
@@ -17,8 +16,9 @@ import sqlancer.gen.AbstractInsertGenerator;
 
 public class DuckDBInsertGenerator extends AbstractInsertGenerator<DuckDBColumn> {
 
+    private static final ExpectedErrors ERRORS = ExpectedErrors.build(DuckDBErrors::addInsertErrors);
+
     private DuckDBGlobalState globalState;
-    private final Set<String> errors = new HashSet<>();
 
     public DuckDBInsertGenerator(DuckDBGlobalState globalState) {
         this.globalState = globalState;
@@ -38,8 +38,7 @@ public class DuckDBInsertGenerator extends AbstractInsertGenerator<DuckDBColumn>
         sb.append(")");
         sb.append(" VALUES ");
         insertColumns(columns);
-        DuckDBErrors.addInsertErrors(errors);
-        return new QueryAdapter(sb.toString(), errors);
+        return new QueryAdapter(sb.toString(), ERRORS);
     }
 
     @Override
@@ -1,11 +1,10 @@
 package sqlancer.duckdb.gen;
 
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 import java.util.stream.Collectors;
 
+import sqlancer.ExpectedErrors;
 import sqlancer.Query;
 import sqlancer.QueryAdapter;
 import sqlancer.Randomly;
@@ -21,8 +20,23 @@ import sqlancer.gen.UntypedExpressionGenerator;
 
 public class DuckDBTableGenerator {
 
+    private static final ExpectedErrors ERRORS = getErrors(false, false);
+    private static final ExpectedErrors CHECK_ERRORS = getErrors(true, false);
+    private static final ExpectedErrors PRIMARY_KEY_ERRORS = getErrors(false, true);
+    private static final ExpectedErrors CHECK_PRIMARY_KEY_ERRORS = getErrors(true, true);
+
+    private static ExpectedErrors getErrors(boolean hasCheckConstraint, boolean hasPrimaryKey) {
+        return ExpectedErrors.build(errors -> {
+            if (hasCheckConstraint) {
+                DuckDBErrors.addExpressionErrors(errors);
+            }
+            if (hasPrimaryKey) {
+                errors.add("Invalid type for index");
+            }
+        });
+    }
+
     public Query getQuery(DuckDBGlobalState globalState) {
-        Set<String> errors = new HashSet<>();
         StringBuilder sb = new StringBuilder();
         String tableName = globalState.getSchema().getFreeTableName();
         sb.append("CREATE TABLE ");
@@ -31,6 +45,7 @@ public class DuckDBTableGenerator {
         List<DuckDBColumn> columns = getNewColumns();
         UntypedExpressionGenerator<Node<DuckDBExpression>, DuckDBColumn> gen = new DuckDBExpressionGenerator(
                 globalState).setColumns(columns);
+        boolean hasCheckConstraint = false;
         for (int i = 0; i < columns.size(); i++) {
             if (i != 0) {
                 sb.append(", ");
@@ -54,7 +69,7 @@ public class DuckDBTableGenerator {
                     && Randomly.getBooleanWithRatherLowProbability()) {
                 sb.append(" CHECK(");
                 sb.append(DuckDBToStringVisitor.asString(gen.generateExpression()));
-                DuckDBErrors.addExpressionErrors(errors);
+                hasCheckConstraint = true;
                 sb.append(")");
             }
             if (Randomly.getBoolean() && globalState.getDmbsSpecificOptions().testDefaultValues) {
@@ -63,14 +78,20 @@ public class DuckDBTableGenerator {
                 sb.append(")");
             }
         }
-        if (globalState.getDmbsSpecificOptions().testIndexes && Randomly.getBoolean()) {
-            errors.add("Invalid type for index");
+        boolean hasPrimaryKey = globalState.getDmbsSpecificOptions().testIndexes && Randomly.getBoolean();
+        if (hasPrimaryKey) {
             List<DuckDBColumn> primaryKeyColumns = Randomly.nonEmptySubset(columns);
             sb.append(", PRIMARY KEY(");
             sb.append(primaryKeyColumns.stream().map(c -> c.getName()).collect(Collectors.joining(", ")));
             sb.append(")");
         }
         sb.append(")");
+        ExpectedErrors errors;
+        if (hasCheckConstraint) {
+            errors = hasPrimaryKey ? CHECK_PRIMARY_KEY_ERRORS : CHECK_ERRORS;
+        } else {
+            errors = hasPrimaryKey ? PRIMARY_KEY_ERRORS : ERRORS;
+        }
         return new QueryAdapter(sb.toString(), errors, true);
     }
 
@@ -1,9 +1,8 @@
 package sqlancer.duckdb.gen;
 
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
+import sqlancer.ExpectedErrors;
 import sqlancer.Query;
 import sqlancer.QueryAdapter;
 import sqlancer.Randomly;
@@ -17,12 +16,18 @@ import sqlancer.duckdb.ast.DuckDBExpression;
 
 public final class DuckDBUpdateGenerator {
 
+    private static final ExpectedErrors ERRORS = ExpectedErrors.build(DuckDBErrors::addInsertErrors);
+    private static final ExpectedErrors EXPRESSION_ERRORS = ExpectedErrors.build(errors -> {
+        DuckDBErrors.addExpressionErrors(errors);
+        DuckDBErrors.addInsertErrors(errors);
+    });
+
     private DuckDBUpdateGenerator() {
     }
 
     public static Query getQuery(DuckDBGlobalState globalState) {
         StringBuilder sb = new StringBuilder("UPDATE ");
-        Set<String> errors = new HashSet<>();
+        ExpectedErrors errors = ERRORS;
         DuckDBTable table = globalState.getSchema().getRandomTable(t -> !t.isView());
         sb.append(table.getName());
         DuckDBExpressionGenerator gen = new DuckDBExpressionGenerator(globalState).setColumns(table.getColumns());
@@ -37,13 +42,12 @@ public final class DuckDBUpdateGenerator {
             Node<DuckDBExpression> expr;
             if (Randomly.getBooleanWithSmallProbability()) {
                 expr = gen.generateExpression();
-                DuckDBErrors.addExpressionErrors(errors);
+                errors = EXPRESSION_ERRORS;
             } else {
                 expr = gen.generateConstant();
             }
             sb.append(DuckDBToStringVisitor.asString(expr));
         }
-        DuckDBErrors.addInsertErrors(errors);
         return new QueryAdapter(sb.toString(), errors);
     }
 
@@ -1,8 +1,5 @@
 package sqlancer.duckdb.gen;
 
-import java.util.HashSet;
-import java.util.Set;
-
 import sqlancer.Query;
 import sqlancer.QueryAdapter;
 import sqlancer.Randomly;
@@ -29,10 +26,7 @@ public final class DuckDBViewGenerator {
         }
         sb.append(") AS ");
         sb.append(DuckDBToStringVisitor.asString(DuckDBRandomQuerySynthesizer.generateSelect(globalState, nrColumns)));
-        Set<String> errors = new HashSet<>();
-        DuckDBErrors.addExpressionErrors(errors);
-        DuckDBErrors.addGroupByErrors(errors);
-        return new QueryAdapter(sb.toString(), errors, true);
+        return new QueryAdapter(sb.toString(), DuckDBErrors.EXPRESSION_GROUP_BY_ERRORS, true);
     }
 
 }
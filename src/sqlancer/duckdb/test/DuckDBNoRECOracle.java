@@ -4,15 +4,17 @@ import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashSet;
+import java.util.Collections;
 import java.util.List;
-import java.util.Set;
 import java.util.stream.Collectors;
 
+import sqlancer.ExpectedErrors;
 import sqlancer.IgnoreMeException;
 import sqlancer.Main.StateLogger;
 import sqlancer.MainOptions;
+import sqlancer.OracleStatistics;
 import sqlancer.Query;
 import sqlancer.QueryAdapter;
 import sqlancer.Randomly;
@@ -20,6 +22,7 @@ import sqlancer.TestOracle;
 import sqlancer.ast.newast.ColumnReferenceNode;
 import sqlancer.ast.newast.NewPostfixTextNode;
 import sqlancer.ast.newast.Node;
+import sqlancer.ast.newast.NodeRewriter;
 import sqlancer.ast.newast.TableReferenceNode;
 import sqlancer.duckdb.DuckDBErrors;
 import sqlancer.duckdb.DuckDBProvider.DuckDBGlobalState;
@@ -30,21 +33,29 @@ import sqlancer.duckdb.DuckDBSchema.DuckDBDataType;
 import sqlancer.duckdb.DuckDBSchema.DuckDBTable;
 import sqlancer.duckdb.DuckDBSchema.DuckDBTables;
 import sqlancer.duckdb.DuckDBToStringVisitor;
+import sqlancer.duckdb.ast.DuckDBConstant;
 import sqlancer.duckdb.ast.DuckDBExpression;
 import sqlancer.duckdb.ast.DuckDBJoin;
 import sqlancer.duckdb.ast.DuckDBSelect;
 import sqlancer.duckdb.gen.DuckDBExpressionGenerator;
 import sqlancer.duckdb.gen.DuckDBExpressionGenerator.DuckDBCastOperation;
+import sqlancer.reducer.ExpressionReducer;
+import sqlancer.reducer.QueryReducer;
 
 public class DuckDBNoRECOracle implements TestOracle {
 
+    private static final ExpectedErrors ERRORS = ExpectedErrors.build(errors -> {
+        DuckDBErrors.addExpressionErrors(errors);
+        errors.add("canceling statement due to statement timeout");
+    });
+
     private DuckDBSchema s;
     private Connection con;
     private String firstQueryString;
     private String secondQueryString;
     private StateLogger logger;
     private MainOptions options;
-    private final Set<String> errors = new HashSet<>();
+    private final ExpectedErrors errors = ERRORS;
     private DuckDBGlobalState globalState;
 
     public DuckDBNoRECOracle(DuckDBGlobalState globalState) {
@@ -53,7 +64,6 @@ public class DuckDBNoRECOracle implements TestOracle {
         this.logger = globalState.getLogger();
         this.options = globalState.getOptions();
         this.globalState = globalState;
-        DuckDBErrors.addExpressionErrors(errors);
     }
 
     @Override
@@ -68,44 +78,105 @@ public class DuckDBNoRECOracle implements TestOracle {
         List<TableReferenceNode<DuckDBExpression, DuckDBTable>> tableList = tables.stream()
                 .map(t -> new TableReferenceNode<DuckDBExpression, DuckDBTable>(t)).collect(Collectors.toList());
         List<Node<DuckDBExpression>> joins = DuckDBJoin.getJoins(tableList, globalState);
-        int secondCount = getSecondQuery(tableList.stream().collect(Collectors.toList()), randomWhereCondition, joins);
-        int firstCount = getFirstQueryCount(con, tableList.stream().collect(Collectors.toList()), columns,
-                randomWhereCondition, joins);
+        List<Node<DuckDBExpression>> orderBys = Collections.emptyList();
+        if (Randomly.getBooleanWithSmallProbability()) {
+            orderBys = new DuckDBExpressionGenerator(globalState).setColumns(columns).generateOrderBys();
+        }
+        List<Node<DuckDBExpression>> fromList = tableList.stream().collect(Collectors.toList());
+        secondQueryString = getSecondQuery(fromList, randomWhereCondition, joins);
+        if (options.logEachSelect()) {
+            logger.writeCurrent(secondQueryString);
+        }
+        int secondCount = getSecondQueryCount(con, secondQueryString);
+        firstQueryString = getFirstQuery(fromList, columns, randomWhereCondition, joins, orderBys);
+        if (options.logEachSelect()) {
+            logger.writeCurrent(firstQueryString);
+        }
+        int firstCount = getFirstQueryCount(con, firstQueryString);
         if (firstCount == -1 || secondCount == -1) {
             throw new IgnoreMeException();
         }
+        if (firstCount == 0 && secondCount == 0) {
+            OracleStatistics.reportVacuousCheck();
+        }
         if (firstCount != secondCount) {
+            if (options.reduceOracleQueries()) {
+                reduce(fromList, columns, randomWhereCondition, joins, orderBys);
+                firstCount = getFirstQueryCount(con, firstQueryString);
+                secondCount = getSecondQueryCount(con, secondQueryString);
+            }
             throw new AssertionError(
                     firstQueryString + "; -- " + firstCount + "\n" + secondQueryString + " -- " + secondCount);
         }
+        globalState.getPlanCoverage().sample(con, firstQueryString);
     }
 
-    private int getSecondQuery(List<Node<DuckDBExpression>> tableList, Node<DuckDBExpression> randomWhereCondition,
-            List<Node<DuckDBExpression>> joins) throws SQLException {
+    /**
+     * Reduces the WHERE condition and drops the ORDER BY clause while the counts still differ, and updates the query
+     * strings accordingly. Since each connection to an in-memory database creates a new database, the candidates can
+     * only be checked on the test connection.
+     */
+    private void reduce(List<Node<DuckDBExpression>> fromList, List<DuckDBColumn> columns,
+            Node<DuckDBExpression> whereCondition, List<Node<DuckDBExpression>> joins,
+            List<Node<DuckDBExpression>> orderBys) {
+        ExpressionReducer<Node<DuckDBExpression>> expressionReducer = createExpressionReducer();
+        // the first element is the WHERE condition; the remaining elements are the ORDER BY terms
+        List<Node<DuckDBExpression>> query = new ArrayList<>();
+        query.add(whereCondition);
+        query.addAll(orderBys);
+        QueryReducer<List<Node<DuckDBExpression>>> reducer = new QueryReducer<>(Arrays.asList(con), (c, q) -> {
+            int firstCount = getFirstQueryCount(c,
+                    getFirstQuery(fromList, columns, q.get(0), joins, q.subList(1, q.size())));
+            int secondCount = getSecondQueryCount(c, getSecondQuery(fromList, q.get(0), joins));
+            return firstCount != -1 && secondCount != -1 && firstCount != secondCount;
+        });
+        List<Node<DuckDBExpression>> reducedQuery = reducer.reduce(query, q -> {
+            List<List<Node<DuckDBExpression>>> reductions = new ArrayList<>();
+            if (q.size() > 1) {
+                reductions.add(q.subList(0, 1));
+            }
+            for (Node<DuckDBExpression> where : expressionReducer.getReductions(q.get(0))) {
+                List<Node<DuckDBExpression>> reduction = new ArrayList<>(q);
+                reduction.set(0, where);
+                reductions.add(reduction);
+            }
+            return reductions;
+        });
+        firstQueryString = getFirstQuery(fromList, columns, reducedQuery.get(0), joins,
+                reducedQuery.subList(1, reducedQuery.size()));
+        secondQueryString = getSecondQuery(fromList, reducedQuery.get(0), joins);
+    }
+
+    public static ExpressionReducer<Node<DuckDBExpression>> createExpressionReducer() {
+        return NodeRewriter.createReducer(Arrays.asList(DuckDBConstant.createNullConstant(),
+                DuckDBConstant.createIntConstant(0), DuckDBConstant.createBooleanConstant(true)));
+    }
+
+    private static String getSecondQuery(List<Node<DuckDBExpression>> tableList,
+            Node<DuckDBExpression> randomWhereCondition, List<Node<DuckDBExpression>> joins) {
         DuckDBSelect select = new DuckDBSelect();
         // select.setGroupByClause(groupBys);
         // DuckDBExpression isTrue = DuckDBPostfixOperation.create(randomWhereCondition,
         // PostfixOperator.IS_TRUE);
         Node<DuckDBExpression> asText = new NewPostfixTextNode<>(new DuckDBCastOperation(
                 new NewPostfixTextNode<DuckDBExpression>(randomWhereCondition,
-                        " IS NOT NULL AND " + DuckDBToStringVisitor.asString(randomWhereCondition) + ""),
+                        " IS NOT NULL AND (" + DuckDBToStringVisitor.asString(randomWhereCondition) + ")"),
                 new DuckDBCompositeDataType(DuckDBDataType.INT, 8)), "as count");
         select.setFetchColumns(Arrays.asList(asText));
         select.setFromList(tableList);
         // select.setSelectType(SelectType.ALL);
         select.setJoinList(joins);
+        return "SELECT SUM(count) FROM (" + DuckDBToStringVisitor.asString(select) + ") as res";
+    }
+
+    private int getSecondQueryCount(Connection con, String queryString) throws SQLException {
         int secondCount = 0;
-        secondQueryString = "SELECT SUM(count) FROM (" + DuckDBToStringVisitor.asString(select) + ") as res";
-        if (options.logEachSelect()) {
-            logger.writeCurrent(secondQueryString);
-        }
-        errors.add("canceling statement due to statement timeout");
-        Query q = new QueryAdapter(secondQueryString, errors);
+        Query q = new QueryAdapter(queryString, errors);
         ResultSet rs;
         try {
             rs = q.executeAndGet(con);
         } catch (Exception e) {
-            throw new AssertionError(secondQueryString, e);
+            throw new AssertionError(queryString, e);
         }
         if (rs == null) {
             return -1;
@@ -117,8 +188,9 @@ public class DuckDBNoRECOracle implements TestOracle {
         return secondCount;
     }
 
-    private int getFirstQueryCount(Connection con, List<Node<DuckDBExpression>> tableList, List<DuckDBColumn> columns,
-            Node<DuckDBExpression> randomWhereCondition, List<Node<DuckDBExpression>> joins) throws SQLException {
+    private static String getFirstQuery(List<Node<DuckDBExpression>> tableList, List<DuckDBColumn> columns,
+            Node<DuckDBExpression> randomWhereCondition, List<Node<DuckDBExpression>> joins,
+            List<Node<DuckDBExpression>> orderBys) {
         DuckDBSelect select = new DuckDBSelect();
         // select.setGroupByClause(groupBys);
         // DuckDBAggregate aggr = new DuckDBAggregate(
@@ -129,19 +201,18 @@ public class DuckDBNoRECOracle implements TestOracle {
         select.setFetchColumns(allColumns);
         select.setFromList(tableList);
         select.setWhereClause(randomWhereCondition);
-        if (Randomly.getBooleanWithSmallProbability()) {
-            select.setOrderByExpressions(
-                    new DuckDBExpressionGenerator(globalState).setColumns(columns).generateOrderBys());
+        if (!orderBys.isEmpty()) {
+            select.setOrderByExpressions(orderBys);
         }
         // select.setSelectType(SelectType.ALL);
         select.setJoinList(joins);
+        return DuckDBToStringVisitor.asString(select);
+    }
+
+    private static int getFirstQueryCount(Connection con, String queryString) {
         int firstCount = 0;
         try (Statement stat = con.createStatement()) {
-            firstQueryString = DuckDBToStringVisitor.asString(select);
-            if (options.logEachSelect()) {
-                logger.writeCurrent(firstQueryString);
-            }
-            try (ResultSet rs = stat.executeQuery(firstQueryString)) {
+            try (ResultSet rs = stat.executeQuery(queryString)) {
                 while (rs.next()) {
                     firstCount++;
                 }
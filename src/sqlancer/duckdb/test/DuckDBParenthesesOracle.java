@@ -0,0 +1,61 @@
+package sqlancer.duckdb.test;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import sqlancer.DatabaseProvider;
+import sqlancer.ExpectedErrors;
+import sqlancer.IgnoreMeException;
+import sqlancer.TestOracle;
+import sqlancer.ast.newast.Node;
+import sqlancer.ast.newast.TableReferenceNode;
+import sqlancer.duckdb.DuckDBErrors;
+import sqlancer.duckdb.DuckDBProvider.DuckDBGlobalState;
+import sqlancer.duckdb.DuckDBSchema.DuckDBTable;
+import sqlancer.duckdb.DuckDBSchema.DuckDBTables;
+import sqlancer.duckdb.DuckDBToStringVisitor;
+import sqlancer.duckdb.ast.DuckDBExpression;
+import sqlancer.duckdb.ast.DuckDBSelect;
+import sqlancer.duckdb.gen.DuckDBExpressionGenerator;
+
+/**
+ * Checks that printing a query with only the parentheses that are needed given
+ * {@link sqlancer.duckdb.DuckDBOperatorPrecedence} does not change its semantics, by comparing its result to the one of
+ * the fully parenthesized query. A mismatch indicates a bug in the precedence table rather than in DuckDB.
+ */
+public class DuckDBParenthesesOracle implements TestOracle {
+
+    private final DuckDBGlobalState state;
+    private final ExpectedErrors errors = DuckDBErrors.EXPRESSION_ERRORS;
+
+    public DuckDBParenthesesOracle(DuckDBGlobalState state) {
+        this.state = state;
+    }
+
+    @Override
+    public void check() throws SQLException {
+        DuckDBTables targetTables = state.getSchema().getRandomTableNonEmptyTables();
+        DuckDBExpressionGenerator gen = new DuckDBExpressionGenerator(state).setColumns(targetTables.getColumns());
+        List<Node<DuckDBExpression>> tableList = targetTables.getTables().stream()
+                .map(t -> new TableReferenceNode<DuckDBExpression, DuckDBTable>(t)).collect(Collectors.toList());
+        DuckDBSelect select = new DuckDBSelect();
+        select.setFetchColumns(Arrays.asList(gen.generateExpression()));
+        select.setFromList(tableList);
+        select.setWhereClause(gen.generateExpression());
+        String fullyParenthesizedQuery = DuckDBToStringVisitor.asString(select, false);
+        String minimalQuery = DuckDBToStringVisitor.asString(select, true);
+        if (fullyParenthesizedQuery.equals(minimalQuery)) {
+            throw new IgnoreMeException();
+        }
+        List<String> expectedResultSet = DatabaseProvider.getResultSetFirstColumnAsString(fullyParenthesizedQuery,
+                errors, state.getConnection(), state);
+        state.getState().queryString = minimalQuery + ";";
+        List<String> resultSet = DatabaseProvider.getResultSetFirstColumnAsString(minimalQuery, errors,
+                state.getConnection(), state);
+        TestOracle.assumeResultSetsAreEqual(expectedResultSet, resultSet, fullyParenthesizedQuery,
+                Arrays.asList(minimalQuery), state);
+    }
+
+}
@@ -38,8 +38,7 @@ public class DuckDBQueryPartitioningAggregateTester extends DuckDBQueryPartition
     private String metamorphicQuery;
 
     public DuckDBQueryPartitioningAggregateTester(DuckDBGlobalState state) {
-        super(state);
-        DuckDBErrors.addGroupByErrors(errors);
+        super(state, DuckDBErrors.EXPRESSION_GROUP_BY_ERRORS);
     }
 
     @Override
@@ -60,8 +59,9 @@ public class DuckDBQueryPartitioningAggregateTester extends DuckDBQueryPartition
             select.setOrderByExpressions(gen.generateOrderBys());
         }
         originalQuery = DuckDBToStringVisitor.asString(select);
-        firstResult = getAggregateResult(originalQuery);
         metamorphicQuery = createMetamorphicUnionQuery(select, aggregate, select.getFromList());
+        ignoreIfSeen(originalQuery, metamorphicQuery);
+        firstResult = getAggregateResult(originalQuery);
         secondResult = getAggregateResult(metamorphicQuery);
 
         state.getState().queryString = "--" + originalQuery + ";\n--" + metamorphicQuery + "\n-- " + firstResult
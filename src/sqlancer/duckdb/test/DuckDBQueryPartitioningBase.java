@@ -2,18 +2,20 @@ package sqlancer.duckdb.test;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 import java.util.stream.Collectors;
 
+import sqlancer.ExpectedErrors;
 import sqlancer.Randomly;
 import sqlancer.TestOracle;
 import sqlancer.ast.newast.ColumnReferenceNode;
+import sqlancer.ast.newast.NewBinaryOperatorNode;
 import sqlancer.ast.newast.NewUnaryPostfixOperatorNode;
 import sqlancer.ast.newast.NewUnaryPrefixOperatorNode;
 import sqlancer.ast.newast.Node;
+import sqlancer.ast.newast.NodeRewriter;
 import sqlancer.ast.newast.TableReferenceNode;
+import sqlancer.coverage.QueryCorpus;
 import sqlancer.duckdb.DuckDBErrors;
 import sqlancer.duckdb.DuckDBProvider.DuckDBGlobalState;
 import sqlancer.duckdb.DuckDBSchema;
@@ -22,15 +24,17 @@ import sqlancer.duckdb.DuckDBSchema.DuckDBTable;
 import sqlancer.duckdb.DuckDBSchema.DuckDBTables;
 import sqlancer.duckdb.ast.DuckDBExpression;
 import sqlancer.duckdb.ast.DuckDBJoin;
+import sqlancer.duckdb.ast.DuckDBJoin.JoinType;
 import sqlancer.duckdb.ast.DuckDBSelect;
 import sqlancer.duckdb.gen.DuckDBExpressionGenerator;
+import sqlancer.duckdb.gen.DuckDBExpressionGenerator.DuckDBBinaryLogicalOperator;
 import sqlancer.duckdb.gen.DuckDBExpressionGenerator.DuckDBUnaryPostfixOperator;
 import sqlancer.duckdb.gen.DuckDBExpressionGenerator.DuckDBUnaryPrefixOperator;
 
 public class DuckDBQueryPartitioningBase implements TestOracle {
 
     final DuckDBGlobalState state;
-    final Set<String> errors = new HashSet<>();
+    final ExpectedErrors errors;
 
     DuckDBSchema s;
     DuckDBTables targetTables;
@@ -41,27 +45,115 @@ public class DuckDBQueryPartitioningBase implements TestOracle {
     Node<DuckDBExpression> isNullPredicate;
 
     public DuckDBQueryPartitioningBase(DuckDBGlobalState state) {
+        this(state, DuckDBErrors.EXPRESSION_ERRORS);
+    }
+
+    DuckDBQueryPartitioningBase(DuckDBGlobalState state, ExpectedErrors errors) {
         this.state = state;
-        DuckDBErrors.addExpressionErrors(errors);
+        this.errors = errors;
+    }
+
+    /**
+     * The parts of a partitioning query that are retained in the query corpus for coverage-guided generation.
+     */
+    public static class DuckDBQueryPartitioningQuery {
+
+        private final DuckDBTables targetTables;
+        private final List<Node<DuckDBExpression>> fromList;
+        private final List<Node<DuckDBExpression>> joins;
+        private final Node<DuckDBExpression> predicate;
+        // HAVING predicates can contain aggregates, so queries are only mutated by oracles of the same kind
+        private final Class<?> oracle;
+
+        DuckDBQueryPartitioningQuery(Class<?> oracle, DuckDBTables targetTables, List<Node<DuckDBExpression>> fromList,
+                List<Node<DuckDBExpression>> joins, Node<DuckDBExpression> predicate) {
+            this.oracle = oracle;
+            this.targetTables = targetTables;
+            this.fromList = fromList;
+            this.joins = joins;
+            this.predicate = predicate;
+        }
+
+    }
+
+    private enum Mutation {
+        REPLACE_SUBEXPRESSION, SWAP_SUBEXPRESSIONS, CHANGE_JOIN_TYPE, ADD_PREDICATE
     }
 
     @Override
     public void check() throws SQLException {
         s = state.getSchema();
-        targetTables = s.getRandomTableNonEmptyTables();
-        gen = new DuckDBExpressionGenerator(state).setColumns(targetTables.getColumns());
+        DuckDBQueryPartitioningQuery query;
+        if (state.getOptions().useCoverageGuidedGeneration()) {
+            QueryCorpus<DuckDBQueryPartitioningQuery> corpus = state.getQueryCorpus();
+            query = Randomly.getBooleanWithRatherLowProbability() ? null
+                    : corpus.getRandomQuery(q -> q.oracle == getClass());
+            query = query == null ? generate() : mutate(query);
+            corpus.submit(query);
+        } else {
+            query = generate();
+        }
         select = new DuckDBSelect();
         select.setFetchColumns(generateFetchColumns());
+        select.setJoinList(new ArrayList<>(query.joins));
+        select.setFromList(new ArrayList<>(query.fromList));
+        select.setWhereClause(null);
+        predicate = query.predicate;
+        negatedPredicate = new NewUnaryPrefixOperatorNode<>(predicate, DuckDBUnaryPrefixOperator.NOT);
+        isNullPredicate = new NewUnaryPostfixOperatorNode<>(predicate, DuckDBUnaryPostfixOperator.IS_NULL);
+    }
+
+    /**
+     * Skips the check if the oracle already issued the same queries on this database. Subclasses call this with their
+     * final queries before executing them, since they randomize further parts of the queries after {@link #check()}.
+     */
+    void ignoreIfSeen(String... queryStrings) {
+        state.ignoreIfSeen(getClass().getSimpleName() + String.join(";", queryStrings));
+    }
+
+    private DuckDBQueryPartitioningQuery generate() {
+        targetTables = s.getRandomTableNonEmptyTables();
+        gen = new DuckDBExpressionGenerator(state).setColumns(targetTables.getColumns());
         List<DuckDBTable> tables = targetTables.getTables();
         List<TableReferenceNode<DuckDBExpression, DuckDBTable>> tableList = tables.stream()
                 .map(t -> new TableReferenceNode<DuckDBExpression, DuckDBTable>(t)).collect(Collectors.toList());
         List<Node<DuckDBExpression>> joins = DuckDBJoin.getJoins(tableList, state);
-        select.setJoinList(joins.stream().collect(Collectors.toList()));
-        select.setFromList(tableList.stream().collect(Collectors.toList()));
-        select.setWhereClause(null);
-        predicate = generatePredicate();
-        negatedPredicate = new NewUnaryPrefixOperatorNode<>(predicate, DuckDBUnaryPrefixOperator.NOT);
-        isNullPredicate = new NewUnaryPostfixOperatorNode<>(predicate, DuckDBUnaryPostfixOperator.IS_NULL);
+        return new DuckDBQueryPartitioningQuery(getClass(), targetTables,
+                tableList.stream().collect(Collectors.toList()), joins, generatePredicate());
+    }
+
+    private DuckDBQueryPartitioningQuery mutate(DuckDBQueryPartitioningQuery query) {
+        targetTables = query.targetTables;
+        gen = new DuckDBExpressionGenerator(state).setColumns(targetTables.getColumns());
+        List<Node<DuckDBExpression>> joins = new ArrayList<>(query.joins);
+        Node<DuckDBExpression> mutatedPredicate = query.predicate;
+        Mutation mutation = Randomly.fromOptions(Mutation.values());
+        if (mutation == Mutation.CHANGE_JOIN_TYPE && joins.isEmpty()) {
+            mutation = Mutation.ADD_PREDICATE;
+        }
+        switch (mutation) {
+        case REPLACE_SUBEXPRESSION:
+            mutatedPredicate = NodeRewriter.replace(mutatedPredicate,
+                    Randomly.fromList(NodeRewriter.getSubtrees(mutatedPredicate)), gen.generateExpression());
+            break;
+        case SWAP_SUBEXPRESSIONS:
+            List<Node<DuckDBExpression>> subtrees = NodeRewriter.getSubtrees(mutatedPredicate);
+            mutatedPredicate = NodeRewriter.replace(mutatedPredicate, Randomly.fromList(subtrees),
+                    Randomly.fromList(subtrees));
+            break;
+        case CHANGE_JOIN_TYPE:
+            int i = (int) Randomly.getNotCachedInteger(0, joins.size());
+            DuckDBJoin join = (DuckDBJoin) joins.get(i);
+            joins.set(i, DuckDBJoin.createJoin(join.getLeftTable(), join.getRightTable(), JoinType.getRandom(), state));
+            break;
+        case ADD_PREDICATE:
+            mutatedPredicate = new NewBinaryOperatorNode<>(mutatedPredicate, generatePredicate(),
+                    DuckDBBinaryLogicalOperator.getRandom());
+            break;
+        default:
+            throw new AssertionError(mutation);
+        }
+        return new DuckDBQueryPartitioningQuery(getClass(), targetTables, query.fromList, joins, mutatedPredicate);
     }
 
     List<Node<DuckDBExpression>> generateFetchColumns() {
@@ -14,8 +14,7 @@ import sqlancer.duckdb.DuckDBToStringVisitor;
 public class DuckDBQueryPartitioningDistinctTester extends DuckDBQueryPartitioningBase {
 
     public DuckDBQueryPartitioningDistinctTester(DuckDBGlobalState state) {
-        super(state);
-        DuckDBErrors.addGroupByErrors(errors);
+        super(state, DuckDBErrors.EXPRESSION_GROUP_BY_ERRORS);
     }
 
     @Override
@@ -24,9 +23,6 @@ public class DuckDBQueryPartitioningDistinctTester extends DuckDBQueryPartitioni
         select.setDistinct(true);
         select.setWhereClause(null);
         String originalQueryString = DuckDBToStringVisitor.asString(select);
-
-        List<String> resultSet = DatabaseProvider.getResultSetFirstColumnAsString(originalQueryString, errors,
-                state.getConnection(), state);
         if (Randomly.getBoolean()) {
             select.setDistinct(false);
         }
@@ -36,6 +32,9 @@ public class DuckDBQueryPartitioningDistinctTester extends DuckDBQueryPartitioni
         String secondQueryString = DuckDBToStringVisitor.asString(select);
         select.setWhereClause(isNullPredicate);
         String thirdQueryString = DuckDBToStringVisitor.asString(select);
+        ignoreIfSeen(originalQueryString, firstQueryString, secondQueryString, thirdQueryString);
+        List<String> resultSet = DatabaseProvider.getResultSetFirstColumnAsString(originalQueryString, errors,
+                state.getConnection(), state);
         List<String> combinedString = new ArrayList<>();
         List<String> secondResultSet = TestOracle.getCombinedResultSetNoDuplicates(firstQueryString, secondQueryString,
                 thirdQueryString, combinedString, true, state, errors);
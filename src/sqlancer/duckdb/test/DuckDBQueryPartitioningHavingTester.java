@@ -17,8 +17,7 @@ import sqlancer.duckdb.ast.DuckDBExpression;
 public class DuckDBQueryPartitioningHavingTester extends DuckDBQueryPartitioningBase implements TestOracle {
 
     public DuckDBQueryPartitioningHavingTester(DuckDBGlobalState state) {
-        super(state);
-        DuckDBErrors.addGroupByErrors(errors);
+        super(state, DuckDBErrors.EXPRESSION_GROUP_BY_ERRORS);
     }
 
     @Override
@@ -34,15 +33,15 @@ public class DuckDBQueryPartitioningHavingTester extends DuckDBQueryPartitioning
         select.setGroupByExpressions(gen.generateExpressions(Randomly.smallNumber() + 1));
         select.setHavingClause(null);
         String originalQueryString = DuckDBToStringVisitor.asString(select);
-        List<String> resultSet = DatabaseProvider.getResultSetFirstColumnAsString(originalQueryString, errors,
-                state.getConnection(), state);
-
         select.setHavingClause(predicate);
         String firstQueryString = DuckDBToStringVisitor.asString(select);
         select.setHavingClause(negatedPredicate);
         String secondQueryString = DuckDBToStringVisitor.asString(select);
         select.setHavingClause(isNullPredicate);
         String thirdQueryString = DuckDBToStringVisitor.asString(select);
+        ignoreIfSeen(originalQueryString, firstQueryString, secondQueryString, thirdQueryString);
+        List<String> resultSet = DatabaseProvider.getResultSetFirstColumnAsString(originalQueryString, errors,
+                state.getConnection(), state);
         List<String> combinedString = new ArrayList<>();
         List<String> secondResultSet = TestOracle.getCombinedResultSet(firstQueryString, secondQueryString,
                 thirdQueryString, combinedString, !orderBy, state, errors);
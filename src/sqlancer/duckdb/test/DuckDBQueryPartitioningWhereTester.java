@@ -2,20 +2,28 @@ package sqlancer.duckdb.test;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import sqlancer.DatabaseProvider;
+import sqlancer.PartitionedQueryPlan;
 import sqlancer.Randomly;
 import sqlancer.TestOracle;
+import sqlancer.ast.newast.NewUnaryPostfixOperatorNode;
+import sqlancer.ast.newast.NewUnaryPrefixOperatorNode;
+import sqlancer.ast.newast.Node;
 import sqlancer.duckdb.DuckDBErrors;
 import sqlancer.duckdb.DuckDBProvider.DuckDBGlobalState;
 import sqlancer.duckdb.DuckDBToStringVisitor;
+import sqlancer.duckdb.ast.DuckDBExpression;
+import sqlancer.duckdb.gen.DuckDBExpressionGenerator.DuckDBUnaryPostfixOperator;
+import sqlancer.duckdb.gen.DuckDBExpressionGenerator.DuckDBUnaryPrefixOperator;
+import sqlancer.reducer.PartitioningQueryReducer;
 
 public class DuckDBQueryPartitioningWhereTester extends DuckDBQueryPartitioningBase {
 
     public DuckDBQueryPartitioningWhereTester(DuckDBGlobalState state) {
-        super(state);
-        DuckDBErrors.addGroupByErrors(errors);
+        super(state, DuckDBErrors.EXPRESSION_GROUP_BY_ERRORS);
     }
 
     @Override
@@ -24,23 +32,46 @@ public class DuckDBQueryPartitioningWhereTester extends DuckDBQueryPartitioningB
         select.setWhereClause(null);
         String originalQueryString = DuckDBToStringVisitor.asString(select);
 
-        List<String> resultSet = DatabaseProvider.getResultSetFirstColumnAsString(originalQueryString, errors,
-                state.getConnection(), state);
-
         boolean orderBy = Randomly.getBooleanWithRatherLowProbability();
         if (orderBy) {
             select.setOrderByExpressions(gen.generateOrderBys());
         }
+        PartitionedQueryPlan plan = getPlan(predicate, originalQueryString, !orderBy);
+        ignoreIfSeen(originalQueryString, plan.getFirstQueryString(), plan.getSecondQueryString(),
+                plan.getThirdQueryString());
+        execute(plan, state.getOptions().reduceOracleQueries());
+    }
+
+    private void execute(PartitionedQueryPlan plan, boolean reduce) throws SQLException {
+        List<String> resultSet = DatabaseProvider.getResultSetFirstColumnAsString(plan.getOriginalQueryString(), errors,
+                state.getConnection(), state);
+        List<String> combinedString = new ArrayList<>();
+        List<String> secondResultSet = TestOracle.getCombinedResultSet(plan.getFirstQueryString(),
+                plan.getSecondQueryString(), plan.getThirdQueryString(), combinedString, plan.isAsUnion(), state,
+                errors);
+        if (reduce && PartitioningQueryReducer.isMismatch(resultSet, secondResultSet)) {
+            // each connection to an in-memory database creates a new database
+            PartitionedQueryPlan reducedPlan = new PartitioningQueryReducer<>(
+                    DuckDBNoRECOracle.createExpressionReducer(),
+                    p -> getPlan(p, plan.getOriginalQueryString(), plan.isAsUnion()), errors)
+                            .reduce(Arrays.asList(state.getConnection()), predicate);
+            // this reports the reduced queries if they expose the bug
+            execute(reducedPlan, false);
+        }
+        TestOracle.assumeResultSetsAreEqual(resultSet, secondResultSet, plan.getOriginalQueryString(), combinedString,
+                state);
+    }
+
+    private PartitionedQueryPlan getPlan(Node<DuckDBExpression> predicate, String originalQueryString,
+            boolean asUnion) {
         select.setWhereClause(predicate);
         String firstQueryString = DuckDBToStringVisitor.asString(select);
-        select.setWhereClause(negatedPredicate);
+        select.setWhereClause(new NewUnaryPrefixOperatorNode<>(predicate, DuckDBUnaryPrefixOperator.NOT));
         String secondQueryString = DuckDBToStringVisitor.asString(select);
-        select.setWhereClause(isNullPredicate);
+        select.setWhereClause(new NewUnaryPostfixOperatorNode<>(predicate, DuckDBUnaryPostfixOperator.IS_NULL));
         String thirdQueryString = DuckDBToStringVisitor.asString(select);
-        List<String> combinedString = new ArrayList<>();
-        List<String> secondResultSet = TestOracle.getCombinedResultSet(firstQueryString, secondQueryString,
-                thirdQueryString, combinedString, !orderBy, state, errors);
-        TestOracle.assumeResultSetsAreEqual(resultSet, secondResultSet, originalQueryString, combinedString, state);
+        return new PartitionedQueryPlan(null, originalQueryString, firstQueryString, secondQueryString,
+                thirdQueryString, asUnion);
     }
 
 }
@@ -0,0 +1,25 @@
+package sqlancer.events;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("sqlancer.LogWrite")
+@Label("Log Write")
+@Description("A write of the StateLogger to a log file")
+public class LogWriteEvent extends SQLancerEvent {
+
+    @Label("Action")
+    @Description("What is logged")
+    String action;
+
+    public void commit(String eventOutcome, String loggedAction) {
+        end();
+        if (shouldCommit()) {
+            setOutcome(eventOutcome);
+            this.action = loggedAction;
+            commit();
+        }
+    }
+
+}
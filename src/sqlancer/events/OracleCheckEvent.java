@@ -0,0 +1,82 @@
+package sqlancer.events;
+
+import java.sql.SQLException;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import sqlancer.CompositeTestOracle;
+import sqlancer.IgnoreMeException;
+import sqlancer.OracleStatistics;
+import sqlancer.OracleStatistics.Outcome;
+import sqlancer.PregeneratingTestOracle;
+import sqlancer.TestOracle;
+import sqlancer.coverage.QueryPlanCoverage;
+
+@Name("sqlancer.OracleCheck")
+@Label("Oracle Check")
+@Description("A single check of a test oracle, including the generation of its queries")
+public class OracleCheckEvent extends SQLancerEvent {
+
+    public static final String PASSED = "passed";
+    public static final String IGNORED = "ignored";
+    public static final String BUG = "bug";
+
+    @Label("Oracle")
+    String oracle;
+
+    /**
+     * Runs a check of the oracle and records it as an event and in the {@link OracleStatistics}. A
+     * {@link CompositeTestOracle} records the checks of the oracles that it delegates to instead, and a
+     * {@link PregeneratingTestOracle} is recorded as the oracle whose queries it pre-generates.
+     */
+    public static void check(TestOracle testOracle) throws SQLException {
+        if (testOracle instanceof CompositeTestOracle) {
+            testOracle.check();
+            return;
+        }
+        OracleCheckEvent event = new OracleCheckEvent();
+        event.begin();
+        OracleStatistics.startCheck();
+        QueryPlanCoverage.startCheck();
+        String eventOutcome = ERROR;
+        try {
+            testOracle.check();
+            eventOutcome = PASSED;
+        } catch (IgnoreMeException e) {
+            eventOutcome = IGNORED;
+            throw e;
+        } catch (AssertionError e) {
+            eventOutcome = BUG;
+            throw e;
+        } finally {
+            event.end();
+            TestOracle checkedOracle = testOracle instanceof PregeneratingTestOracle
+                    ? ((PregeneratingTestOracle<?>) testOracle).getOracle() : testOracle;
+            String oracleName = checkedOracle.getClass().getSimpleName();
+            OracleStatistics.record(oracleName, getStatisticsOutcome(eventOutcome));
+            if (event.shouldCommit()) {
+                event.setOutcome(eventOutcome);
+                event.oracle = oracleName;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Returns the outcome of the check for the statistics, in which a check that found a bug is meaningful.
+     */
+    private static Outcome getStatisticsOutcome(String eventOutcome) {
+        switch (eventOutcome) {
+        case PASSED:
+            return OracleStatistics.isVacuousCheck() ? Outcome.VACUOUS : Outcome.MEANINGFUL;
+        case BUG:
+            return Outcome.MEANINGFUL;
+        case IGNORED:
+            return Outcome.IGNORED;
+        default:
+            return Outcome.ERROR;
+        }
+    }
+
+}
@@ -0,0 +1,24 @@
+package sqlancer.events;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("sqlancer.Query")
+@Label("Query")
+@Description("A query whose result set is fetched by a test oracle")
+public class QueryEvent extends SQLancerEvent {
+
+    @Label("SQL")
+    String sql;
+
+    public void commit(String eventOutcome, String query) {
+        end();
+        if (shouldCommit()) {
+            setOutcome(eventOutcome);
+            this.sql = query;
+            commit();
+        }
+    }
+
+}
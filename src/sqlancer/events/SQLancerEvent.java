@@ -0,0 +1,43 @@
+package sqlancer.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * The base class of the JDK Flight Recorder events that SQLancer emits, which can be recorded by starting the JVM with
+ * <code>-XX:StartFlightRecording</code> and analyzed in JDK Mission Control. An event that is not enabled in the
+ * recording is not committed, and the fields of an event are only computed if it is committed, so the events are cheap
+ * enough to be left in the code for every campaign.
+ */
+@Category("SQLancer")
+@StackTrace(false)
+public abstract class SQLancerEvent extends Event {
+
+    public static final String SUCCESS = "success";
+    public static final String EXPECTED_ERROR = "expected error";
+    public static final String ERROR = "error";
+
+    // all threads of a run test the same DBMS
+    private static volatile String dbmsName;
+
+    @Label("DBMS")
+    String dbms;
+
+    @Label("Outcome")
+    String outcome;
+
+    public static void setDBMSName(String name) {
+        dbmsName = name;
+    }
+
+    /**
+     * Sets the fields that all events have, which is done only for an event that should be committed.
+     */
+    protected void setOutcome(String eventOutcome) {
+        this.dbms = dbmsName;
+        this.outcome = eventOutcome;
+    }
+
+}
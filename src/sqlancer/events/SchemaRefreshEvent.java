@@ -0,0 +1,32 @@
+package sqlancer.events;
+
+import java.sql.SQLException;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import sqlancer.schema.SchemaCache.SchemaLoader;
+
+@Name("sqlancer.SchemaRefresh")
+@Label("Schema Refresh")
+@Description("A read of the schema of the database under test")
+public class SchemaRefreshEvent extends SQLancerEvent {
+
+    public static <S> S record(SchemaLoader<S> loader) throws SQLException {
+        SchemaRefreshEvent event = new SchemaRefreshEvent();
+        event.begin();
+        String eventOutcome = ERROR;
+        try {
+            S schema = loader.load();
+            eventOutcome = SUCCESS;
+            return schema;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.setOutcome(eventOutcome);
+                event.commit();
+            }
+        }
+    }
+
+}
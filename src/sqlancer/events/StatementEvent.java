@@ -0,0 +1,38 @@
+package sqlancer.events;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("sqlancer.Statement")
+@Label("Statement")
+@Description("A statement that is executed by the QueryManager to generate the database")
+public class StatementEvent extends SQLancerEvent {
+
+    @Label("Action")
+    @Description("The first keyword of the statement")
+    String action;
+
+    @Label("SQL")
+    String sql;
+
+    public void commit(String eventOutcome, String statement) {
+        end();
+        if (shouldCommit()) {
+            setOutcome(eventOutcome);
+            this.action = getFirstKeyword(statement);
+            this.sql = statement;
+            commit();
+        }
+    }
+
+    private static String getFirstKeyword(String statement) {
+        String trimmed = statement.trim();
+        int i = 0;
+        while (i < trimmed.length() && Character.isLetter(trimmed.charAt(i))) {
+            i++;
+        }
+        return trimmed.substring(0, i).toUpperCase();
+    }
+
+}
@@ -8,6 +8,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import sqlancer.DatabaseProvider;
+import sqlancer.DatabaseProviderFactory;
 import sqlancer.GlobalState;
 import sqlancer.IgnoreMeException;
 import sqlancer.Main.QueryManager;
@@ -26,6 +27,7 @@ import sqlancer.mariadb.gen.MariaDBTableGenerator;
 import sqlancer.mariadb.gen.MariaDBTruncateGenerator;
 import sqlancer.mariadb.gen.MariaDBUpdateGenerator;
 import sqlancer.mariadb.oracle.MariaDBNoRECOracle;
+import sqlancer.schema.SchemaCache;
 import sqlancer.sqlite3.gen.SQLite3Common;
 
 public class MariaDBProvider implements DatabaseProvider<GlobalState<MariaDBOptions>, MariaDBOptions> {
@@ -55,7 +57,9 @@ public class MariaDBProvider implements DatabaseProvider<GlobalState<MariaDBOpti
         StateLogger logger = globalState.getLogger();
         StateToReproduce state = globalState.getState();
         QueryManager manager = globalState.getManager();
-        MariaDBSchema newSchema = MariaDBSchema.fromConnection(con, databaseName);
+        SchemaCache<MariaDBSchema> schemaCache = new SchemaCache<>(
+                () -> MariaDBSchema.fromConnection(con, databaseName));
+        MariaDBSchema newSchema = schemaCache.get(manager);
         if (options.logEachSelect()) {
             logger.writeCurrent(state);
         }
@@ -67,7 +71,7 @@ public class MariaDBProvider implements DatabaseProvider<GlobalState<MariaDBOpti
                 logger.writeCurrent(createTable.getQueryString());
             }
             manager.execute(createTable);
-            newSchema = MariaDBSchema.fromConnection(con, databaseName);
+            newSchema = schemaCache.get(manager);
         }
 
         int[] nrRemaining = new int[Action.values().length];
@@ -225,7 +229,7 @@ public class MariaDBProvider implements DatabaseProvider<GlobalState<MariaDBOpti
                 }
                 manager.execute(query);
                 if (query.couldAffectSchema()) {
-                    newSchema = MariaDBSchema.fromConnection(con, databaseName);
+                    newSchema = schemaCache.get(manager);
                     // createIndexGenerator.setNewSchema(newSchema);
                 }
             } catch (Throwable t) {
@@ -240,7 +244,7 @@ public class MariaDBProvider implements DatabaseProvider<GlobalState<MariaDBOpti
         // }
         // }
         //
-        newSchema = MariaDBSchema.fromConnection(con, databaseName);
+        newSchema = schemaCache.get(manager);
         //
         MariaDBNoRECOracle queryGenerator = new MariaDBNoRECOracle(newSchema, r, con, (MariaDBStateToReproduce) state);
         for (int i = 0; i < options.getNrQueries(); i++) {
@@ -275,6 +279,20 @@ public class MariaDBProvider implements DatabaseProvider<GlobalState<MariaDBOpti
         return con;
     }
 
+    public static final class Factory implements DatabaseProviderFactory {
+
+        @Override
+        public String getDBMSName() {
+            return "mariadb";
+        }
+
+        @Override
+        public MariaDBProvider createProvider() {
+            return new MariaDBProvider();
+        }
+
+    }
+
     @Override
     public String getDBMSName() {
         return "mariadb";
@@ -7,17 +7,28 @@ import java.sql.SQLIntegrityConstraintViolationException;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import sqlancer.Randomly;
+import sqlancer.events.SchemaRefreshEvent;
 import sqlancer.mariadb.MariaDBSchema.MariaDBTable.MariaDBEngine;
 
 public class MariaDBSchema {
 
     private static final int NR_SCHEMA_READ_TRIES = 10;
+    // reads the columns and indexes of all tables with a single query, rather than with a query per table
+    private static final String CATALOG_QUERY = "SELECT c.TABLE_NAME, t.ENGINE, FALSE AS IS_INDEX, c.COLUMN_NAME AS NAME, "
+            + "c.DATA_TYPE, c.NUMERIC_PRECISION, c.COLUMN_KEY, c.ORDINAL_POSITION AS POSITION "
+            + "FROM information_schema.COLUMNS c JOIN information_schema.TABLES t "
+            + "ON c.TABLE_SCHEMA = t.TABLE_SCHEMA AND c.TABLE_NAME = t.TABLE_NAME WHERE c.TABLE_SCHEMA = '%1$s' "
+            + "UNION ALL SELECT TABLE_NAME, NULL, TRUE, INDEX_NAME, NULL, NULL, NULL, SEQ_IN_INDEX "
+            + "FROM information_schema.STATISTICS WHERE TABLE_SCHEMA = '%1$s' ORDER BY TABLE_NAME, IS_INDEX, POSITION";
     private final List<MariaDBTable> databaseTables;
 
     public enum MariaDBDataType {
@@ -285,29 +296,45 @@ public class MariaDBSchema {
     }
 
     public static MariaDBSchema fromConnection(Connection con, String databaseName) throws SQLException {
+        return SchemaRefreshEvent.record(() -> readSchema(con, databaseName));
+    }
+
+    private static MariaDBSchema readSchema(Connection con, String databaseName) throws SQLException {
         Exception ex = null;
         /* the loop is a workaround for https://bugs.MariaDB.com/bug.php?id=95929 */
         for (int i = 0; i < NR_SCHEMA_READ_TRIES; i++) {
             try {
-                List<MariaDBTable> databaseTables = new ArrayList<>();
+                Map<String, MariaDBEngine> engines = new LinkedHashMap<>();
+                Map<String, List<MariaDBColumn>> columns = new HashMap<>();
+                Map<String, List<MariaDBIndex>> indexes = new HashMap<>();
                 try (Statement s = con.createStatement()) {
-                    try (ResultSet rs = s.executeQuery(
-                            "select TABLE_NAME, ENGINE from information_schema.TABLES where table_schema = '"
-                                    + databaseName + "';")) {
+                    try (ResultSet rs = s.executeQuery(String.format(CATALOG_QUERY, databaseName))) {
                         while (rs.next()) {
                             String tableName = rs.getString("TABLE_NAME");
-                            String tableEngineStr = rs.getString("ENGINE");
-                            MariaDBEngine engine = MariaDBEngine.get(tableEngineStr);
-                            List<MariaDBColumn> databaseColumns = getTableColumns(con, tableName, databaseName);
-                            List<MariaDBIndex> indexes = getIndexes(con, tableName, databaseName);
-                            MariaDBTable t = new MariaDBTable(tableName, databaseColumns, indexes, engine);
-                            for (MariaDBColumn c : databaseColumns) {
-                                c.setTable(t);
+                            if (rs.getBoolean("IS_INDEX")) {
+                                indexes.computeIfAbsent(tableName, t -> new ArrayList<>())
+                                        .add(MariaDBIndex.create(rs.getString("NAME")));
+                            } else {
+                                engines.putIfAbsent(tableName, MariaDBEngine.get(rs.getString("ENGINE")));
+                                String dataType = rs.getString("DATA_TYPE");
+                                int precision = rs.getInt("NUMERIC_PRECISION");
+                                boolean isPrimaryKey = rs.getString("COLUMN_KEY").equals("PRI");
+                                columns.computeIfAbsent(tableName, t -> new ArrayList<>()).add(new MariaDBColumn(
+                                        rs.getString("NAME"), getColumnType(dataType), isPrimaryKey, precision));
                             }
-                            databaseTables.add(t);
                         }
                     }
                 }
+                List<MariaDBTable> databaseTables = new ArrayList<>();
+                for (Map.Entry<String, MariaDBEngine> table : engines.entrySet()) {
+                    List<MariaDBColumn> databaseColumns = columns.get(table.getKey());
+                    MariaDBTable t = new MariaDBTable(table.getKey(), databaseColumns,
+                            indexes.getOrDefault(table.getKey(), new ArrayList<>()), table.getValue());
+                    for (MariaDBColumn c : databaseColumns) {
+                        c.setTable(t);
+                    }
+                    databaseTables.add(t);
+                }
                 return new MariaDBSchema(databaseTables);
             } catch (SQLIntegrityConstraintViolationException e) {
                 ex = e;
@@ -316,41 +343,6 @@ public class MariaDBSchema {
         throw new AssertionError(ex);
     }
 
-    private static List<MariaDBIndex> getIndexes(Connection con, String tableName, String databaseName)
-            throws SQLException {
-        List<MariaDBIndex> indexes = new ArrayList<>();
-        try (Statement s = con.createStatement()) {
-            try (ResultSet rs = s.executeQuery(String.format(
-                    "SELECT INDEX_NAME FROM INFORMATION_SCHEMA.STATISTICS WHERE TABLE_SCHEMA = '%s' AND TABLE_NAME='%s';",
-                    databaseName, tableName))) {
-                while (rs.next()) {
-                    String indexName = rs.getString("INDEX_NAME");
-                    indexes.add(MariaDBIndex.create(indexName));
-                }
-            }
-        }
-        return indexes;
-    }
-
-    private static List<MariaDBColumn> getTableColumns(Connection con, String tableName, String databaseName)
-            throws SQLException {
-        List<MariaDBColumn> columns = new ArrayList<>();
-        try (Statement s = con.createStatement()) {
-            try (ResultSet rs = s.executeQuery("select * from information_schema.columns where table_schema = '"
-                    + databaseName + "' AND TABLE_NAME='" + tableName + "'")) {
-                while (rs.next()) {
-                    String columnName = rs.getString("COLUMN_NAME");
-                    String dataType = rs.getString("DATA_TYPE");
-                    int precision = rs.getInt("NUMERIC_PRECISION");
-                    boolean isPrimaryKey = rs.getString("COLUMN_KEY").equals("PRI");
-                    MariaDBColumn c = new MariaDBColumn(columnName, getColumnType(dataType), isPrimaryKey, precision);
-                    columns.add(c);
-                }
-            }
-        }
-        return columns;
-    }
-
     public MariaDBSchema(List<MariaDBTable> databaseTables) {
         this.databaseTables = Collections.unmodifiableList(databaseTables);
     }
@@ -2,8 +2,12 @@ package sqlancer.mysql;
 
 import java.util.Set;
 
+import sqlancer.ExpectedErrors;
+
 public final class MySQLErrors {
 
+    public static final ExpectedErrors EXPRESSION_ERRORS = ExpectedErrors.build(MySQLErrors::addExpressionErrors);
+
     private MySQLErrors() {
     }
 
@@ -1,16 +1,29 @@
 
 package sqlancer.mysql;
 
+import java.sql.SQLException;
+
 import sqlancer.GlobalState;
+import sqlancer.schema.SchemaCache;
 
 public class MySQLGlobalState extends GlobalState<MySQLOptions> {
 
     private MySQLSchema schema;
+    private final SchemaCache<MySQLSchema> schemaCache = new SchemaCache<>(
+            () -> MySQLSchema.fromConnection(getConnection(), getDatabaseName()));
 
     public void setSchema(MySQLSchema schema) {
         this.schema = schema;
     }
 
+    /**
+     * Reads the schema from the database, unless no statement that could have changed it was executed since it was last
+     * read.
+     */
+    public void updateSchema() throws SQLException {
+        setSchema(schemaCache.get(getManager()));
+    }
+
     public MySQLSchema getSchema() {
         return schema;
     }
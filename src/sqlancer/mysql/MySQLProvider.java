@@ -12,6 +12,7 @@ import java.util.stream.Collectors;
 
 import sqlancer.AbstractAction;
 import sqlancer.DatabaseProvider;
+import sqlancer.DatabaseProviderFactory;
 import sqlancer.GlobalState;
 import sqlancer.IgnoreMeException;
 import sqlancer.Main.QueryManager;
@@ -25,6 +26,8 @@ import sqlancer.StateToReproduce;
 import sqlancer.StateToReproduce.MySQLStateToReproduce;
 import sqlancer.StatementExecutor;
 import sqlancer.TestOracle;
+import sqlancer.coverage.QueryPlanFingerprinter;
+import sqlancer.events.OracleCheckEvent;
 import sqlancer.mysql.MySQLSchema.MySQLColumn;
 import sqlancer.mysql.MySQLSchema.MySQLTable;
 import sqlancer.mysql.gen.MySQLAlterTable;
@@ -148,12 +151,11 @@ public class MySQLProvider implements DatabaseProvider<MySQLGlobalState, MySQLOp
     public void generateAndTestDatabase(MySQLGlobalState globalState) throws SQLException {
         this.databaseName = globalState.getDatabaseName();
         this.manager = globalState.getManager();
-        Connection con = globalState.getConnection();
         MainOptions options = globalState.getOptions();
         StateLogger logger = globalState.getLogger();
         StateToReproduce state = globalState.getState();
         Randomly r = globalState.getRandomly();
-        globalState.setSchema(MySQLSchema.fromConnection(con, databaseName));
+        globalState.updateSchema();
         if (options.logEachSelect()) {
             logger.writeCurrent(state);
         }
@@ -165,18 +167,19 @@ public class MySQLProvider implements DatabaseProvider<MySQLGlobalState, MySQLOp
                 logger.writeCurrent(createTable.getQueryString());
             }
             manager.execute(createTable);
-            globalState.setSchema(MySQLSchema.fromConnection(con, databaseName));
+            globalState.updateSchema();
         }
 
         StatementExecutor<MySQLGlobalState, Action> se = new StatementExecutor<>(globalState, Action.values(),
                 MySQLProvider::mapActions, (q) -> {
                     if (q.couldAffectSchema()) {
-                        globalState.setSchema(MySQLSchema.fromConnection(con, databaseName));
+                        globalState.updateSchema();
                     }
                     if (globalState.getSchema().getDatabaseTables().isEmpty()) {
                         throw new IgnoreMeException();
                     }
                 });
+        se.enableTransactionBatching(false);
         se.executeStatements();
         manager.incrementCreateDatabase();
 
@@ -186,12 +189,12 @@ public class MySQLProvider implements DatabaseProvider<MySQLGlobalState, MySQLOp
         // }
         // }
 
-        globalState.setSchema(MySQLSchema.fromConnection(con, databaseName));
+        globalState.updateSchema();
 
         TestOracle oracle = new MySQLTLPWhereOracle(globalState);
         for (int i = 0; i < options.getNrQueries(); i++) {
             try {
-                oracle.check();
+                OracleCheckEvent.check(oracle);
                 manager.incrementSelectQueryCount();
             } catch (IgnoreMeException e) {
 
@@ -257,6 +260,20 @@ public class MySQLProvider implements DatabaseProvider<MySQLGlobalState, MySQLOp
         return con;
     }
 
+    public static final class Factory implements DatabaseProviderFactory {
+
+        @Override
+        public String getDBMSName() {
+            return "mysql";
+        }
+
+        @Override
+        public MySQLProvider createProvider() {
+            return new MySQLProvider();
+        }
+
+    }
+
     @Override
     public String getDBMSName() {
         return "mysql";
@@ -314,4 +331,9 @@ public class MySQLProvider implements DatabaseProvider<MySQLGlobalState, MySQLOp
         return new MySQLOptions();
     }
 
+    @Override
+    public QueryPlanFingerprinter getQueryPlanFingerprinter() {
+        return new MySQLQueryPlanFingerprinter();
+    }
+
 }
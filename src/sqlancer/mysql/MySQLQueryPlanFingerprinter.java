@@ -0,0 +1,29 @@
+package sqlancer.mysql;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import sqlancer.coverage.QueryPlanFingerprinter;
+
+public class MySQLQueryPlanFingerprinter implements QueryPlanFingerprinter {
+
+    @Override
+    public List<String> getOperators(Connection con, String query) throws SQLException {
+        List<String> operators = new ArrayList<>();
+        try (Statement s = con.createStatement()) {
+            try (ResultSet rs = s.executeQuery("EXPLAIN " + query)) {
+                while (rs.next()) {
+                    // the access type is null if no table is accessed (e.g., for an impossible WHERE clause)
+                    String type = rs.getString("type");
+                    operators.add(rs.getString("select_type") + ":" + (type == null ? "NONE" : type));
+                }
+            }
+        }
+        return operators;
+    }
+
+}
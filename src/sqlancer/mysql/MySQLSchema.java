@@ -7,12 +7,14 @@ import java.sql.SQLIntegrityConstraintViolationException;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Stream;
 
 import sqlancer.Randomly;
 import sqlancer.StateToReproduce.MySQLStateToReproduce;
+import sqlancer.events.SchemaRefreshEvent;
 import sqlancer.mysql.MySQLSchema.MySQLTable;
 import sqlancer.mysql.MySQLSchema.MySQLTable.MySQLEngine;
 import sqlancer.mysql.ast.MySQLConstant;
@@ -25,6 +27,13 @@ import sqlancer.schema.TableIndex;
 public class MySQLSchema extends AbstractSchema<MySQLTable> {
 
     private static final int NR_SCHEMA_READ_TRIES = 10;
+    // reads the columns and indexes of all tables with a single query, rather than with a query per table
+    private static final String CATALOG_QUERY = "SELECT c.TABLE_NAME, t.ENGINE, FALSE AS IS_INDEX, c.COLUMN_NAME AS NAME, "
+            + "c.DATA_TYPE, c.NUMERIC_PRECISION, c.COLUMN_KEY, c.ORDINAL_POSITION AS POSITION "
+            + "FROM information_schema.COLUMNS c JOIN information_schema.TABLES t "
+            + "ON c.TABLE_SCHEMA = t.TABLE_SCHEMA AND c.TABLE_NAME = t.TABLE_NAME WHERE c.TABLE_SCHEMA = '%1$s' "
+            + "UNION ALL SELECT TABLE_NAME, NULL, TRUE, INDEX_NAME, NULL, NULL, NULL, SEQ_IN_INDEX "
+            + "FROM information_schema.STATISTICS WHERE TABLE_SCHEMA = '%1$s' ORDER BY TABLE_NAME, IS_INDEX, POSITION";
 
     public enum MySQLDataType {
         INT, VARCHAR, FLOAT, DOUBLE, DECIMAL;
@@ -281,29 +290,45 @@ public class MySQLSchema extends AbstractSchema<MySQLTable> {
     }
 
     public static MySQLSchema fromConnection(Connection con, String databaseName) throws SQLException {
+        return SchemaRefreshEvent.record(() -> readSchema(con, databaseName));
+    }
+
+    private static MySQLSchema readSchema(Connection con, String databaseName) throws SQLException {
         Exception ex = null;
         /* the loop is a workaround for https://bugs.mysql.com/bug.php?id=95929 */
         for (int i = 0; i < NR_SCHEMA_READ_TRIES; i++) {
             try {
-                List<MySQLTable> databaseTables = new ArrayList<>();
+                Map<String, MySQLEngine> engines = new LinkedHashMap<>();
+                Map<String, List<MySQLColumn>> columns = new HashMap<>();
+                Map<String, List<MySQLIndex>> indexes = new HashMap<>();
                 try (Statement s = con.createStatement()) {
-                    try (ResultSet rs = s.executeQuery(
-                            "select TABLE_NAME, ENGINE from information_schema.TABLES where table_schema = '"
-                                    + databaseName + "';")) {
+                    try (ResultSet rs = s.executeQuery(String.format(CATALOG_QUERY, databaseName))) {
                         while (rs.next()) {
                             String tableName = rs.getString("TABLE_NAME");
-                            String tableEngineStr = rs.getString("ENGINE");
-                            MySQLEngine engine = MySQLEngine.get(tableEngineStr);
-                            List<MySQLColumn> databaseColumns = getTableColumns(con, tableName, databaseName);
-                            List<MySQLIndex> indexes = getIndexes(con, tableName, databaseName);
-                            MySQLTable t = new MySQLTable(tableName, databaseColumns, indexes, engine);
-                            for (MySQLColumn c : databaseColumns) {
-                                c.setTable(t);
+                            if (rs.getBoolean("IS_INDEX")) {
+                                indexes.computeIfAbsent(tableName, t -> new ArrayList<>())
+                                        .add(MySQLIndex.create(rs.getString("NAME")));
+                            } else {
+                                engines.putIfAbsent(tableName, MySQLEngine.get(rs.getString("ENGINE")));
+                                String dataType = rs.getString("DATA_TYPE");
+                                int precision = rs.getInt("NUMERIC_PRECISION");
+                                boolean isPrimaryKey = rs.getString("COLUMN_KEY").equals("PRI");
+                                columns.computeIfAbsent(tableName, t -> new ArrayList<>()).add(new MySQLColumn(
+                                        rs.getString("NAME"), getColumnType(dataType), isPrimaryKey, precision));
                             }
-                            databaseTables.add(t);
                         }
                     }
                 }
+                List<MySQLTable> databaseTables = new ArrayList<>();
+                for (Map.Entry<String, MySQLEngine> table : engines.entrySet()) {
+                    List<MySQLColumn> databaseColumns = columns.get(table.getKey());
+                    MySQLTable t = new MySQLTable(table.getKey(), databaseColumns,
+                            indexes.getOrDefault(table.getKey(), new ArrayList<>()), table.getValue());
+                    for (MySQLColumn c : databaseColumns) {
+                        c.setTable(t);
+                    }
+                    databaseTables.add(t);
+                }
                 return new MySQLSchema(databaseTables);
             } catch (SQLIntegrityConstraintViolationException e) {
                 ex = e;
@@ -312,41 +337,6 @@ public class MySQLSchema extends AbstractSchema<MySQLTable> {
         throw new AssertionError(ex);
     }
 
-    private static List<MySQLIndex> getIndexes(Connection con, String tableName, String databaseName)
-            throws SQLException {
-        List<MySQLIndex> indexes = new ArrayList<>();
-        try (Statement s = con.createStatement()) {
-            try (ResultSet rs = s.executeQuery(String.format(
-                    "SELECT INDEX_NAME FROM INFORMATION_SCHEMA.STATISTICS WHERE TABLE_SCHEMA = '%s' AND TABLE_NAME='%s';",
-                    databaseName, tableName))) {
-                while (rs.next()) {
-                    String indexName = rs.getString("INDEX_NAME");
-                    indexes.add(MySQLIndex.create(indexName));
-                }
-            }
-        }
-        return indexes;
-    }
-
-    private static List<MySQLColumn> getTableColumns(Connection con, String tableName, String databaseName)
-            throws SQLException {
-        List<MySQLColumn> columns = new ArrayList<>();
-        try (Statement s = con.createStatement()) {
-            try (ResultSet rs = s.executeQuery("select * from information_schema.columns where table_schema = '"
-                    + databaseName + "' AND TABLE_NAME='" + tableName + "'")) {
-                while (rs.next()) {
-                    String columnName = rs.getString("COLUMN_NAME");
-                    String dataType = rs.getString("DATA_TYPE");
-                    int precision = rs.getInt("NUMERIC_PRECISION");
-                    boolean isPrimaryKey = rs.getString("COLUMN_KEY").equals("PRI");
-                    MySQLColumn c = new MySQLColumn(columnName, getColumnType(dataType), isPrimaryKey, precision);
-                    columns.add(c);
-                }
-            }
-        }
-        return columns;
-    }
-
     public MySQLSchema(List<MySQLTable> databaseTables) {
         super(databaseTables);
     }
@@ -1,7 +1,7 @@
 package sqlancer.mysql.ast;
 
-import sqlancer.LikeImplementationHelper;
 import sqlancer.Randomly;
+import sqlancer.WildcardPattern;
 import sqlancer.mysql.MySQLSchema.MySQLDataType;
 import sqlancer.mysql.ast.MySQLUnaryPrefixOperation.MySQLUnaryPrefixOperator;
 
@@ -87,7 +87,7 @@ public class MySQLBinaryComparisonOperation implements MySQLExpression {
                 }
                 String leftStr = leftVal.castAsString();
                 String rightStr = rightVal.castAsString();
-                boolean matches = LikeImplementationHelper.match(leftStr, rightStr, 0, 0, false);
+                boolean matches = WildcardPattern.like(rightStr, false).matches(leftStr);
                 return MySQLConstant.createBoolean(matches);
             }
 
@@ -1,9 +1,8 @@
 package sqlancer.mysql.gen;
 
 import java.util.Arrays;
-import java.util.HashSet;
-import java.util.Set;
 
+import sqlancer.ExpectedErrors;
 import sqlancer.Query;
 import sqlancer.QueryAdapter;
 import sqlancer.Randomly;
@@ -14,6 +13,9 @@ import sqlancer.mysql.MySQLVisitor;
 
 public class MySQLDeleteGenerator {
 
+    private static final ExpectedErrors ERRORS = getErrors(false);
+    private static final ExpectedErrors WHERE_ERRORS = getErrors(true);
+
     private final StringBuilder sb = new StringBuilder();
     private final MySQLGlobalState globalState;
 
@@ -21,6 +23,20 @@ public class MySQLDeleteGenerator {
         this.globalState = globalState;
     }
 
+    private static ExpectedErrors getErrors(boolean hasWhereClause) {
+        return ExpectedErrors.build(errors -> {
+            if (hasWhereClause) {
+                MySQLErrors.addExpressionErrors(errors);
+            }
+            errors.addAll(Arrays.asList("doesn't have this option",
+                    "Truncated incorrect DOUBLE value" /*
+                                                        * ignore as a workaround for
+                                                        * https://bugs.mysql.com/bug.php?id=95997
+                                                        */, "Truncated incorrect INTEGER value",
+                    "Truncated incorrect DECIMAL value", "Data truncated for functional index"));
+        });
+    }
+
     public static Query delete(MySQLGlobalState globalState) {
         return new MySQLDeleteGenerator(globalState).generate();
     }
@@ -28,7 +44,7 @@ public class MySQLDeleteGenerator {
     private Query generate() {
         MySQLTable randomTable = globalState.getSchema().getRandomTable();
         MySQLExpressionGenerator gen = new MySQLExpressionGenerator(globalState).setColumns(randomTable.getColumns());
-        Set<String> errors = new HashSet<>();
+        ExpectedErrors errors = ERRORS;
         sb.append("DELETE");
         if (Randomly.getBoolean()) {
             sb.append(" LOW_PRIORITY");
@@ -45,13 +61,8 @@ public class MySQLDeleteGenerator {
         if (Randomly.getBoolean()) {
             sb.append(" WHERE ");
             sb.append(MySQLVisitor.asString(gen.generateExpression()));
-            MySQLErrors.addExpressionErrors(errors);
+            errors = WHERE_ERRORS;
         }
-        errors.addAll(Arrays.asList("doesn't have this option",
-                "Truncated incorrect DOUBLE value" /*
-                                                    * ignore as a workaround for https://bugs.mysql.com/bug.php?id=95997
-                                                    */, "Truncated incorrect INTEGER value",
-                "Truncated incorrect DECIMAL value", "Data truncated for functional index"));
         // TODO: support ORDER BY
         return new QueryAdapter(sb.toString(), errors);
     }
@@ -1,11 +1,10 @@
 package sqlancer.mysql.gen;
 
 import java.sql.SQLException;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 import java.util.stream.Collectors;
 
+import sqlancer.ExpectedErrors;
 import sqlancer.Query;
 import sqlancer.QueryAdapter;
 import sqlancer.Randomly;
@@ -16,10 +15,20 @@ import sqlancer.mysql.MySQLVisitor;
 
 public class MySQLInsertGenerator {
 
+    private static final ExpectedErrors ERRORS = ExpectedErrors.build(errors -> {
+        errors.add("doesn't have a default value");
+        errors.add("Data truncation");
+        errors.add("Incorrect integer value");
+        errors.add("Duplicate entry");
+        errors.add("Data truncated for functional index");
+        errors.add("Data truncated for column");
+        errors.add("cannot be null");
+        errors.add("Incorrect decimal value");
+    });
+
     private final MySQLTable table;
     private final StringBuilder sb = new StringBuilder();
     boolean canFail;
-    private final Set<String> errors = new HashSet<>();
     private MySQLGlobalState globalState;
 
     public MySQLInsertGenerator(MySQLGlobalState globalState) {
@@ -89,15 +98,7 @@ public class MySQLInsertGenerator {
             }
             sb.append(")");
         }
-        errors.add("doesn't have a default value");
-        errors.add("Data truncation");
-        errors.add("Incorrect integer value");
-        errors.add("Duplicate entry");
-        errors.add("Data truncated for functional index");
-        errors.add("Data truncated for column");
-        errors.add("cannot be null");
-        errors.add("Incorrect decimal value");
-        return new QueryAdapter(sb.toString(), errors);
+        return new QueryAdapter(sb.toString(), ERRORS);
     }
 
 }
@@ -2,10 +2,12 @@ package sqlancer.mysql.gen;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import sqlancer.ExpectedErrors;
 import sqlancer.IgnoreMeException;
 import sqlancer.Query;
 import sqlancer.QueryAdapter;
@@ -18,6 +20,14 @@ import sqlancer.sqlite3.gen.SQLite3Common;
 
 public class MySQLTableGenerator {
 
+    private static final ExpectedErrors ERRORS = ExpectedErrors.build(MySQLTableGenerator::addCommonErrors);
+    private static final ExpectedErrors ARCHIVE_ERRORS = ExpectedErrors.build(errors -> {
+        errors.add("Too many keys specified; max 1 keys allowed");
+        errors.add("Table handler doesn't support NULL in given index");
+        errors.add("Got error -1 - 'Unknown error -1' from storage engine");
+        addCommonErrors(errors);
+    });
+
     private final StringBuilder sb = new StringBuilder();
     private boolean allowPrimaryKey;
     private boolean setPrimaryKey;
@@ -42,8 +52,6 @@ public class MySQLTableGenerator {
     }
 
     private Query create() {
-        List<String> errors = new ArrayList<>();
-
         sb.append("CREATE");
         // TODO support temporary tables in the schema
         sb.append(" TABLE");
@@ -73,19 +81,14 @@ public class MySQLTableGenerator {
                     throw new IgnoreMeException();
                 }
             } else if ((tableHasNullableColumn || keysSpecified > 1) && engine == MySQLEngine.ARCHIVE) {
-                errors.add("Too many keys specified; max 1 keys allowed");
-                errors.add("Table handler doesn't support NULL in given index");
-                errors.add("Got error -1 - 'Unknown error -1' from storage engine");
-                addCommonErrors(errors);
-                return new QueryAdapter(sb.toString(), errors);
+                return new QueryAdapter(sb.toString(), ARCHIVE_ERRORS);
             }
-            addCommonErrors(errors);
-            return new QueryAdapter(sb.toString(), errors, true);
+            return new QueryAdapter(sb.toString(), ERRORS, true);
         }
 
     }
 
-    private void addCommonErrors(List<String> list) {
+    private static void addCommonErrors(Collection<String> list) {
         list.add("The storage engine for the table doesn't support");
         list.add("doesn't have this option");
         list.add("must include all columns");
@@ -2,11 +2,10 @@ package sqlancer.mysql.oracle;
 
 import java.sql.SQLException;
 import java.util.Arrays;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 import java.util.stream.Collectors;
 
+import sqlancer.ExpectedErrors;
 import sqlancer.TestOracle;
 import sqlancer.mysql.MySQLErrors;
 import sqlancer.mysql.MySQLGlobalState;
@@ -25,7 +24,7 @@ import sqlancer.mysql.gen.MySQLExpressionGenerator;
 public abstract class MySQLQueryPartitioningBase implements TestOracle {
 
     final MySQLGlobalState state;
-    final Set<String> errors = new HashSet<>();
+    final ExpectedErrors errors = MySQLErrors.EXPRESSION_ERRORS;
 
     MySQLSchema s;
     MySQLTables targetTables;
@@ -37,7 +36,6 @@ public abstract class MySQLQueryPartitioningBase implements TestOracle {
 
     public MySQLQueryPartitioningBase(MySQLGlobalState state) {
         this.state = state;
-        MySQLErrors.addExpressionErrors(errors);
     }
 
     @Override
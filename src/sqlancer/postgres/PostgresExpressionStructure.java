@@ -0,0 +1,142 @@
+package sqlancer.postgres;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import sqlancer.postgres.ast.PostgresBetweenOperation;
+import sqlancer.postgres.ast.PostgresBinaryArithmeticOperation;
+import sqlancer.postgres.ast.PostgresBinaryBitOperation;
+import sqlancer.postgres.ast.PostgresBinaryComparisonOperation;
+import sqlancer.postgres.ast.PostgresBinaryLogicalOperation;
+import sqlancer.postgres.ast.PostgresCastOperation;
+import sqlancer.postgres.ast.PostgresCollate;
+import sqlancer.postgres.ast.PostgresConcatOperation;
+import sqlancer.postgres.ast.PostgresConstant;
+import sqlancer.postgres.ast.PostgresExpression;
+import sqlancer.postgres.ast.PostgresFunction;
+import sqlancer.postgres.ast.PostgresInOperation;
+import sqlancer.postgres.ast.PostgresLikeOperation;
+import sqlancer.postgres.ast.PostgresPOSIXRegularExpression;
+import sqlancer.postgres.ast.PostgresPostfixOperation;
+import sqlancer.postgres.ast.PostgresPrefixOperation;
+import sqlancer.postgres.ast.PostgresSimilarTo;
+import sqlancer.reducer.ExpressionReducer;
+import sqlancer.reducer.ExpressionReducer.ExpressionStructure;
+
+/**
+ * Exposes the subexpressions of the operators and functions of {@link PostgresExpression}, so that they can be reduced
+ * by {@link ExpressionReducer}. Other expressions, such as range operations and aggregates, are treated as leaves.
+ * Since PostgreSQL is strictly typed, many reductions yield ill-typed queries, which the oracles reject as
+ * uninteresting.
+ */
+public final class PostgresExpressionStructure implements ExpressionStructure<PostgresExpression> {
+
+    @Override
+    public List<PostgresExpression> getChildren(PostgresExpression expr) {
+        if (expr instanceof PostgresBinaryLogicalOperation) {
+            PostgresBinaryLogicalOperation op = (PostgresBinaryLogicalOperation) expr;
+            return Arrays.asList(op.getLeft(), op.getRight());
+        } else if (expr instanceof PostgresBinaryComparisonOperation) {
+            PostgresBinaryComparisonOperation op = (PostgresBinaryComparisonOperation) expr;
+            return Arrays.asList(op.getLeft(), op.getRight());
+        } else if (expr instanceof PostgresBinaryArithmeticOperation) {
+            PostgresBinaryArithmeticOperation op = (PostgresBinaryArithmeticOperation) expr;
+            return Arrays.asList(op.getLeft(), op.getRight());
+        } else if (expr instanceof PostgresBinaryBitOperation) {
+            PostgresBinaryBitOperation op = (PostgresBinaryBitOperation) expr;
+            return Arrays.asList(op.getLeft(), op.getRight());
+        } else if (expr instanceof PostgresConcatOperation) {
+            PostgresConcatOperation op = (PostgresConcatOperation) expr;
+            return Arrays.asList(op.getLeft(), op.getRight());
+        } else if (expr instanceof PostgresLikeOperation) {
+            PostgresLikeOperation op = (PostgresLikeOperation) expr;
+            return Arrays.asList(op.getLeft(), op.getRight());
+        } else if (expr instanceof PostgresPrefixOperation) {
+            return Arrays.asList(((PostgresPrefixOperation) expr).getExpression());
+        } else if (expr instanceof PostgresPostfixOperation) {
+            return Arrays.asList(((PostgresPostfixOperation) expr).getExpression());
+        } else if (expr instanceof PostgresCastOperation) {
+            return Arrays.asList(((PostgresCastOperation) expr).getExpression());
+        } else if (expr instanceof PostgresCollate) {
+            return Arrays.asList(((PostgresCollate) expr).getExpr());
+        } else if (expr instanceof PostgresBetweenOperation) {
+            PostgresBetweenOperation op = (PostgresBetweenOperation) expr;
+            return Arrays.asList(op.getExpr(), op.getLeft(), op.getRight());
+        } else if (expr instanceof PostgresPOSIXRegularExpression) {
+            PostgresPOSIXRegularExpression op = (PostgresPOSIXRegularExpression) expr;
+            return Arrays.asList(op.getString(), op.getRegex());
+        } else if (expr instanceof PostgresSimilarTo) {
+            PostgresSimilarTo op = (PostgresSimilarTo) expr;
+            if (op.getEscapeCharacter() == null) {
+                return Arrays.asList(op.getString(), op.getSimilarTo());
+            } else {
+                return Arrays.asList(op.getString(), op.getSimilarTo(), op.getEscapeCharacter());
+            }
+        } else if (expr instanceof PostgresFunction) {
+            return Arrays.asList(((PostgresFunction) expr).getArguments());
+        } else if (expr instanceof PostgresInOperation) {
+            PostgresInOperation op = (PostgresInOperation) expr;
+            List<PostgresExpression> children = new ArrayList<>();
+            children.add(op.getExpr());
+            children.addAll(op.getListElements());
+            return children;
+        } else {
+            return Collections.emptyList();
+        }
+    }
+
+    @Override
+    public PostgresExpression withChildren(PostgresExpression expr, List<PostgresExpression> children) {
+        if (expr instanceof PostgresBinaryLogicalOperation) {
+            return new PostgresBinaryLogicalOperation(children.get(0), children.get(1),
+                    ((PostgresBinaryLogicalOperation) expr).getOp());
+        } else if (expr instanceof PostgresBinaryComparisonOperation) {
+            return new PostgresBinaryComparisonOperation(children.get(0), children.get(1),
+                    ((PostgresBinaryComparisonOperation) expr).getOp());
+        } else if (expr instanceof PostgresBinaryArithmeticOperation) {
+            return new PostgresBinaryArithmeticOperation(children.get(0), children.get(1),
+                    ((PostgresBinaryArithmeticOperation) expr).getOp());
+        } else if (expr instanceof PostgresBinaryBitOperation) {
+            return new PostgresBinaryBitOperation(((PostgresBinaryBitOperation) expr).getOp(), children.get(0),
+                    children.get(1));
+        } else if (expr instanceof PostgresConcatOperation) {
+            return new PostgresConcatOperation(children.get(0), children.get(1));
+        } else if (expr instanceof PostgresLikeOperation) {
+            return new PostgresLikeOperation(children.get(0), children.get(1));
+        } else if (expr instanceof PostgresPrefixOperation) {
+            return new PostgresPrefixOperation(children.get(0), ((PostgresPrefixOperation) expr).getOperator());
+        } else if (expr instanceof PostgresPostfixOperation) {
+            PostgresPostfixOperation op = (PostgresPostfixOperation) expr;
+            return new PostgresPostfixOperation(children.get(0), op.getOperator(), op.getOperatorTextRepresentation());
+        } else if (expr instanceof PostgresCastOperation) {
+            return new PostgresCastOperation(children.get(0), ((PostgresCastOperation) expr).getCompoundType());
+        } else if (expr instanceof PostgresCollate) {
+            return new PostgresCollate(children.get(0), ((PostgresCollate) expr).getCollate());
+        } else if (expr instanceof PostgresBetweenOperation) {
+            return new PostgresBetweenOperation(children.get(0), children.get(1), children.get(2),
+                    ((PostgresBetweenOperation) expr).isSymmetric());
+        } else if (expr instanceof PostgresPOSIXRegularExpression) {
+            return new PostgresPOSIXRegularExpression(children.get(0), children.get(1),
+                    ((PostgresPOSIXRegularExpression) expr).getOp());
+        } else if (expr instanceof PostgresSimilarTo) {
+            return new PostgresSimilarTo(children.get(0), children.get(1),
+                    children.size() == 3 ? children.get(2) : null);
+        } else if (expr instanceof PostgresFunction) {
+            return ((PostgresFunction) expr).withArguments(children.toArray(new PostgresExpression[0]));
+        } else if (expr instanceof PostgresInOperation) {
+            return new PostgresInOperation(children.get(0), children.subList(1, children.size()),
+                    ((PostgresInOperation) expr).isTrue());
+        } else {
+            throw new AssertionError(expr);
+        }
+    }
+
+    public static ExpressionReducer<PostgresExpression> createReducer() {
+        return new ExpressionReducer<>(new PostgresExpressionStructure(),
+                Arrays.asList(PostgresConstant.createNullConstant(), PostgresConstant.createTrue(),
+                        PostgresConstant.createFalse(), PostgresConstant.createIntConstant(0)));
+    }
+
+}
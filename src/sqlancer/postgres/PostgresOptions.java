@@ -23,6 +23,9 @@ public class PostgresOptions {
     @Parameter(names = "--bulk-insert")
     public boolean allowBulkInsert = false;
 
+    @Parameter(names = "--template-clones", description = "Keep each generated database as a template, and obtain the given number of subsequent databases by cloning it with CREATE DATABASE ... TEMPLATE instead of generating them")
+    public int nrTemplateClones = 0;
+
     @Parameter(names = "--oracle", converter = DBMSConverter.class)
     public List<PostgresOracle> oracle = Arrays.asList(PostgresOracle.QUERY_PARTITIONING);
 
@@ -39,6 +42,12 @@ public class PostgresOptions {
                 return new PostgresPivotedQuerySynthesisOracle(globalState);
             }
         },
+        WHERE {
+            @Override
+            public TestOracle create(PostgresGlobalState globalState) throws SQLException {
+                return new PostgresTLPWhereOracle(globalState);
+            }
+        },
         HAVING {
 
             @Override
@@ -13,11 +13,13 @@ import java.util.stream.Collectors;
 import sqlancer.AbstractAction;
 import sqlancer.CompositeTestOracle;
 import sqlancer.DatabaseProvider;
+import sqlancer.DatabaseProviderFactory;
 import sqlancer.GlobalState;
 import sqlancer.IgnoreMeException;
 import sqlancer.Main.QueryManager;
 import sqlancer.Main.StateLogger;
 import sqlancer.MainOptions;
+import sqlancer.PregeneratingTestOracle;
 import sqlancer.Query;
 import sqlancer.QueryAdapter;
 import sqlancer.QueryProvider;
@@ -26,6 +28,8 @@ import sqlancer.StateToReproduce;
 import sqlancer.StateToReproduce.PostgresStateToReproduce;
 import sqlancer.StatementExecutor;
 import sqlancer.TestOracle;
+import sqlancer.coverage.QueryPlanFingerprinter;
+import sqlancer.events.OracleCheckEvent;
 import sqlancer.postgres.PostgresSchema.PostgresColumn;
 import sqlancer.postgres.PostgresSchema.PostgresTable;
 import sqlancer.postgres.ast.PostgresExpression;
@@ -51,6 +55,7 @@ import sqlancer.postgres.gen.PostgresUpdateGenerator;
 import sqlancer.postgres.gen.PostgresVacuumGenerator;
 import sqlancer.postgres.gen.PostgresViewGenerator;
 import sqlancer.sqlite3.gen.SQLite3Common;
+import sqlancer.stress.TransactionStressTester;
 
 // EXISTS
 // IN
@@ -58,7 +63,11 @@ public final class PostgresProvider implements DatabaseProvider<PostgresGlobalSt
 
     public static boolean generateOnlyKnown = false;
 
+    private static final String SET_MAX_PARALLEL_WORKERS = "SET max_parallel_workers_per_gather=16";
+    static final String SET_STATEMENT_TIMEOUT = "SET SESSION statement_timeout = 5000";
+
     private PostgresGlobalState globalState;
+    private boolean isClonedFromTemplate;
 
     public enum Action implements AbstractAction<PostgresGlobalState> {
         ANALYZE(PostgresAnalyzeGenerator::create), //
@@ -201,6 +210,53 @@ public final class PostgresProvider implements DatabaseProvider<PostgresGlobalSt
         if (options.logEachSelect()) {
             logger.writeCurrent(state);
         }
+        if (isClonedFromTemplate) {
+            manager.incrementCreateDatabase();
+            globalState.setSchema(PostgresSchema.fromConnection(con, databaseName));
+        } else {
+            generateDatabase(globalState);
+        }
+
+        manager.execute(new QueryAdapter(SET_STATEMENT_TIMEOUT + ";\n"));
+
+        if (options.getNrStressConnections() > 0) {
+            try (PostgresTransactionWorkload workload = new PostgresTransactionWorkload(globalState)) {
+                // the workload copies the database, which requires that nobody else is connected to it
+                con.close();
+                new TransactionStressTester(globalState, workload).run();
+            }
+            return;
+        }
+
+        List<TestOracle> oracles = globalState.getDmbsSpecificOptions().oracle.stream().map(o -> {
+            try {
+                return o.create(globalState);
+            } catch (SQLException e1) {
+                throw new AssertionError(e1);
+            }
+        }).collect(Collectors.toList());
+        TestOracle oracle = oracles.size() == 1 ? oracles.get(0) : new CompositeTestOracle(oracles);
+
+        try (PregeneratingTestOracle<?> pregeneratingOracle = PregeneratingTestOracle.wrap(oracle, options)) {
+            TestOracle checkedOracle = pregeneratingOracle == null ? oracle : pregeneratingOracle;
+            for (int i = 0; i < options.getNrQueries(); i++) {
+                try {
+                    OracleCheckEvent.check(checkedOracle);
+                } catch (IgnoreMeException e) {
+                    continue;
+                }
+                manager.incrementSelectQueryCount();
+            }
+        }
+
+    }
+
+    private void generateDatabase(PostgresGlobalState globalState) throws SQLException {
+        MainOptions options = globalState.getOptions();
+        StateLogger logger = globalState.getLogger();
+        String databaseName = globalState.getDatabaseName();
+        Connection con = globalState.getConnection();
+        QueryManager manager = globalState.getManager();
         globalState.setSchema(PostgresSchema.fromConnection(con, databaseName));
         while (globalState.getSchema().getDatabaseTables().size() < 1) {
             try {
@@ -226,6 +282,8 @@ public final class PostgresProvider implements DatabaseProvider<PostgresGlobalSt
                         throw new IgnoreMeException();
                     }
                 });
+        // deferrable foreign keys would otherwise only be checked by the COMMIT of the batch
+        se.enableTransactionBatching(true, "BEGIN", "SET CONSTRAINTS ALL IMMEDIATE");
         // TODO: transactions broke during refactoring
         // catch (Throwable t) {
         // if (t.getMessage().contains("current transaction is aborted")) {
@@ -240,27 +298,12 @@ public final class PostgresProvider implements DatabaseProvider<PostgresGlobalSt
         manager.incrementCreateDatabase();
         manager.execute(new QueryAdapter("COMMIT"));
         globalState.setSchema(PostgresSchema.fromConnection(con, databaseName));
-
-        manager.execute(new QueryAdapter("SET SESSION statement_timeout = 5000;\n"));
-
-        List<TestOracle> oracles = globalState.getDmbsSpecificOptions().oracle.stream().map(o -> {
-            try {
-                return o.create(globalState);
-            } catch (SQLException e1) {
-                throw new AssertionError(e1);
-            }
-        }).collect(Collectors.toList());
-        CompositeTestOracle oracle = new CompositeTestOracle(oracles);
-
-        for (int i = 0; i < options.getNrQueries(); i++) {
-            try {
-                oracle.check();
-            } catch (IgnoreMeException e) {
-                continue;
-            }
-            manager.incrementSelectQueryCount();
+        int nrTemplateClones = globalState.getDmbsSpecificOptions().nrTemplateClones;
+        // temporary tables belong to the session and are not copied with the template
+        if (nrTemplateClones > 0 && globalState.getSchema().getDatabaseTables().stream()
+                .noneMatch(t -> t.getTableType() == PostgresTable.TableType.TEMPORARY)) {
+            PostgresTemplateDatabase.register(databaseName, globalState.getState(), nrTemplateClones);
         }
-
     }
 
     @Override
@@ -269,6 +312,17 @@ public final class PostgresProvider implements DatabaseProvider<PostgresGlobalSt
         String databaseName = globalState.getDatabaseName();
         Connection con = DriverManager.getConnection(url, globalState.getOptions().getUserName(),
                 globalState.getOptions().getPassword());
+        PostgresTemplateDatabase template = PostgresTemplateDatabase.getTemplate(databaseName);
+        if (template != null) {
+            template.cloneInto(con, globalState.getState());
+            isClonedFromTemplate = true;
+            con.close();
+            con = DriverManager.getConnection("jdbc:postgresql://localhost:5432/" + databaseName,
+                    globalState.getOptions().getUserName(), globalState.getOptions().getPassword());
+            // the settings of the session are not copied from the template
+            template.restoreSession(con);
+            return con;
+        }
         globalState.getState().statements.add(new QueryAdapter("\\c test;"));
         globalState.getState().statements.add(new QueryAdapter("DROP DATABASE IF EXISTS " + databaseName));
         String createDatabaseCommand = getCreateDatabaseCommand(databaseName, con);
@@ -286,7 +340,7 @@ public final class PostgresProvider implements DatabaseProvider<PostgresGlobalSt
         List<String> statements = Arrays.asList(
                 // "CREATE EXTENSION IF NOT EXISTS btree_gin;",
                 // "CREATE EXTENSION IF NOT EXISTS btree_gist;", // TODO: undefined symbol: elog_start
-                "CREATE EXTENSION IF NOT EXISTS pg_prewarm;", "SET max_parallel_workers_per_gather=16");
+                "CREATE EXTENSION IF NOT EXISTS pg_prewarm;", SET_MAX_PARALLEL_WORKERS);
         for (String s : statements) {
             QueryAdapter query = new QueryAdapter(s);
             globalState.getState().statements.add(query);
@@ -318,11 +372,30 @@ public final class PostgresProvider implements DatabaseProvider<PostgresGlobalSt
         return sb.toString();
     }
 
+    public static final class Factory implements DatabaseProviderFactory {
+
+        @Override
+        public String getDBMSName() {
+            return "postgres";
+        }
+
+        @Override
+        public PostgresProvider createProvider() {
+            return new PostgresProvider();
+        }
+
+    }
+
     @Override
     public String getDBMSName() {
         return "postgres";
     }
 
+    @Override
+    public boolean supportsStressMode() {
+        return true;
+    }
+
     @Override
     public void printDatabaseSpecificState(FileWriter writer, StateToReproduce state) {
         StringBuilder sb = new StringBuilder();
@@ -373,4 +446,9 @@ public final class PostgresProvider implements DatabaseProvider<PostgresGlobalSt
         return new PostgresOptions();
     }
 
+    @Override
+    public QueryPlanFingerprinter getQueryPlanFingerprinter() {
+        return new PostgresQueryPlanFingerprinter();
+    }
+
 }
@@ -0,0 +1,36 @@
+package sqlancer.postgres;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import sqlancer.coverage.QueryPlanFingerprinter;
+
+public class PostgresQueryPlanFingerprinter implements QueryPlanFingerprinter {
+
+    @Override
+    public List<String> getOperators(Connection con, String query) throws SQLException {
+        List<String> operators = new ArrayList<>();
+        try (Statement s = con.createStatement()) {
+            try (ResultSet rs = s.executeQuery("EXPLAIN (COSTS OFF) " + query)) {
+                boolean isFirstLine = true;
+                while (rs.next()) {
+                    String line = rs.getString(1).trim();
+                    // all plan nodes except the root start with an arrow; other lines describe node properties
+                    if (line.startsWith("->")) {
+                        line = line.substring(2).trim();
+                    } else if (!isFirstLine) {
+                        continue;
+                    }
+                    isFirstLine = false;
+                    operators.add(line.replaceAll(" (on|using) .*", "").replaceAll(" \\(.*", ""));
+                }
+            }
+        }
+        return operators;
+    }
+
+}
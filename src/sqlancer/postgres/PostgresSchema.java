@@ -17,6 +17,7 @@ import java.util.stream.Collectors;
 import sqlancer.IgnoreMeException;
 import sqlancer.Randomly;
 import sqlancer.StateToReproduce.PostgresStateToReproduce;
+import sqlancer.events.SchemaRefreshEvent;
 import sqlancer.postgres.PostgresSchema.PostgresTable.TableType;
 import sqlancer.postgres.ast.PostgresConstant;
 import sqlancer.schema.AbstractTable;
@@ -255,6 +256,10 @@ public class PostgresSchema {
     }
 
     public static PostgresSchema fromConnection(Connection con, String databaseName) throws SQLException {
+        return SchemaRefreshEvent.record(() -> readSchema(con, databaseName));
+    }
+
+    private static PostgresSchema readSchema(Connection con, String databaseName) throws SQLException {
         Exception ex = null;
         try {
             List<PostgresTable> databaseTables = new ArrayList<>();
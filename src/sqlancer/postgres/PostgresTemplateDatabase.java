@@ -0,0 +1,114 @@
+package sqlancer.postgres;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import sqlancer.Query;
+import sqlancer.QueryAdapter;
+import sqlancer.StateToReproduce;
+
+/**
+ * A generated database that is kept as a template, so that the next databases of a thread are obtained by
+ * <code>CREATE DATABASE ... TEMPLATE</code>, which copies the files of the template within the server, instead of being
+ * generated statement by statement (see <code>--template-clones</code>).
+ *
+ * Since a database can only be used as a template while nobody is connected to it, a generated database is first
+ * registered as a pending template, and only turned into a template by renaming it when its thread creates its next
+ * database, after the connection to it was closed. The template is dropped after its last clone was created.
+ */
+public final class PostgresTemplateDatabase {
+
+    // the templates are per thread, and each thread uses the same database name for all of its databases
+    private static final Map<String, PostgresTemplateDatabase> TEMPLATES = new ConcurrentHashMap<>();
+    // the statements that change the settings of the session, which are not copied with the template, and the
+    // transaction boundaries, since a setting that was changed in a transaction is reverted when it is rolled back
+    private static final Pattern SESSION_STATEMENT = Pattern.compile(
+            "\\s*(SET|RESET|DISCARD|BEGIN|START|COMMIT|END|ROLLBACK|ABORT|SAVEPOINT|RELEASE)\\b",
+            Pattern.CASE_INSENSITIVE);
+
+    private final String databaseName;
+    private final String templateName;
+    private final List<String> statements = new ArrayList<>();
+    private int nrRemainingClones;
+    private boolean isPending = true;
+
+    private PostgresTemplateDatabase(String databaseName, StateToReproduce state, int nrClones) {
+        this.databaseName = databaseName;
+        this.templateName = databaseName + "_template";
+        for (Query q : state.getStatements()) {
+            statements.add(q.getQueryString());
+        }
+        this.nrRemainingClones = nrClones;
+    }
+
+    /**
+     * Registers the database that was generated with the statements of the given state as the template of the next
+     * databases of the thread.
+     */
+    public static void register(String databaseName, StateToReproduce state, int nrClones) {
+        TEMPLATES.put(databaseName, new PostgresTemplateDatabase(databaseName, state, nrClones));
+    }
+
+    /**
+     * Returns the template from which the next database with the given name should be cloned, or <code>null</code> if a
+     * new database should be generated.
+     */
+    public static PostgresTemplateDatabase getTemplate(String databaseName) {
+        PostgresTemplateDatabase template = TEMPLATES.get(databaseName);
+        if (template == null || template.nrRemainingClones <= 0) {
+            return null;
+        }
+        return template;
+    }
+
+    /**
+     * Re-creates the database as a copy of the template. The connection must be to a different database. Afterwards,
+     * {@link #restoreSession(Connection)} must be called on a connection to the copy.
+     */
+    public void cloneInto(Connection con, StateToReproduce state) throws SQLException {
+        try (Statement s = con.createStatement()) {
+            if (isPending) {
+                s.execute("DROP DATABASE IF EXISTS " + templateName);
+                s.execute("ALTER DATABASE " + databaseName + " RENAME TO " + templateName);
+                isPending = false;
+            } else {
+                s.execute("DROP DATABASE IF EXISTS " + databaseName);
+            }
+            s.execute("CREATE DATABASE " + databaseName + " TEMPLATE " + templateName);
+            if (--nrRemainingClones == 0) {
+                // the next database of the thread is generated and becomes its next template
+                s.execute("DROP DATABASE " + templateName);
+                TEMPLATES.remove(databaseName, this);
+            }
+        }
+        // the clone has the same name as the database from which the template was created, so the statements that
+        // generated that database also reproduce the clone
+        for (String statement : statements) {
+            state.getStatements().add(new QueryAdapter(statement));
+        }
+    }
+
+    /**
+     * Executes the statements that changed the settings of the session of the template database on the connection to
+     * the copy, in the same order, so that both sessions match the statements of the copy. Statements that fail are
+     * ignored, since they also failed when the template was generated.
+     */
+    public void restoreSession(Connection con) {
+        for (String statement : statements) {
+            if (SESSION_STATEMENT.matcher(statement).lookingAt()) {
+                try (Statement s = con.createStatement()) {
+                    s.execute(statement);
+                } catch (SQLException e) {
+                    // ignore
+                }
+            }
+        }
+    }
+
+}
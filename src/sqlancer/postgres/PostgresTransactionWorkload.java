@@ -0,0 +1,166 @@
+package sqlancer.postgres;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import sqlancer.Query;
+import sqlancer.Randomly;
+import sqlancer.postgres.PostgresProvider.Action;
+import sqlancer.postgres.PostgresSchema.PostgresTable.TableType;
+import sqlancer.postgres.gen.PostgresDeleteGenerator;
+import sqlancer.postgres.gen.PostgresInsertGenerator;
+import sqlancer.postgres.gen.PostgresUpdateGenerator;
+import sqlancer.stress.TransactionWorkload;
+
+/**
+ * Executes INSERT, UPDATE and DELETE statements in the stress mode. Since temporary tables are only visible to the
+ * connection that created them, the schema of the global state is restricted to the other tables.
+ *
+ * The database is copied for the replay using <code>CREATE DATABASE ... TEMPLATE</code>, which requires that nobody
+ * else is connected to it. The connection of the global state must therefore be closed before the stress mode starts;
+ * the connections of the stress mode are closed after each round.
+ */
+public class PostgresTransactionWorkload implements TransactionWorkload, AutoCloseable {
+
+    private static final String SERIALIZATION_FAILURE = "40001";
+    private static final String DEADLOCK_DETECTED = "40P01";
+    // the statement timeout expired, typically while waiting for a lock
+    private static final String QUERY_CANCELED = "57014";
+    // the values of the sequences, which are not rolled back with the transactions
+    private static final String SEQUENCE_VALUES = "SELECT schemaname, sequencename, last_value FROM pg_sequences "
+            + "ORDER BY schemaname, sequencename";
+
+    private final PostgresGlobalState globalState;
+    // the URL without the name of the database
+    private final String urlPrefix;
+    private final String databaseName;
+    private final String stateDatabaseName;
+    private final String replayDatabaseName;
+    private List<String> savedSequenceValues;
+
+    public PostgresTransactionWorkload(PostgresGlobalState globalState) throws SQLException {
+        this.globalState = globalState;
+        String url = globalState.getConnection().getMetaData().getURL();
+        this.urlPrefix = url.substring(0, url.lastIndexOf('/') + 1);
+        this.databaseName = globalState.getDatabaseName();
+        this.stateDatabaseName = databaseName + "_stress";
+        this.replayDatabaseName = databaseName + "_replay";
+        PostgresSchema schema = globalState.getSchema();
+        globalState.setSchema(new PostgresSchema(schema.getDatabaseTables().stream()
+                .filter(t -> t.getTableType() != TableType.TEMPORARY).collect(Collectors.toList()),
+                schema.getDatabaseName()));
+    }
+
+    @Override
+    public Connection openConnection() throws SQLException {
+        return openConnectionWithTimeout(databaseName);
+    }
+
+    @Override
+    public Query generateStatement() {
+        switch (Randomly.fromOptions(Action.INSERT, Action.UPDATE, Action.DELETE)) {
+        case INSERT:
+            return PostgresInsertGenerator.insert(globalState);
+        case UPDATE:
+            return PostgresUpdateGenerator.create(globalState);
+        case DELETE:
+            return PostgresDeleteGenerator.create(globalState);
+        default:
+            throw new AssertionError();
+        }
+    }
+
+    @Override
+    public boolean isTransactionConflict(SQLException e) {
+        return SERIALIZATION_FAILURE.equals(e.getSQLState()) || DEADLOCK_DETECTED.equals(e.getSQLState())
+                || QUERY_CANCELED.equals(e.getSQLState());
+    }
+
+    @Override
+    public List<String> getTableNames() {
+        return globalState.getSchema().getDatabaseTables().stream().filter(t -> !t.isView()).map(t -> t.getName())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns whether the transactions did not advance any sequence, such as the one of a <code>SERIAL</code> column,
+     * since a sequence also advances for the transactions that were rolled back, and yields different values when the
+     * transactions are replayed in another order.
+     */
+    @Override
+    public boolean isReplayDeterministic(Connection con) throws SQLException {
+        return getSequenceValues(con).equals(savedSequenceValues);
+    }
+
+    /**
+     * Copies the database under test. The given connection is not used, since it must be closed (see the class
+     * comment).
+     */
+    @Override
+    public void saveState(Connection con) throws SQLException {
+        try (Connection stressCon = openConnection()) {
+            savedSequenceValues = getSequenceValues(stressCon);
+        }
+        copyDatabase(databaseName, stateDatabaseName);
+    }
+
+    @Override
+    public Connection openReplayConnection() throws SQLException {
+        copyDatabase(stateDatabaseName, replayDatabaseName);
+        // without a statement timeout, since a failing statement would make the order of the replay seem not equivalent
+        return openConnection(replayDatabaseName);
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try (Connection con = openConnection("test"); Statement s = con.createStatement()) {
+            s.execute("DROP DATABASE IF EXISTS " + replayDatabaseName);
+            s.execute("DROP DATABASE IF EXISTS " + stateDatabaseName);
+        }
+    }
+
+    private void copyDatabase(String templateName, String copyName) throws SQLException {
+        try (Connection con = openConnection("test"); Statement s = con.createStatement()) {
+            s.execute("DROP DATABASE IF EXISTS " + copyName);
+            s.execute("CREATE DATABASE " + copyName + " TEMPLATE " + templateName);
+        }
+    }
+
+    private Connection openConnection(String database) throws SQLException {
+        return DriverManager.getConnection(urlPrefix + database, globalState.getOptions().getUserName(),
+                globalState.getOptions().getPassword());
+    }
+
+    /**
+     * Opens a connection with the same statement timeout as the connection of the global state.
+     */
+    private Connection openConnectionWithTimeout(String database) throws SQLException {
+        Connection con = openConnection(database);
+        try (Statement s = con.createStatement()) {
+            s.execute(PostgresProvider.SET_STATEMENT_TIMEOUT);
+        } catch (SQLException e) {
+            con.close();
+            throw e;
+        }
+        return con;
+    }
+
+    private static List<String> getSequenceValues(Connection con) throws SQLException {
+        List<String> values = new ArrayList<>();
+        try (Statement s = con.createStatement()) {
+            try (ResultSet rs = s.executeQuery(SEQUENCE_VALUES)) {
+                while (rs.next()) {
+                    values.add(rs.getString(1) + "." + rs.getString(2) + "=" + rs.getString(3));
+                }
+            }
+        }
+        return values;
+    }
+
+}
@@ -24,6 +24,20 @@ public class PostgresFunction implements PostgresExpression {
         this.args = args;
     }
 
+    private PostgresFunction(PostgresFunction f, PostgresExpression... args) {
+        this.func = f.func;
+        this.returnType = f.returnType;
+        this.functionWithKnownResult = f.functionWithKnownResult;
+        this.args = args;
+    }
+
+    /**
+     * Returns a copy of the function call that applies the same function to the given arguments.
+     */
+    public PostgresFunction withArguments(PostgresExpression... newArgs) {
+        return new PostgresFunction(this, newArgs);
+    }
+
     public String getFunctionName() {
         return func;
     }
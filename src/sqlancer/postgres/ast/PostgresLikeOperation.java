@@ -1,6 +1,6 @@
 package sqlancer.postgres.ast;
 
-import sqlancer.LikeImplementationHelper;
+import sqlancer.WildcardPattern;
 import sqlancer.ast.BinaryNode;
 import sqlancer.postgres.PostgresSchema.PostgresDataType;
 
@@ -22,7 +22,7 @@ public class PostgresLikeOperation extends BinaryNode<PostgresExpression> implem
         if (leftVal.isNull() || rightVal.isNull()) {
             return PostgresConstant.createNullConstant();
         } else {
-            boolean val = LikeImplementationHelper.match(leftVal.asString(), rightVal.asString(), 0, 0, true);
+            boolean val = WildcardPattern.like(rightVal.asString(), true).matches(leftVal.asString());
             return PostgresConstant.createBooleanConstant(val);
         }
     }
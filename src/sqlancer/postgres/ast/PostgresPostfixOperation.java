@@ -117,8 +117,12 @@ public class PostgresPostfixOperation implements PostgresExpression {
     }
 
     public PostgresPostfixOperation(PostgresExpression expr, PostfixOperator op) {
+        this(expr, op, Randomly.fromOptions(op.textRepresentations));
+    }
+
+    public PostgresPostfixOperation(PostgresExpression expr, PostfixOperator op, String operatorTextRepresentation) {
         this.expr = expr;
-        this.operatorTextRepresentation = Randomly.fromOptions(op.textRepresentations);
+        this.operatorTextRepresentation = operatorTextRepresentation;
         this.op = op;
     }
 
@@ -132,6 +136,10 @@ public class PostgresPostfixOperation implements PostgresExpression {
         return op.apply(expr.getExpectedValue());
     }
 
+    public PostfixOperator getOperator() {
+        return op;
+    }
+
     public String getOperatorTextRepresentation() {
         return operatorTextRepresentation;
     }
@@ -97,6 +97,10 @@ public class PostgresPrefixOperation implements PostgresExpression {
         return op.dataTypes;
     }
 
+    public PrefixOperator getOperator() {
+        return op;
+    }
+
     public String getTextRepresentation() {
         return op.textRepresentation;
     }
@@ -1,8 +1,8 @@
 package sqlancer.postgres.gen;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.Arrays;
 
+import sqlancer.ExpectedErrors;
 import sqlancer.Query;
 import sqlancer.QueryAdapter;
 import sqlancer.Randomly;
@@ -11,14 +11,23 @@ import sqlancer.postgres.PostgresSchema.PostgresTable;
 
 public final class PostgresClusterGenerator {
 
+    private static final ExpectedErrors ERRORS = getErrors();
+    private static final ExpectedErrors USING_INDEX_ERRORS = getErrors("cannot cluster on partial index");
+
     private PostgresClusterGenerator() {
     }
 
+    private static ExpectedErrors getErrors(String... additionalErrors) {
+        return ExpectedErrors.build(errors -> {
+            errors.add("there is no previously clustered index for table");
+            errors.add("cannot cluster a partitioned table");
+            errors.add("access method does not support clustering");
+            errors.addAll(Arrays.asList(additionalErrors));
+        });
+    }
+
     public static Query create(PostgresGlobalState globalState) {
-        Set<String> errors = new HashSet<>();
-        errors.add("there is no previously clustered index for table");
-        errors.add("cannot cluster a partitioned table");
-        errors.add("access method does not support clustering");
+        ExpectedErrors errors = ERRORS;
         StringBuilder sb = new StringBuilder("CLUSTER ");
         if (Randomly.getBoolean()) {
             PostgresTable table = globalState.getSchema().getRandomTable(t -> !t.isView());
@@ -26,7 +35,7 @@ public final class PostgresClusterGenerator {
             if (Randomly.getBoolean() && !table.getIndexes().isEmpty()) {
                 sb.append(" USING ");
                 sb.append(table.getRandomIndex().getIndexName());
-                errors.add("cannot cluster on partial index");
+                errors = USING_INDEX_ERRORS;
             }
         }
         return new QueryAdapter(sb.toString(), errors);
@@ -4,7 +4,6 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
-import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -142,7 +141,7 @@ public final class PostgresCommon {
                 }
                 sb.append("CHAR");
                 sb.append("(");
-                sb.append(ThreadLocalRandom.current().nextInt(1, 500));
+                sb.append(Randomly.getNotCachedInteger(1, 500));
                 sb.append(")");
             } else {
                 sb.append("name");
@@ -1,8 +1,6 @@
 package sqlancer.postgres.gen;
 
-import java.util.HashSet;
-import java.util.Set;
-
+import sqlancer.ExpectedErrors;
 import sqlancer.Query;
 import sqlancer.QueryAdapter;
 import sqlancer.Randomly;
@@ -13,15 +11,22 @@ import sqlancer.postgres.PostgresVisitor;
 
 public final class PostgresDeleteGenerator {
 
+    private static final ExpectedErrors ERRORS = ExpectedErrors.build(errors -> {
+        errors.add("violates foreign key constraint");
+        errors.add("violates not-null constraint");
+        errors.add("could not determine which collation to use for string comparison");
+        PostgresCommon.addCommonExpressionErrors(errors);
+        errors.add("out of range");
+        errors.add("cannot cast");
+        errors.add("invalid input syntax for");
+        errors.add("division by zero");
+    });
+
     private PostgresDeleteGenerator() {
     }
 
     public static Query create(PostgresGlobalState globalState) {
         PostgresTable table = globalState.getSchema().getRandomTable(t -> !t.isView());
-        Set<String> errors = new HashSet<>();
-        errors.add("violates foreign key constraint");
-        errors.add("violates not-null constraint");
-        errors.add("could not determine which collation to use for string comparison");
         StringBuilder sb = new StringBuilder("DELETE FROM");
         if (Randomly.getBoolean()) {
             sb.append(" ONLY");
@@ -38,12 +43,7 @@ public final class PostgresDeleteGenerator {
             sb.append(PostgresVisitor
                     .asString(PostgresExpressionGenerator.generateExpression(globalState, table.getColumns())));
         }
-        PostgresCommon.addCommonExpressionErrors(errors);
-        errors.add("out of range");
-        errors.add("cannot cast");
-        errors.add("invalid input syntax for");
-        errors.add("division by zero");
-        return new QueryAdapter(sb.toString(), errors);
+        return new QueryAdapter(sb.toString(), ERRORS);
     }
 
 }
@@ -1,10 +1,10 @@
 package sqlancer.postgres.gen;
 
-import java.util.HashSet;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Set;
 import java.util.stream.Collectors;
 
+import sqlancer.ExpectedErrors;
 import sqlancer.Query;
 import sqlancer.QueryAdapter;
 import sqlancer.Randomly;
@@ -16,26 +16,43 @@ import sqlancer.postgres.ast.PostgresExpression;
 
 public final class PostgresInsertGenerator {
 
+    private static final ExpectedErrors ERRORS = getErrors();
+    private static final ExpectedErrors ON_CONFLICT_COLUMN_ERRORS = getErrors(
+            "there is no unique or exclusion constraint matching the ON CONFLICT specification");
+
     private PostgresInsertGenerator() {
     }
 
+    private static ExpectedErrors getErrors(String... additionalErrors) {
+        return ExpectedErrors.build(errors -> {
+            errors.add("cannot insert into column");
+            PostgresCommon.addCommonExpressionErrors(errors);
+            PostgresCommon.addCommonInsertUpdateErrors(errors);
+            errors.add("multiple assignments to same column");
+            errors.add("violates foreign key constraint");
+            errors.add("value too long for type character varying");
+            errors.add("conflicting key value violates exclusion constraint");
+            errors.add("violates not-null constraint");
+            errors.add("current transaction is aborted");
+            errors.add("bit string too long");
+            errors.add("new row violates check option for view");
+            errors.add("reached maximum value of sequence");
+            errors.add("but expression is of type");
+            errors.addAll(Arrays.asList(additionalErrors));
+            errors.add("duplicate key value violates unique constraint");
+            errors.add("identity column defined as GENERATED ALWAYS");
+            errors.add("out of range");
+            errors.add("violates check constraint");
+            errors.add("no partition of relation");
+            errors.add("invalid input syntax");
+            errors.add("division by zero");
+            errors.add("data type unknown");
+        });
+    }
+
     public static Query insert(PostgresGlobalState globalState) {
         PostgresTable table = globalState.getSchema().getRandomTable(t -> t.isInsertable());
-        Set<String> errors = new HashSet<>();
-        errors.add("cannot insert into column");
-        PostgresCommon.addCommonExpressionErrors(errors);
-        PostgresCommon.addCommonInsertUpdateErrors(errors);
-        PostgresCommon.addCommonExpressionErrors(errors);
-        errors.add("multiple assignments to same column");
-        errors.add("violates foreign key constraint");
-        errors.add("value too long for type character varying");
-        errors.add("conflicting key value violates exclusion constraint");
-        errors.add("violates not-null constraint");
-        errors.add("current transaction is aborted");
-        errors.add("bit string too long");
-        errors.add("new row violates check option for view");
-        errors.add("reached maximum value of sequence");
-        errors.add("but expression is of type");
+        ExpectedErrors errors = ERRORS;
         StringBuilder sb = new StringBuilder();
         sb.append("INSERT INTO ");
         sb.append(table.getName());
@@ -85,19 +102,10 @@ public final class PostgresInsertGenerator {
                 sb.append("(");
                 sb.append(table.getRandomColumn().getName());
                 sb.append(")");
-                errors.add("there is no unique or exclusion constraint matching the ON CONFLICT specification");
+                errors = ON_CONFLICT_COLUMN_ERRORS;
             }
             sb.append(" DO NOTHING");
         }
-        errors.add("duplicate key value violates unique constraint");
-        errors.add("identity column defined as GENERATED ALWAYS");
-        errors.add("out of range");
-        errors.add("violates check constraint");
-        errors.add("no partition of relation");
-        errors.add("invalid input syntax");
-        errors.add("division by zero");
-        errors.add("violates foreign key constraint");
-        errors.add("data type unknown");
         return new QueryAdapter(sb.toString(), errors);
     }
 
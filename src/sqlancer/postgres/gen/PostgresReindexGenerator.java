@@ -1,9 +1,9 @@
 package sqlancer.postgres.gen;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import sqlancer.ExpectedErrors;
 import sqlancer.IgnoreMeException;
 import sqlancer.Query;
 import sqlancer.QueryAdapter;
@@ -13,6 +13,13 @@ import sqlancer.postgres.PostgresSchema.PostgresIndex;
 
 public final class PostgresReindexGenerator {
 
+    private static final ExpectedErrors ERRORS = ExpectedErrors.build(errors -> {
+        errors.add("could not create unique index"); // CONCURRENT INDEX
+        errors.add("already contains data"); // FIXME bug report
+        errors.add("does not exist"); // internal index
+        errors.add("REINDEX is not yet implemented for partitioned indexes");
+    });
+
     private PostgresReindexGenerator() {
     }
 
@@ -21,8 +28,6 @@ public final class PostgresReindexGenerator {
     }
 
     public static Query create(PostgresGlobalState globalState) {
-        List<String> errors = new ArrayList<>();
-        errors.add("could not create unique index"); // CONCURRENT INDEX
         StringBuilder sb = new StringBuilder();
         sb.append("REINDEX");
         // if (Randomly.getBoolean()) {
@@ -59,10 +64,7 @@ public final class PostgresReindexGenerator {
         default:
             throw new AssertionError(scope);
         }
-        errors.add("already contains data"); // FIXME bug report
-        errors.add("does not exist"); // internal index
-        errors.add("REINDEX is not yet implemented for partitioned indexes");
-        return new QueryAdapter(sb.toString(), errors);
+        return new QueryAdapter(sb.toString(), ERRORS);
     }
 
 }
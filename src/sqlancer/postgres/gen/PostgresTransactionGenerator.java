@@ -1,22 +1,27 @@
 package sqlancer.postgres.gen;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
+import java.util.Collections;
 
+import sqlancer.ExpectedErrors;
 import sqlancer.Query;
 import sqlancer.QueryAdapter;
 import sqlancer.Randomly;
 
 public final class PostgresTransactionGenerator {
 
+    private static final ExpectedErrors NO_ERRORS = ExpectedErrors.from(Collections.emptySet());
+    private static final ExpectedErrors ISOLATION_LEVEL_ERRORS = ExpectedErrors
+            .from(Arrays.asList("SET TRANSACTION ISOLATION LEVEL must be called before any query"));
+
     private PostgresTransactionGenerator() {
     }
 
     public static Query executeBegin() {
-        List<String> errors = new ArrayList<>();
+        ExpectedErrors errors = NO_ERRORS;
         StringBuilder sb = new StringBuilder("BEGIN");
         if (Randomly.getBoolean()) {
-            errors.add("SET TRANSACTION ISOLATION LEVEL must be called before any query");
+            errors = ISOLATION_LEVEL_ERRORS;
             sb.append(" ISOLATION LEVEL ");
             sb.append(Randomly.fromOptions("SERIALIZABLE", "REPEATABLE READ", "READ COMMITTED", "READ UNCOMMITTED"));
             // if (Randomly.getBoolean()) {
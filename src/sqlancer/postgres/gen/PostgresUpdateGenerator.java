@@ -1,10 +1,9 @@
 package sqlancer.postgres.gen;
 
 import java.util.Arrays;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
+import sqlancer.ExpectedErrors;
 import sqlancer.Query;
 import sqlancer.QueryAdapter;
 import sqlancer.Randomly;
@@ -17,6 +16,24 @@ import sqlancer.postgres.ast.PostgresExpression;
 
 public final class PostgresUpdateGenerator {
 
+    private static final ExpectedErrors ERRORS = ExpectedErrors.build(errors -> {
+        errors.addAll(Arrays.asList("conflicting key value violates exclusion constraint",
+                "reached maximum value of sequence", "violates foreign key constraint", "violates not-null constraint",
+                "violates unique constraint", "out of range", "cannot cast", "must be type boolean", "is not unique",
+                " bit string too long", "can only be updated to DEFAULT", "division by zero",
+                "You might need to add explicit type casts.", "invalid regular expression",
+                "View columns that are not columns of their base relation are not updatable"));
+        errors.add("multiple assignments to same column"); // view whose columns refer to a column in the referenced
+                                                           // table multiple times
+        PostgresCommon.addCommonInsertUpdateErrors(errors);
+        errors.add("invalid input syntax for ");
+        errors.add("operator does not exist: text = boolean");
+        errors.add("violates check constraint");
+        errors.add("could not determine which collation to use for string comparison");
+        errors.add("but expression is of type");
+        PostgresCommon.addCommonExpressionErrors(errors);
+    });
+
     private PostgresUpdateGenerator() {
     }
 
@@ -26,16 +43,7 @@ public final class PostgresUpdateGenerator {
         sb.append("UPDATE ");
         sb.append(randomTable.getName());
         sb.append(" SET ");
-        Set<String> errors = new HashSet<>(Arrays.asList("conflicting key value violates exclusion constraint",
-                "reached maximum value of sequence", "violates foreign key constraint", "violates not-null constraint",
-                "violates unique constraint", "out of range", "cannot cast", "must be type boolean", "is not unique",
-                " bit string too long", "can only be updated to DEFAULT", "division by zero",
-                "You might need to add explicit type casts.", "invalid regular expression",
-                "View columns that are not columns of their base relation are not updatable"));
-        errors.add("multiple assignments to same column"); // view whose columns refer to a column in the referenced
-                                                           // table multiple times
         List<PostgresColumn> columns = randomTable.getRandomNonEmptyColumnSubset();
-        PostgresCommon.addCommonInsertUpdateErrors(errors);
 
         for (int i = 0; i < columns.size(); i++) {
             if (i != 0) {
@@ -59,12 +67,6 @@ public final class PostgresUpdateGenerator {
                 sb.append(")");
             }
         }
-        errors.add("invalid input syntax for ");
-        errors.add("operator does not exist: text = boolean");
-        errors.add("violates check constraint");
-        errors.add("could not determine which collation to use for string comparison");
-        errors.add("but expression is of type");
-        PostgresCommon.addCommonExpressionErrors(errors);
         if (!Randomly.getBooleanWithSmallProbability()) {
             sb.append(" WHERE ");
             PostgresExpression where = PostgresExpressionGenerator.generateExpression(globalState,
@@ -72,7 +74,7 @@ public final class PostgresUpdateGenerator {
             sb.append(PostgresVisitor.asString(where));
         }
 
-        return new QueryAdapter(sb.toString(), errors, true);
+        return new QueryAdapter(sb.toString(), ERRORS, true);
     }
 
 }
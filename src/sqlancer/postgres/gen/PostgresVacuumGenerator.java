@@ -2,9 +2,9 @@ package sqlancer.postgres.gen;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
 import java.util.stream.Collectors;
 
+import sqlancer.ExpectedErrors;
 import sqlancer.Query;
 import sqlancer.QueryAdapter;
 import sqlancer.Randomly;
@@ -13,6 +13,16 @@ import sqlancer.postgres.PostgresSchema.PostgresTable;
 
 public final class PostgresVacuumGenerator {
 
+    private static final ExpectedErrors ERRORS = ExpectedErrors.build(errors -> {
+        errors.add("VACUUM cannot run inside a transaction block");
+        errors.add("deadlock"); /*
+                                 * "FULL" commented out due to https://www.postgresql.org/message-id/CA%2Bu7OA6pL%
+                                 * 2B7Xm_NXHLenxffe3tCr3gTamVdr7zPjcWqW0RFM-A%40mail.gmail.com
+                                 */
+        errors.add("ERROR: ANALYZE option must be specified when a column list is provided");
+        errors.add("VACUUM option DISABLE_PAGE_SKIPPING cannot be used with FULL");
+    });
+
     private PostgresVacuumGenerator() {
     }
 
@@ -53,15 +63,7 @@ public final class PostgresVacuumGenerator {
                 }
             }
         }
-        List<String> errors = new ArrayList<>();
-        errors.add("VACUUM cannot run inside a transaction block");
-        errors.add("deadlock"); /*
-                                 * "FULL" commented out due to https://www.postgresql.org/message-id/CA%2Bu7OA6pL%
-                                 * 2B7Xm_NXHLenxffe3tCr3gTamVdr7zPjcWqW0RFM-A%40mail.gmail.com
-                                 */
-        errors.add("ERROR: ANALYZE option must be specified when a column list is provided");
-        errors.add("VACUUM option DISABLE_PAGE_SKIPPING cannot be used with FULL");
-        return new QueryAdapter(sb.toString(), errors);
+        return new QueryAdapter(sb.toString(), ERRORS);
     }
 
     private static void addTableAndColumns(PostgresTable table, StringBuilder sb) {
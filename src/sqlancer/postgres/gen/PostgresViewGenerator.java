@@ -1,8 +1,8 @@
 package sqlancer.postgres.gen;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.Arrays;
 
+import sqlancer.ExpectedErrors;
 import sqlancer.Query;
 import sqlancer.QueryAdapter;
 import sqlancer.Randomly;
@@ -13,11 +13,34 @@ import sqlancer.sqlite3.gen.SQLite3Common;
 
 public final class PostgresViewGenerator {
 
+    private static final ExpectedErrors ERRORS = getErrors();
+    private static final ExpectedErrors CHECK_OPTION_ERRORS = getErrors(
+            "WITH CHECK OPTION is supported only on automatically updatable views");
+
     private PostgresViewGenerator() {
     }
 
+    private static ExpectedErrors getErrors(String... additionalErrors) {
+        return ExpectedErrors.build(errors -> {
+            errors.addAll(Arrays.asList(additionalErrors));
+            PostgresCommon.addGroupingErrors(errors);
+            errors.add("already exists");
+            errors.add("cannot drop columns from view");
+            errors.add("non-integer constant in ORDER BY"); // TODO
+            errors.add("for SELECT DISTINCT, ORDER BY expressions must appear in select list"); // TODO
+            errors.add("cannot change data type of view column");
+            errors.add("specified more than once"); // TODO
+            errors.add("materialized views must not use temporary tables or views");
+            errors.add("does not have the form non-recursive-term UNION [ALL] recursive-term");
+            errors.add("is not a view");
+            errors.add("non-integer constant in DISTINCT ON");
+            errors.add("SELECT DISTINCT ON expressions must match initial ORDER BY expressions");
+            PostgresCommon.addCommonExpressionErrors(errors);
+        });
+    }
+
     public static Query create(PostgresGlobalState globalState) {
-        Set<String> errors = new HashSet<>();
+        ExpectedErrors errors = ERRORS;
         StringBuilder sb = new StringBuilder("CREATE");
         boolean materialized;
         boolean recursive = false;
@@ -74,21 +97,8 @@ public final class PostgresViewGenerator {
             sb.append(" WITH ");
             sb.append(Randomly.fromOptions("CASCADED", "LOCAL"));
             sb.append(" CHECK OPTION");
-            errors.add("WITH CHECK OPTION is supported only on automatically updatable views");
+            errors = CHECK_OPTION_ERRORS;
         }
-        PostgresCommon.addGroupingErrors(errors);
-        errors.add("already exists");
-        errors.add("cannot drop columns from view");
-        errors.add("non-integer constant in ORDER BY"); // TODO
-        errors.add("for SELECT DISTINCT, ORDER BY expressions must appear in select list"); // TODO
-        errors.add("cannot change data type of view column");
-        errors.add("specified more than once"); // TODO
-        errors.add("materialized views must not use temporary tables or views");
-        errors.add("does not have the form non-recursive-term UNION [ALL] recursive-term");
-        errors.add("is not a view");
-        errors.add("non-integer constant in DISTINCT ON");
-        errors.add("SELECT DISTINCT ON expressions must match initial ORDER BY expressions");
-        PostgresCommon.addCommonExpressionErrors(errors);
         return new QueryAdapter(sb.toString(), errors, true);
     }
 
@@ -1,25 +1,28 @@
 package sqlancer.postgres.oracle;
 
 import java.sql.Connection;
+import java.sql.DriverManager;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashSet;
+import java.util.Collections;
 import java.util.List;
-import java.util.Set;
 import java.util.stream.Collectors;
 
+import sqlancer.ExpectedErrors;
 import sqlancer.IgnoreMeException;
 import sqlancer.Main.StateLogger;
 import sqlancer.MainOptions;
+import sqlancer.OracleStatistics;
 import sqlancer.Query;
 import sqlancer.QueryAdapter;
 import sqlancer.Randomly;
 import sqlancer.StateToReproduce.PostgresStateToReproduce;
 import sqlancer.TestOracle;
 import sqlancer.postgres.PostgresCompoundDataType;
+import sqlancer.postgres.PostgresExpressionStructure;
 import sqlancer.postgres.PostgresGlobalState;
 import sqlancer.postgres.PostgresSchema;
 import sqlancer.postgres.PostgresSchema.PostgresColumn;
@@ -38,9 +41,17 @@ import sqlancer.postgres.ast.PostgresSelect.PostgresFromTable;
 import sqlancer.postgres.ast.PostgresSelect.SelectType;
 import sqlancer.postgres.gen.PostgresCommon;
 import sqlancer.postgres.gen.PostgresExpressionGenerator;
+import sqlancer.reducer.ExpressionReducer;
+import sqlancer.reducer.QueryReducer;
 
 public class PostgresNoRECOracle implements TestOracle {
 
+    private static final ExpectedErrors ERRORS = ExpectedErrors.build(errors -> {
+        PostgresCommon.addCommonExpressionErrors(errors);
+        PostgresCommon.addCommonFetchErrors(errors);
+        errors.add("canceling statement due to statement timeout");
+    });
+
     private PostgresSchema s;
     private Connection con;
     private PostgresStateToReproduce state;
@@ -48,7 +59,7 @@ public class PostgresNoRECOracle implements TestOracle {
     private String secondQueryString;
     private StateLogger logger;
     private MainOptions options;
-    private final Set<String> errors = new HashSet<>();
+    private final ExpectedErrors errors = ERRORS;
     private PostgresGlobalState globalState;
 
     public PostgresNoRECOracle(PostgresGlobalState globalState) {
@@ -62,8 +73,6 @@ public class PostgresNoRECOracle implements TestOracle {
 
     @Override
     public void check() throws SQLException {
-        PostgresCommon.addCommonExpressionErrors(errors);
-        PostgresCommon.addCommonFetchErrors(errors);
         PostgresTables randomTables = s.getRandomTableNonEmptyTables();
         List<PostgresColumn> columns = randomTables.getColumns();
         PostgresExpression randomWhereCondition = getRandomWhereCondition(columns);
@@ -72,16 +81,160 @@ public class PostgresNoRECOracle implements TestOracle {
         List<PostgresJoin> joinStatements = getJoinStatements(globalState, columns, tables);
         List<PostgresExpression> fromTables = tables.stream().map(t -> new PostgresFromTable(t, Randomly.getBoolean()))
                 .collect(Collectors.toList());
-        int secondCount = getUnoptimizedQueryCount(fromTables, randomWhereCondition, joinStatements);
-        int firstCount = getOptimizedQueryCount(fromTables, columns, randomWhereCondition, joinStatements);
+        PostgresExpression fetchColumn = new PostgresColumnValue(Randomly.fromList(columns), null);
+        List<PostgresExpression> orderBys = Collections.emptyList();
+        if (Randomly.getBooleanWithSmallProbability()) {
+            orderBys = new PostgresExpressionGenerator(globalState).setColumns(columns).setGlobalState(globalState)
+                    .generateOrderBy();
+        }
+        NoRECQuery query = new NoRECQuery(fromTables, joinStatements, randomWhereCondition, fetchColumn, orderBys);
+        secondQueryString = getUnoptimizedQuery(query);
+        if (options.logEachSelect()) {
+            logger.writeCurrent(secondQueryString);
+        }
+        int secondCount = getUnoptimizedQueryCount(con, secondQueryString);
+        firstQueryString = getOptimizedQuery(query);
+        if (options.logEachSelect()) {
+            logger.writeCurrent(firstQueryString);
+        }
+        int firstCount = getOptimizedQueryCount(con, firstQueryString);
         if (firstCount == -1 || secondCount == -1) {
             throw new IgnoreMeException();
         }
+        if (firstCount == 0 && secondCount == 0) {
+            OracleStatistics.reportVacuousCheck();
+        }
         if (firstCount != secondCount) {
+            if (options.reduceOracleQueries()) {
+                NoRECQuery reducedQuery = reduce(query);
+                firstQueryString = getOptimizedQuery(reducedQuery);
+                secondQueryString = getUnoptimizedQuery(reducedQuery);
+                firstCount = getOptimizedQueryCount(con, firstQueryString);
+                secondCount = getUnoptimizedQueryCount(con, secondQueryString);
+            }
             state.queryString = firstCount + " " + secondCount + " " + firstQueryString + ";\n" + secondQueryString
                     + ";";
             throw new AssertionError(firstQueryString + secondQueryString + firstCount + " " + secondCount);
         }
+        globalState.getPlanCoverage().sample(con, firstQueryString);
+    }
+
+    private static final class NoRECQuery {
+
+        private final List<PostgresExpression> fromTables;
+        private final List<PostgresJoin> joins;
+        private final PostgresExpression whereCondition;
+        private final PostgresExpression fetchColumn;
+        private final List<PostgresExpression> orderBys;
+
+        NoRECQuery(List<PostgresExpression> fromTables, List<PostgresJoin> joins, PostgresExpression whereCondition,
+                PostgresExpression fetchColumn, List<PostgresExpression> orderBys) {
+            this.fromTables = fromTables;
+            this.joins = joins;
+            this.whereCondition = whereCondition;
+            this.fetchColumn = fetchColumn;
+            this.orderBys = orderBys;
+        }
+
+        NoRECQuery withFromTables(List<PostgresExpression> newFromTables) {
+            return new NoRECQuery(newFromTables, joins, whereCondition, fetchColumn, orderBys);
+        }
+
+        NoRECQuery withJoins(List<PostgresJoin> newJoins) {
+            return new NoRECQuery(fromTables, newJoins, whereCondition, fetchColumn, orderBys);
+        }
+
+        NoRECQuery withWhereCondition(PostgresExpression newWhereCondition) {
+            return new NoRECQuery(fromTables, joins, newWhereCondition, fetchColumn, orderBys);
+        }
+
+        NoRECQuery withOrderBys(List<PostgresExpression> newOrderBys) {
+            return new NoRECQuery(fromTables, joins, whereCondition, fetchColumn, newOrderBys);
+        }
+
+    }
+
+    /**
+     * Reduces the query while the counts of the optimized and unoptimized query still differ.
+     */
+    private NoRECQuery reduce(NoRECQuery query) throws SQLException {
+        List<Connection> connections = getReducerConnections(globalState);
+        try {
+            QueryReducer<NoRECQuery> reducer = new QueryReducer<>(connections, this::isCountMismatch);
+            NoRECQuery reducedQuery = reducer.reduce(query, this::getReductions);
+            // the additional connections might not have the same session state as the original one
+            return isCountMismatch(con, reducedQuery) ? reducedQuery : query;
+        } finally {
+            QueryReducer.closeAdditionalConnections(connections);
+        }
+    }
+
+    /**
+     * Returns the test connection followed by --num-threads - 1 additional connections to the database, on which the
+     * SET statements of the test case were executed, so that a {@link QueryReducer} can check candidates on them.
+     */
+    public static List<Connection> getReducerConnections(PostgresGlobalState globalState) throws SQLException {
+        List<Connection> connections = new ArrayList<>();
+        Connection con = globalState.getConnection();
+        connections.add(con);
+        String url = con.getMetaData().getURL();
+        MainOptions options = globalState.getOptions();
+        for (int i = 1; i < options.getNumberConcurrentThreads(); i++) {
+            Connection additionalCon = DriverManager.getConnection(url, options.getUserName(), options.getPassword());
+            connections.add(additionalCon);
+            for (Query statement : globalState.getState().getStatements()) {
+                String queryString = statement.getQueryString();
+                if (queryString.startsWith("SET") || queryString.startsWith("RESET")) {
+                    try (Statement st = additionalCon.createStatement()) {
+                        st.execute(queryString);
+                    } catch (SQLException e) {
+                        // the statement also failed during testing
+                    }
+                }
+            }
+        }
+        return connections;
+    }
+
+    private boolean isCountMismatch(Connection c, NoRECQuery query) throws SQLException {
+        int firstCount = getOptimizedQueryCount(c, getOptimizedQuery(query));
+        int secondCount = getUnoptimizedQueryCount(c, getUnoptimizedQuery(query));
+        return firstCount != -1 && secondCount != -1 && firstCount != secondCount;
+    }
+
+    private List<NoRECQuery> getReductions(NoRECQuery query) {
+        List<NoRECQuery> reductions = new ArrayList<>();
+        if (!query.orderBys.isEmpty()) {
+            reductions.add(query.withOrderBys(Collections.emptyList()));
+        }
+        for (int i = 0; i < query.joins.size(); i++) {
+            List<PostgresJoin> joins = new ArrayList<>(query.joins);
+            joins.remove(i);
+            reductions.add(query.withJoins(joins));
+        }
+        for (int i = 0; i < query.fromTables.size() && query.fromTables.size() > 1; i++) {
+            List<PostgresExpression> fromTables = new ArrayList<>(query.fromTables);
+            fromTables.remove(i);
+            reductions.add(query.withFromTables(fromTables));
+        }
+        ExpressionReducer<PostgresExpression> expressionReducer = PostgresExpressionStructure.createReducer();
+        for (PostgresExpression where : expressionReducer.getReductions(query.whereCondition)) {
+            reductions.add(query.withWhereCondition(where));
+        }
+        for (int i = 0; i < query.joins.size(); i++) {
+            PostgresJoin join = query.joins.get(i);
+            for (PostgresExpression onClause : expressionReducer.getReductions(join.getOnClause())) {
+                List<PostgresJoin> joins = new ArrayList<>(query.joins);
+                joins.set(i, new PostgresJoin(join.getTable(), onClause, join.getType()));
+                reductions.add(query.withJoins(joins));
+            }
+        }
+        for (int i = 0; i < query.orderBys.size() && query.orderBys.size() > 1; i++) {
+            List<PostgresExpression> orderBys = new ArrayList<>(query.orderBys);
+            orderBys.remove(i);
+            reductions.add(query.withOrderBys(orderBys));
+        }
+        return reductions;
     }
 
     public static List<PostgresJoin> getJoinStatements(PostgresGlobalState globalState, List<PostgresColumn> columns,
@@ -104,28 +257,37 @@ public class PostgresNoRECOracle implements TestOracle {
                 .generateExpression(PostgresDataType.BOOLEAN);
     }
 
-    private int getUnoptimizedQueryCount(List<PostgresExpression> fromTables, PostgresExpression randomWhereCondition,
-            List<PostgresJoin> joinStatements) throws SQLException {
+    private static String getUnoptimizedQuery(NoRECQuery query) {
         PostgresSelect select = new PostgresSelect();
-        PostgresCastOperation isTrue = new PostgresCastOperation(randomWhereCondition,
+        PostgresCastOperation isTrue = new PostgresCastOperation(query.whereCondition,
                 PostgresCompoundDataType.create(PostgresDataType.INT));
         PostgresPostfixText asText = new PostgresPostfixText(isTrue, " as count", null, PostgresDataType.INT);
         select.setFetchColumns(Arrays.asList(asText));
-        select.setFromList(fromTables);
+        select.setFromList(query.fromTables);
+        select.setSelectType(SelectType.ALL);
+        select.setJoinClauses(query.joins);
+        return "SELECT SUM(count) FROM (" + PostgresVisitor.asString(select) + ") as res";
+    }
+
+    private static String getOptimizedQuery(NoRECQuery query) {
+        PostgresSelect select = new PostgresSelect();
+        select.setFetchColumns(Arrays.asList(query.fetchColumn));
+        select.setFromList(query.fromTables);
+        select.setWhereClause(query.whereCondition);
+        select.setOrderByExpressions(query.orderBys);
         select.setSelectType(SelectType.ALL);
-        select.setJoinClauses(joinStatements);
+        select.setJoinClauses(query.joins);
+        return PostgresVisitor.asString(select);
+    }
+
+    private int getUnoptimizedQueryCount(Connection c, String queryString) throws SQLException {
         int secondCount = 0;
-        secondQueryString = "SELECT SUM(count) FROM (" + PostgresVisitor.asString(select) + ") as res";
-        if (options.logEachSelect()) {
-            logger.writeCurrent(secondQueryString);
-        }
-        errors.add("canceling statement due to statement timeout");
-        Query q = new QueryAdapter(secondQueryString, errors);
+        Query q = new QueryAdapter(queryString, errors);
         ResultSet rs;
         try {
-            rs = q.executeAndGet(con);
+            rs = q.executeAndGet(c);
         } catch (Exception e) {
-            throw new AssertionError(secondQueryString, e);
+            throw new AssertionError(queryString, e);
         }
         if (rs == null) {
             return -1;
@@ -137,26 +299,10 @@ public class PostgresNoRECOracle implements TestOracle {
         return secondCount;
     }
 
-    private int getOptimizedQueryCount(List<PostgresExpression> randomTables, List<PostgresColumn> columns,
-            PostgresExpression randomWhereCondition, List<PostgresJoin> joinStatements) throws SQLException {
-        PostgresSelect select = new PostgresSelect();
-        PostgresColumnValue allColumns = new PostgresColumnValue(Randomly.fromList(columns), null);
-        select.setFetchColumns(Arrays.asList(allColumns));
-        select.setFromList(randomTables);
-        select.setWhereClause(randomWhereCondition);
-        if (Randomly.getBooleanWithSmallProbability()) {
-            select.setOrderByExpressions(new PostgresExpressionGenerator(globalState).setColumns(columns)
-                    .setGlobalState(globalState).generateOrderBy());
-        }
-        select.setSelectType(SelectType.ALL);
-        select.setJoinClauses(joinStatements);
+    private static int getOptimizedQueryCount(Connection c, String queryString) {
         int firstCount = 0;
-        try (Statement stat = con.createStatement()) {
-            firstQueryString = PostgresVisitor.asString(select);
-            if (options.logEachSelect()) {
-                logger.writeCurrent(firstQueryString);
-            }
-            try (ResultSet rs = stat.executeQuery(firstQueryString)) {
+        try (Statement stat = c.createStatement()) {
+            try (ResultSet rs = stat.executeQuery(queryString)) {
                 while (rs.next()) {
                     firstCount++;
                 }
@@ -26,7 +26,6 @@ import sqlancer.postgres.ast.PostgresPostfixOperation.PostfixOperator;
 import sqlancer.postgres.ast.PostgresPrefixOperation;
 import sqlancer.postgres.ast.PostgresPrefixOperation.PrefixOperator;
 import sqlancer.postgres.ast.PostgresSelect;
-import sqlancer.postgres.gen.PostgresCommon;
 
 public class PostgresTLPAggregateOracle extends PostgresTLPBase implements TestOracle {
 
@@ -36,8 +35,7 @@ public class PostgresTLPAggregateOracle extends PostgresTLPBase implements TestO
     private String metamorphicQuery;
 
     public PostgresTLPAggregateOracle(PostgresGlobalState state) {
-        super(state);
-        PostgresCommon.addGroupingErrors(errors);
+        super(state, GROUPING_ERRORS);
     }
 
     @Override
@@ -2,11 +2,10 @@ package sqlancer.postgres.oracle.tlp;
 
 import java.sql.SQLException;
 import java.util.Arrays;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 import java.util.stream.Collectors;
 
+import sqlancer.ExpectedErrors;
 import sqlancer.Randomly;
 import sqlancer.TestOracle;
 import sqlancer.postgres.PostgresGlobalState;
@@ -29,8 +28,18 @@ import sqlancer.postgres.oracle.PostgresNoRECOracle;
 
 public class PostgresTLPBase implements TestOracle {
 
+    static final ExpectedErrors ERRORS = ExpectedErrors.build(errors -> {
+        PostgresCommon.addCommonExpressionErrors(errors);
+        PostgresCommon.addCommonFetchErrors(errors);
+    });
+    static final ExpectedErrors GROUPING_ERRORS = ExpectedErrors.build(errors -> {
+        PostgresCommon.addCommonExpressionErrors(errors);
+        PostgresCommon.addCommonFetchErrors(errors);
+        PostgresCommon.addGroupingErrors(errors);
+    });
+
     final PostgresGlobalState state;
-    final Set<String> errors = new HashSet<>();
+    final ExpectedErrors errors;
 
     PostgresSchema s;
     PostgresTables targetTables;
@@ -41,13 +50,23 @@ public class PostgresTLPBase implements TestOracle {
     PostgresPostfixOperation isNullPredicate;
 
     public PostgresTLPBase(PostgresGlobalState state) {
+        this(state, ERRORS);
+    }
+
+    PostgresTLPBase(PostgresGlobalState state, ExpectedErrors errors) {
         this.state = state;
-        PostgresCommon.addCommonExpressionErrors(errors);
-        PostgresCommon.addCommonFetchErrors(errors);
+        this.errors = errors;
     }
 
     @Override
     public void check() throws SQLException {
+        generateQuery();
+    }
+
+    /**
+     * Generates the query without a WHERE clause and the predicates, which does not access the database.
+     */
+    void generateQuery() {
         s = state.getSchema();
         targetTables = s.getRandomTableNonEmptyTables();
         gen = new PostgresExpressionGenerator(state).setColumns(targetTables.getColumns());
@@ -11,13 +11,11 @@ import sqlancer.postgres.PostgresGlobalState;
 import sqlancer.postgres.PostgresSchema.PostgresDataType;
 import sqlancer.postgres.PostgresVisitor;
 import sqlancer.postgres.ast.PostgresExpression;
-import sqlancer.postgres.gen.PostgresCommon;
 
 public class PostgresTLPHavingOracle extends PostgresTLPBase {
 
     public PostgresTLPHavingOracle(PostgresGlobalState state) {
-        super(state);
-        PostgresCommon.addGroupingErrors(errors);
+        super(state, GROUPING_ERRORS);
     }
 
     @Override
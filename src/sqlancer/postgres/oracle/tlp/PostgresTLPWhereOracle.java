@@ -1,17 +1,27 @@
 package sqlancer.postgres.oracle.tlp;
 
+import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
-import sqlancer.DatabaseProvider;
+import sqlancer.PartitionedQueryPlan;
+import sqlancer.PlannedTestOracle;
 import sqlancer.Randomly;
 import sqlancer.TestOracle;
+import sqlancer.postgres.PostgresExpressionStructure;
 import sqlancer.postgres.PostgresGlobalState;
 import sqlancer.postgres.PostgresVisitor;
+import sqlancer.postgres.ast.PostgresExpression;
+import sqlancer.postgres.ast.PostgresPostfixOperation;
+import sqlancer.postgres.ast.PostgresPrefixOperation;
+import sqlancer.postgres.ast.PostgresSelect;
+import sqlancer.postgres.oracle.PostgresNoRECOracle;
+import sqlancer.reducer.PartitioningQueryReducer;
+import sqlancer.reducer.QueryReducer;
 
-public class PostgresTLPWhereOracle extends PostgresTLPBase {
+public class PostgresTLPWhereOracle extends PostgresTLPBase implements PlannedTestOracle<PartitionedQueryPlan> {
 
     public PostgresTLPWhereOracle(PostgresGlobalState state) {
         super(state);
@@ -19,24 +29,68 @@ public class PostgresTLPWhereOracle extends PostgresTLPBase {
 
     @Override
     public void check() throws SQLException {
-        super.check();
+        execute(plan());
+    }
+
+    @Override
+    public PartitionedQueryPlan plan() {
+        generateQuery();
         if (Randomly.getBooleanWithRatherLowProbability()) {
             select.setOrderByExpressions(gen.generateOrderBy());
         }
         String originalQueryString = PostgresVisitor.asString(select);
-        List<String> resultSet = DatabaseProvider.getResultSetFirstColumnAsString(originalQueryString, errors,
-                state.getConnection(), state);
 
         select.setOrderByExpressions(Collections.emptyList());
+        boolean asUnion = Randomly.getBoolean();
+        PartitionedQueryPlan plan = getPlan(select, predicate, isNullPredicate, originalQueryString, asUnion);
+        if (state.getOptions().reduceOracleQueries()) {
+            // the fields are overwritten when the next check is planned
+            PostgresSelect partitioningSelect = select;
+            PostgresExpression planPredicate = predicate;
+            PostgresPostfixOperation planIsNullPredicate = isNullPredicate;
+            plan = plan.withReduction(() -> {
+                List<Connection> connections = PostgresNoRECOracle.getReducerConnections(state);
+                try {
+                    return new PartitioningQueryReducer<>(PostgresExpressionStructure.createReducer(),
+                            p -> getPlan(partitioningSelect, p, planIsNullPredicate, originalQueryString, asUnion),
+                            errors).reduce(connections, planPredicate);
+                } finally {
+                    QueryReducer.closeAdditionalConnections(connections);
+                }
+            });
+        }
+        return plan;
+    }
+
+    /**
+     * Computes the partitioning queries for the given predicate. The IS NULL predicate determines the text of the IS
+     * NULL operator, so that no random decisions are made when the predicate is reduced.
+     */
+    private static PartitionedQueryPlan getPlan(PostgresSelect select, PostgresExpression predicate,
+            PostgresPostfixOperation isNullPredicate, String originalQueryString, boolean asUnion) {
         select.setWhereClause(predicate);
         String firstQueryString = PostgresVisitor.asString(select);
-        select.setWhereClause(negatedPredicate);
+        select.setWhereClause(new PostgresPrefixOperation(predicate, PostgresPrefixOperation.PrefixOperator.NOT));
         String secondQueryString = PostgresVisitor.asString(select);
-        select.setWhereClause(isNullPredicate);
+        select.setWhereClause(new PostgresPostfixOperation(predicate, isNullPredicate.getOperator(),
+                isNullPredicate.getOperatorTextRepresentation()));
         String thirdQueryString = PostgresVisitor.asString(select);
+        return new PartitionedQueryPlan(null, originalQueryString, firstQueryString, secondQueryString,
+                thirdQueryString, asUnion);
+    }
+
+    @Override
+    public void execute(PartitionedQueryPlan plan) throws SQLException {
+        List<String> resultSet = state.getBaselineResultSet(plan.getOriginalQueryString(), errors);
         List<String> combinedString = new ArrayList<>();
-        List<String> secondResultSet = TestOracle.getCombinedResultSet(firstQueryString, secondQueryString,
-                thirdQueryString, combinedString, Randomly.getBoolean(), state, errors);
-        TestOracle.assumeResultSetsAreEqual(resultSet, secondResultSet, originalQueryString, combinedString, state);
+        List<String> secondResultSet = TestOracle.getCombinedResultSet(plan.getFirstQueryString(),
+                plan.getSecondQueryString(), plan.getThirdQueryString(), combinedString, plan.isAsUnion(), state,
+                errors);
+        if (plan.getReduction() != null && PartitioningQueryReducer.isMismatch(resultSet, secondResultSet)) {
+            // the reduced plan cannot be reduced further, so this reports the reduced queries if they expose the bug
+            execute(plan.getReduction().reduce());
+        }
+        TestOracle.assumeResultSetsAreEqual(resultSet, secondResultSet, plan.getOriginalQueryString(), combinedString,
+                state);
     }
 }
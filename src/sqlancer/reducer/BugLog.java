@@ -0,0 +1,148 @@
+package sqlancer.reducer;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A bug report written by {@link sqlancer.Main.StateLogger}, which consists of the stack trace and the header as
+ * comments, followed by the executed statements. Depending on the test oracle, the statements end with the queries that
+ * expose the bug; they are separated from the other statements and used to construct the {@link InterestingnessTest}.
+ */
+public class BugLog {
+
+    private static final String CARDINALITY_ANNOTATION = "; -- cardinality: ";
+    private static final String MISSES_ANNOTATION = "; -- misses: ";
+    private static final String UNOPTIMIZED_QUERY_PREFIX = "SELECT SUM(count) FROM (";
+    private static final Pattern ASSERTION = Pattern.compile("--java\\.lang\\.AssertionError: (.*)");
+    private static final Pattern CAUSE = Pattern.compile("--Caused by: [\\w.$]+: (.*)");
+    // PostgresNoRECOracle prefixes the queries with the two counts
+    private static final Pattern COUNTS_PREFIX = Pattern.compile("-?\\d+ -?\\d+ (SELECT .*)", Pattern.DOTALL);
+
+    private final List<String> statements;
+    private final InterestingnessTest test;
+
+    public BugLog(File file) throws IOException {
+        List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+        List<String> comments = new ArrayList<>();
+        statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (String line : lines) {
+            if (current.length() == 0 && line.startsWith("--")) {
+                comments.add(line);
+                continue;
+            }
+            if (current.length() != 0) {
+                current.append('\n');
+            }
+            current.append(line);
+            // string constants can contain line breaks, so a statement ends only at a line that ends with a semicolon
+            if (line.endsWith(";")) {
+                statements.add(current.substring(0, current.length() - 1));
+                current.setLength(0);
+            }
+        }
+        test = extractTest(comments);
+    }
+
+    private InterestingnessTest extractTest(List<String> comments) throws IOException {
+        int size = statements.size();
+        if (size >= 2 && isAnnotatedResultSet(statements.get(size - 2))
+                && isAnnotatedResultSet(statements.get(size - 1))) {
+            String originalQuery = removeAnnotation(statements.get(size - 2));
+            String combinedQueries = removeAnnotation(statements.get(size - 1));
+            removeLast(2);
+            // the partitioning queries are either combined with UNION or joined with semicolons
+            return new InterestingnessTest.ResultSetMismatch(originalQuery, splitQueries(combinedQueries));
+        }
+        if (size >= 2 && statements.get(size - 1).startsWith(UNOPTIMIZED_QUERY_PREFIX)) {
+            String optimizedQuery = statements.get(size - 2);
+            Matcher m = COUNTS_PREFIX.matcher(optimizedQuery);
+            if (m.matches()) {
+                optimizedQuery = m.group(1);
+            }
+            String unoptimizedQuery = statements.get(size - 1);
+            removeLast(2);
+            return new InterestingnessTest.CountMismatch(optimizedQuery, unoptimizedQuery);
+        }
+        String query = null;
+        String errorMessage = null;
+        for (String comment : comments) {
+            Matcher assertion = ASSERTION.matcher(comment);
+            Matcher cause = CAUSE.matcher(comment);
+            if (query == null && assertion.matches()) {
+                query = assertion.group(1);
+            } else if (errorMessage == null && cause.matches()) {
+                errorMessage = cause.group(1);
+            }
+        }
+        if (query != null && errorMessage != null) {
+            if (size >= 1 && statements.get(size - 1).equals(query)) {
+                removeLast(1);
+            }
+            return new InterestingnessTest.UnexpectedError(query, errorMessage);
+        }
+        throw new IOException("the log does not contain a result set mismatch, a NoREC count mismatch, "
+                + "or an unexpected error that can be checked");
+    }
+
+    /**
+     * Splits the queries at the semicolons that are not part of a string literal or a quoted identifier. Quotes are
+     * escaped by doubling them, as in standard SQL, which does not affect where a literal ends.
+     */
+    static List<String> splitQueries(String queries) {
+        List<String> result = new ArrayList<>();
+        char quote = 0;
+        int start = 0;
+        for (int i = 0; i < queries.length(); i++) {
+            char c = queries.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"' || c == '`') {
+                quote = c;
+            } else if (c == ';') {
+                result.add(queries.substring(start, i));
+                start = i + 1;
+            }
+        }
+        result.add(queries.substring(start));
+        return result;
+    }
+
+    private static boolean isAnnotatedResultSet(String statement) {
+        return statement.contains(CARDINALITY_ANNOTATION) || statement.contains(MISSES_ANNOTATION);
+    }
+
+    private static String removeAnnotation(String statement) {
+        int index = statement.lastIndexOf(CARDINALITY_ANNOTATION);
+        if (index == -1) {
+            index = statement.lastIndexOf(MISSES_ANNOTATION);
+        }
+        return statement.substring(0, index);
+    }
+
+    private void removeLast(int nr) {
+        for (int i = 0; i < nr; i++) {
+            statements.remove(statements.size() - 1);
+        }
+    }
+
+    /**
+     * Returns the statements that set up the database, excluding the queries that expose the bug.
+     */
+    public List<String> getStatements() {
+        return statements;
+    }
+
+    public InterestingnessTest getTest() {
+        return test;
+    }
+
+}
@@ -0,0 +1,62 @@
+package sqlancer.reducer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Computes the one-step reductions of an expression tree, which are obtained by replacing a single non-leaf subtree
+ * either with one of its children or with a constant. Every reduction has fewer nodes than the original expression, so
+ * that repeatedly applying reductions terminates. The replacements of a subtree are returned before the reductions
+ * within the subtree, so that the reductions that remove the largest parts of the expression come first.
+ *
+ * @param <E>
+ *            the type of the expression nodes
+ */
+public class ExpressionReducer<E> {
+
+    private final ExpressionStructure<E> structure;
+    private final List<E> constants;
+
+    /**
+     * Provides access to the children of a DBMS-specific expression class hierarchy.
+     */
+    public interface ExpressionStructure<E> {
+
+        /**
+         * Returns the direct subexpressions of the expression, or an empty list if the expression is a leaf or its
+         * children cannot be replaced.
+         */
+        List<E> getChildren(E expr);
+
+        /**
+         * Creates a copy of the expression with the given children, which are in the order returned by
+         * {@link #getChildren(Object)}.
+         */
+        E withChildren(E expr, List<E> children);
+
+    }
+
+    public ExpressionReducer(ExpressionStructure<E> structure, List<E> constants) {
+        this.structure = structure;
+        this.constants = constants;
+    }
+
+    public List<E> getReductions(E expr) {
+        List<E> reductions = new ArrayList<>();
+        List<E> children = structure.getChildren(expr);
+        if (children.isEmpty()) {
+            return reductions;
+        }
+        reductions.addAll(constants);
+        reductions.addAll(children);
+        for (int i = 0; i < children.size(); i++) {
+            for (E reducedChild : getReductions(children.get(i))) {
+                List<E> newChildren = new ArrayList<>(children);
+                newChildren.set(i, reducedChild);
+                reductions.add(structure.withChildren(expr, newChildren));
+            }
+        }
+        return reductions;
+    }
+
+}
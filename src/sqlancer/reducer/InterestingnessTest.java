@@ -0,0 +1,158 @@
+package sqlancer.reducer;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Decides whether a database, on which a candidate subset of the statements of a bug log has been executed, still
+ * exhibits the bug. The tests mirror the checks of the test oracles.
+ */
+public interface InterestingnessTest {
+
+    boolean isInteresting(Connection con);
+
+    /**
+     * Returns the queries that expose the bug, which are appended to the reduced statements.
+     */
+    List<String> getQueries();
+
+    /**
+     * The result sets of a query and its partitioned counterparts mismatch, like in
+     * {@link sqlancer.TestOracle#assumeResultSetsAreEqual}.
+     */
+    class ResultSetMismatch implements InterestingnessTest {
+
+        private final String originalQuery;
+        private final List<String> partitionQueries;
+
+        public ResultSetMismatch(String originalQuery, List<String> partitionQueries) {
+            this.originalQuery = originalQuery;
+            this.partitionQueries = partitionQueries;
+        }
+
+        @Override
+        public boolean isInteresting(Connection con) {
+            try {
+                List<String> resultSet = getFirstColumn(con, originalQuery);
+                List<String> partitionResultSet = new ArrayList<>();
+                for (String query : partitionQueries) {
+                    partitionResultSet.addAll(getFirstColumn(con, query));
+                }
+                return resultSet.size() != partitionResultSet.size()
+                        || !new HashSet<>(resultSet).equals(new HashSet<>(partitionResultSet));
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        @Override
+        public List<String> getQueries() {
+            List<String> queries = new ArrayList<>();
+            queries.add(originalQuery);
+            queries.addAll(partitionQueries);
+            return queries;
+        }
+
+    }
+
+    /**
+     * The number of rows for which the predicate of an optimized query evaluates to true differs from the count
+     * computed by its unoptimized counterpart, like in the NoREC oracles.
+     */
+    class CountMismatch implements InterestingnessTest {
+
+        private static final Pattern COUNT_QUERY = Pattern
+                .compile("(?is)SELECT\\s+(ALL\\s+|DISTINCT\\s+)?COUNT\\s*\\(.*");
+
+        private final String optimizedQuery;
+        private final String unoptimizedQuery;
+
+        public CountMismatch(String optimizedQuery, String unoptimizedQuery) {
+            this.optimizedQuery = optimizedQuery;
+            this.unoptimizedQuery = unoptimizedQuery;
+        }
+
+        @Override
+        public boolean isInteresting(Connection con) {
+            try {
+                long optimizedCount;
+                if (COUNT_QUERY.matcher(optimizedQuery).matches()) {
+                    optimizedCount = sum(getFirstColumn(con, optimizedQuery));
+                } else {
+                    optimizedCount = getFirstColumn(con, optimizedQuery).size();
+                }
+                return optimizedCount != sum(getFirstColumn(con, unoptimizedQuery));
+            } catch (SQLException | NumberFormatException e) {
+                return false;
+            }
+        }
+
+        private static long sum(List<String> values) {
+            long sum = 0;
+            for (String value : values) {
+                if (value != null) {
+                    // some DBMS compute the sum as a decimal
+                    sum += new BigDecimal(value).longValue();
+                }
+            }
+            return sum;
+        }
+
+        @Override
+        public List<String> getQueries() {
+            return Arrays.asList(optimizedQuery, unoptimizedQuery);
+        }
+
+    }
+
+    /**
+     * A query fails with an error that was not expected by the test oracle or statement generator.
+     */
+    class UnexpectedError implements InterestingnessTest {
+
+        private final String query;
+        private final String errorMessage;
+
+        public UnexpectedError(String query, String errorMessage) {
+            this.query = query;
+            this.errorMessage = errorMessage;
+        }
+
+        @Override
+        public boolean isInteresting(Connection con) {
+            try (Statement s = con.createStatement()) {
+                s.execute(query);
+                return false;
+            } catch (SQLException e) {
+                return e.getMessage() != null && e.getMessage().contains(errorMessage);
+            }
+        }
+
+        @Override
+        public List<String> getQueries() {
+            return Arrays.asList(query);
+        }
+
+    }
+
+    static List<String> getFirstColumn(Connection con, String query) throws SQLException {
+        List<String> values = new ArrayList<>();
+        try (Statement s = con.createStatement()) {
+            try (ResultSet rs = s.executeQuery(query)) {
+                while (rs.next()) {
+                    values.add(rs.getString(1));
+                }
+            }
+        }
+        return values;
+    }
+
+}
@@ -0,0 +1,113 @@
+package sqlancer.reducer;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import sqlancer.IgnoreMeException;
+import sqlancer.PartitionedQueryPlan;
+import sqlancer.QueryAdapter;
+
+/**
+ * Reduces the predicate of a ternary logic partitioning check for which the original query and the partitioning queries
+ * fetch different results. The oracle provides a function that computes the queries of the check for a given predicate.
+ * This function is only called on the thread that invokes {@link #reduce(List, Object)}, so it may reuse the oracle's
+ * SELECT object.
+ *
+ * @param <E>
+ *            the type of the predicate
+ */
+public final class PartitioningQueryReducer<E> {
+
+    private final ExpressionReducer<E> expressionReducer;
+    private final Function<E, PartitionedQueryPlan> planner;
+    private final Set<String> errors;
+
+    private static final class Candidate<E> {
+
+        private final E predicate;
+        private final PartitionedQueryPlan plan;
+
+        Candidate(E predicate, PartitionedQueryPlan plan) {
+            this.predicate = predicate;
+            this.plan = plan;
+        }
+
+    }
+
+    public PartitioningQueryReducer(ExpressionReducer<E> expressionReducer, Function<E, PartitionedQueryPlan> planner,
+            Set<String> errors) {
+        this.expressionReducer = expressionReducer;
+        this.planner = planner;
+        this.errors = errors;
+    }
+
+    /**
+     * Reduces the predicate while the results still mismatch, and returns the queries for the reduced predicate. The
+     * candidates are checked in parallel on the given connections. The first connection must be the test connection, on
+     * which the reduced queries are rechecked; if they no longer expose the bug there, the queries for the original
+     * predicate are returned. The connections are not closed.
+     */
+    public PartitionedQueryPlan reduce(List<Connection> connections, E predicate) {
+        QueryReducer<Candidate<E>> reducer = new QueryReducer<>(connections, (c, q) -> isMismatch(c, q.plan));
+        Candidate<E> reduced = reducer.reduce(new Candidate<>(predicate, planner.apply(predicate)), q -> {
+            List<Candidate<E>> reductions = new ArrayList<>();
+            for (E reducedPredicate : expressionReducer.getReductions(q.predicate)) {
+                reductions.add(new Candidate<>(reducedPredicate, planner.apply(reducedPredicate)));
+            }
+            return reductions;
+        });
+        try {
+            // the additional connections might not have the same session state as the test connection
+            if (isMismatch(connections.get(0), reduced.plan)) {
+                return reduced.plan;
+            }
+        } catch (SQLException | IgnoreMeException e) {
+            // fall back to the original predicate
+        }
+        return planner.apply(predicate);
+    }
+
+    /**
+     * Returns whether the result sets differ, using the same comparison as
+     * {@link sqlancer.TestOracle#assumeResultSetsAreEqual}.
+     */
+    public static boolean isMismatch(List<String> resultSet, List<String> secondResultSet) {
+        return resultSet.size() != secondResultSet.size()
+                || !new HashSet<>(resultSet).equals(new HashSet<>(secondResultSet));
+    }
+
+    private boolean isMismatch(Connection con, PartitionedQueryPlan plan) throws SQLException {
+        List<String> resultSet = getResultSet(con, plan.getOriginalQueryString());
+        List<String> secondResultSet = new ArrayList<>();
+        if (plan.isAsUnion()) {
+            secondResultSet.addAll(getResultSet(con, plan.getFirstQueryString() + " UNION ALL "
+                    + plan.getSecondQueryString() + " UNION ALL " + plan.getThirdQueryString()));
+        } else {
+            secondResultSet.addAll(getResultSet(con, plan.getFirstQueryString()));
+            secondResultSet.addAll(getResultSet(con, plan.getSecondQueryString()));
+            secondResultSet.addAll(getResultSet(con, plan.getThirdQueryString()));
+        }
+        return isMismatch(resultSet, secondResultSet);
+    }
+
+    private List<String> getResultSet(Connection con, String queryString) throws SQLException {
+        List<String> resultSet = new ArrayList<>();
+        try (ResultSet rs = new QueryAdapter(queryString, errors).executeAndGet(con)) {
+            if (rs == null) {
+                throw new IgnoreMeException();
+            }
+            while (rs.next()) {
+                resultSet.add(rs.getString(1));
+            }
+            rs.getStatement().close();
+        }
+        return resultSet;
+    }
+
+}
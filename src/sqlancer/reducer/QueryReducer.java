@@ -0,0 +1,118 @@
+package sqlancer.reducer;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Greedily reduces a query that exposes a bug while it is still represented as an AST. In each step, all one-step
+ * reductions of the current query (e.g., computed using {@link ExpressionReducer}, or by dropping joins and ORDER BY
+ * terms) are re-checked by the test oracle, and the first reduction that still exposes the bug is adopted. The
+ * candidates are checked in parallel, each on one of the given connections to the same database.
+ *
+ * @param <Q>
+ *            the representation of a query
+ */
+public class QueryReducer<Q> {
+
+    private final BlockingQueue<Connection> connections;
+    private final QueryCheck<Q> check;
+    private final ExecutorService executor;
+    private final AtomicLong nrChecks = new AtomicLong();
+
+    @FunctionalInterface
+    public interface QueryCheck<Q> {
+
+        /**
+         * Returns whether the query still exposes the bug. Queries that cause an error are considered uninteresting.
+         */
+        boolean isInteresting(Connection con, Q query) throws Exception;
+
+    }
+
+    public QueryReducer(List<Connection> connections, QueryCheck<Q> check) {
+        this.connections = new ArrayBlockingQueue<>(connections.size(), false, connections);
+        this.check = check;
+        this.executor = Executors.newFixedThreadPool(connections.size());
+    }
+
+    /**
+     * Reduces the query until none of its reductions exposes the bug any longer. The connections are not closed.
+     */
+    public Q reduce(Q query, Function<Q, List<Q>> reductions) {
+        try {
+            Q current = query;
+            while (true) {
+                List<Q> candidates = reductions.apply(current);
+                int interesting = findFirstInteresting(candidates);
+                if (interesting == -1) {
+                    return current;
+                }
+                current = candidates.get(interesting);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Closes the connections that were opened in addition to the test connection, which is the first connection.
+     */
+    public static void closeAdditionalConnections(List<Connection> connections) throws SQLException {
+        for (Connection c : connections.subList(1, connections.size())) {
+            c.close();
+        }
+    }
+
+    public long getNrChecks() {
+        return nrChecks.get();
+    }
+
+    private int findFirstInteresting(List<Q> candidates) {
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (Q candidate : candidates) {
+            results.add(executor.submit((Callable<Boolean>) () -> isInteresting(candidate)));
+        }
+        // we prefer the first interesting candidate to obtain the same result independently of the scheduling
+        int interesting = -1;
+        for (int i = 0; i < results.size(); i++) {
+            try {
+                if (interesting == -1 && results.get(i).get()) {
+                    interesting = i;
+                } else if (interesting != -1) {
+                    results.get(i).cancel(false);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(e);
+            } catch (ExecutionException e) {
+                throw new AssertionError(e.getCause());
+            }
+        }
+        return interesting;
+    }
+
+    private boolean isInteresting(Q candidate) throws InterruptedException {
+        Connection con = connections.take();
+        try {
+            nrChecks.incrementAndGet();
+            return check.isInteresting(con, candidate);
+        } catch (Exception | AssertionError e) {
+            // the reduction made the query invalid, or exposed a different bug
+            return false;
+        } finally {
+            connections.add(con);
+        }
+    }
+
+}
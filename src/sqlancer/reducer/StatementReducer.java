@@ -0,0 +1,212 @@
+package sqlancer.reducer;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import sqlancer.DatabaseProvider;
+import sqlancer.DatabaseProviderFactory;
+import sqlancer.GlobalState;
+import sqlancer.MainOptions;
+import sqlancer.Randomly;
+import sqlancer.coverage.QueryPlanCoverage;
+
+/**
+ * Reduces the statements of a {@link BugLog} using delta debugging. In each round, the candidate subsets are checked in
+ * parallel, each on a separate, freshly created database, and the test oracle's check is used to decide whether a
+ * candidate still exhibits the bug.
+ */
+public class StatementReducer {
+
+    private final DatabaseProviderFactory factory;
+    private final DatabaseProvider<?, ?> provider;
+    private final Object dbmsSpecificOptions;
+    private final MainOptions options;
+    private final InterestingnessTest test;
+    private final int nrSetupStatements;
+    private final BlockingQueue<String> databaseNames;
+    private final ExecutorService executor;
+    private final AtomicLong nrChecks = new AtomicLong();
+
+    public StatementReducer(DatabaseProviderFactory factory, Object dbmsSpecificOptions, MainOptions options,
+            String databaseName, InterestingnessTest test) throws SQLException {
+        this.factory = factory;
+        this.provider = factory.createProvider();
+        this.dbmsSpecificOptions = dbmsSpecificOptions;
+        this.options = options;
+        this.test = test;
+        int nrThreads = options.getNumberConcurrentThreads();
+        databaseNames = new ArrayBlockingQueue<>(nrThreads);
+        for (int i = 0; i < nrThreads; i++) {
+            databaseNames.add(databaseName + "r" + i);
+        }
+        // the statements that createDatabase() records at the start of the log must not be executed again
+        GlobalState<?> state = createGlobalState(databaseName + "r0");
+        try (Connection con = provider.createDatabase(state)) {
+            nrSetupStatements = state.getState().getStatements().size();
+        }
+        // the executor is created last, since it is not shut down if the constructor throws an exception
+        executor = Executors.newFixedThreadPool(nrThreads);
+    }
+
+    /**
+     * Reduces the bug log and writes the result next to it, with the suffix <code>-reduced</code>.
+     */
+    public static int reduce(DatabaseProviderFactory factory, Object dbmsSpecificOptions, MainOptions options) {
+        File file = new File(options.getReduceFile());
+        String databaseName = file.getName().replaceFirst("\\.log$", "");
+        StatementReducer reducer = null;
+        try {
+            BugLog log = new BugLog(file);
+            reducer = new StatementReducer(factory, dbmsSpecificOptions, options, databaseName, log.getTest());
+            List<String> statements = log.getStatements();
+            List<String> remaining = statements.subList(Math.min(reducer.nrSetupStatements, statements.size()),
+                    statements.size());
+            if (reducer.findFirstInteresting(Arrays.asList(remaining)) == -1) {
+                System.err.println("The bug could not be reproduced with the statements in " + file);
+                return options.getErrorExitCode();
+            }
+            List<String> reduced = reducer.reduce(remaining);
+            File reducedFile = new File(file.getParentFile(), databaseName + "-reduced.log");
+            try (FileWriter writer = new FileWriter(reducedFile)) {
+                writer.write(String.format("-- Reduced from %d to %d statements with %d checks\n", remaining.size(),
+                        reduced.size(), reducer.nrChecks.get()));
+                for (String s : reduced) {
+                    writer.write(s + ";\n");
+                }
+                for (String s : log.getTest().getQueries()) {
+                    writer.write(s + ";\n");
+                }
+            }
+            System.out.println(
+                    String.format("Reduced %d to %d statements: %s", remaining.size(), reduced.size(), reducedFile));
+            return 0;
+        } catch (IOException | SQLException e) {
+            e.printStackTrace();
+            return options.getErrorExitCode();
+        } finally {
+            if (reducer != null) {
+                reducer.executor.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * Computes a 1-minimal subset of the statements for which the bug still reproduces (ddmin).
+     */
+    public List<String> reduce(List<String> statements) {
+        List<String> current = statements;
+        int granularity = 2;
+        while (current.size() >= 2) {
+            List<List<String>> chunks = split(current, granularity);
+            List<List<String>> candidates = new ArrayList<>(chunks);
+            if (granularity != 2) {
+                // for two chunks, the complements are the same as the chunks
+                for (int i = 0; i < chunks.size(); i++) {
+                    candidates.add(complement(chunks, i));
+                }
+            }
+            int interesting = findFirstInteresting(candidates);
+            if (interesting == -1) {
+                if (granularity >= current.size()) {
+                    break;
+                }
+                granularity = Math.min(granularity * 2, current.size());
+            } else {
+                current = candidates.get(interesting);
+                granularity = interesting < chunks.size() ? 2 : Math.max(granularity - 1, 2);
+            }
+        }
+        return current;
+    }
+
+    private int findFirstInteresting(List<List<String>> candidates) {
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (List<String> candidate : candidates) {
+            results.add(executor.submit((Callable<Boolean>) () -> isInteresting(candidate)));
+        }
+        // we prefer the first interesting candidate to obtain the same result independently of the scheduling
+        int interesting = -1;
+        for (int i = 0; i < results.size(); i++) {
+            try {
+                if (interesting == -1 && results.get(i).get()) {
+                    interesting = i;
+                } else if (interesting != -1) {
+                    results.get(i).cancel(true);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(e);
+            } catch (ExecutionException e) {
+                throw new AssertionError(e.getCause());
+            }
+        }
+        return interesting;
+    }
+
+    private boolean isInteresting(List<String> statements) throws InterruptedException, SQLException {
+        // create a new instance of the provider in case it has a global state
+        DatabaseProvider<?, ?> freshProvider = factory.createProvider();
+        String databaseName = databaseNames.take();
+        try (Connection con = freshProvider.createDatabase(createGlobalState(databaseName))) {
+            for (String statement : statements) {
+                try (Statement s = con.createStatement()) {
+                    s.execute(statement);
+                } catch (SQLException e) {
+                    // statements that failed during testing are typically also part of the log
+                }
+            }
+            nrChecks.incrementAndGet();
+            return test.isInteresting(con);
+        } finally {
+            databaseNames.add(databaseName);
+        }
+    }
+
+    private GlobalState<?> createGlobalState(String databaseName) {
+        GlobalState<?> state = provider.generateGlobalState();
+        state.setState(provider.getStateToReproduce(databaseName));
+        state.setRandomly(new Randomly());
+        state.setDatabaseName(databaseName);
+        state.setMainOptions(options);
+        state.setDmbsSpecificOptions(dbmsSpecificOptions);
+        state.setPlanCoverage(new QueryPlanCoverage(null, 0));
+        return state;
+    }
+
+    private static List<List<String>> split(List<String> statements, int nrChunks) {
+        List<List<String>> chunks = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i < nrChunks; i++) {
+            int end = start + (statements.size() - start) / (nrChunks - i);
+            chunks.add(statements.subList(start, end));
+            start = end;
+        }
+        return chunks;
+    }
+
+    private static List<String> complement(List<List<String>> chunks, int excluded) {
+        List<String> complement = new ArrayList<>();
+        for (int i = 0; i < chunks.size(); i++) {
+            if (i != excluded) {
+                complement.addAll(chunks.get(i));
+            }
+        }
+        return complement;
+    }
+
+}
@@ -0,0 +1,74 @@
+package sqlancer.replay;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Records the random decisions and statement outcomes of a worker thread, so that they can be reproduced using a
+ * {@link Replayer}.
+ */
+public class Recorder implements StatementOutcomeListener, Closeable {
+
+    private final DataOutputStream out;
+
+    public Recorder(File file) throws IOException {
+        out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+        out.writeInt(Recording.MAGIC);
+        out.writeByte(Recording.VERSION);
+    }
+
+    /**
+     * Creates a source of randomness whose decisions are recorded, which can be installed using
+     * {@link sqlancer.Randomly#setThreadRandom(Random)}.
+     */
+    public Random createRandom() {
+        return new RecordingRandom(ThreadLocalRandom.current().nextLong());
+    }
+
+    @Override
+    public void statementExecuted(boolean success) {
+        write(success ? Recording.SUCCESS : Recording.FAILURE);
+    }
+
+    private void write(byte tag) {
+        try {
+            out.writeByte(tag);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private class RecordingRandom extends Random {
+
+        private static final long serialVersionUID = 1L;
+
+        RecordingRandom(long seed) {
+            super(seed);
+        }
+
+        @Override
+        protected int next(int bits) {
+            int value = super.next(bits);
+            try {
+                out.writeByte(Recording.RANDOM);
+                out.writeInt(value);
+            } catch (IOException e) {
+                throw new AssertionError(e);
+            }
+            return value;
+        }
+
+    }
+
+}
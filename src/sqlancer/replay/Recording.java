@@ -0,0 +1,21 @@
+package sqlancer.replay;
+
+/**
+ * Describes the binary format of recordings. A recording starts with {@link #MAGIC} and {@link #VERSION}, followed by a
+ * sequence of tagged records in the order in which they occurred: each random decision is stored as {@link #RANDOM}
+ * followed by the 32-bit value returned by {@link java.util.Random#next(int)}, and each statement outcome is stored as
+ * {@link #SUCCESS} or {@link #FAILURE}.
+ */
+final class Recording {
+
+    static final int MAGIC = 0x53514c52; // "SQLR"
+    static final byte VERSION = 1;
+
+    static final byte RANDOM = 0;
+    static final byte SUCCESS = 1;
+    static final byte FAILURE = 2;
+
+    private Recording() {
+    }
+
+}
@@ -0,0 +1,15 @@
+package sqlancer.replay;
+
+/**
+ * Indicates that a replay made a random decision or observed a statement outcome that does not match the recording, for
+ * example, because the DBMS behaves non-deterministically.
+ */
+public class ReplayDivergenceException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ReplayDivergenceException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,94 @@
+package sqlancer.replay;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Random;
+
+/**
+ * Reproduces the random decisions of a recording created by {@link Recorder}, and checks that the statements executed
+ * during the replay have the same outcomes as during the recording. The recording is read into memory, so that the
+ * replay is not slowed down by I/O.
+ */
+public class Replayer implements StatementOutcomeListener {
+
+    private final DataInputStream in;
+    private long nrStatements;
+    private long nrDecisions;
+
+    public Replayer(File file) throws IOException {
+        in = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(file.toPath())));
+        if (in.readInt() != Recording.MAGIC || in.readByte() != Recording.VERSION) {
+            throw new IOException(file + " is not a recording");
+        }
+    }
+
+    /**
+     * Creates a source of randomness that returns the recorded decisions, which can be installed using
+     * {@link sqlancer.Randomly#setThreadRandom(Random)}.
+     */
+    public Random createRandom() {
+        return new ReplayingRandom();
+    }
+
+    @Override
+    public void statementExecuted(boolean success) {
+        byte expected = success ? Recording.SUCCESS : Recording.FAILURE;
+        if (readTag() != expected) {
+            throw new ReplayDivergenceException(String.format("statement %d %s, but did not during the recording",
+                    nrStatements, success ? "succeeded" : "failed"));
+        }
+        nrStatements++;
+    }
+
+    public boolean isFinished() {
+        try {
+            return in.available() == 0;
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    public long getNrStatements() {
+        return nrStatements;
+    }
+
+    public long getNrDecisions() {
+        return nrDecisions;
+    }
+
+    private byte readTag() {
+        try {
+            return in.readByte();
+        } catch (EOFException e) {
+            throw new ReplayDivergenceException(String.format(
+                    "the recording ended after %d statements and %d random decisions", nrStatements, nrDecisions));
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private class ReplayingRandom extends Random {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected int next(int bits) {
+            if (readTag() != Recording.RANDOM) {
+                throw new ReplayDivergenceException(String.format(
+                        "random decision %d was made before the outcome of statement %d", nrDecisions, nrStatements));
+            }
+            nrDecisions++;
+            try {
+                return in.readInt();
+            } catch (IOException e) {
+                throw new AssertionError(e);
+            }
+        }
+
+    }
+
+}
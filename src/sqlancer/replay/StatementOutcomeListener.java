@@ -0,0 +1,11 @@
+package sqlancer.replay;
+
+/**
+ * Is notified about the outcome of each statement that is executed through the {@link sqlancer.Main.QueryManager}.
+ */
+@FunctionalInterface
+public interface StatementOutcomeListener {
+
+    void statementExecuted(boolean success);
+
+}
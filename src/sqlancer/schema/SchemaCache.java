@@ -0,0 +1,41 @@
+package sqlancer.schema;
+
+import java.sql.SQLException;
+
+import sqlancer.Main.QueryManager;
+
+/**
+ * Caches the schema of the database under test, so that it is read again only after a statement that could have changed
+ * it was executed. The schema version that is used as the cache key is maintained by the {@link QueryManager}, so
+ * checking whether the cached schema is still valid does not require a round trip to the DBMS.
+ *
+ * @param <S>
+ *            the type of the schema
+ */
+public class SchemaCache<S> {
+
+    private final SchemaLoader<S> loader;
+    private S schema;
+    private long schemaVersion;
+
+    @FunctionalInterface
+    public interface SchemaLoader<S> {
+
+        S load() throws SQLException;
+
+    }
+
+    public SchemaCache(SchemaLoader<S> loader) {
+        this.loader = loader;
+    }
+
+    public S get(QueryManager manager) throws SQLException {
+        long currentVersion = manager.getSchemaVersion();
+        if (schema == null || currentVersion != schemaVersion) {
+            schema = loader.load();
+            schemaVersion = currentVersion;
+        }
+        return schema;
+    }
+
+}
@@ -0,0 +1,88 @@
+package sqlancer.sqlite3;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import sqlancer.IgnoreMeException;
+import sqlancer.PartitionedQueryPlan;
+import sqlancer.Randomly;
+import sqlancer.corpus.CorpusGenerator;
+import sqlancer.corpus.CorpusWriter;
+import sqlancer.sqlite3.SQLite3Provider.Action;
+import sqlancer.sqlite3.SQLite3Provider.SQLite3GlobalState;
+import sqlancer.sqlite3.gen.SQLite3Common;
+import sqlancer.sqlite3.gen.ddl.SQLite3TableGenerator;
+import sqlancer.sqlite3.oracle.tlp.SQLite3TLPWhereOracle;
+import sqlancer.sqlite3.schema.SQLite3Schema;
+import sqlancer.sqlite3.schema.SQLite3Schema.SQLite3Table;
+
+/**
+ * Generates SQLite databases without a connection. The schema consists of the tables that the table generator reports,
+ * followed by statements that do not change the schema, and the queries of the TLP WHERE oracle, whose generation is
+ * separate from their execution (see {@link sqlancer.PlannedTestOracle}).
+ */
+public class SQLite3CorpusGenerator implements CorpusGenerator<SQLite3GlobalState> {
+
+    @Override
+    public void generate(SQLite3GlobalState globalState, CorpusWriter writer) {
+        Randomly r = new Randomly(SQLite3SpecialStringGenerator::generate);
+        globalState.setRandomly(r);
+        globalState.setSqliteOptions(globalState.getDmbsSpecificOptions());
+        List<SQLite3Table> tables = new ArrayList<>();
+        globalState.setSchema(new SQLite3Schema(new ArrayList<>(tables), new ArrayList<>()));
+        int nrTablesToCreate = 1;
+        if (Randomly.getBoolean()) {
+            nrTablesToCreate++;
+        }
+        while (Randomly.getBooleanWithSmallProbability()) {
+            nrTablesToCreate++;
+        }
+        for (int i = 0; i < nrTablesToCreate; i++) {
+            SQLite3TableGenerator tableGenerator = new SQLite3TableGenerator(SQLite3Common.createTableName(i),
+                    globalState);
+            tableGenerator.start();
+            writer.write(tableGenerator.getQuery());
+            tables.add(tableGenerator.getTable());
+            globalState.setSchema(new SQLite3Schema(new ArrayList<>(tables), new ArrayList<>()));
+        }
+
+        List<Action> actions = new ArrayList<>();
+        addActions(actions, Action.INSERT, r.getInteger(0, globalState.getOptions().getMaxNumberInserts()));
+        addActions(actions, Action.UPDATE, r.getInteger(0, 30));
+        addActions(actions, Action.INDEX, r.getInteger(0, 5));
+        addActions(actions, Action.PRAGMA, r.getInteger(0, 20));
+        addActions(actions, Action.ANALYZE, r.getInteger(1, 10));
+        addActions(actions, Action.REINDEX, r.getInteger(1, 10));
+        while (!actions.isEmpty()) {
+            Action action = actions.remove(r.getInteger(0, actions.size()));
+            try {
+                writer.write(action.getQuery(globalState));
+            } catch (IgnoreMeException e) {
+
+            } catch (SQLException e) {
+                throw new AssertionError(e);
+            }
+        }
+
+        SQLite3TLPWhereOracle oracle = new SQLite3TLPWhereOracle(globalState);
+        for (int i = 0; i < globalState.getOptions().getNrQueries(); i++) {
+            try {
+                PartitionedQueryPlan plan = oracle.plan();
+                writer.write(plan.getOriginalQueryString());
+                writer.write(plan.getFirstQueryString());
+                writer.write(plan.getSecondQueryString());
+                writer.write(plan.getThirdQueryString());
+            } catch (IgnoreMeException e) {
+
+            }
+        }
+    }
+
+    private static void addActions(List<Action> actions, Action action, int nr) {
+        for (int i = 0; i < nr; i++) {
+            actions.add(action);
+        }
+    }
+
+}
@@ -2,15 +2,13 @@ package sqlancer.sqlite3;
 
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.List;
-import java.util.Set;
 
 public final class SQLite3Errors {
 
     private SQLite3Errors() {
     }
 
-    public static void addDeleteErrors(List<String> errors) {
+    public static void addDeleteErrors(Collection<String> errors) {
         // DELETE trigger for a view/table to which colomns were added or deleted
         errors.add("columns but");
         // trigger with on conflict clause
@@ -75,18 +73,18 @@ public final class SQLite3Errors {
         errors.add("unterminated string");
     }
 
-    public static void addTableManipulationErrors(List<String> errors) {
+    public static void addTableManipulationErrors(Collection<String> errors) {
         errors.add("unsupported frame specification");
         errors.add("non-deterministic functions prohibited in CHECK constraints");
         errors.addAll(Arrays.asList("subqueries prohibited in CHECK constraints",
                 "generated columns cannot be part of the PRIMARY KEY", "must have at least one non-generated column"));
     }
 
-    public static void addQueryErrors(Set<String> errors) {
+    public static void addQueryErrors(Collection<String> errors) {
         errors.add("ON clause references tables to its right");
     }
 
-    public static void addInsertNowErrors(List<String> errors) {
+    public static void addInsertNowErrors(Collection<String> errors) {
         errors.add("non-deterministic use of strftime()");
         errors.add("non-deterministic use of time()");
         errors.add("non-deterministic use of datetime()");
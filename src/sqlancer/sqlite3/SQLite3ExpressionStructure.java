@@ -0,0 +1,107 @@
+package sqlancer.sqlite3;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import sqlancer.reducer.ExpressionReducer;
+import sqlancer.reducer.ExpressionReducer.ExpressionStructure;
+import sqlancer.sqlite3.ast.SQLite3Constant;
+import sqlancer.sqlite3.ast.SQLite3Expression;
+import sqlancer.sqlite3.ast.SQLite3Expression.BetweenOperation;
+import sqlancer.sqlite3.ast.SQLite3Expression.BinaryComparisonOperation;
+import sqlancer.sqlite3.ast.SQLite3Expression.Cast;
+import sqlancer.sqlite3.ast.SQLite3Expression.CollateOperation;
+import sqlancer.sqlite3.ast.SQLite3Expression.Function;
+import sqlancer.sqlite3.ast.SQLite3Expression.InOperation;
+import sqlancer.sqlite3.ast.SQLite3Expression.MatchOperation;
+import sqlancer.sqlite3.ast.SQLite3Expression.SQLite3PostfixUnaryOperation;
+import sqlancer.sqlite3.ast.SQLite3Expression.Sqlite3BinaryOperation;
+import sqlancer.sqlite3.ast.SQLite3Function;
+import sqlancer.sqlite3.ast.SQLite3UnaryOperation;
+
+/**
+ * Exposes the subexpressions of the operators and functions of {@link SQLite3Expression}, so that they can be reduced
+ * by {@link ExpressionReducer}. Other expressions, such as subqueries, CASE, and window functions, are treated as
+ * leaves.
+ */
+public final class SQLite3ExpressionStructure implements ExpressionStructure<SQLite3Expression> {
+
+    @Override
+    public List<SQLite3Expression> getChildren(SQLite3Expression expr) {
+        if (expr instanceof Sqlite3BinaryOperation) {
+            Sqlite3BinaryOperation op = (Sqlite3BinaryOperation) expr;
+            return Arrays.asList(op.getLeft(), op.getRight());
+        } else if (expr instanceof BinaryComparisonOperation) {
+            BinaryComparisonOperation op = (BinaryComparisonOperation) expr;
+            return Arrays.asList(op.getLeft(), op.getRight());
+        } else if (expr instanceof SQLite3UnaryOperation) {
+            return Arrays.asList(((SQLite3UnaryOperation) expr).getExpression());
+        } else if (expr instanceof SQLite3PostfixUnaryOperation) {
+            return Arrays.asList(((SQLite3PostfixUnaryOperation) expr).getExpression());
+        } else if (expr instanceof Cast) {
+            return Arrays.asList(((Cast) expr).getExpression());
+        } else if (expr instanceof CollateOperation) {
+            return Arrays.asList(((CollateOperation) expr).getExpression());
+        } else if (expr instanceof BetweenOperation) {
+            BetweenOperation op = (BetweenOperation) expr;
+            return Arrays.asList(op.getExpression(), op.getLeft(), op.getRight());
+        } else if (expr instanceof MatchOperation) {
+            MatchOperation op = (MatchOperation) expr;
+            return Arrays.asList(op.getLeft(), op.getRight());
+        } else if (expr instanceof Function) {
+            return Arrays.asList(((Function) expr).getArguments());
+        } else if (expr instanceof SQLite3Function) {
+            return Arrays.asList(((SQLite3Function) expr).getArgs());
+        } else if (expr instanceof InOperation && ((InOperation) expr).getRightExpressionList() != null) {
+            InOperation op = (InOperation) expr;
+            List<SQLite3Expression> children = new ArrayList<>();
+            children.add(op.getLeft());
+            children.addAll(op.getRightExpressionList());
+            return children;
+        } else {
+            return Collections.emptyList();
+        }
+    }
+
+    @Override
+    public SQLite3Expression withChildren(SQLite3Expression expr, List<SQLite3Expression> children) {
+        if (expr instanceof Sqlite3BinaryOperation) {
+            return new Sqlite3BinaryOperation(children.get(0), children.get(1),
+                    ((Sqlite3BinaryOperation) expr).getOperator());
+        } else if (expr instanceof BinaryComparisonOperation) {
+            return new BinaryComparisonOperation(children.get(0), children.get(1),
+                    ((BinaryComparisonOperation) expr).getOperator());
+        } else if (expr instanceof SQLite3UnaryOperation) {
+            return new SQLite3UnaryOperation(((SQLite3UnaryOperation) expr).getOperation(), children.get(0));
+        } else if (expr instanceof SQLite3PostfixUnaryOperation) {
+            return new SQLite3PostfixUnaryOperation(((SQLite3PostfixUnaryOperation) expr).getOperation(),
+                    children.get(0));
+        } else if (expr instanceof Cast) {
+            return new Cast(((Cast) expr).getType(), children.get(0));
+        } else if (expr instanceof CollateOperation) {
+            return new CollateOperation(children.get(0), ((CollateOperation) expr).getCollate());
+        } else if (expr instanceof BetweenOperation) {
+            return new BetweenOperation(children.get(0), ((BetweenOperation) expr).isNegated(), children.get(1),
+                    children.get(2));
+        } else if (expr instanceof MatchOperation) {
+            return new MatchOperation(children.get(0), children.get(1));
+        } else if (expr instanceof Function) {
+            return new Function(((Function) expr).getName(), children.toArray(new SQLite3Expression[0]));
+        } else if (expr instanceof SQLite3Function) {
+            return new SQLite3Function(((SQLite3Function) expr).getFunc(), children.toArray(new SQLite3Expression[0]));
+        } else if (expr instanceof InOperation) {
+            return new InOperation(children.get(0), children.subList(1, children.size()));
+        } else {
+            throw new AssertionError(expr);
+        }
+    }
+
+    public static ExpressionReducer<SQLite3Expression> createReducer() {
+        return new ExpressionReducer<>(new SQLite3ExpressionStructure(),
+                Arrays.asList(SQLite3Constant.createNullConstant(), SQLite3Constant.createIntConstant(0),
+                        SQLite3Constant.createIntConstant(1)));
+    }
+
+}
@@ -77,6 +77,14 @@ public class SQLite3Options {
             "--delete-existing-databases" }, description = "Delete a database file if it already exists", arity = 1)
     public boolean deleteIfExists = true;
 
+    @Parameter(names = {
+            "--storage-mode" }, description = "Where the databases are stored: DISK stores them in ./databases, TMPFS stores them in the --tmpfs-directory, and MEMORY stores them in shared-cache in-memory databases. When a bug is found, TMPFS and MEMORY databases are backed up to ./databases")
+    public SQLite3StorageMode storageMode = SQLite3StorageMode.DISK;
+
+    @Parameter(names = {
+            "--tmpfs-directory" }, description = "The directory in which the databases are stored for --storage-mode TMPFS")
+    public String tmpfsDirectory = "/dev/shm";
+
     @Parameter(names = {
             "--generate-new-database" }, description = "Specifies whether new databases should be generated", arity = 1)
     public boolean generateDatabase = true;
@@ -97,6 +105,10 @@ public class SQLite3Options {
             "--exit-after-first-database" }, description = "Specifies whether to stop SQLancer after creating and executing the test oracle on the first database", arity = 1)
     public boolean exitAfterFirstDatabase = false;
 
+    public enum SQLite3StorageMode {
+        DISK, TMPFS, MEMORY;
+    }
+
     public enum SQLite3Oracle {
         PQS {
             @Override
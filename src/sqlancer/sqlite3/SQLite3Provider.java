@@ -12,12 +12,16 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
+import sqlancer.ColumnValueSampler;
 import sqlancer.DatabaseProvider;
+import sqlancer.DatabaseProviderFactory;
 import sqlancer.GlobalState;
 import sqlancer.IgnoreMeException;
 import sqlancer.Main.QueryManager;
 import sqlancer.Main.StateLogger;
 import sqlancer.MainOptions;
+import sqlancer.OracleStatistics;
+import sqlancer.PregeneratingTestOracle;
 import sqlancer.Query;
 import sqlancer.QueryAdapter;
 import sqlancer.QueryProvider;
@@ -25,7 +29,12 @@ import sqlancer.Randomly;
 import sqlancer.StateToReproduce;
 import sqlancer.StateToReproduce.SQLite3StateToReproduce;
 import sqlancer.TestOracle;
+import sqlancer.corpus.CorpusGenerator;
+import sqlancer.coverage.QueryPlanFingerprinter;
+import sqlancer.events.OracleCheckEvent;
+import sqlancer.sqlite3.SQLite3Options.SQLite3StorageMode;
 import sqlancer.sqlite3.SQLite3Provider.SQLite3GlobalState;
+import sqlancer.sqlite3.ast.SQLite3Constant;
 import sqlancer.sqlite3.gen.SQLite3AnalyzeGenerator;
 import sqlancer.sqlite3.gen.SQLite3Common;
 import sqlancer.sqlite3.gen.SQLite3CreateVirtualRtreeTabelGenerator;
@@ -50,6 +59,7 @@ import sqlancer.sqlite3.schema.SQLite3Schema;
 import sqlancer.sqlite3.schema.SQLite3Schema.SQLite3Column;
 import sqlancer.sqlite3.schema.SQLite3Schema.SQLite3Table;
 import sqlancer.sqlite3.schema.SQLite3Schema.SQLite3Table.TableKind;
+import sqlancer.stress.TransactionStressTester;
 
 public class SQLite3Provider implements DatabaseProvider<SQLite3GlobalState, SQLite3Options> {
 
@@ -160,6 +170,8 @@ public class SQLite3Provider implements DatabaseProvider<SQLite3GlobalState, SQL
 
         private SQLite3Schema schema;
         private SQLite3Options sqliteOptions;
+        private final ColumnValueSampler<SQLite3Constant> columnValues = new ColumnValueSampler<>();
+        private boolean deterministicExpressionsOnly;
 
         public SQLite3Schema getSchema() {
             return schema;
@@ -177,6 +189,22 @@ public class SQLite3Provider implements DatabaseProvider<SQLite3GlobalState, SQL
             return sqliteOptions;
         }
 
+        public ColumnValueSampler<SQLite3Constant> getColumnValues() {
+            return columnValues;
+        }
+
+        /**
+         * Returns whether all expression generators only generate functions whose results do not depend on the
+         * connection or the time of their evaluation.
+         */
+        public boolean generatesDeterministicExpressionsOnly() {
+            return deterministicExpressionsOnly;
+        }
+
+        public void setDeterministicExpressionsOnly(boolean deterministicExpressionsOnly) {
+            this.deterministicExpressionsOnly = deterministicExpressionsOnly;
+        }
+
     }
 
     private enum TableType {
@@ -185,6 +213,20 @@ public class SQLite3Provider implements DatabaseProvider<SQLite3GlobalState, SQL
 
     @Override
     public void generateAndTestDatabase(SQLite3GlobalState globalState) throws SQLException {
+        try {
+            generateAndTest(globalState);
+        } catch (IgnoreMeException e) {
+            throw e;
+        } catch (SQLException | RuntimeException | Error e) {
+            // in-memory databases are deleted when the connection is closed, which happens before the bug is logged
+            backupDatabase(globalState);
+            throw e;
+        } finally {
+            deleteTmpfsDatabase(globalState);
+        }
+    }
+
+    private void generateAndTest(SQLite3GlobalState globalState) throws SQLException {
         this.globalState = globalState;
         SQLite3Options sqliteOptions = globalState.getDmbsSpecificOptions();
         Connection con = globalState.getConnection();
@@ -330,22 +372,17 @@ public class SQLite3Provider implements DatabaseProvider<SQLite3GlobalState, SQL
         } else {
             globalState.setSchema(SQLite3Schema.fromConnection(con));
         }
-        TestOracle oracle = globalState.getSqliteOptions().oracle.create(globalState);
-        if (oracle.onlyWorksForNonEmptyTables()) {
-            for (SQLite3Table table : globalState.getSchema().getDatabaseTables()) {
-                int nrRows = SQLite3Schema.getNrRows(con, table.getName());
-                if (nrRows == 0) {
-                    throw new IgnoreMeException();
-                }
-            }
+        if ((globalState.getVacuousCheckController().isEnabled() || options.getSampledConstantProbability() > 0)
+                && globalState.getColumnValues().isStale(manager.getDataVersion())) {
+            globalState.getColumnValues().startSampling(manager.getDataVersion());
+            globalState.getSchema().sampleColumnValues(con, globalState.getColumnValues());
         }
-        for (int i = 0; i < options.getNrQueries(); i++) {
-            try {
-                oracle.check();
-                manager.incrementSelectQueryCount();
-            } catch (IgnoreMeException e) {
-
+        if (options.getNrStressConnections() > 0) {
+            try (SQLite3TransactionWorkload workload = new SQLite3TransactionWorkload(globalState)) {
+                new TransactionStressTester(globalState, workload).run();
             }
+        } else {
+            checkOracle(globalState);
         }
         try {
             if (options.logEachSelect()) {
@@ -361,6 +398,31 @@ public class SQLite3Provider implements DatabaseProvider<SQLite3GlobalState, SQL
         }
     }
 
+    private void checkOracle(SQLite3GlobalState globalState) throws SQLException {
+        MainOptions options = globalState.getOptions();
+        TestOracle oracle = globalState.getSqliteOptions().oracle.create(globalState);
+        if (oracle.onlyWorksForNonEmptyTables()) {
+            for (SQLite3Table table : globalState.getSchema().getDatabaseTables()) {
+                int nrRows = SQLite3Schema.getNrRows(globalState.getConnection(), table.getName());
+                if (nrRows == 0) {
+                    throw new IgnoreMeException();
+                }
+            }
+        }
+        try (PregeneratingTestOracle<?> pregeneratingOracle = PregeneratingTestOracle.wrap(oracle, options)) {
+            TestOracle checkedOracle = pregeneratingOracle == null ? oracle : pregeneratingOracle;
+            for (int i = 0; i < options.getNrQueries(); i++) {
+                try {
+                    OracleCheckEvent.check(checkedOracle);
+                    globalState.getManager().incrementSelectQueryCount();
+                    globalState.getVacuousCheckController().recordCheck(OracleStatistics.isVacuousCheck());
+                } catch (IgnoreMeException e) {
+
+                }
+            }
+        }
+    }
+
     private void executeStatement(SQLite3GlobalState globalState, QueryManager manager, Query tableQuery)
             throws SQLException {
         manager.execute(tableQuery);
@@ -437,18 +499,97 @@ public class SQLite3Provider implements DatabaseProvider<SQLite3GlobalState, SQL
 
     @Override
     public Connection createDatabase(GlobalState<?> globalState) throws SQLException {
-        File dir = new File("." + File.separator + "databases");
-        if (!dir.exists()) {
-            dir.mkdir();
+        SQLite3Options sqliteOptions = ((SQLite3GlobalState) globalState).getDmbsSpecificOptions();
+        if (sqliteOptions.storageMode == SQLite3StorageMode.MEMORY) {
+            // the database is deleted when its last connection is closed; other connections with the same URL share it
+            return DriverManager
+                    .getConnection("jdbc:sqlite:file:" + globalState.getDatabaseName() + "?mode=memory&cache=shared");
         }
-        File dataBase = new File(dir, globalState.getDatabaseName() + ".db");
-        if (dataBase.exists() && ((SQLite3GlobalState) globalState).getDmbsSpecificOptions().deleteIfExists) {
+        File dataBase = getDatabaseFile((SQLite3GlobalState) globalState);
+        if (dataBase.exists() && sqliteOptions.deleteIfExists) {
             dataBase.delete();
         }
         String url = "jdbc:sqlite:" + dataBase.getAbsolutePath();
         return DriverManager.getConnection(url);
     }
 
+    private static File getDatabaseFile(SQLite3GlobalState globalState) {
+        File dir;
+        if (globalState.getDmbsSpecificOptions().storageMode == SQLite3StorageMode.TMPFS) {
+            dir = new File(globalState.getDmbsSpecificOptions().tmpfsDirectory);
+        } else {
+            dir = getDatabaseDirectory();
+        }
+        return new File(dir, globalState.getDatabaseName() + ".db");
+    }
+
+    /**
+     * Deletes the files of a database in the --tmpfs-directory, so that they do not use up the memory. The connection
+     * can still use the files until it is closed.
+     */
+    private static void deleteTmpfsDatabase(SQLite3GlobalState globalState) {
+        if (globalState.getDmbsSpecificOptions().storageMode != SQLite3StorageMode.TMPFS) {
+            return;
+        }
+        File dataBase = getDatabaseFile(globalState);
+        for (String suffix : Arrays.asList("", "-journal", "-wal", "-shm")) {
+            new File(dataBase.getPath() + suffix).delete();
+        }
+    }
+
+    /**
+     * Quotes the path of the file for the backup and restore commands of the SQLite JDBC driver, which accept a path in
+     * single or double quotes, but do not support escaping the quotes.
+     */
+    static String quotePath(File file) {
+        String path = file.getAbsolutePath();
+        if (!path.contains("\"")) {
+            return "\"" + path + "\"";
+        } else if (!path.contains("'")) {
+            return "'" + path + "'";
+        } else {
+            throw new IllegalArgumentException("the path contains both single and double quotes: " + path);
+        }
+    }
+
+    private static File getDatabaseDirectory() {
+        File dir = new File("." + File.separator + "databases");
+        if (!dir.exists()) {
+            dir.mkdir();
+        }
+        return dir;
+    }
+
+    /**
+     * Copies a database that is not stored in ./databases there using SQLite's backup API, so that it is still
+     * available after a bug was found.
+     */
+    private static void backupDatabase(SQLite3GlobalState globalState) {
+        if (globalState.getDmbsSpecificOptions().storageMode == SQLite3StorageMode.DISK) {
+            return;
+        }
+        File backup = new File(getDatabaseDirectory(), globalState.getDatabaseName() + ".db");
+        try (Statement s = globalState.getConnection().createStatement()) {
+            s.executeUpdate("backup to " + quotePath(backup));
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    public static final class Factory implements DatabaseProviderFactory {
+
+        @Override
+        public String getDBMSName() {
+            return "sqlite3";
+        }
+
+        @Override
+        public SQLite3Provider createProvider() {
+            return new SQLite3Provider();
+        }
+
+    }
+
     @Override
     public String getDBMSName() {
         return "sqlite3";
@@ -478,4 +619,19 @@ public class SQLite3Provider implements DatabaseProvider<SQLite3GlobalState, SQL
         return new SQLite3Options();
     }
 
+    @Override
+    public QueryPlanFingerprinter getQueryPlanFingerprinter() {
+        return new SQLite3QueryPlanFingerprinter();
+    }
+
+    @Override
+    public CorpusGenerator<SQLite3GlobalState> getCorpusGenerator() {
+        return new SQLite3CorpusGenerator();
+    }
+
+    @Override
+    public boolean supportsStressMode() {
+        return true;
+    }
+
 }
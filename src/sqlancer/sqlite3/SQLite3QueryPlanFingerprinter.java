@@ -0,0 +1,32 @@
+package sqlancer.sqlite3;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import sqlancer.coverage.QueryPlanFingerprinter;
+
+public class SQLite3QueryPlanFingerprinter implements QueryPlanFingerprinter {
+
+    @Override
+    public List<String> getOperators(Connection con, String query) throws SQLException {
+        List<String> operators = new ArrayList<>();
+        try (Statement s = con.createStatement()) {
+            try (ResultSet rs = s.executeQuery("EXPLAIN QUERY PLAN " + query)) {
+                while (rs.next()) {
+                    // for example, "SEARCH TABLE t0 USING INDEX i0 (c0>?)" becomes "SEARCH TABLE USING INDEX"
+                    String detail = rs.getString("detail");
+                    operators.add(Stream.of(detail.split("\\s+")).filter(t -> t.matches("[A-Z][A-Z-]*"))
+                            .collect(Collectors.joining(" ")));
+                }
+            }
+        }
+        return operators;
+    }
+
+}
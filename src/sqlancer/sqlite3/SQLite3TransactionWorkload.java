@@ -0,0 +1,142 @@
+package sqlancer.sqlite3;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import sqlancer.Query;
+import sqlancer.QueryAdapter;
+import sqlancer.Randomly;
+import sqlancer.sqlite3.SQLite3Provider.Action;
+import sqlancer.sqlite3.SQLite3Provider.SQLite3GlobalState;
+import sqlancer.sqlite3.gen.dml.SQLite3DeleteGenerator;
+import sqlancer.sqlite3.gen.dml.SQLite3InsertGenerator;
+import sqlancer.sqlite3.gen.dml.SQLite3UpdateGenerator;
+import sqlancer.sqlite3.schema.SQLite3Schema.SQLite3Table;
+import sqlancer.stress.TransactionWorkload;
+
+/**
+ * Executes INSERT, UPDATE and DELETE statements on the tables of the main schema in the stress mode. Temporary tables
+ * and triggers, as well as the PRAGMAs, belong to the connection that generated the database, and are therefore not
+ * visible to the other connections. The database is copied for the replay using SQLite's backup API.
+ */
+public class SQLite3TransactionWorkload implements TransactionWorkload, AutoCloseable {
+
+    private static final Predicate<SQLite3Table> SHARED_TABLE = t -> !t.isView() && !t.isReadOnly() && !t.isTemp()
+            && !t.isSystemTable();
+
+    private final SQLite3GlobalState globalState;
+    private final String url;
+    private final File backup;
+    private final File replayDatabase;
+    private boolean savedStateUsesLargestRowid;
+
+    public SQLite3TransactionWorkload(SQLite3GlobalState globalState) throws SQLException {
+        this.globalState = globalState;
+        this.url = globalState.getConnection().getMetaData().getURL();
+        // a connection in the EXCLUSIVE locking mode keeps its locks, which it only releases when accessing the
+        // database
+        // in the NORMAL locking mode again
+        globalState.getManager().execute(new QueryAdapter("PRAGMA locking_mode = NORMAL"));
+        globalState.getManager().execute(new QueryAdapter("SELECT * FROM sqlite_master"));
+        // functions such as TOTAL_CHANGES() would yield different results in the replay
+        globalState.setDeterministicExpressionsOnly(true);
+        try {
+            backup = File.createTempFile(globalState.getDatabaseName() + "-stress", ".db");
+            replayDatabase = File.createTempFile(globalState.getDatabaseName() + "-replay", ".db");
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    @Override
+    public Connection openConnection() throws SQLException {
+        return DriverManager.getConnection(url);
+    }
+
+    @Override
+    public Query generateStatement() {
+        SQLite3Table table = globalState.getSchema().getRandomTable(SHARED_TABLE);
+        switch (Randomly.fromOptions(Action.INSERT, Action.UPDATE, Action.DELETE)) {
+        case INSERT:
+            return SQLite3InsertGenerator.insertRow(globalState, table);
+        case UPDATE:
+            return SQLite3UpdateGenerator.updateRow(globalState, table);
+        case DELETE:
+            return SQLite3DeleteGenerator.deleteContent(globalState, table);
+        default:
+            throw new AssertionError();
+        }
+    }
+
+    @Override
+    public boolean isTransactionConflict(SQLException e) {
+        String message = e.getMessage();
+        return message != null && (message.contains("SQLITE_BUSY") || message.contains("SQLITE_LOCKED"));
+    }
+
+    @Override
+    public List<String> getTableNames() {
+        return globalState.getSchema().getDatabaseTables().stream().filter(SHARED_TABLE).map(t -> t.getName())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns whether all tables can generate a rowid deterministically, which SQLite chooses randomly once the largest
+     * rowid is used. This is checked before and after the transactions, since the row with the largest rowid could have
+     * been deleted by them.
+     */
+    @Override
+    public boolean isReplayDeterministic(Connection con) throws SQLException {
+        return !savedStateUsesLargestRowid && !usesLargestRowid(con);
+    }
+
+    private boolean usesLargestRowid(Connection con) {
+        for (String table : getTableNames()) {
+            try (Statement s = con.createStatement()) {
+                try (ResultSet rs = s.executeQuery("SELECT MAX(rowid) FROM " + table)) {
+                    if (rs.next() && rs.getLong(1) == Long.MAX_VALUE) {
+                        return true;
+                    }
+                }
+            } catch (SQLException e) {
+                // for example, a WITHOUT ROWID table
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void saveState(Connection con) throws SQLException {
+        savedStateUsesLargestRowid = usesLargestRowid(con);
+        try (Statement s = con.createStatement()) {
+            s.executeUpdate("backup to " + SQLite3Provider.quotePath(backup));
+        }
+    }
+
+    @Override
+    public Connection openReplayConnection() throws SQLException {
+        Connection con = DriverManager.getConnection("jdbc:sqlite:" + replayDatabase.getAbsolutePath());
+        try (Statement s = con.createStatement()) {
+            s.executeUpdate("restore from " + SQLite3Provider.quotePath(backup));
+        } catch (SQLException e) {
+            con.close();
+            throw e;
+        }
+        return con;
+    }
+
+    @Override
+    public void close() {
+        backup.delete();
+        replayDatabase.delete();
+    }
+
+}
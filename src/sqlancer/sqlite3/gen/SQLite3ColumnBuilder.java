@@ -7,6 +7,7 @@ import sqlancer.Randomly;
 import sqlancer.sqlite3.SQLite3Provider.SQLite3GlobalState;
 import sqlancer.sqlite3.SQLite3Visitor;
 import sqlancer.sqlite3.schema.SQLite3Schema.SQLite3Column;
+import sqlancer.sqlite3.schema.SQLite3Schema.SQLite3Column.SQLite3CollateSequence;
 
 public class SQLite3ColumnBuilder {
 
@@ -14,6 +15,8 @@ public class SQLite3ColumnBuilder {
     private boolean containsAutoIncrement;
     private final StringBuilder sb = new StringBuilder();
     private boolean conflictClauseInserted;
+    private String dataType;
+    private SQLite3CollateSequence collate = SQLite3CollateSequence.BINARY;
 
     private boolean allowPrimaryKey = true;
     private boolean allowUnique = true;
@@ -37,10 +40,21 @@ public class SQLite3ColumnBuilder {
         return containsPrimaryKey;
     }
 
+    /**
+     * Returns the declared type of the column that was created, for example, <code>INTEGER</code>.
+     */
+    public String getDataType() {
+        return dataType;
+    }
+
+    public SQLite3CollateSequence getCollateSequence() {
+        return collate;
+    }
+
     public String createColumn(String columnName, SQLite3GlobalState globalState, List<SQLite3Column> columns) {
         sb.append(columnName);
         sb.append(" ");
-        String dataType = Randomly.fromOptions("INT", "TEXT", "BLOB", "REAL", "INTEGER");
+        dataType = Randomly.fromOptions("INT", "TEXT", "BLOB", "REAL", "INTEGER");
         sb.append(dataType);
 
         if (Randomly.getBooleanWithRatherLowProbability()) {
@@ -120,6 +134,7 @@ public class SQLite3ColumnBuilder {
         if (Randomly.getBooleanWithSmallProbability()) {
             String randomCollate = SQLite3Common.getRandomCollate();
             sb.append(randomCollate);
+            collate = SQLite3CollateSequence.valueOf(randomCollate.replace(" COLLATE ", ""));
         }
         return sb.toString();
     }
@@ -1,10 +1,10 @@
 package sqlancer.sqlite3.gen;
 
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Set;
 
+import sqlancer.ExpectedErrors;
 import sqlancer.Query;
 import sqlancer.QueryAdapter;
 import sqlancer.Randomly;
@@ -13,11 +13,14 @@ import sqlancer.sqlite3.schema.SQLite3Schema.SQLite3Column;
 
 public final class SQLite3CreateVirtualRtreeTabelGenerator {
 
+    private static final ExpectedErrors ERRORS = ExpectedErrors
+            .from(Arrays.asList("virtual tables cannot use computed columns",
+                    "Wrong number of columns for an rtree table", "Too many columns for an rtree table"));
+
     private SQLite3CreateVirtualRtreeTabelGenerator() {
     }
 
     public static Query createTableStatement(String rTreeTableName, SQLite3GlobalState globalState) {
-        Set<String> errors = new HashSet<>();
         List<SQLite3Column> columns = new ArrayList<>();
         StringBuilder sb = new StringBuilder("CREATE VIRTUAL TABLE ");
         sb.append(rTreeTableName);
@@ -43,12 +46,8 @@ public final class SQLite3CreateVirtualRtreeTabelGenerator {
             sb.append(c);
             sb.append(" ");
         }
-        errors.add("virtual tables cannot use computed columns");
         sb.append(")");
-
-        errors.add("Wrong number of columns for an rtree table");
-        errors.add("Too many columns for an rtree table");
-        return new QueryAdapter(sb.toString(), errors);
+        return new QueryAdapter(sb.toString(), ERRORS);
     }
 
 }
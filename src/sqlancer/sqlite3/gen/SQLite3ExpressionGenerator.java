@@ -55,6 +55,9 @@ public class SQLite3ExpressionGenerator {
     private boolean allowAggregateFunctions;
     private boolean allowSubqueries;
     private boolean allowAggreates;
+    // the expression types that can be generated with the current settings, which are computed once per setting
+    // rather than once per node, since a generator is reused for the checks of an oracle
+    private List<ExpressionType> expressionTypes;
 
     private enum LiteralValueType {
         INTEGER, NUMERIC, STRING, BLOB_LITERAL, NULL
@@ -63,19 +66,25 @@ public class SQLite3ExpressionGenerator {
     public SQLite3ExpressionGenerator(SQLite3GlobalState globalState) {
         this.globalState = globalState;
         this.r = globalState.getRandomly();
+        this.deterministicOnly = globalState.generatesDeterministicExpressionsOnly();
     }
 
     public SQLite3ExpressionGenerator deterministicOnly() {
         this.deterministicOnly = true;
+        this.expressionTypes = null;
         return this;
     }
 
     public SQLite3ExpressionGenerator allowAggregateFunctions() {
         this.allowAggregateFunctions = true;
+        this.expressionTypes = null;
         return this;
     }
 
     public SQLite3ExpressionGenerator setColumns(List<SQLite3Column> columns) {
+        if (columns.isEmpty() != this.columns.isEmpty()) {
+            this.expressionTypes = null;
+        }
         this.columns = columns;
         return this;
     }
@@ -87,11 +96,13 @@ public class SQLite3ExpressionGenerator {
 
     public SQLite3ExpressionGenerator allowMatchClause() {
         this.allowMatchClause = true;
+        this.expressionTypes = null;
         return this;
     }
 
     public SQLite3ExpressionGenerator allowSubqueries() {
         this.allowSubqueries = true;
+        this.expressionTypes = null;
         return this;
     }
 
@@ -206,18 +217,7 @@ public class SQLite3ExpressionGenerator {
         return expressions;
     }
 
-    public SQLite3Expression getRandomExpression(int depth) {
-        if (allowAggreates && Randomly.getBoolean()) {
-            return getAggregateFunction(depth + 1);
-        }
-        if (depth >= globalState.getOptions().getMaxExpressionDepth()) {
-            if (Randomly.getBooleanWithRatherLowProbability() || columns.isEmpty()) {
-                return getRandomLiteralValue(globalState);
-            } else {
-                return getRandomColumn();
-            }
-        }
-
+    private List<ExpressionType> getExpressionTypes() {
         List<ExpressionType> list = new ArrayList<>(Arrays.asList(ExpressionType.values()));
         if (columns.isEmpty()) {
             list.remove(ExpressionType.COLUMN_NAME);
@@ -237,7 +237,25 @@ public class SQLite3ExpressionGenerator {
         if (!globalState.getDmbsSpecificOptions().testMatch) {
             list.remove(ExpressionType.MATCH);
         }
-        ExpressionType randomExpressionType = Randomly.fromList(list);
+        return list;
+    }
+
+    public SQLite3Expression getRandomExpression(int depth) {
+        if (allowAggreates && Randomly.getBoolean()) {
+            return getAggregateFunction(depth + 1);
+        }
+        if (depth >= globalState.getVacuousCheckController().getMaxExpressionDepth()) {
+            if (Randomly.getBooleanWithRatherLowProbability() || columns.isEmpty()) {
+                return getRandomLiteralValue(globalState);
+            } else {
+                return getRandomColumn();
+            }
+        }
+
+        if (expressionTypes == null) {
+            expressionTypes = getExpressionTypes();
+        }
+        ExpressionType randomExpressionType = Randomly.fromList(expressionTypes);
         switch (randomExpressionType) {
         case AND_OR_CHAIN:
             return getAndOrChain(depth + 1);
@@ -367,8 +385,29 @@ public class SQLite3ExpressionGenerator {
         return new MatchOperation(left, right);
     }
 
+    /**
+     * Returns a column that should be compared with values that were sampled from it, which makes the comparison true
+     * for some but not all rows, or <code>null</code> if a random comparison should be generated (see
+     * <code>--sampled-constant-probability</code>).
+     */
+    private SQLite3Column getColumnToCompareWithSample() {
+        double probability = globalState.getVacuousCheckController().getSampledConstantProbability();
+        if (probability <= 0 || columns.isEmpty() || Randomly.getUncachedDouble() >= probability) {
+            return null;
+        }
+        SQLite3Column column = Randomly.fromList(columns);
+        return getSampledValue(column) == null ? null : column;
+    }
+
+    private SQLite3Constant getSampledValue(SQLite3Column column) {
+        return globalState.getColumnValues().getRandomValue(column.getFullQualifiedName());
+    }
+
     private SQLite3Expression getRandomColumn() {
-        SQLite3Column c = Randomly.fromList(columns);
+        return getColumnName(Randomly.fromList(columns));
+    }
+
+    private SQLite3Expression getColumnName(SQLite3Column c) {
         return new SQLite3ColumnName(c, rw == null ? null : rw.getValues().get(c));
     }
 
@@ -584,6 +623,11 @@ public class SQLite3ExpressionGenerator {
 
     private SQLite3Expression getBetweenOperator(int depth) {
         boolean tr = Randomly.getBoolean();
+        SQLite3Column column = getColumnToCompareWithSample();
+        if (column != null) {
+            return new SQLite3Expression.BetweenOperation(getColumnName(column), tr, getSampledValue(column),
+                    getSampledValue(column));
+        }
         SQLite3Expression expr = getRandomExpression(depth + 1);
         SQLite3Expression left = getRandomExpression(depth + 1);
         SQLite3Expression right = getRandomExpression(depth + 1);
@@ -603,6 +647,14 @@ public class SQLite3ExpressionGenerator {
     }
 
     private SQLite3Expression getInOperator(int depth) {
+        SQLite3Column column = getColumnToCompareWithSample();
+        if (column != null) {
+            List<SQLite3Expression> values = new ArrayList<>();
+            for (int i = 0; i < Randomly.smallNumber() + 1; i++) {
+                values.add(getSampledValue(column));
+            }
+            return new SQLite3Expression.InOperation(getColumnName(column), values);
+        }
         SQLite3Expression leftExpression = getRandomExpression(depth + 1);
         List<SQLite3Expression> right = new ArrayList<>();
         for (int i = 0; i < Randomly.smallNumber(); i++) {
@@ -612,6 +664,11 @@ public class SQLite3ExpressionGenerator {
     }
 
     private SQLite3Expression getBinaryComparisonOperator(int depth) {
+        SQLite3Column column = getColumnToCompareWithSample();
+        if (column != null) {
+            return new SQLite3Expression.BinaryComparisonOperation(getColumnName(column), getSampledValue(column),
+                    BinaryComparisonOperator.getRandomOperator());
+        }
         SQLite3Expression leftExpression = getRandomExpression(depth + 1);
         BinaryComparisonOperator operator = BinaryComparisonOperator.getRandomOperator();
         SQLite3Expression rightExpression = getRandomExpression(depth + 1);
@@ -1,10 +1,11 @@
 package sqlancer.sqlite3.gen;
 
 import java.sql.SQLException;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.function.Supplier;
 
+import sqlancer.ExpectedErrors;
 import sqlancer.QueryAdapter;
 import sqlancer.Randomly;
 import sqlancer.sqlite3.SQLite3Provider.SQLite3GlobalState;
@@ -56,8 +57,14 @@ public class SQLite3PragmaGenerator {
 
     }
 
+    private static final ExpectedErrors NO_ERRORS = ExpectedErrors.from(Collections.emptySet());
+    private static final ExpectedErrors JOURNAL_MODE_ERRORS = ExpectedErrors
+            .from(Arrays.asList("from within a transaction"));
+    private static final ExpectedErrors WAL_CHECKPOINT_ERRORS = ExpectedErrors
+            .from(Arrays.asList("database table is locked"));
+
     private final StringBuilder sb = new StringBuilder();
-    private final Set<String> errors = new HashSet<>();
+    private ExpectedErrors errors = NO_ERRORS;
 
     public void createPragma(String pragmaName, Supplier<Object> supplier) {
         boolean setSchema = Randomly.getBoolean();
@@ -168,7 +175,7 @@ public class SQLite3PragmaGenerator {
             // OFF is no longer generated, since it might corrupt the database upon failed
             // index creation, see https://www.sqlite.org/src/tktview?name=f4ec250930.
             createPragma("journal_mode", () -> Randomly.fromOptions("DELETE", "TRUNCATE", "PERSIST", "MEMORY", "WAL"));
-            errors.add("from within a transaction");
+            errors = JOURNAL_MODE_ERRORS;
             break;
         case JOURNAL_SIZE_LIMIT:
             createPragma("journal_size_limit", () -> {
@@ -232,7 +239,7 @@ public class SQLite3PragmaGenerator {
             sb.append("PRAGMA wal_checkpoint(");
             sb.append(Randomly.fromOptions("PASSIVE", "FULL", "RESTART", "TRUNCATE"));
             sb.append(")");
-            errors.add("database table is locked");
+            errors = WAL_CHECKPOINT_ERRORS;
             break;
         default:
             throw new AssertionError(p);
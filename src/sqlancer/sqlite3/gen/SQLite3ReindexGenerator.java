@@ -1,8 +1,9 @@
 package sqlancer.sqlite3.gen;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
+import java.util.Collections;
 
+import sqlancer.ExpectedErrors;
 import sqlancer.Query;
 import sqlancer.QueryAdapter;
 import sqlancer.Randomly;
@@ -14,6 +15,10 @@ import sqlancer.sqlite3.schema.SQLite3Schema;
  */
 public final class SQLite3ReindexGenerator {
 
+    private static final ExpectedErrors NO_ERRORS = ExpectedErrors.from(Collections.emptySet());
+    private static final ExpectedErrors INDEX_ERRORS = ExpectedErrors
+            .from(Arrays.asList("unable to identify the object to be reindexed"));
+
     private SQLite3ReindexGenerator() {
     }
 
@@ -24,7 +29,7 @@ public final class SQLite3ReindexGenerator {
     public static Query executeReindex(SQLite3GlobalState globalState) {
         SQLite3Schema s = globalState.getSchema();
         StringBuilder sb = new StringBuilder("REINDEX");
-        List<String> errors = new ArrayList<>();
+        ExpectedErrors errors = NO_ERRORS;
         Target t = Randomly.fromOptions(Target.values());
         if (Randomly.getBoolean()) {
             sb.append(" ");
@@ -32,7 +37,7 @@ public final class SQLite3ReindexGenerator {
             case INDEX:
                 sb.append(s.getRandomIndexOrBailout());
                 // temp table
-                errors.add("unable to identify the object to be reindexed");
+                errors = INDEX_ERRORS;
                 break;
             case COLLATION_NAME:
                 sb.append(Randomly.fromOptions("BINARY", "NOCASE", "RTRIM"));
@@ -1,8 +1,8 @@
 package sqlancer.sqlite3.gen;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.Arrays;
 
+import sqlancer.ExpectedErrors;
 import sqlancer.Query;
 import sqlancer.QueryAdapter;
 import sqlancer.Randomly;
@@ -12,10 +12,18 @@ import sqlancer.sqlite3.schema.SQLite3Schema.SQLite3Table;
 
 public class SQLite3VirtualFTSTableCommandGenerator {
 
+    private static final String NO_RANK_COLUMN = "has no column named rank";
+    private static final ExpectedErrors ERRORS = ExpectedErrors.from(Arrays.asList(NO_RANK_COLUMN));
+    // when using the FTS3 syntax on an FTS5 table
+    private static final ExpectedErrors FTS3_SYNTAX_ERRORS = ExpectedErrors
+            .from(Arrays.asList(NO_RANK_COLUMN, "SQL logic error"));
+    private static final ExpectedErrors REBUILD_ERRORS = ExpectedErrors
+            .from(Arrays.asList(NO_RANK_COLUMN, "'rebuild' may not be used with a contentless fts5 table"));
+
     private final StringBuilder sb = new StringBuilder();
     private final SQLite3Schema s;
     private final Randomly r;
-    private final Set<String> errors = new HashSet<>();
+    private ExpectedErrors errors = ERRORS;
 
     public static Query create(SQLite3GlobalState globalState) {
         return new SQLite3VirtualFTSTableCommandGenerator(globalState.getSchema(), globalState.getRandomly())
@@ -32,7 +40,6 @@ public class SQLite3VirtualFTSTableCommandGenerator {
     }
 
     private Query generate() {
-        errors.add("has no column named rank");
         SQLite3Table vTable = s.getRandomTableOrBailout(t -> t.isVirtual() && t.getName().startsWith("vt"));
         Action a = Randomly.fromOptions(Action.values());
         switch (a) {
@@ -50,7 +57,7 @@ public class SQLite3VirtualFTSTableCommandGenerator {
                     // FTS3/FTS4 syntax
                     sb.append(String.format("(%s)", vTable.getName()));
                     sb.append(String.format(" VALUES('automerge=%d')", r.getInteger(0, 16)));
-                    errors.add("SQL logic error"); // when using the FTS3 syntax on an FTS5 table
+                    errors = FTS3_SYNTAX_ERRORS;
                 }
             } else if (a == Action.CRISISMERGE) {
                 sb.append(String.format("(%s, rank)", vTable.getName()));
@@ -72,14 +79,14 @@ public class SQLite3VirtualFTSTableCommandGenerator {
             } else {
                 sb.append(String.format("INSERT INTO %s(%s) VALUES('merge=%d,%d');\n", vTable.getName(),
                         vTable.getName(), r.getInteger(), r.getInteger(2, 16)));
-                errors.add("SQL logic error"); // when using the FTS3 syntax on an FTS5 table
+                errors = FTS3_SYNTAX_ERRORS;
             }
             break;
         case OPTIMIZE:
             sb.append(String.format("INSERT INTO %s(%s) VALUES('optimize');", vTable.getName(), vTable.getName()));
             break;
         case REBUILD:
-            errors.add("'rebuild' may not be used with a contentless fts5 table");
+            errors = REBUILD_ERRORS;
             sb.append(String.format("INSERT INTO %s(%s) VALUES('rebuild');", vTable.getName(), vTable.getName()));
             break;
         case PGSZ:
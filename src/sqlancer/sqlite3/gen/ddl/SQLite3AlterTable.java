@@ -1,9 +1,9 @@
 package sqlancer.sqlite3.gen.ddl;
 
 import java.sql.SQLException;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 
+import sqlancer.ExpectedErrors;
 import sqlancer.Query;
 import sqlancer.QueryAdapter;
 import sqlancer.Randomly;
@@ -16,6 +16,10 @@ import sqlancer.sqlite3.schema.SQLite3Schema.SQLite3Table;
 
 public class SQLite3AlterTable {
 
+    private static final ExpectedErrors ERRORS = getErrors();
+    private static final ExpectedErrors ADD_COLUMN_ERRORS = getErrors("subqueries prohibited in CHECK constraints",
+            "Cannot add a NOT NULL column with default value NULL", "unsupported frame specification");
+
     private final StringBuilder sb = new StringBuilder();
     private final SQLite3GlobalState globalState;
 
@@ -32,21 +36,27 @@ public class SQLite3AlterTable {
         this.globalState = globalState;
     }
 
-    private Query getQuery(SQLite3Schema s, SQLite3AlterTable alterTable) throws AssertionError {
-        List<String> errors = new ArrayList<>();
-        errors.add("error in view");
-        errors.add("no such column"); // trigger
-        errors.add("error in trigger"); // trigger
+    private static ExpectedErrors getErrors(String... additionalErrors) {
+        return ExpectedErrors.build(errors -> {
+            errors.add("error in view");
+            errors.add("no such column"); // trigger
+            errors.add("error in trigger"); // trigger
 
-        errors.add("operator prohibited in generated columns");
-        errors.add("subqueries prohibited in generated columns");
-        errors.add("duplicate column name");
-        errors.add("non-deterministic functions prohibited in generated columns");
-        errors.add("non-deterministic functions prohibited in CHECK constraints");
-        errors.add("second argument to likelihood");
-        errors.add("subqueries prohibited in CHECK constraints");
-        errors.add("subqueries prohibited in index expressions");
-        errors.add("parser stack overflow");
+            errors.add("operator prohibited in generated columns");
+            errors.add("subqueries prohibited in generated columns");
+            errors.add("duplicate column name");
+            errors.add("non-deterministic functions prohibited in generated columns");
+            errors.add("non-deterministic functions prohibited in CHECK constraints");
+            errors.add("second argument to likelihood");
+            errors.add("subqueries prohibited in CHECK constraints");
+            errors.add("subqueries prohibited in index expressions");
+            errors.add("parser stack overflow");
+            errors.addAll(Arrays.asList(additionalErrors));
+        });
+    }
+
+    private Query getQuery(SQLite3Schema s, SQLite3AlterTable alterTable) throws AssertionError {
+        ExpectedErrors errors = ERRORS;
         Option option = Randomly.fromOptions(Option.values());
         SQLite3Table t = s.getRandomTableOrBailout(tab -> !tab.isView() && !tab.isVirtual() && !tab.isReadOnly());
         sb.append("ALTER TABLE ");
@@ -75,9 +85,7 @@ public class SQLite3AlterTable {
             // is added, the column must have a default value of NULL.
             sb.append(new SQLite3ColumnBuilder().allowPrimaryKey(false).allowUnique(false).allowNotNull(false)
                     .allowDefaultValue(false).createColumn(name, globalState, t.getColumns()));
-            errors.add("subqueries prohibited in CHECK constraints");
-            errors.add("Cannot add a NOT NULL column with default value NULL");
-            errors.add("unsupported frame specification");
+            errors = ADD_COLUMN_ERRORS;
             break;
         default:
             throw new AssertionError();
@@ -1,10 +1,10 @@
 package sqlancer.sqlite3.gen.ddl;
 
 import java.sql.SQLException;
-import java.util.HashSet;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Set;
 
+import sqlancer.ExpectedErrors;
 import sqlancer.Query;
 import sqlancer.QueryAdapter;
 import sqlancer.Randomly;
@@ -21,7 +21,11 @@ import sqlancer.sqlite3.schema.SQLite3Schema.SQLite3Table;
 // see https://www.sqlite.org/lang_createindex.html
 public class SQLite3IndexGenerator {
 
-    private final Set<String> errors = new HashSet<>();
+    private static final ExpectedErrors ERRORS = getErrors();
+    private static final ExpectedErrors UNIQUE_ERRORS = getErrors(
+            "[SQLITE_CONSTRAINT]  Abort due to constraint violation (UNIQUE constraint failed");
+
+    private ExpectedErrors errors = ERRORS;
     private final SQLite3GlobalState globalState;
 
     public static Query insertIndex(SQLite3GlobalState globalState) throws SQLException {
@@ -32,32 +36,38 @@ public class SQLite3IndexGenerator {
         this.globalState = globalState;
     }
 
+    private static ExpectedErrors getErrors(String... additionalErrors) {
+        return ExpectedErrors.build(errors -> {
+            errors.add("no such collation sequence: UINT");
+            errors.add("[SQLITE_ERROR] SQL error or missing database (parser stack overflow)");
+            errors.add("subqueries prohibited in index expressions");
+            errors.add("subqueries prohibited in partial index WHERE clauses");
+            errors.add("non-deterministic use of time() in an index");
+            errors.add("non-deterministic use of strftime() in an index");
+            errors.add("non-deterministic use of julianday() in an index");
+            errors.add("non-deterministic use of date() in an index");
+            errors.add("non-deterministic use of datetime() in an index");
+            SQLite3Errors.addExpectedExpressionErrors(errors);
+            if (!SQLite3Provider.mustKnowResult) {
+                // can only happen when PRAGMA case_sensitive_like=ON;
+                errors.add("non-deterministic functions prohibited");
+            }
+
+            /*
+             * Strings in single quotes are sometimes interpreted as column names. Since we found an issue with double
+             * quotes, they can no longer be used (see https://sqlite.org/src/info/9b78184b). Single quotes are
+             * interpreted as column names in certain contexts (see
+             * https://www.mail-archive.com/sqlite-users@mailinglists.sqlite.org/msg115014.html).
+             */
+            errors.add("[SQLITE_ERROR] SQL error or missing database (no such column:");
+            errors.addAll(Arrays.asList(additionalErrors));
+        });
+    }
+
     private Query create() throws SQLException {
         SQLite3Table t = globalState.getSchema()
                 .getRandomTableOrBailout(tab -> !tab.isView() && !tab.isVirtual() && !tab.isReadOnly());
         String q = createIndex(t, t.getColumns());
-        errors.add("no such collation sequence: UINT");
-        errors.add("[SQLITE_ERROR] SQL error or missing database (parser stack overflow)");
-        errors.add("subqueries prohibited in index expressions");
-        errors.add("subqueries prohibited in partial index WHERE clauses");
-        errors.add("non-deterministic use of time() in an index");
-        errors.add("non-deterministic use of strftime() in an index");
-        errors.add("non-deterministic use of julianday() in an index");
-        errors.add("non-deterministic use of date() in an index");
-        errors.add("non-deterministic use of datetime() in an index");
-        SQLite3Errors.addExpectedExpressionErrors(errors);
-        if (!SQLite3Provider.mustKnowResult) {
-            // can only happen when PRAGMA case_sensitive_like=ON;
-            errors.add("non-deterministic functions prohibited");
-        }
-
-        /*
-         * Strings in single quotes are sometimes interpreted as column names. Since we found an issue with double
-         * quotes, they can no longer be used (see https://sqlite.org/src/info/9b78184b). Single quotes are interpreted
-         * as column names in certain contexts (see
-         * https://www.mail-archive.com/sqlite-users@mailinglists.sqlite.org/msg115014.html).
-         */
-        errors.add("[SQLITE_ERROR] SQL error or missing database (no such column:");
         return new QueryAdapter(q, errors, true);
     }
 
@@ -65,7 +75,7 @@ public class SQLite3IndexGenerator {
         StringBuilder sb = new StringBuilder();
         sb.append("CREATE");
         if (Randomly.getBoolean()) {
-            errors.add("[SQLITE_CONSTRAINT]  Abort due to constraint violation (UNIQUE constraint failed");
+            errors = UNIQUE_ERRORS;
             sb.append(" UNIQUE");
         }
         sb.append(" INDEX");
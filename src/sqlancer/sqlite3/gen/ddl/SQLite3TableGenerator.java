@@ -2,9 +2,12 @@ package sqlancer.sqlite3.gen.ddl;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import sqlancer.ExpectedErrors;
 import sqlancer.Query;
 import sqlancer.QueryAdapter;
 import sqlancer.Randomly;
@@ -12,8 +15,10 @@ import sqlancer.sqlite3.SQLite3Errors;
 import sqlancer.sqlite3.SQLite3Provider.SQLite3GlobalState;
 import sqlancer.sqlite3.gen.SQLite3ColumnBuilder;
 import sqlancer.sqlite3.gen.SQLite3Common;
+import sqlancer.sqlite3.schema.SQLite3DataType;
 import sqlancer.sqlite3.schema.SQLite3Schema;
 import sqlancer.sqlite3.schema.SQLite3Schema.SQLite3Column;
+import sqlancer.sqlite3.schema.SQLite3Schema.SQLite3Column.SQLite3CollateSequence;
 import sqlancer.sqlite3.schema.SQLite3Schema.SQLite3Table;
 import sqlancer.sqlite3.schema.SQLite3Schema.SQLite3Table.TableKind;
 
@@ -27,16 +32,30 @@ import sqlancer.sqlite3.schema.SQLite3Schema.SQLite3Table.TableKind;
  */
 public class SQLite3TableGenerator {
 
+    private static final ExpectedErrors ERRORS = ExpectedErrors.build(errors -> {
+        SQLite3Errors.addTableManipulationErrors(errors);
+        errors.add("second argument to likelihood() must be a constant between 0.0 and 1.0");
+        errors.add("non-deterministic functions prohibited in generated columns");
+        errors.add("subqueries prohibited in generated columns");
+        errors.add("parser stack overflow");
+        errors.add("malformed JSON");
+        errors.add("JSON cannot hold BLOB values");
+    });
+
     private final StringBuilder sb = new StringBuilder();
     private final String tableName;
     private int columnId;
     private boolean containsPrimaryKey;
     private boolean containsAutoIncrement;
     private final List<String> columnNames = new ArrayList<>();
+    private final List<String> columnTypes = new ArrayList<>();
+    private final List<SQLite3CollateSequence> columnCollates = new ArrayList<>();
+    private final Set<String> primaryKeyColumns = new HashSet<>();
     private final List<SQLite3Column> columns = new ArrayList<>();
     private final SQLite3Schema existingSchema;
     private final SQLite3GlobalState globalState;
     private boolean tempTable;
+    private boolean withoutRowid;
 
     public SQLite3TableGenerator(String tableName, SQLite3GlobalState globalState) {
         this.tableName = tableName;
@@ -47,15 +66,38 @@ public class SQLite3TableGenerator {
     public static Query createTableStatement(String tableName, SQLite3GlobalState globalState) {
         SQLite3TableGenerator sqLite3TableGenerator = new SQLite3TableGenerator(tableName, globalState);
         sqLite3TableGenerator.start();
-        List<String> errors = new ArrayList<>();
-        SQLite3Errors.addTableManipulationErrors(errors);
-        errors.add("second argument to likelihood() must be a constant between 0.0 and 1.0");
-        errors.add("non-deterministic functions prohibited in generated columns");
-        errors.add("subqueries prohibited in generated columns");
-        errors.add("parser stack overflow");
-        errors.add("malformed JSON");
-        errors.add("JSON cannot hold BLOB values");
-        return new QueryAdapter(sqLite3TableGenerator.sb.toString(), errors);
+        return sqLite3TableGenerator.getQuery();
+    }
+
+    public Query getQuery() {
+        return new QueryAdapter(sb.toString(), ERRORS);
+    }
+
+    /**
+     * Returns the table that the generated statement creates, so that statements that use the table can be generated
+     * without reading the schema from the database.
+     */
+    public SQLite3Table getTable() {
+        List<SQLite3Column> tableColumns = new ArrayList<>();
+        for (int i = 0; i < columnNames.size(); i++) {
+            String columnName = columnNames.get(i);
+            String columnType = columnTypes.get(i);
+            tableColumns.add(new SQLite3Column(columnName, SQLite3Schema.getColumnType(columnType),
+                    columnType.contentEquals("INTEGER"), primaryKeyColumns.contains(columnName),
+                    columnCollates.get(i)));
+        }
+        SQLite3Table table = new SQLite3Table(tableName, tableColumns, tempTable ? TableKind.TEMP : TableKind.MAIN,
+                withoutRowid, 0, false, false, false);
+        if (!withoutRowid) {
+            SQLite3Column rowid = new SQLite3Column(Randomly.fromOptions("rowid", "_rowid_", "oid"),
+                    SQLite3DataType.INT, true, null, true);
+            table.addRowid(rowid);
+            rowid.setTable(table);
+        }
+        for (SQLite3Column c : tableColumns) {
+            c.setTable(table);
+        }
+        return table;
     }
 
     public void start() {
@@ -93,9 +135,12 @@ public class SQLite3TableGenerator {
             }
             if (columnBuilder.isContainsPrimaryKey()) {
                 this.containsPrimaryKey = true;
+                primaryKeyColumns.add(columnName);
             }
 
             columnNames.add(columnName);
+            columnTypes.add(columnBuilder.getDataType());
+            columnCollates.add(columnBuilder.getCollateSequence());
             columnId++;
         }
         if (!containsPrimaryKey && Randomly.getBooleanWithSmallProbability()) {
@@ -122,6 +167,7 @@ public class SQLite3TableGenerator {
             if (Randomly.getBoolean()) {
                 // see https://sqlite.org/withoutrowid.html
                 sb.append(" WITHOUT ROWID");
+                withoutRowid = true;
             }
         }
     }
@@ -132,7 +178,11 @@ public class SQLite3TableGenerator {
             if (i != 0) {
                 sb.append(", ");
             }
-            sb.append(Randomly.fromList(columnNames));
+            String columnName = Randomly.fromList(columnNames);
+            sb.append(columnName);
+            if (s.contentEquals("PRIMARY KEY")) {
+                primaryKeyColumns.add(columnName);
+            }
             if (Randomly.getBoolean()) {
                 sb.append(Randomly.fromOptions(" ASC", " DESC"));
             }
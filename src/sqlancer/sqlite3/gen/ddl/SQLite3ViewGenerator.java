@@ -1,9 +1,8 @@
 package sqlancer.sqlite3.gen.ddl;
 
 import java.sql.SQLException;
-import java.util.ArrayList;
-import java.util.List;
 
+import sqlancer.ExpectedErrors;
 import sqlancer.IgnoreMeException;
 import sqlancer.Query;
 import sqlancer.QueryAdapter;
@@ -20,6 +19,12 @@ import sqlancer.sqlite3.schema.SQLite3Schema;
 
 public final class SQLite3ViewGenerator {
 
+    private static final ExpectedErrors ERRORS = ExpectedErrors.build(errors -> {
+        errors.add("is circularly defined");
+        errors.add("unsupported frame specification");
+        SQLite3PivotedQuerySynthesisOracle.addExpectedErrors(errors);
+    });
+
     private SQLite3ViewGenerator() {
     }
 
@@ -42,9 +47,6 @@ public final class SQLite3ViewGenerator {
             sb.append(" IF NOT EXISTS ");
         }
         sb.append(SQLite3Common.getFreeViewName(globalState.getSchema()));
-        List<String> errors = new ArrayList<>();
-        errors.add("is circularly defined");
-        errors.add("unsupported frame specification");
         if (Randomly.getBoolean()) {
             SQLite3PivotedQuerySynthesisOracle queryGen = new SQLite3PivotedQuerySynthesisOracle(globalState);
             try {
@@ -61,8 +63,7 @@ public final class SQLite3ViewGenerator {
                 int size = q.getFetchColumns().size();
                 columnNamesAs(sb, size);
                 sb.append(SQLite3Visitor.asString(q));
-                SQLite3PivotedQuerySynthesisOracle.addExpectedErrors(errors);
-                return new QueryAdapter(sb.toString(), errors, true);
+                return new QueryAdapter(sb.toString(), ERRORS, true);
             } catch (AssertionError e) {
                 throw new IgnoreMeException();
             }
@@ -71,8 +72,7 @@ public final class SQLite3ViewGenerator {
             columnNamesAs(sb, size);
             SQLite3Expression randomQuery = SQLite3RandomQuerySynthesizer.generate(globalState, size);
             sb.append(SQLite3Visitor.asString(randomQuery));
-            SQLite3PivotedQuerySynthesisOracle.addExpectedErrors(errors);
-            return new QueryAdapter(sb.toString(), errors, true);
+            return new QueryAdapter(sb.toString(), ERRORS, true);
         }
 
     }
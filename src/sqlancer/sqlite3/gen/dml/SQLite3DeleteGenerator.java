@@ -1,9 +1,8 @@
 package sqlancer.sqlite3.gen.dml;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
 
+import sqlancer.ExpectedErrors;
 import sqlancer.Query;
 import sqlancer.QueryAdapter;
 import sqlancer.Randomly;
@@ -15,6 +14,18 @@ import sqlancer.sqlite3.schema.SQLite3Schema.SQLite3Table;
 
 public final class SQLite3DeleteGenerator {
 
+    private static final ExpectedErrors ERRORS = ExpectedErrors.build(errors -> {
+        SQLite3Errors.addExpectedExpressionErrors(errors);
+        errors.addAll(Arrays.asList("[SQLITE_ERROR] SQL error or missing database (foreign key mismatch",
+                "[SQLITE_CONSTRAINT]  Abort due to constraint violation ",
+                "[SQLITE_ERROR] SQL error or missing database (parser stack overflow)",
+                "[SQLITE_ERROR] SQL error or missing database (no such table:", "no such column",
+                "too many levels of trigger recursion", "cannot UPDATE generated column",
+                "cannot INSERT into generated column", "A table in the database is locked",
+                "load_extension() prohibited in triggers and views"));
+        SQLite3Errors.addDeleteErrors(errors);
+    });
+
     private SQLite3DeleteGenerator() {
     }
 
@@ -32,17 +43,7 @@ public final class SQLite3DeleteGenerator {
             sb.append(SQLite3Visitor.asString(new SQLite3ExpressionGenerator(globalState)
                     .setColumns(tableName.getColumns()).generateExpression()));
         }
-        List<String> errors = new ArrayList<>();
-        SQLite3Errors.addExpectedExpressionErrors(errors);
-        errors.addAll(Arrays.asList("[SQLITE_ERROR] SQL error or missing database (foreign key mismatch",
-                "[SQLITE_CONSTRAINT]  Abort due to constraint violation ",
-                "[SQLITE_ERROR] SQL error or missing database (parser stack overflow)",
-                "[SQLITE_ERROR] SQL error or missing database (no such table:", "no such column",
-                "too many levels of trigger recursion", "cannot UPDATE generated column",
-                "cannot INSERT into generated column", "A table in the database is locked",
-                "load_extension() prohibited in triggers and views"));
-        SQLite3Errors.addDeleteErrors(errors);
-        return new QueryAdapter(sb.toString(), errors, true);
+        return new QueryAdapter(sb.toString(), ERRORS, true);
     }
 
 }
@@ -1,10 +1,11 @@
 package sqlancer.sqlite3.gen.dml;
 
 import java.sql.SQLException;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import sqlancer.ExpectedErrors;
 import sqlancer.Query;
 import sqlancer.QueryAdapter;
 import sqlancer.Randomly;
@@ -20,14 +21,42 @@ import sqlancer.sqlite3.schema.SQLite3Schema.SQLite3Table;
 
 public class SQLite3InsertGenerator {
 
+    private static final ExpectedErrors ERRORS = getErrors();
+    private static final ExpectedErrors DO_UPDATE_ERRORS = getErrors("Abort due to constraint violation");
+
     private final Randomly r;
-    private final List<String> errors;
+    private ExpectedErrors errors = ERRORS;
     private final SQLite3GlobalState globalState;
 
     public SQLite3InsertGenerator(SQLite3GlobalState globalState, Randomly r) {
         this.globalState = globalState;
         this.r = r;
-        errors = new ArrayList<>();
+    }
+
+    private static ExpectedErrors getErrors(String... additionalErrors) {
+        return ExpectedErrors.build(errors -> {
+            errors.add("cannot UPDATE generated column");
+            errors.add("[SQLITE_CONSTRAINT]");
+            errors.add("[SQLITE_FULL]");
+            errors.add("[SQLITE_ERROR] SQL error or missing database (foreign key mismatch");
+            errors.add("[SQLITE_CONSTRAINT]  Abort due to constraint violation (FOREIGN KEY constraint failed)");
+            // // TODO: also check if the table is really missing (caused by a DROP TABLE)
+            errors.add("[SQLITE_ERROR] SQL error or missing database (no such table:");
+            errors.add("ON CONFLICT clause does not match any PRIMARY KEY or UNIQUE constraint"); // trigger
+            errors.add("no such column"); // trigger
+            errors.add("values were supplied"); // trigger
+            errors.add("Data type mismatch (datatype mismatch)"); // trigger
+            errors.add("too many levels of trigger recursion");
+            errors.add("String or BLOB exceeds size limit");
+
+            errors.add("A table in the database is locked");
+            errors.add("cannot INSERT into generated column"); // TODO: filter out generated columns
+
+            errors.add("load_extension() prohibited in triggers and views");
+            errors.addAll(Arrays.asList(additionalErrors));
+            SQLite3Errors.addInsertNowErrors(errors);
+            SQLite3Errors.addExpectedExpressionErrors(errors);
+        });
     }
 
     public static Query insertRow(SQLite3GlobalState globalState) throws SQLException {
@@ -42,26 +71,6 @@ public class SQLite3InsertGenerator {
     }
 
     private String insertRow(SQLite3Table table) {
-        errors.add("cannot UPDATE generated column");
-        errors.add("[SQLITE_CONSTRAINT]");
-        errors.add("[SQLITE_FULL]");
-        errors.add("[SQLITE_ERROR] SQL error or missing database (foreign key mismatch");
-        errors.add("[SQLITE_CONSTRAINT]  Abort due to constraint violation (FOREIGN KEY constraint failed)");
-        // // TODO: also check if the table is really missing (caused by a DROP TABLE)
-        errors.add("[SQLITE_ERROR] SQL error or missing database (no such table:");
-        errors.add("ON CONFLICT clause does not match any PRIMARY KEY or UNIQUE constraint"); // trigger
-        errors.add("no such column"); // trigger
-        errors.add("values were supplied"); // trigger
-        errors.add("Data type mismatch (datatype mismatch)"); // trigger
-        errors.add("too many levels of trigger recursion");
-        errors.add("String or BLOB exceeds size limit");
-
-        errors.add("A table in the database is locked");
-        errors.add("cannot INSERT into generated column"); // TODO: filter out generated columns
-
-        errors.add("load_extension() prohibited in triggers and views");
-        SQLite3Errors.addInsertNowErrors(errors);
-        SQLite3Errors.addExpectedExpressionErrors(errors);
         StringBuilder sb = new StringBuilder();
         sb.append("INSERT ");
         if (Randomly.getBoolean()) {
@@ -95,7 +104,6 @@ public class SQLite3InsertGenerator {
                 sb.append(table.getRandomNonEmptyColumnSubset().stream().map(c -> c.getName())
                         .collect(Collectors.joining(", ")));
                 sb.append(")");
-                errors.add("ON CONFLICT clause does not match any PRIMARY KEY or UNIQUE constraint");
             }
             sb.append(" DO ");
             if (Randomly.getBoolean() || !columnsInConflictClause) {
@@ -120,8 +128,7 @@ public class SQLite3InsertGenerator {
                     }
 
                 }
-                errors.add("Abort due to constraint violation");
-                errors.add("Data type mismatch (datatype mismatch)");
+                errors = DO_UPDATE_ERRORS;
                 if (Randomly.getBoolean()) {
                     sb.append(" WHERE ");
                     sb.append(SQLite3Visitor.asString(new SQLite3ExpressionGenerator(globalState)
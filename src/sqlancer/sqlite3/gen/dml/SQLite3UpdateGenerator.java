@@ -1,9 +1,10 @@
 package sqlancer.sqlite3.gen.dml;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import sqlancer.ExpectedErrors;
 import sqlancer.Query;
 import sqlancer.QueryAdapter;
 import sqlancer.Randomly;
@@ -17,9 +18,12 @@ import sqlancer.sqlite3.schema.SQLite3Schema.SQLite3Table;
 
 public class SQLite3UpdateGenerator {
 
+    private static final ExpectedErrors ERRORS = getErrors();
+    private static final ExpectedErrors CONSTRAINT_ERRORS = getErrors("[SQLITE_CONSTRAINT]");
+
     private final StringBuilder sb = new StringBuilder();
     private final Randomly r;
-    private final List<String> errors = new ArrayList<>();
+    private ExpectedErrors errors = ERRORS;
     private SQLite3GlobalState globalState;
 
     public SQLite3UpdateGenerator(SQLite3GlobalState globalState, Randomly r) {
@@ -27,6 +31,32 @@ public class SQLite3UpdateGenerator {
         this.r = r;
     }
 
+    private static ExpectedErrors getErrors(String... additionalErrors) {
+        return ExpectedErrors.build(errors -> {
+            errors.add("[SQLITE_ERROR] SQL error or missing database (foreign key mismatch");
+            errors.add("[SQLITE_CONSTRAINT]  Abort due to constraint violation");
+            errors.add("[SQLITE_ERROR] SQL error or missing database (parser stack overflow)");
+            errors.add(
+                    "[SQLITE_ERROR] SQL error or missing database (second argument to likelihood() must be a constant between 0.0 and 1.0)");
+            errors.add("[SQLITE_ERROR] SQL error or missing database (no such table:");
+            // for views
+            errors.add("ORDER BY term out of range");
+            errors.add("no such column");
+            errors.add("(too many levels of trigger recursion");
+            errors.add("String or BLOB exceeds size limit");
+            errors.add("cannot UPDATE generated column");
+            errors.add("unknown function: json_type");
+
+            // TODO not update generated columns?
+            errors.add("cannot INSERT into generated column");
+            errors.add("A table in the database is locked"); // https://www.sqlite.org/src/tktview?name=56a74875be
+            errors.addAll(Arrays.asList(additionalErrors));
+            SQLite3Errors.addInsertNowErrors(errors);
+            SQLite3Errors.addExpectedExpressionErrors(errors);
+            SQLite3Errors.addDeleteErrors(errors);
+        });
+    }
+
     public static Query updateRow(SQLite3GlobalState globalState) {
         SQLite3Table randomTableNoViewOrBailout = globalState.getSchema()
                 .getRandomTable(t -> !t.isView() && !t.isReadOnly());
@@ -48,7 +78,7 @@ public class SQLite3UpdateGenerator {
                 sb.append(fromOptions);
                 sb.append(" ");
             }
-            errors.add("[SQLITE_CONSTRAINT]");
+            errors = CONSTRAINT_ERRORS;
         }
         // TODO Beginning in SQLite version 3.15.0 (2016-10-14), an assignment in the
         // SET clause can be a parenthesized list of column names on the left and a row
@@ -96,26 +126,6 @@ public class SQLite3UpdateGenerator {
         // sb.append(expressions.stream().map(e -> SQLite3Visitor.asString(e)).collect(Collectors.joining(", ")));
         // }
 
-        errors.add("[SQLITE_ERROR] SQL error or missing database (foreign key mismatch");
-        errors.add("[SQLITE_CONSTRAINT]  Abort due to constraint violation");
-        errors.add("[SQLITE_ERROR] SQL error or missing database (parser stack overflow)");
-        errors.add(
-                "[SQLITE_ERROR] SQL error or missing database (second argument to likelihood() must be a constant between 0.0 and 1.0)");
-        errors.add("[SQLITE_ERROR] SQL error or missing database (no such table:");
-        // for views
-        errors.add("ORDER BY term out of range");
-        errors.add("no such column");
-        errors.add("(too many levels of trigger recursion");
-        errors.add("String or BLOB exceeds size limit");
-        errors.add("cannot UPDATE generated column");
-        errors.add("unknown function: json_type");
-
-        // TODO not update generated columns?
-        errors.add("cannot INSERT into generated column");
-        errors.add("A table in the database is locked"); // https://www.sqlite.org/src/tktview?name=56a74875be
-        SQLite3Errors.addInsertNowErrors(errors);
-        SQLite3Errors.addExpectedExpressionErrors(errors);
-        SQLite3Errors.addDeleteErrors(errors);
         return new QueryAdapter(sb.toString(), errors, true /* column could have an ON UPDATE clause */);
 
     }
@@ -1,22 +1,29 @@
 package sqlancer.sqlite3.oracle;
 
 import java.sql.Connection;
+import java.sql.DriverManager;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
+import sqlancer.ExpectedErrors;
 import sqlancer.IgnoreMeException;
 import sqlancer.Main.StateLogger;
 import sqlancer.MainOptions;
+import sqlancer.OracleStatistics;
+import sqlancer.Query;
 import sqlancer.QueryAdapter;
 import sqlancer.Randomly;
 import sqlancer.StateToReproduce.SQLite3StateToReproduce;
 import sqlancer.TestOracle;
+import sqlancer.reducer.ExpressionReducer;
+import sqlancer.reducer.QueryReducer;
 import sqlancer.sqlite3.SQLite3Errors;
+import sqlancer.sqlite3.SQLite3ExpressionStructure;
 import sqlancer.sqlite3.SQLite3Provider.SQLite3GlobalState;
 import sqlancer.sqlite3.SQLite3Visitor;
 import sqlancer.sqlite3.ast.SQLite3Aggregate;
@@ -37,14 +44,26 @@ import sqlancer.sqlite3.schema.SQLite3Schema.SQLite3Tables;
 public class SQLite3NoRECOracle implements TestOracle {
 
     private static final int NO_VALID_RESULT = -1;
+    private static final ExpectedErrors ERRORS = ExpectedErrors.build(errors -> {
+        SQLite3Errors.addExpectedExpressionErrors(errors);
+        SQLite3Errors.addMatchQueryErrors(errors);
+        SQLite3Errors.addQueryErrors(errors);
+        errors.add("misuse of aggregate");
+        errors.add("misuse of window function");
+        errors.add("second argument to nth_value must be a positive integer");
+        errors.add("no such table");
+        errors.add("no query solution");
+        errors.add("unable to use function MATCH in the requested context");
+    });
+
     private final SQLite3Schema s;
     private final Connection con;
     private final SQLite3StateToReproduce state;
-    private final Set<String> errors = new HashSet<>();
+    private final ExpectedErrors errors = ERRORS;
     private final StateLogger logger;
     private final MainOptions options;
     private final SQLite3GlobalState globalState;
-    private SQLite3ExpressionGenerator gen;
+    private final SQLite3ExpressionGenerator gen;
     private String firstQueryString;
     private String secondQueryString;
 
@@ -55,110 +74,217 @@ public class SQLite3NoRECOracle implements TestOracle {
         this.logger = globalState.getLogger();
         this.options = globalState.getOptions();
         this.globalState = globalState;
-        SQLite3Errors.addExpectedExpressionErrors(errors);
-        SQLite3Errors.addMatchQueryErrors(errors);
-        SQLite3Errors.addQueryErrors(errors);
-        errors.add("misuse of aggregate");
-        errors.add("misuse of window function");
-        errors.add("second argument to nth_value must be a positive integer");
-        errors.add("no such table");
-        errors.add("no query solution");
-        errors.add("unable to use function MATCH in the requested context");
+        this.gen = new SQLite3ExpressionGenerator(globalState);
     }
 
     @Override
     public void check() throws SQLException {
-        SQLite3Tables randomTables = s.getRandomTableNonEmptyTables();
+        SQLite3Tables randomTables = s
+                .getRandomTableNonEmptyTables(globalState.getVacuousCheckController().getMaxNrTables());
         List<SQLite3Column> columns = randomTables.getColumns();
-        gen = new SQLite3ExpressionGenerator(globalState).setColumns(columns);
+        gen.setColumns(columns);
         SQLite3Expression randomWhereCondition = gen.generateExpression();
         List<SQLite3Table> tables = randomTables.getTables();
         List<Join> joinStatements = gen.getRandomJoinClauses(tables);
         List<SQLite3Expression> tableRefs = SQLite3Common.getTableRefs(tables, s);
-        SQLite3Select select = new SQLite3Select();
-        select.setFromTables(tableRefs);
-        select.setJoinClauses(joinStatements);
+        boolean useAggregate = Randomly.getBoolean();
+        List<SQLite3Expression> orderBys = Randomly.getBoolean() ? gen.generateOrderBys() : Collections.emptyList();
+        NoRECQuery query = new NoRECQuery(tableRefs, joinStatements, randomWhereCondition, orderBys, useAggregate);
 
-        int optimizedCount = getOptimizedQuery(select, randomWhereCondition);
-        int unoptimizedCount = getUnoptimizedQuery(select, randomWhereCondition);
+        firstQueryString = getOptimizedQuery(query);
+        if (options.logEachSelect()) {
+            logger.writeCurrent(firstQueryString);
+        }
+        int optimizedCount = getCount(con, firstQueryString, useAggregate);
+        secondQueryString = getUnoptimizedQuery(query);
+        if (options.logEachSelect()) {
+            logger.writeCurrent(secondQueryString);
+        }
+        int unoptimizedCount = getCount(con, secondQueryString, true);
         if (optimizedCount == NO_VALID_RESULT || unoptimizedCount == NO_VALID_RESULT) {
             throw new IgnoreMeException();
         }
+        if (optimizedCount == 0 && unoptimizedCount == 0) {
+            OracleStatistics.reportVacuousCheck();
+        }
         if (optimizedCount != unoptimizedCount) {
+            if (options.reduceOracleQueries()) {
+                NoRECQuery reducedQuery = reduce(query);
+                firstQueryString = getOptimizedQuery(reducedQuery);
+                secondQueryString = getUnoptimizedQuery(reducedQuery);
+                optimizedCount = getCount(con, firstQueryString, reducedQuery.useAggregate);
+                unoptimizedCount = getCount(con, secondQueryString, true);
+            }
             state.queryString = firstQueryString + ";\n" + secondQueryString + ";";
             throw new AssertionError(optimizedCount + " " + unoptimizedCount);
         }
+        globalState.getPlanCoverage().sample(con, firstQueryString);
 
     }
 
-    private int getUnoptimizedQuery(SQLite3Select select, SQLite3Expression randomWhereCondition) throws SQLException {
-        SQLite3PostfixUnaryOperation isTrue = new SQLite3PostfixUnaryOperation(PostfixUnaryOperator.IS_TRUE,
-                randomWhereCondition);
-        SQLite3PostfixText asText = new SQLite3PostfixText(isTrue, " as count", null);
-        select.setFetchColumns(Arrays.asList(asText));
-        select.setWhereClause(null);
-        secondQueryString = "SELECT SUM(count) FROM (" + SQLite3Visitor.asString(select) + ")";
-        if (options.logEachSelect()) {
-            logger.writeCurrent(secondQueryString);
+    private static final class NoRECQuery {
+
+        private final List<SQLite3Expression> tableRefs;
+        private final List<Join> joins;
+        private final SQLite3Expression whereCondition;
+        private final List<SQLite3Expression> orderBys;
+        private final boolean useAggregate;
+
+        NoRECQuery(List<SQLite3Expression> tableRefs, List<Join> joins, SQLite3Expression whereCondition,
+                List<SQLite3Expression> orderBys, boolean useAggregate) {
+            this.tableRefs = tableRefs;
+            this.joins = joins;
+            this.whereCondition = whereCondition;
+            this.orderBys = orderBys;
+            this.useAggregate = useAggregate;
         }
-        QueryAdapter q = new QueryAdapter(secondQueryString, errors);
-        return extractCounts(q);
-    }
 
-    private int getOptimizedQuery(SQLite3Select select, SQLite3Expression randomWhereCondition) throws SQLException {
-        boolean useAggregate = Randomly.getBoolean();
-        if (Randomly.getBoolean()) {
-            select.setOrderByExpressions(gen.generateOrderBys());
+        NoRECQuery withTableRefs(List<SQLite3Expression> newTableRefs) {
+            return new NoRECQuery(newTableRefs, joins, whereCondition, orderBys, useAggregate);
         }
-        if (useAggregate) {
-            select.setFetchColumns(Arrays.asList(new SQLite3Aggregate(Collections.emptyList(),
-                    SQLite3Aggregate.SQLite3AggregateFunction.COUNT_ALL)));
-        } else {
-            SQLite3ColumnName aggr = new SQLite3ColumnName(SQLite3Column.createDummy("*"), null);
-            select.setFetchColumns(Arrays.asList(aggr));
+
+        NoRECQuery withJoins(List<Join> newJoins) {
+            return new NoRECQuery(tableRefs, newJoins, whereCondition, orderBys, useAggregate);
         }
-        select.setWhereClause(randomWhereCondition);
-        firstQueryString = SQLite3Visitor.asString(select);
-        if (options.logEachSelect()) {
-            logger.writeCurrent(firstQueryString);
+
+        NoRECQuery withWhereCondition(SQLite3Expression newWhereCondition) {
+            return new NoRECQuery(tableRefs, joins, newWhereCondition, orderBys, useAggregate);
         }
-        QueryAdapter q = new QueryAdapter(firstQueryString, errors);
-        return useAggregate ? extractCounts(q) : countRows(q);
+
+        NoRECQuery withOrderBys(List<SQLite3Expression> newOrderBys) {
+            return new NoRECQuery(tableRefs, joins, whereCondition, newOrderBys, useAggregate);
+        }
+
     }
 
-    private int countRows(QueryAdapter q) {
-        int count = 0;
-        try (ResultSet rs = q.executeAndGet(con)) {
-            if (rs == null) {
-                return NO_VALID_RESULT;
-            } else {
-                try {
-                    while (rs.next()) {
-                        count++;
+    /**
+     * Reduces the query while the counts of the optimized and unoptimized query still differ.
+     */
+    private NoRECQuery reduce(NoRECQuery query) throws SQLException {
+        List<Connection> connections = getReducerConnections(globalState);
+        try {
+            QueryReducer<NoRECQuery> reducer = new QueryReducer<>(connections, this::isCountMismatch);
+            NoRECQuery reducedQuery = reducer.reduce(query, this::getReductions);
+            // the additional connections might not have the same session state as the original one
+            return isCountMismatch(con, reducedQuery) ? reducedQuery : query;
+        } finally {
+            QueryReducer.closeAdditionalConnections(connections);
+        }
+    }
+
+    /**
+     * Returns the test connection followed by --num-threads - 1 additional connections to the database file, on which
+     * the PRAGMAs of the test case were executed, so that a {@link QueryReducer} can check candidates on them.
+     */
+    public static List<Connection> getReducerConnections(SQLite3GlobalState globalState) throws SQLException {
+        List<Connection> connections = new ArrayList<>();
+        Connection con = globalState.getConnection();
+        connections.add(con);
+        String url = con.getMetaData().getURL();
+        for (int i = 1; i < globalState.getOptions().getNumberConcurrentThreads(); i++) {
+            Connection additionalCon = DriverManager.getConnection(url);
+            connections.add(additionalCon);
+            for (Query statement : globalState.getState().getStatements()) {
+                if (statement.getQueryString().startsWith("PRAGMA")) {
+                    try (Statement st = additionalCon.createStatement()) {
+                        st.execute(statement.getQueryString());
+                    } catch (SQLException e) {
+                        // the PRAGMA also failed during testing
                     }
-                } catch (SQLException e) {
-                    count = NO_VALID_RESULT;
                 }
-                rs.getStatement().close();
             }
-        } catch (Exception e) {
-            if (e instanceof IgnoreMeException) {
-                throw (IgnoreMeException) e;
+        }
+        return connections;
+    }
+
+    private boolean isCountMismatch(Connection c, NoRECQuery query) {
+        int optimizedCount = getCount(c, getOptimizedQuery(query), query.useAggregate);
+        int unoptimizedCount = getCount(c, getUnoptimizedQuery(query), true);
+        return optimizedCount != NO_VALID_RESULT && unoptimizedCount != NO_VALID_RESULT
+                && optimizedCount != unoptimizedCount;
+    }
+
+    private List<NoRECQuery> getReductions(NoRECQuery query) {
+        List<NoRECQuery> reductions = new ArrayList<>();
+        if (!query.orderBys.isEmpty()) {
+            reductions.add(query.withOrderBys(Collections.emptyList()));
+        }
+        for (int i = 0; i < query.joins.size(); i++) {
+            List<Join> joins = new ArrayList<>(query.joins);
+            joins.remove(i);
+            reductions.add(query.withJoins(joins));
+        }
+        for (int i = 0; i < query.tableRefs.size() && query.tableRefs.size() > 1; i++) {
+            List<SQLite3Expression> tableRefs = new ArrayList<>(query.tableRefs);
+            tableRefs.remove(i);
+            reductions.add(query.withTableRefs(tableRefs));
+        }
+        ExpressionReducer<SQLite3Expression> expressionReducer = SQLite3ExpressionStructure.createReducer();
+        for (SQLite3Expression where : expressionReducer.getReductions(query.whereCondition)) {
+            reductions.add(query.withWhereCondition(where));
+        }
+        for (int i = 0; i < query.joins.size(); i++) {
+            Join join = query.joins.get(i);
+            if (join.getOnClause() == null) {
+                continue;
+            }
+            for (SQLite3Expression onClause : expressionReducer.getReductions(join.getOnClause())) {
+                List<Join> joins = new ArrayList<>(query.joins);
+                joins.set(i, new Join(join.getTable(), onClause, join.getType()));
+                reductions.add(query.withJoins(joins));
             }
-            throw new AssertionError(secondQueryString, e);
         }
-        return count;
+        for (int i = 0; i < query.orderBys.size() && query.orderBys.size() > 1; i++) {
+            List<SQLite3Expression> orderBys = new ArrayList<>(query.orderBys);
+            orderBys.remove(i);
+            reductions.add(query.withOrderBys(orderBys));
+        }
+        return reductions;
+    }
+
+    private static SQLite3Select createSelect(NoRECQuery query) {
+        SQLite3Select select = new SQLite3Select();
+        select.setFromTables(query.tableRefs);
+        select.setJoinClauses(query.joins);
+        select.setOrderByExpressions(query.orderBys);
+        return select;
+    }
+
+    private static String getUnoptimizedQuery(NoRECQuery query) {
+        SQLite3Select select = createSelect(query);
+        SQLite3PostfixUnaryOperation isTrue = new SQLite3PostfixUnaryOperation(PostfixUnaryOperator.IS_TRUE,
+                query.whereCondition);
+        SQLite3PostfixText asText = new SQLite3PostfixText(isTrue, " as count", null);
+        select.setFetchColumns(Arrays.asList(asText));
+        return "SELECT SUM(count) FROM (" + SQLite3Visitor.asString(select) + ")";
+    }
+
+    private static String getOptimizedQuery(NoRECQuery query) {
+        SQLite3Select select = createSelect(query);
+        if (query.useAggregate) {
+            select.setFetchColumns(Arrays.asList(new SQLite3Aggregate(Collections.emptyList(),
+                    SQLite3Aggregate.SQLite3AggregateFunction.COUNT_ALL)));
+        } else {
+            SQLite3ColumnName aggr = new SQLite3ColumnName(SQLite3Column.createDummy("*"), null);
+            select.setFetchColumns(Arrays.asList(aggr));
+        }
+        select.setWhereClause(query.whereCondition);
+        return SQLite3Visitor.asString(select);
     }
 
-    private int extractCounts(QueryAdapter q) {
+    /**
+     * Returns the number of rows fetched by the query or, if sumCounts is set, the sum of its first column.
+     */
+    private int getCount(Connection c, String queryString, boolean sumCounts) {
+        QueryAdapter q = new QueryAdapter(queryString, errors);
         int count = 0;
-        try (ResultSet rs = q.executeAndGet(con)) {
+        try (ResultSet rs = q.executeAndGet(c)) {
             if (rs == null) {
                 return NO_VALID_RESULT;
             } else {
                 try {
                     while (rs.next()) {
-                        count += rs.getInt(1);
+                        count += sumCounts ? rs.getInt(1) : 1;
                     }
                 } catch (SQLException e) {
                     count = NO_VALID_RESULT;
@@ -169,7 +295,7 @@ public class SQLite3NoRECOracle implements TestOracle {
             if (e instanceof IgnoreMeException) {
                 throw (IgnoreMeException) e;
             }
-            throw new AssertionError(secondQueryString, e);
+            throw new AssertionError(queryString, e);
         }
         return count;
     }
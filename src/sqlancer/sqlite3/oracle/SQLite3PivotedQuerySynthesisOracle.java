@@ -6,10 +6,12 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import sqlancer.ExpectedErrors;
 import sqlancer.IgnoreMeException;
 import sqlancer.Query;
 import sqlancer.QueryAdapter;
@@ -47,13 +49,16 @@ import sqlancer.sqlite3.schema.SQLite3Schema.SQLite3Tables;
 
 public class SQLite3PivotedQuerySynthesisOracle implements TestOracle {
 
+    private static final ExpectedErrors ERRORS = getErrors();
+    private static final ExpectedErrors OUTER_JOIN_ERRORS = getErrors("ON clause references tables to its right");
+
     private final Connection database;
     private final SQLite3Schema s;
     private final Randomly r;
     private SQLite3StateToReproduce state;
     private SQLite3RowValue rw;
     private List<SQLite3Column> fetchColumns;
-    private final List<String> errors = new ArrayList<>();
+    private ExpectedErrors errors;
     private List<SQLite3Expression> colExpressions;
     private SQLite3GlobalState globalState;
 
@@ -64,6 +69,14 @@ public class SQLite3PivotedQuerySynthesisOracle implements TestOracle {
         s = SQLite3Schema.fromConnection(database);
     }
 
+    private static ExpectedErrors getErrors(String... additionalErrors) {
+        return ExpectedErrors.build(errors -> {
+            addExpectedErrors(errors);
+            errors.add("ORDER BY term out of range");
+            errors.addAll(Arrays.asList(additionalErrors));
+        });
+    }
+
     @Override
     public void check() throws SQLException {
         Query query = getQueryThatContainsAtLeastOneRow(globalState);
@@ -81,11 +94,10 @@ public class SQLite3PivotedQuerySynthesisOracle implements TestOracle {
         SQLite3ToStringVisitor visitor = new SQLite3ToStringVisitor();
         visitor.visit(selectStatement);
         String queryString = visitor.get();
-        addExpectedErrors(errors);
         return new QueryAdapter(queryString, errors);
     }
 
-    public static void addExpectedErrors(List<String> errors) {
+    public static void addExpectedErrors(Collection<String> errors) {
         errors.add("no such index");
         errors.add("no query solution");
         errors.add(
@@ -99,6 +111,7 @@ public class SQLite3PivotedQuerySynthesisOracle implements TestOracle {
 
     public SQLite3Select getQuery(SQLite3GlobalState globalState) throws SQLException {
         this.state = (SQLite3StateToReproduce) globalState.getState();
+        errors = ERRORS;
         if (s.getDatabaseTables().isEmpty()) {
             throw new IgnoreMeException();
         }
@@ -124,7 +137,7 @@ public class SQLite3PivotedQuerySynthesisOracle implements TestOracle {
             JoinType options;
             options = Randomly.fromOptions(JoinType.INNER, JoinType.CROSS, JoinType.OUTER);
             if (options == JoinType.OUTER && tables.size() > 2) {
-                errors.add("ON clause references tables to its right");
+                errors = OUTER_JOIN_ERRORS;
             }
             Join j = new SQLite3Expression.Join(table, joinClause, options);
             joinStatements.add(j);
@@ -155,7 +168,6 @@ public class SQLite3PivotedQuerySynthesisOracle implements TestOracle {
                 if (Randomly.getBoolean() && !generateDistinct) {
                     colName = generateWindowFunction(columns, colName, true);
                 }
-                errors.add("second argument to nth_value must be a positive integer");
             }
             if (Randomly.getBoolean()) {
                 SQLite3Expression randomExpression;
@@ -239,10 +251,8 @@ public class SQLite3PivotedQuerySynthesisOracle implements TestOracle {
             createStatement.close();
             return isContainedIn;
         } catch (SQLException e) {
-            for (String exp : finalQuery.getExpectedErrors()) {
-                if (e.getMessage().contains(exp)) {
-                    return true;
-                }
+            if (ExpectedErrors.matches(finalQuery.getExpectedErrors(), e.getMessage())) {
+                return true;
             }
             throw e;
         }
@@ -268,7 +278,6 @@ public class SQLite3PivotedQuerySynthesisOracle implements TestOracle {
             // TODO RANDOM()
         }
         // TODO collate
-        errors.add("ORDER BY term out of range");
         return orderBys;
     }
 
@@ -282,7 +291,6 @@ public class SQLite3PivotedQuerySynthesisOracle implements TestOracle {
 
     private List<SQLite3Expression> generateGroupByClause(List<SQLite3Column> columns, SQLite3RowValue rw,
             boolean allTablesContainOneRow) {
-        errors.add("GROUP BY term out of range");
         if (allTablesContainOneRow && Randomly.getBoolean()) {
             List<SQLite3Expression> collect = new ArrayList<>();
             for (int i = 0; i < Randomly.smallNumber(); i++) {
@@ -372,7 +380,6 @@ public class SQLite3PivotedQuerySynthesisOracle implements TestOracle {
         }
         sb.append(")");
         colName = new SQLite3PostfixText(colName, sb.toString(), colName.getExpectedValue());
-        errors.add("misuse of aggregate");
         return colName;
     }
 
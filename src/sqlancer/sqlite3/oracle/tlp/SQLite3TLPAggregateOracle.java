@@ -2,11 +2,11 @@ package sqlancer.sqlite3.oracle.tlp;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
 import sqlancer.DatabaseProvider;
+import sqlancer.ExpectedErrors;
 import sqlancer.IgnoreMeException;
 import sqlancer.QueryAdapter;
 import sqlancer.Randomly;
@@ -30,20 +30,22 @@ import sqlancer.sqlite3.schema.SQLite3Schema.SQLite3Tables;
 
 public class SQLite3TLPAggregateOracle implements TestOracle {
 
+    private static final ExpectedErrors ERRORS = ExpectedErrors.build(SQLite3Errors::addExpectedExpressionErrors);
+
     private SQLite3GlobalState state;
-    private final List<String> errors = new ArrayList<>();
-    private SQLite3ExpressionGenerator gen;
+    private final ExpectedErrors errors = ERRORS;
+    private final SQLite3ExpressionGenerator gen;
 
     public SQLite3TLPAggregateOracle(SQLite3GlobalState state) {
         this.state = state;
-        SQLite3Errors.addExpectedExpressionErrors(errors);
+        this.gen = new SQLite3ExpressionGenerator(state);
     }
 
     @Override
     public void check() throws SQLException {
         SQLite3Schema s = state.getSchema();
         SQLite3Tables targetTables = s.getRandomTableNonEmptyTables();
-        gen = new SQLite3ExpressionGenerator(state).setColumns(targetTables.getColumns());
+        gen.setColumns(targetTables.getColumns());
         SQLite3Select select = new SQLite3Select();
         SQLite3AggregateFunction windowFunction = Randomly.fromOptions(SQLite3Aggregate.SQLite3AggregateFunction.MIN,
                 SQLite3Aggregate.SQLite3AggregateFunction.MAX, SQLite3AggregateFunction.SUM,
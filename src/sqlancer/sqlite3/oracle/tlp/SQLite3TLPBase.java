@@ -2,11 +2,10 @@ package sqlancer.sqlite3.oracle.tlp;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 import java.util.stream.Collectors;
 
+import sqlancer.ExpectedErrors;
 import sqlancer.Randomly;
 import sqlancer.TestOracle;
 import sqlancer.sqlite3.SQLite3Errors;
@@ -28,12 +27,17 @@ import sqlancer.sqlite3.schema.SQLite3Schema.SQLite3Tables;
 
 public class SQLite3TLPBase implements TestOracle {
 
+    private static final ExpectedErrors ERRORS = ExpectedErrors.build(errors -> {
+        SQLite3Errors.addExpectedExpressionErrors(errors);
+        SQLite3Errors.addQueryErrors(errors);
+    });
+
     final SQLite3GlobalState state;
-    final Set<String> errors = new HashSet<>();
+    final ExpectedErrors errors = ERRORS;
 
     SQLite3Schema s;
     SQLite3Tables targetTables;
-    SQLite3ExpressionGenerator gen;
+    final SQLite3ExpressionGenerator gen;
     SQLite3Select select;
     SQLite3Expression predicate;
     SQLite3Expression negatedPredicate;
@@ -41,15 +45,21 @@ public class SQLite3TLPBase implements TestOracle {
 
     public SQLite3TLPBase(SQLite3GlobalState state) {
         this.state = state;
-        SQLite3Errors.addExpectedExpressionErrors(errors);
-        SQLite3Errors.addQueryErrors(errors);
+        this.gen = new SQLite3ExpressionGenerator(state);
     }
 
     @Override
     public void check() throws SQLException {
+        generateQuery();
+    }
+
+    /**
+     * Generates the query without a WHERE clause and the predicates, which does not access the database.
+     */
+    void generateQuery() {
         s = state.getSchema();
-        targetTables = s.getRandomTableNonEmptyTables();
-        gen = new SQLite3ExpressionGenerator(state).setColumns(targetTables.getColumns());
+        targetTables = s.getRandomTableNonEmptyTables(state.getVacuousCheckController().getMaxNrTables());
+        gen.setColumns(targetTables.getColumns());
         select = new SQLite3Select();
         select.setFetchColumns(generateFetchColumns());
         List<SQLite3Table> tables = targetTables.getTables();
@@ -63,6 +73,15 @@ public class SQLite3TLPBase implements TestOracle {
         isNullPredicate = new SQLite3PostfixUnaryOperation(PostfixUnaryOperator.ISNULL, predicate);
     }
 
+    /**
+     * Returns the key under which the oracle's queries are passed to {@link SQLite3GlobalState#ignoreIfSeen(String)}.
+     * Subclasses compute it from their final queries before executing them, since they randomize further parts of the
+     * queries after {@link #generateQuery()}.
+     */
+    String getSeenQueryKey(String... queryStrings) {
+        return getClass().getSimpleName() + String.join(";", queryStrings);
+    }
+
     List<SQLite3Expression> generateFetchColumns() {
         List<SQLite3Expression> columns = new ArrayList<>();
         if (Randomly.getBoolean()) {
@@ -22,16 +22,15 @@ public class SQLite3TLPDistinctOracle extends SQLite3TLPBase {
         select.setSelectType(SelectType.DISTINCT);
         select.setWhereClause(null);
         String originalQueryString = SQLite3Visitor.asString(select);
-
-        List<String> resultSet = DatabaseProvider.getResultSetFirstColumnAsString(originalQueryString, errors,
-                state.getConnection(), state);
-
         select.setWhereClause(predicate);
         String firstQueryString = SQLite3Visitor.asString(select);
         select.setWhereClause(negatedPredicate);
         String secondQueryString = SQLite3Visitor.asString(select);
         select.setWhereClause(isNullPredicate);
         String thirdQueryString = SQLite3Visitor.asString(select);
+        state.ignoreIfSeen(getSeenQueryKey(originalQueryString, firstQueryString, secondQueryString, thirdQueryString));
+        List<String> resultSet = DatabaseProvider.getResultSetFirstColumnAsString(originalQueryString, errors,
+                state.getConnection(), state);
         List<String> combinedString = new ArrayList<>();
         List<String> secondResultSet = TestOracle.getCombinedResultSetNoDuplicates(firstQueryString, secondQueryString,
                 thirdQueryString, combinedString, true, state, errors);
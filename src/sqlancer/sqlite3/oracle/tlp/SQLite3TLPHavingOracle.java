@@ -3,10 +3,10 @@ package sqlancer.sqlite3.oracle.tlp;
 import java.sql.SQLException;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 import java.util.stream.Collectors;
 
 import sqlancer.DatabaseProvider;
+import sqlancer.ExpectedErrors;
 import sqlancer.IgnoreMeException;
 import sqlancer.Randomly;
 import sqlancer.TestOracle;
@@ -31,14 +31,17 @@ import sqlancer.sqlite3.schema.SQLite3Schema.SQLite3Tables;
 
 public class SQLite3TLPHavingOracle implements TestOracle {
 
+    private static final ExpectedErrors ERRORS = ExpectedErrors.build(errors -> {
+        SQLite3Errors.addExpectedExpressionErrors(errors);
+        errors.add("no such column"); // FIXME why?
+        errors.add("ON clause references tables to its right");
+    });
+
     private final SQLite3GlobalState state;
-    private final Set<String> errors = new HashSet<>();
+    private final ExpectedErrors errors = ERRORS;
 
     public SQLite3TLPHavingOracle(SQLite3GlobalState state) {
         this.state = state;
-        SQLite3Errors.addExpectedExpressionErrors(errors);
-        errors.add("no such column"); // FIXME why?
-        errors.add("ON clause references tables to its right");
     }
 
     @Override
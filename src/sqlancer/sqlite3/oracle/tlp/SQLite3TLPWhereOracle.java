@@ -1,16 +1,28 @@
 package sqlancer.sqlite3.oracle.tlp;
 
+import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 
-import sqlancer.DatabaseProvider;
+import sqlancer.PartitionedQueryPlan;
+import sqlancer.PlannedTestOracle;
 import sqlancer.Randomly;
 import sqlancer.TestOracle;
+import sqlancer.reducer.PartitioningQueryReducer;
+import sqlancer.reducer.QueryReducer;
+import sqlancer.sqlite3.SQLite3ExpressionStructure;
 import sqlancer.sqlite3.SQLite3Provider.SQLite3GlobalState;
 import sqlancer.sqlite3.SQLite3Visitor;
+import sqlancer.sqlite3.ast.SQLite3Expression;
+import sqlancer.sqlite3.ast.SQLite3Expression.SQLite3PostfixUnaryOperation;
+import sqlancer.sqlite3.ast.SQLite3Expression.SQLite3PostfixUnaryOperation.PostfixUnaryOperator;
+import sqlancer.sqlite3.ast.SQLite3Select;
+import sqlancer.sqlite3.ast.SQLite3UnaryOperation;
+import sqlancer.sqlite3.ast.SQLite3UnaryOperation.UnaryOperator;
+import sqlancer.sqlite3.oracle.SQLite3NoRECOracle;
 
-public class SQLite3TLPWhereOracle extends SQLite3TLPBase {
+public class SQLite3TLPWhereOracle extends SQLite3TLPBase implements PlannedTestOracle<PartitionedQueryPlan> {
 
     public SQLite3TLPWhereOracle(SQLite3GlobalState state) {
         super(state);
@@ -18,27 +30,70 @@ public class SQLite3TLPWhereOracle extends SQLite3TLPBase {
 
     @Override
     public void check() throws SQLException {
-        super.check();
+        execute(plan());
+    }
+
+    @Override
+    public PartitionedQueryPlan plan() {
+        generateQuery();
         select.setWhereClause(null);
         String originalQueryString = SQLite3Visitor.asString(select);
 
-        List<String> resultSet = DatabaseProvider.getResultSetFirstColumnAsString(originalQueryString, errors,
-                state.getConnection(), state);
-
         boolean orderBy = Randomly.getBooleanWithSmallProbability();
         if (orderBy) {
             select.setOrderByExpressions(gen.generateOrderBys());
         }
+        PartitionedQueryPlan queries = getPlan(select, predicate, originalQueryString, !orderBy);
+        String seenQueryKey = getSeenQueryKey(originalQueryString, queries.getFirstQueryString(),
+                queries.getSecondQueryString(), queries.getThirdQueryString());
+        PartitionedQueryPlan plan = new PartitionedQueryPlan(seenQueryKey, originalQueryString,
+                queries.getFirstQueryString(), queries.getSecondQueryString(), queries.getThirdQueryString(), !orderBy);
+        if (state.getOptions().reduceOracleQueries()) {
+            // the fields are overwritten when the next check is planned
+            SQLite3Select partitioningSelect = select;
+            SQLite3Expression planPredicate = predicate;
+            plan = plan.withReduction(() -> {
+                List<Connection> connections = SQLite3NoRECOracle.getReducerConnections(state);
+                try {
+                    return new PartitioningQueryReducer<>(SQLite3ExpressionStructure.createReducer(),
+                            p -> getPlan(partitioningSelect, p, originalQueryString, !orderBy), errors)
+                                    .reduce(connections, planPredicate);
+                } finally {
+                    QueryReducer.closeAdditionalConnections(connections);
+                }
+            });
+        }
+        return plan;
+    }
+
+    private static PartitionedQueryPlan getPlan(SQLite3Select select, SQLite3Expression predicate,
+            String originalQueryString, boolean asUnion) {
         select.setWhereClause(predicate);
         String firstQueryString = SQLite3Visitor.asString(select);
-        select.setWhereClause(negatedPredicate);
+        select.setWhereClause(new SQLite3UnaryOperation(UnaryOperator.NOT, predicate));
         String secondQueryString = SQLite3Visitor.asString(select);
-        select.setWhereClause(isNullPredicate);
+        select.setWhereClause(new SQLite3PostfixUnaryOperation(PostfixUnaryOperator.ISNULL, predicate));
         String thirdQueryString = SQLite3Visitor.asString(select);
+        return new PartitionedQueryPlan(null, originalQueryString, firstQueryString, secondQueryString,
+                thirdQueryString, asUnion);
+    }
+
+    @Override
+    public void execute(PartitionedQueryPlan plan) throws SQLException {
+        if (plan.getSeenQueryKey() != null) {
+            state.ignoreIfSeen(plan.getSeenQueryKey());
+        }
+        List<String> resultSet = state.getBaselineResultSet(plan.getOriginalQueryString(), errors);
         List<String> combinedString = new ArrayList<>();
-        List<String> secondResultSet = TestOracle.getCombinedResultSet(firstQueryString, secondQueryString,
-                thirdQueryString, combinedString, !orderBy, state, errors);
-        TestOracle.assumeResultSetsAreEqual(resultSet, secondResultSet, originalQueryString, combinedString, state);
+        List<String> secondResultSet = TestOracle.getCombinedResultSet(plan.getFirstQueryString(),
+                plan.getSecondQueryString(), plan.getThirdQueryString(), combinedString, plan.isAsUnion(), state,
+                errors);
+        if (plan.getReduction() != null && PartitioningQueryReducer.isMismatch(resultSet, secondResultSet)) {
+            // the reduced plan cannot be reduced further, so this reports the reduced queries if they expose the bug
+            execute(plan.getReduction().reduce());
+        }
+        TestOracle.assumeResultSetsAreEqual(resultSet, secondResultSet, plan.getOriginalQueryString(), combinedString,
+                state);
     }
 
 }
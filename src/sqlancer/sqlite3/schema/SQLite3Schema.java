@@ -14,10 +14,13 @@ import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
+import sqlancer.ColumnValueSampler;
+import sqlancer.ExpectedErrors;
 import sqlancer.IgnoreMeException;
 import sqlancer.QueryAdapter;
 import sqlancer.Randomly;
 import sqlancer.StateToReproduce.SQLite3StateToReproduce;
+import sqlancer.events.SchemaRefreshEvent;
 import sqlancer.schema.AbstractTable;
 import sqlancer.schema.AbstractTableColumn;
 import sqlancer.schema.TableIndex;
@@ -29,6 +32,15 @@ import sqlancer.sqlite3.schema.SQLite3Schema.SQLite3Table.TableKind;
 
 public class SQLite3Schema {
 
+    private static final ExpectedErrors NR_ROWS_ERRORS = ExpectedErrors.build(errors -> {
+        errors.add("ORDER BY term out of range");
+        errors.addAll(Arrays.asList("second argument to nth_value must be a positive integer",
+                "ON clause references tables to its right", "no such table", "no query solution", "no such index",
+                "GROUP BY term", "is circularly defined", "misuse of aggregate", "no such column",
+                "misuse of window function"));
+        SQLite3Errors.addExpectedExpressionErrors(errors);
+    });
+
     private final List<SQLite3Table> databaseTables;
     private final List<String> indexNames;
 
@@ -342,16 +354,49 @@ public class SQLite3Schema {
         return sb.toString();
     }
 
+    /**
+     * Samples the values of the columns of all tables, which are read with a full scan of each table, and determines
+     * their minimum and maximum values.
+     */
+    public void sampleColumnValues(Connection con, ColumnValueSampler<SQLite3Constant> sampler) {
+        for (SQLite3Table table : getDatabaseTablesWithoutViews()) {
+            List<SQLite3Column> columns = table.getColumns();
+            String valuesQuery = String.format("SELECT %s FROM %s", columns.stream()
+                    .map(c -> c.getName() + ", typeof(" + c.getName() + ")").collect(Collectors.joining(", ")),
+                    table.getName());
+            String minMaxQuery = String.format("SELECT %s FROM %s", columns.stream()
+                    .map(c -> String.format("MIN(%1$s), typeof(MIN(%1$s)), MAX(%1$s), typeof(MAX(%1$s))", c.getName()))
+                    .collect(Collectors.joining(", ")), table.getName());
+            try (Statement s = con.createStatement()) {
+                try (ResultSet rs = s.executeQuery(valuesQuery)) {
+                    while (rs.next()) {
+                        for (int i = 0; i < columns.size(); i++) {
+                            SQLite3Constant value = getConstant(rs, 2 * i + 1, getColumnType(rs.getString(2 * i + 2)));
+                            // NULL is already generated often enough as a random constant
+                            if (!value.isNull()) {
+                                sampler.add(columns.get(i).getFullQualifiedName(), value);
+                            }
+                        }
+                    }
+                }
+                try (ResultSet rs = s.executeQuery(minMaxQuery)) {
+                    if (rs.next()) {
+                        for (int i = 0; i < columns.size(); i++) {
+                            sampler.setMinMax(columns.get(i).getFullQualifiedName(),
+                                    getConstant(rs, 4 * i + 1, getColumnType(rs.getString(4 * i + 2))),
+                                    getConstant(rs, 4 * i + 3, getColumnType(rs.getString(4 * i + 4))));
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                // for example, the values of a generated column cannot be computed, so constants are not sampled
+            }
+        }
+    }
+
     public static int getNrRows(Connection con, String table) throws SQLException {
         String string = "SELECT COUNT(*) FROM " + table;
-        List<String> errors = new ArrayList<>();
-        errors.add("ORDER BY term out of range");
-        errors.addAll(Arrays.asList("second argument to nth_value must be a positive integer",
-                "ON clause references tables to its right", "no such table", "no query solution", "no such index",
-                "GROUP BY term", "is circularly defined", "misuse of aggregate", "no such column",
-                "misuse of window function"));
-        SQLite3Errors.addExpectedExpressionErrors(errors);
-        QueryAdapter q = new QueryAdapter(string, errors);
+        QueryAdapter q = new QueryAdapter(string, NR_ROWS_ERRORS);
         try (ResultSet query = q.executeAndGet(con)) {
             if (query == null) {
                 throw new IgnoreMeException();
@@ -364,6 +409,10 @@ public class SQLite3Schema {
     }
 
     public static SQLite3Schema fromConnection(Connection con) throws SQLException {
+        return SchemaRefreshEvent.record(() -> readSchema(con));
+    }
+
+    private static SQLite3Schema readSchema(Connection con) throws SQLException {
         List<SQLite3Table> databaseTables = new ArrayList<>();
         List<String> indexNames = new ArrayList<>();
 
@@ -580,6 +629,17 @@ public class SQLite3Schema {
         return new SQLite3Tables(Randomly.nonEmptySubset(databaseTables));
     }
 
+    /**
+     * Returns a random non-empty subset of at most the given number of tables.
+     */
+    public SQLite3Tables getRandomTableNonEmptyTables(int maxNrTables) {
+        if (maxNrTables >= databaseTables.size()) {
+            return getRandomTableNonEmptyTables();
+        }
+        int nrTables = 1 + (int) Randomly.getNotCachedInteger(0, maxNrTables);
+        return new SQLite3Tables(Randomly.nonEmptySubset(databaseTables, nrTables));
+    }
+
     public SQLite3Table getRandomTableNoViewOrBailout() {
         List<SQLite3Table> databaseTablesWithoutViews = getDatabaseTablesWithoutViews();
         if (databaseTablesWithoutViews.isEmpty()) {
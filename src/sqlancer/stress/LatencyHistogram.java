@@ -0,0 +1,42 @@
+package sqlancer.stress;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram of latencies, whose buckets are powers of two of microseconds, from which approximate percentiles are
+ * computed. It can be updated by several threads concurrently.
+ */
+final class LatencyHistogram {
+
+    private final AtomicLongArray buckets = new AtomicLongArray(Long.SIZE);
+
+    void record(long latencyNanos) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(latencyNanos);
+        buckets.incrementAndGet(Long.SIZE - Long.numberOfLeadingZeros(micros));
+    }
+
+    /**
+     * Returns the upper bound of the bucket that contains the percentile, or "-" if no latencies were recorded.
+     *
+     * @param percentile
+     *            the percentile as a fraction between 0 and 1
+     */
+    String getPercentile(double percentile) {
+        long nrRecorded = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            nrRecorded += buckets.get(i);
+        }
+        long rank = (long) Math.ceil(percentile * nrRecorded);
+        long nrSeen = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            nrSeen += buckets.get(i);
+            if (nrSeen >= rank && nrSeen != 0) {
+                long micros = 1L << i;
+                return micros < 1000 ? "<" + micros + " us" : "<" + micros / 1000 + " ms";
+            }
+        }
+        return "-";
+    }
+
+}
@@ -0,0 +1,68 @@
+package sqlancer.stress;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the outcomes of the transactions that the {@link TransactionStressTester} executes, and keeps a histogram of
+ * the latencies of the committed transactions, from which the progress monitor prints approximate percentiles.
+ */
+public final class TransactionStatistics {
+
+    private static final LongAdder NR_COMMITTED = new LongAdder();
+    private static final LongAdder NR_ABORTED = new LongAdder();
+    private static final LongAdder NR_FAILED = new LongAdder();
+    private static final LongAdder NR_CHECKED_HISTORIES = new LongAdder();
+    private static final LongAdder NR_UNCHECKED_HISTORIES = new LongAdder();
+    private static final LatencyHistogram LATENCIES = new LatencyHistogram();
+
+    private TransactionStatistics() {
+    }
+
+    static void recordCommit(long latencyNanos) {
+        NR_COMMITTED.increment();
+        LATENCIES.record(latencyNanos);
+    }
+
+    /**
+     * Records a transaction that was rolled back because of a conflict with a concurrent transaction.
+     */
+    static void recordAbort() {
+        NR_ABORTED.increment();
+    }
+
+    /**
+     * Records a transaction that was rolled back because one of its statements failed with an expected error.
+     */
+    static void recordFailure() {
+        NR_FAILED.increment();
+    }
+
+    static void recordHistory(boolean checked) {
+        if (checked) {
+            NR_CHECKED_HISTORIES.increment();
+        } else {
+            NR_UNCHECKED_HISTORIES.increment();
+        }
+    }
+
+    public static long getNrTransactions() {
+        return NR_COMMITTED.sum() + NR_ABORTED.sum() + NR_FAILED.sum();
+    }
+
+    /**
+     * Returns a line with the outcomes and latencies of the transactions, or an empty string if no transactions were
+     * executed.
+     */
+    public static String getSummary() {
+        long nrTransactions = getNrTransactions();
+        if (nrTransactions == 0) {
+            return "";
+        }
+        return String.format(
+                "Executed %d transactions (committed: %.1f%%, aborted: %.1f%%, failed: %.1f%%; latency p50: %s, p95: %s, p99: %s). Serializability checks: %d (%d histories not checked).",
+                nrTransactions, 100.0 * NR_COMMITTED.sum() / nrTransactions, 100.0 * NR_ABORTED.sum() / nrTransactions,
+                100.0 * NR_FAILED.sum() / nrTransactions, LATENCIES.getPercentile(0.5), LATENCIES.getPercentile(0.95),
+                LATENCIES.getPercentile(0.99), NR_CHECKED_HISTORIES.sum(), NR_UNCHECKED_HISTORIES.sum());
+    }
+
+}
@@ -0,0 +1,386 @@
+package sqlancer.stress;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import sqlancer.ExpectedErrors;
+import sqlancer.GlobalState;
+import sqlancer.IgnoreMeException;
+import sqlancer.MainOptions;
+import sqlancer.Query;
+import sqlancer.QueryAdapter;
+import sqlancer.Randomly;
+
+/**
+ * Executes transactions concurrently on <code>--stress-connections</code> connections to a generated database, which
+ * exposes lock contention, deadlocks and isolation anomalies that a single connection never triggers. The transactions
+ * are generated in rounds of <code>--stress-transactions</code> by the thread of the database, since the generators are
+ * not thread-safe, and are executed with serializable isolation. A transaction is rolled back if one of its statements
+ * fails, and counted as aborted if this is due to a conflict with a concurrent transaction.
+ *
+ * After each round, the contents of the tables are compared with those after a sequential replay of the committed
+ * transactions on a copy of the database, first in the order in which they committed, and then, for at most
+ * <code>--max-serializability-history</code> committed transactions, in every order. If no order yields the same
+ * contents, the execution was not serializable. Each order is replayed in a single transaction that is rolled back
+ * afterwards, so that the database is copied only once per round. Unexpected errors are reported as for the test
+ * oracles.
+ */
+public final class TransactionStressTester {
+
+    private final GlobalState<?> globalState;
+    private final TransactionWorkload workload;
+    private final MainOptions options;
+
+    private static final class Transaction {
+
+        private final List<Query> statements;
+        private volatile int commitIndex = -1;
+        private volatile int connectionIndex;
+
+        Transaction(List<Query> statements) {
+            this.statements = statements;
+        }
+
+        @Override
+        public String toString() {
+            return statements.stream().map(q -> q.getQueryString()).collect(Collectors.joining("\n"));
+        }
+
+    }
+
+    public TransactionStressTester(GlobalState<?> globalState, TransactionWorkload workload) {
+        this.globalState = globalState;
+        this.workload = workload;
+        this.options = globalState.getOptions();
+    }
+
+    public void run() throws SQLException {
+        ExecutorService executor = Executors.newFixedThreadPool(options.getNrStressConnections());
+        try {
+            for (int i = 0; i < options.getNrQueries(); i += options.getNrStressTransactions()) {
+                runRound(executor);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void runRound(ExecutorService executor) throws SQLException {
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < options.getNrStressTransactions(); i++) {
+            List<Query> statements = new ArrayList<>();
+            for (int j = 0; j < Randomly.smallNumber() + 1; j++) {
+                try {
+                    statements.add(workload.generateStatement());
+                } catch (IgnoreMeException e) {
+
+                }
+            }
+            if (!statements.isEmpty()) {
+                transactions.add(new Transaction(statements));
+            }
+        }
+        workload.saveState(globalState.getConnection());
+        List<Transaction> committedTransactions = execute(transactions, executor);
+        logCommittedTransactions(committedTransactions);
+        if (committedTransactions.isEmpty()) {
+            return;
+        }
+        try {
+            List<List<String>> finalContents;
+            try (Connection con = workload.openConnection()) {
+                if (!workload.isReplayDeterministic(con)) {
+                    TransactionStatistics.recordHistory(false);
+                    return;
+                }
+                finalContents = getContents(con);
+            }
+            checkSerializability(committedTransactions, finalContents);
+        } catch (SQLException e) {
+            // for example, the value of a generated column cannot be computed, so the contents cannot be compared
+            TransactionStatistics.recordHistory(false);
+        }
+    }
+
+    /**
+     * Executes the transactions on concurrent connections.
+     *
+     * @return the transactions that committed, in their commit order
+     */
+    private List<Transaction> execute(List<Transaction> transactions, ExecutorService executor) throws SQLException {
+        Queue<Transaction> pendingTransactions = new ConcurrentLinkedQueue<>(transactions);
+        AtomicInteger nextCommitIndex = new AtomicInteger();
+        try {
+            List<Future<Void>> workers = new ArrayList<>();
+            for (int i = 0; i < options.getNrStressConnections(); i++) {
+                int connectionIndex = i;
+                workers.add(executor.submit(() -> {
+                    Connection con = null;
+                    try {
+                        Transaction transaction;
+                        while ((transaction = pendingTransactions.poll()) != null) {
+                            if (con == null) {
+                                con = workload.openConnection();
+                                con.setTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+                                con.setAutoCommit(false);
+                            }
+                            transaction.connectionIndex = connectionIndex;
+                            if (!execute(con, transaction, nextCommitIndex)) {
+                                con.close();
+                                con = null;
+                            }
+                        }
+                    } finally {
+                        if (con != null) {
+                            con.close();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<Void> worker : workers) {
+                try {
+                    worker.get();
+                } catch (ExecutionException e) {
+                    rethrow(e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AssertionError(e);
+        }
+        return transactions.stream().filter(t -> t.commitIndex != -1)
+                .sorted(Comparator.comparingInt(t -> t.commitIndex)).collect(Collectors.toList());
+    }
+
+    /**
+     * Executes the transaction on the connection.
+     *
+     * @return whether the connection can execute further transactions
+     */
+    private boolean execute(Connection con, Transaction transaction, AtomicInteger nextCommitIndex)
+            throws SQLException {
+        long startNanos = System.nanoTime();
+        for (Query q : transaction.statements) {
+            try (Statement s = con.createStatement()) {
+                s.execute(q.getQueryString());
+            } catch (SQLException e) {
+                if (workload.isTransactionConflict(e)) {
+                    TransactionStatistics.recordAbort();
+                } else if (ExpectedErrors.matches(q.getExpectedErrors(), e.getMessage())) {
+                    TransactionStatistics.recordFailure();
+                } else {
+                    throw new AssertionError(q.getQueryString(), e);
+                }
+                globalState.getManager().incrementSelectQueryCount();
+                return rollback(con);
+            }
+        }
+        try {
+            con.commit();
+        } catch (SQLException e) {
+            if (workload.isTransactionConflict(e)) {
+                TransactionStatistics.recordAbort();
+            } else if (transaction.statements.stream()
+                    .anyMatch(q -> ExpectedErrors.matches(q.getExpectedErrors(), e.getMessage()))) {
+                // a constraint that is only checked at commit time, such as a deferred foreign key
+                TransactionStatistics.recordFailure();
+            } else {
+                throw new AssertionError("COMMIT", e);
+            }
+            globalState.getManager().incrementSelectQueryCount();
+            return rollback(con);
+        }
+        // concurrent commits might obtain their indexes in a different order, which the replay in every order handles
+        transaction.commitIndex = nextCommitIndex.getAndIncrement();
+        TransactionStatistics.recordCommit(System.nanoTime() - startNanos);
+        globalState.getManager().incrementSelectQueryCount();
+        return true;
+    }
+
+    /**
+     * Rolls back the current transaction of the connection.
+     *
+     * @return whether the connection can execute further transactions, which is not the case if the DBMS already rolled
+     *         back the transaction (for example, SQLite for ON CONFLICT ROLLBACK), since the driver might not have
+     *         started a new one then
+     */
+    private static boolean rollback(Connection con) {
+        try {
+            con.rollback();
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Appends the committed transactions to the statements of the database, so that its state can be reproduced.
+     */
+    private void logCommittedTransactions(List<Transaction> committedTransactions) {
+        for (Transaction transaction : committedTransactions) {
+            globalState.getState().statements.add(new QueryAdapter("BEGIN"));
+            for (Query q : transaction.statements) {
+                globalState.getState().statements.add(q);
+            }
+            globalState.getState().statements.add(new QueryAdapter("COMMIT"));
+        }
+    }
+
+    private void checkSerializability(List<Transaction> committedTransactions, List<List<String>> finalContents)
+            throws SQLException {
+        Boolean serializable;
+        try (ReplayDatabase replayDatabase = new ReplayDatabase()) {
+            serializable = replayDatabase.replay(committedTransactions, finalContents);
+            if (serializable == null) {
+                return;
+            }
+            if (!serializable) {
+                if (committedTransactions.size() > options.getMaxSerializabilityHistory()) {
+                    TransactionStatistics.recordHistory(false);
+                    return;
+                }
+                serializable = replayPermutations(replayDatabase, new ArrayList<>(committedTransactions), 0,
+                        finalContents);
+            }
+        }
+        if (!serializable) {
+            StringBuilder sb = new StringBuilder();
+            for (Transaction transaction : committedTransactions) {
+                sb.append(String.format("-- transaction %d committed on connection %d\n%s\n", transaction.commitIndex,
+                        transaction.connectionIndex, transaction));
+            }
+            globalState.getState().queryString = sb.toString();
+            throw new AssertionError(String.format(
+                    "no sequential order of the %d committed transactions yields the same contents of the tables",
+                    committedTransactions.size()));
+        }
+        TransactionStatistics.recordHistory(true);
+    }
+
+    /**
+     * Replays the transactions in every order that starts with the first <code>nrFixed</code> transactions.
+     */
+    private boolean replayPermutations(ReplayDatabase replayDatabase, List<Transaction> transactions, int nrFixed,
+            List<List<String>> finalContents) throws SQLException {
+        if (nrFixed == transactions.size()) {
+            return replayDatabase.replay(transactions, finalContents);
+        }
+        for (int i = nrFixed; i < transactions.size(); i++) {
+            Collections.swap(transactions, nrFixed, i);
+            if (replayPermutations(replayDatabase, transactions, nrFixed + 1, finalContents)) {
+                return true;
+            }
+            Collections.swap(transactions, nrFixed, i);
+        }
+        return false;
+    }
+
+    /**
+     * A copy of the database before the round, on which the committed transactions are replayed.
+     */
+    private final class ReplayDatabase implements AutoCloseable {
+
+        private Connection con;
+
+        /**
+         * Replays the transactions sequentially in a single transaction, which is rolled back afterwards. Constraints
+         * that are only checked at commit time are thus not checked, which could only hide a non-serializable
+         * execution.
+         *
+         * @return whether the contents of the tables are the same afterwards, or <code>null</code> if the DBMS does not
+         *         support the replay
+         */
+        Boolean replay(List<Transaction> transactions, List<List<String>> finalContents) throws SQLException {
+            if (con == null) {
+                con = workload.openReplayConnection();
+                if (con == null) {
+                    return null;
+                }
+                con.setAutoCommit(false);
+            }
+            try {
+                for (Transaction transaction : transactions) {
+                    for (Query q : transaction.statements) {
+                        try (Statement s = con.createStatement()) {
+                            s.execute(q.getQueryString());
+                        } catch (SQLException e) {
+                            // the statement succeeded in the concurrent execution, so this order is not equivalent
+                            return false;
+                        }
+                    }
+                }
+                return getContents(con).equals(finalContents);
+            } finally {
+                if (!rollback(con)) {
+                    // the next order is replayed on a new copy
+                    close();
+                }
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            if (con != null) {
+                con.close();
+                con = null;
+            }
+        }
+
+    }
+
+    /**
+     * Returns the sorted rows of each table, as strings.
+     */
+    private List<List<String>> getContents(Connection con) throws SQLException {
+        List<List<String>> contents = new ArrayList<>();
+        for (String table : workload.getTableNames()) {
+            List<String> rows = new ArrayList<>();
+            try (Statement s = con.createStatement()) {
+                try (ResultSet rs = s.executeQuery("SELECT * FROM " + table)) {
+                    int nrColumns = rs.getMetaData().getColumnCount();
+                    while (rs.next()) {
+                        StringBuilder sb = new StringBuilder();
+                        for (int i = 1; i <= nrColumns; i++) {
+                            if (i != 1) {
+                                sb.append(", ");
+                            }
+                            sb.append(rs.getString(i));
+                        }
+                        rows.add(sb.toString());
+                    }
+                }
+            }
+            Collections.sort(rows);
+            contents.add(rows);
+        }
+        return contents;
+    }
+
+    private static void rethrow(Throwable t) throws SQLException {
+        if (t instanceof SQLException) {
+            throw (SQLException) t;
+        } else if (t instanceof RuntimeException) {
+            throw (RuntimeException) t;
+        } else if (t instanceof Error) {
+            throw (Error) t;
+        } else {
+            throw new AssertionError(t);
+        }
+    }
+
+}
@@ -0,0 +1,68 @@
+package sqlancer.stress;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import sqlancer.Query;
+
+/**
+ * The DBMS-specific part of the {@link TransactionStressTester}: it opens the connections to the database under test,
+ * generates the statements of the transactions using the existing generators, and classifies the errors that are caused
+ * by concurrent transactions.
+ */
+public interface TransactionWorkload {
+
+    /**
+     * Opens another connection to the database under test.
+     */
+    Connection openConnection() throws SQLException;
+
+    /**
+     * Generates a data-modifying statement. This is only called by the thread of the database, since the generators are
+     * not thread-safe, and the statement must not depend on the session that executes it (for example, on temporary
+     * tables).
+     *
+     * @throws sqlancer.IgnoreMeException
+     *             if no statement could be generated
+     */
+    Query generateStatement();
+
+    /**
+     * Returns whether the error means that the transaction was aborted because of a conflict with a concurrent
+     * transaction, such as a serialization failure, a detected deadlock or a lock that could not be acquired.
+     */
+    boolean isTransactionConflict(SQLException e);
+
+    /**
+     * Returns the tables whose contents are compared after the transactions were executed.
+     */
+    List<String> getTableNames();
+
+    /**
+     * Returns whether the committed transactions yield the same contents of the tables when they are replayed in the
+     * same order, given the contents of the tables after their concurrent execution, which is not the case if the DBMS
+     * makes random choices, for example, for generated keys.
+     */
+    default boolean isReplayDeterministic(Connection con) throws SQLException {
+        return true;
+    }
+
+    /**
+     * Saves the current state of the database under test, which {@link #openReplayConnection()} restores.
+     */
+    default void saveState(Connection con) throws SQLException {
+    }
+
+    /**
+     * Opens a connection to a separate database that has the state that was saved last, on which the committed
+     * transactions are replayed sequentially.
+     *
+     * @return the connection, or <code>null</code> if the DBMS does not support copying the database, in which case the
+     *         serializability of the transactions is not checked
+     */
+    default Connection openReplayConnection() throws SQLException {
+        return null;
+    }
+
+}
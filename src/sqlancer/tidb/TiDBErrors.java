@@ -2,8 +2,16 @@ package sqlancer.tidb;
 
 import java.util.Set;
 
+import sqlancer.ExpectedErrors;
+
 public final class TiDBErrors {
 
+    public static final ExpectedErrors EXPRESSION_ERRORS = ExpectedErrors.build(TiDBErrors::addExpressionErrors);
+    public static final ExpectedErrors EXPRESSION_HAVING_ERRORS = ExpectedErrors.build(errors -> {
+        addExpressionErrors(errors);
+        addExpressionHavingErrors(errors);
+    });
+
     private TiDBErrors() {
     }
 
@@ -5,14 +5,13 @@ import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.sql.Statement;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 import java.util.stream.Collectors;
 
 import sqlancer.AbstractAction;
 import sqlancer.CompositeTestOracle;
 import sqlancer.DatabaseProvider;
+import sqlancer.DatabaseProviderFactory;
 import sqlancer.GlobalState;
 import sqlancer.IgnoreMeException;
 import sqlancer.Main.QueryManager;
@@ -25,6 +24,9 @@ import sqlancer.StateToReproduce;
 import sqlancer.StateToReproduce.MySQLStateToReproduce;
 import sqlancer.StatementExecutor;
 import sqlancer.TestOracle;
+import sqlancer.coverage.QueryPlanFingerprinter;
+import sqlancer.events.OracleCheckEvent;
+import sqlancer.schema.SchemaCache;
 import sqlancer.tidb.TiDBProvider.TiDBGlobalState;
 import sqlancer.tidb.gen.TiDBAlterTableGenerator;
 import sqlancer.tidb.gen.TiDBAnalyzeTableGenerator;
@@ -41,30 +43,21 @@ public class TiDBProvider implements DatabaseProvider<TiDBGlobalState, TiDBOptio
 
     public enum Action implements AbstractAction<TiDBGlobalState> {
         INSERT(TiDBInsertGenerator::getQuery), //
-        ANALYZE_TABLE(TiDBAnalyzeTableGenerator::getQuery), TRUNCATE((g) -> new QueryAdapter(
-                "TRUNCATE " + g.getSchema().getRandomTable(t -> !t.isView()).getName())), CREATE_INDEX(
-                        TiDBIndexGenerator::getQuery), DELETE(TiDBDeleteGenerator::getQuery), SET(
-                                TiDBSetGenerator::getQuery), UPDATE(
-                                        TiDBUpdateGenerator::getQuery), ADMIN_CHECKSUM_TABLE(
-                                                (g) -> new QueryAdapter("ADMIN CHECKSUM TABLE "
-                                                        + g.getSchema().getRandomTable().getName())), VIEW_GENERATOR(
-                                                                TiDBViewGenerator::getQuery), ALTER_TABLE(
-                                                                        TiDBAlterTableGenerator::getQuery), EXPLAIN(
-                                                                                (g) -> {
-                                                                                    Set<String> errors = new HashSet<>();
-                                                                                    TiDBErrors.addExpressionErrors(
-                                                                                            errors);
-                                                                                    TiDBErrors
-                                                                                            .addExpressionHavingErrors(
-                                                                                                    errors);
-                                                                                    return new QueryAdapter("EXPLAIN "
-                                                                                            + TiDBRandomQuerySynthesizer
-                                                                                                    .generate(g,
-                                                                                                            Randomly.smallNumber()
-                                                                                                                    + 1)
-                                                                                                    .getQueryString(),
-                                                                                            errors);
-                                                                                });
+        ANALYZE_TABLE(TiDBAnalyzeTableGenerator::getQuery), TRUNCATE((g) -> new QueryAdapter("TRUNCATE " + g.getSchema()
+                .getRandomTable(t -> !t.isView()).getName())), CREATE_INDEX(TiDBIndexGenerator::getQuery), DELETE(
+                        TiDBDeleteGenerator::getQuery), SET(TiDBSetGenerator::getQuery), UPDATE(
+                                TiDBUpdateGenerator::getQuery), ADMIN_CHECKSUM_TABLE(
+                                        (g) -> new QueryAdapter("ADMIN CHECKSUM TABLE "
+                                                + g.getSchema().getRandomTable().getName())), VIEW_GENERATOR(
+                                                        TiDBViewGenerator::getQuery), ALTER_TABLE(
+                                                                TiDBAlterTableGenerator::getQuery), EXPLAIN(
+                                                                        (g) -> new QueryAdapter(
+                                                                                "EXPLAIN " + TiDBRandomQuerySynthesizer
+                                                                                        .generate(g,
+                                                                                                Randomly.smallNumber()
+                                                                                                        + 1)
+                                                                                        .getQueryString(),
+                                                                                TiDBErrors.EXPRESSION_HAVING_ERRORS));
 
         private final QueryProvider<TiDBGlobalState> queryProvider;
 
@@ -81,11 +74,21 @@ public class TiDBProvider implements DatabaseProvider<TiDBGlobalState, TiDBOptio
     public static class TiDBGlobalState extends GlobalState<TiDBOptions> {
 
         private TiDBSchema schema;
+        private final SchemaCache<TiDBSchema> schemaCache = new SchemaCache<>(
+                () -> TiDBSchema.fromConnection(getConnection(), getDatabaseName()));
 
         public void setSchema(TiDBSchema schema) {
             this.schema = schema;
         }
 
+        /**
+         * Reads the schema from the database, unless no statement that could have changed it was executed since it was
+         * last read.
+         */
+        public void updateSchema() throws SQLException {
+            setSchema(schemaCache.get(getManager()));
+        }
+
         public TiDBSchema getSchema() {
             return schema;
         }
@@ -127,9 +130,7 @@ public class TiDBProvider implements DatabaseProvider<TiDBGlobalState, TiDBOptio
     @Override
     public void generateAndTestDatabase(TiDBGlobalState globalState) throws SQLException {
         QueryManager manager = globalState.getManager();
-        Connection con = globalState.getConnection();
-        String databaseName = globalState.getDatabaseName();
-        globalState.setSchema(TiDBSchema.fromConnection(con, databaseName));
+        globalState.updateSchema();
         StateLogger logger = globalState.getLogger();
         StateToReproduce state = globalState.getState();
         for (int i = 0; i < Randomly.fromOptions(1, 2); i++) {
@@ -138,7 +139,7 @@ public class TiDBProvider implements DatabaseProvider<TiDBGlobalState, TiDBOptio
                 Query qt = new TiDBTableGenerator().getQuery(globalState);
                 success = manager.execute(qt);
                 logger.writeCurrent(state);
-                globalState.setSchema(TiDBSchema.fromConnection(con, databaseName));
+                globalState.updateSchema();
                 try {
                     logger.getCurrentFileWriter().close();
                 } catch (IOException e) {
@@ -148,13 +149,13 @@ public class TiDBProvider implements DatabaseProvider<TiDBGlobalState, TiDBOptio
                 logger.currentFileWriter = null;
             } while (!success);
         }
-        globalState.setSchema(TiDBSchema.fromConnection(con, databaseName));
+        globalState.updateSchema();
 
         StatementExecutor<TiDBGlobalState, Action> se = new StatementExecutor<>(globalState, Action.values(),
                 TiDBProvider::mapActions, (q) -> {
                     if (q.couldAffectSchema()) {
                         try {
-                            globalState.setSchema(TiDBSchema.fromConnection(con, databaseName));
+                            globalState.updateSchema();
                         } catch (SQLException e) {
                             if (q.getQueryString().contains("CREATE VIEW")) {
                                 throw new IgnoreMeException(); // TODO: drop view instead
@@ -167,6 +168,8 @@ public class TiDBProvider implements DatabaseProvider<TiDBGlobalState, TiDBOptio
                         throw new IgnoreMeException();
                     }
                 });
+        // unique keys would otherwise only be checked by the COMMIT of an optimistic transaction
+        se.enableTransactionBatching(false, "BEGIN PESSIMISTIC");
         se.executeStatements();
         manager.incrementCreateDatabase();
         List<TestOracle> oracles = globalState.getDmbsSpecificOptions().oracle.stream().map(o -> {
@@ -180,7 +183,7 @@ public class TiDBProvider implements DatabaseProvider<TiDBGlobalState, TiDBOptio
 
         for (int i = 0; i < globalState.getOptions().getNrQueries(); i++) {
             try {
-                oracle.check();
+                OracleCheckEvent.check(oracle);
                 manager.incrementSelectQueryCount();
             } catch (IgnoreMeException e) {
 
@@ -221,6 +224,20 @@ public class TiDBProvider implements DatabaseProvider<TiDBGlobalState, TiDBOptio
         return con;
     }
 
+    public static final class Factory implements DatabaseProviderFactory {
+
+        @Override
+        public String getDBMSName() {
+            return "tidb";
+        }
+
+        @Override
+        public TiDBProvider createProvider() {
+            return new TiDBProvider();
+        }
+
+    }
+
     @Override
     public String getDBMSName() {
         return "tidb";
@@ -236,4 +253,9 @@ public class TiDBProvider implements DatabaseProvider<TiDBGlobalState, TiDBOptio
         return new TiDBOptions();
     }
 
+    @Override
+    public QueryPlanFingerprinter getQueryPlanFingerprinter() {
+        return new TiDBQueryPlanFingerprinter();
+    }
+
 }
@@ -0,0 +1,29 @@
+package sqlancer.tidb;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import sqlancer.coverage.QueryPlanFingerprinter;
+
+public class TiDBQueryPlanFingerprinter implements QueryPlanFingerprinter {
+
+    @Override
+    public List<String> getOperators(Connection con, String query) throws SQLException {
+        List<String> operators = new ArrayList<>();
+        try (Statement s = con.createStatement()) {
+            try (ResultSet rs = s.executeQuery("EXPLAIN " + query)) {
+                while (rs.next()) {
+                    // for example, "└─IndexHashJoin_14" becomes "IndexHashJoin"
+                    String id = rs.getString(1);
+                    operators.add(id.replaceAll("[^a-zA-Z0-9_]", "").replaceAll("_\\d+$", ""));
+                }
+            }
+        }
+        return operators;
+    }
+
+}
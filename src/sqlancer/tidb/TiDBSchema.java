@@ -5,9 +5,13 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import sqlancer.Randomly;
+import sqlancer.events.SchemaRefreshEvent;
 import sqlancer.schema.AbstractSchema;
 import sqlancer.schema.AbstractTable;
 import sqlancer.schema.AbstractTableColumn;
@@ -17,6 +21,12 @@ import sqlancer.tidb.TiDBSchema.TiDBTable;
 
 public class TiDBSchema extends AbstractSchema<TiDBTable> {
 
+    // reads the columns and indexes of all tables with a single query, rather than with a query per table
+    private static final String CATALOG_QUERY = "SELECT TABLE_NAME, FALSE AS IS_INDEX, COLUMN_NAME AS NAME, COLUMN_TYPE, "
+            + "IS_NULLABLE, COLUMN_KEY, ORDINAL_POSITION AS POSITION FROM information_schema.COLUMNS "
+            + "WHERE TABLE_SCHEMA = '%1$s' UNION ALL SELECT TABLE_NAME, TRUE, INDEX_NAME, NULL, NULL, NULL, SEQ_IN_INDEX "
+            + "FROM information_schema.STATISTICS WHERE TABLE_SCHEMA = '%1$s' ORDER BY TABLE_NAME, IS_INDEX, POSITION";
+
     public enum TiDBDataType {
 
         INT, TEXT, BOOL, FLOATING, CHAR, DECIMAL, NUMERIC, BLOB;
@@ -243,62 +253,43 @@ public class TiDBSchema extends AbstractSchema<TiDBTable> {
     }
 
     public static TiDBSchema fromConnection(Connection con, String databaseName) throws SQLException {
-        List<TiDBTable> databaseTables = new ArrayList<>();
-        List<String> tableNames = getTableNames(con);
-        for (String tableName : tableNames) {
-            List<TiDBColumn> databaseColumns = getTableColumns(con, tableName);
-            List<TableIndex> indexes = getIndexes(con, tableName);
-            boolean isView = tableName.startsWith("v");
-            TiDBTable t = new TiDBTable(tableName, databaseColumns, indexes, isView);
-            for (TiDBColumn c : databaseColumns) {
-                c.setTable(t);
-            }
-            databaseTables.add(t);
-
-        }
-        return new TiDBSchema(databaseTables);
+        return SchemaRefreshEvent.record(() -> readSchema(con, databaseName));
     }
 
-    private static List<String> getTableNames(Connection con) throws SQLException {
-        List<String> tableNames = new ArrayList<>();
+    private static TiDBSchema readSchema(Connection con, String databaseName) throws SQLException {
+        Map<String, List<TiDBColumn>> columns = new LinkedHashMap<>();
+        Map<String, List<TableIndex>> indexes = new HashMap<>();
         try (Statement s = con.createStatement()) {
-            ResultSet tableRs = s.executeQuery("SHOW TABLES");
-            while (tableRs.next()) {
-                String tableName = tableRs.getString(1);
-                tableNames.add(tableName);
-            }
-        }
-        return tableNames;
-    }
-
-    private static List<TableIndex> getIndexes(Connection con, String tableName) throws SQLException {
-        List<TableIndex> indexes = new ArrayList<>();
-        try (Statement s = con.createStatement()) {
-            try (ResultSet rs = s.executeQuery(String.format("SHOW INDEX FROM %s", tableName))) {
+            try (ResultSet rs = s.executeQuery(String.format(CATALOG_QUERY, databaseName))) {
                 while (rs.next()) {
-                    String indexName = rs.getString("Key_name");
-                    indexes.add(TableIndex.create(indexName));
+                    String tableName = rs.getString("TABLE_NAME");
+                    if (rs.getBoolean("IS_INDEX")) {
+                        indexes.computeIfAbsent(tableName, t -> new ArrayList<>())
+                                .add(TableIndex.create(rs.getString("NAME")));
+                    } else {
+                        String dataType = rs.getString("COLUMN_TYPE");
+                        boolean isNullable = rs.getString("IS_NULLABLE").contentEquals("YES");
+                        boolean isPrimaryKey = rs.getString("COLUMN_KEY").contains("PRI");
+                        columns.computeIfAbsent(tableName, t -> new ArrayList<>()).add(new TiDBColumn(
+                                rs.getString("NAME"), getColumnType(dataType), isPrimaryKey, isNullable));
+                    }
                 }
             }
         }
-        return indexes;
-    }
-
-    private static List<TiDBColumn> getTableColumns(Connection con, String tableName) throws SQLException {
-        List<TiDBColumn> columns = new ArrayList<>();
-        try (Statement s = con.createStatement()) {
-            try (ResultSet rs = s.executeQuery("SHOW COLUMNS FROM " + tableName)) {
-                while (rs.next()) {
-                    String columnName = rs.getString("Field");
-                    String dataType = rs.getString("Type");
-                    boolean isNullable = rs.getString("Null").contentEquals("YES");
-                    boolean isPrimaryKey = rs.getString("Key").contains("PRI");
-                    TiDBColumn c = new TiDBColumn(columnName, getColumnType(dataType), isPrimaryKey, isNullable);
-                    columns.add(c);
-                }
+        List<TiDBTable> databaseTables = new ArrayList<>();
+        for (Map.Entry<String, List<TiDBColumn>> table : columns.entrySet()) {
+            String tableName = table.getKey();
+            List<TiDBColumn> databaseColumns = table.getValue();
+            boolean isView = tableName.startsWith("v");
+            TiDBTable t = new TiDBTable(tableName, databaseColumns, indexes.getOrDefault(tableName, new ArrayList<>()),
+                    isView);
+            for (TiDBColumn c : databaseColumns) {
+                c.setTable(t);
             }
+            databaseTables.add(t);
+
         }
-        return columns;
+        return new TiDBSchema(databaseTables);
     }
 
 }
@@ -1,10 +1,9 @@
 package sqlancer.tidb.gen;
 
 import java.sql.SQLException;
-import java.util.HashSet;
-import java.util.Set;
 import java.util.stream.Collectors;
 
+import sqlancer.ExpectedErrors;
 import sqlancer.Query;
 import sqlancer.QueryAdapter;
 import sqlancer.Randomly;
@@ -16,11 +15,31 @@ import sqlancer.tidb.visitor.TiDBVisitor;
 
 public final class TiDBDeleteGenerator {
 
+    private static final ExpectedErrors ERRORS = getErrors(false, false);
+    private static final ExpectedErrors WHERE_ERRORS = getErrors(true, false);
+    private static final ExpectedErrors ORDER_BY_ERRORS = getErrors(false, true);
+    private static final ExpectedErrors WHERE_ORDER_BY_ERRORS = getErrors(true, true);
+
     private TiDBDeleteGenerator() {
     }
 
+    private static ExpectedErrors getErrors(boolean hasWhereClause, boolean hasOrderByClause) {
+        return ExpectedErrors.build(errors -> {
+            if (hasWhereClause) {
+                errors.add("Truncated incorrect");
+                errors.add("Data truncation");
+                errors.add("Truncated incorrect FLOAT value");
+            }
+            if (hasOrderByClause) {
+                TiDBErrors.addExpressionErrors(errors);
+            }
+            errors.add("Bad Number");
+            errors.add("Division by 0");
+            errors.add("error parsing regexp");
+        });
+    }
+
     public static Query getQuery(TiDBGlobalState globalState) throws SQLException {
-        Set<String> errors = new HashSet<>();
         TiDBTable table = globalState.getSchema().getRandomTable(t -> !t.isView());
         TiDBExpressionGenerator gen = new TiDBExpressionGenerator(globalState).setColumns(table.getColumns());
         StringBuilder sb = new StringBuilder("DELETE ");
@@ -35,16 +54,14 @@ public final class TiDBDeleteGenerator {
         }
         sb.append("FROM ");
         sb.append(table.getName());
-        if (Randomly.getBoolean()) {
+        boolean hasWhereClause = Randomly.getBoolean();
+        if (hasWhereClause) {
             sb.append(" WHERE ");
             sb.append(TiDBVisitor.asString(gen.generateExpression()));
-            errors.add("Truncated incorrect");
-            errors.add("Data truncation");
-            errors.add("Truncated incorrect FLOAT value");
         }
-        if (Randomly.getBoolean()) {
+        boolean hasOrderByClause = Randomly.getBoolean();
+        if (hasOrderByClause) {
             sb.append(" ORDER BY ");
-            TiDBErrors.addExpressionErrors(errors);
             sb.append(gen.generateOrderBys().stream().map(o -> TiDBVisitor.asString(o))
                     .collect(Collectors.joining(", ")));
         }
@@ -52,9 +69,12 @@ public final class TiDBDeleteGenerator {
             sb.append(" LIMIT ");
             sb.append(Randomly.getNotCachedInteger(0, Integer.MAX_VALUE));
         }
-        errors.add("Bad Number");
-        errors.add("Division by 0");
-        errors.add("error parsing regexp");
+        ExpectedErrors errors;
+        if (hasWhereClause) {
+            errors = hasOrderByClause ? WHERE_ORDER_BY_ERRORS : WHERE_ERRORS;
+        } else {
+            errors = hasOrderByClause ? ORDER_BY_ERRORS : ERRORS;
+        }
         return new QueryAdapter(sb.toString(), errors);
 
     }
@@ -1,10 +1,12 @@
 package sqlancer.tidb.gen;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import sqlancer.IgnoreMeException;
 import sqlancer.Randomly;
+import sqlancer.coverage.QueryPlanCoverage;
 import sqlancer.schema.TableIndex;
 import sqlancer.tidb.TiDBBugs;
 import sqlancer.tidb.TiDBSchema.TiDBTable;
@@ -18,20 +20,32 @@ public class TiDBHintGenerator {
     private final StringBuilder sb = new StringBuilder();
 
     enum IndexHint {
-        MERGE_JOIN, //
-        INL_JOIN, //
-        INL_HASH_JOIN, //
-        INL_MERGE_JOIN, //
-        HASH_JOIN, //
-        HASH_AGG, //
-        STREAM_AGG, //
-        USE_INDEX, //
-        IGNORE_INDEX, //
-        AGG_TO_COP, //
+        MERGE_JOIN("MergeJoin"), //
+        INL_JOIN("IndexJoin"), //
+        INL_HASH_JOIN("IndexHashJoin"), //
+        INL_MERGE_JOIN("IndexMergeJoin"), //
+        HASH_JOIN("HashJoin"), //
+        HASH_AGG("HashAgg"), //
+        STREAM_AGG("StreamAgg"), //
+        USE_INDEX("IndexRangeScan"), //
+        IGNORE_INDEX("TableFullScan"), //
+        AGG_TO_COP("HashAgg"), //
         // READ_FROM_STORAGE
-        USE_INDEX_MERGE, //
-        NO_INDEX_MERGE, //
-        USE_TOJA;
+        USE_INDEX_MERGE("IndexMerge"), //
+        NO_INDEX_MERGE("TableReader"), //
+        USE_TOJA("Apply");
+
+        // the plan operator that the hint is expected to introduce, which is used to prefer under-covered operators;
+        // this is only an approximation, since TiDB can ignore a hint or introduce the operator without it
+        private final String operator;
+
+        IndexHint(String operator) {
+            this.operator = operator;
+        }
+
+        public String getOperator() {
+            return operator;
+        }
     }
 
     public TiDBHintGenerator(TiDBSelect select, List<TiDBTable> tables) {
@@ -46,7 +60,7 @@ public class TiDBHintGenerator {
 
     private void generate() {
         TiDBTable table = Randomly.fromList(tables);
-        switch (Randomly.fromOptions(IndexHint.values())) {
+        switch (QueryPlanCoverage.chooseUnderCovered(Arrays.asList(IndexHint.values()), IndexHint::getOperator)) {
         case MERGE_JOIN:
             tablesHint("MERGE_JOIN");
             break;
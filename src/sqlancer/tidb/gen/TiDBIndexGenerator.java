@@ -1,10 +1,10 @@
 package sqlancer.tidb.gen;
 
 import java.sql.SQLException;
-import java.util.HashSet;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Set;
 
+import sqlancer.ExpectedErrors;
 import sqlancer.Query;
 import sqlancer.QueryAdapter;
 import sqlancer.Randomly;
@@ -14,20 +14,30 @@ import sqlancer.tidb.TiDBSchema.TiDBTable;
 
 public final class TiDBIndexGenerator {
 
+    private static final ExpectedErrors ERRORS = getErrors();
+    private static final ExpectedErrors UNIQUE_ERRORS = getErrors("Duplicate for key", "Duplicate entry ",
+            "A UNIQUE INDEX must include all columns in the table's partitioning function");
+
     private TiDBIndexGenerator() {
     }
 
+    private static ExpectedErrors getErrors(String... additionalErrors) {
+        return ExpectedErrors.build(errors -> {
+            errors.addAll(Arrays.asList(additionalErrors));
+            errors.add("Cannot decode index value, because"); // invalid value for generated column
+            errors.add("index already exist");
+        });
+    }
+
     public static Query getQuery(TiDBGlobalState globalState) throws SQLException {
-        Set<String> errors = new HashSet<>();
+        ExpectedErrors errors = ERRORS;
 
         TiDBTable randomTable = globalState.getSchema().getRandomTable(t -> !t.isView());
         String indexName = globalState.getSchema().getFreeIndexName();
         StringBuilder sb = new StringBuilder("CREATE ");
         if (Randomly.getBooleanWithRatherLowProbability()) {
             sb.append("UNIQUE ");
-            errors.add("Duplicate for key");
-            errors.add("Duplicate entry ");
-            errors.add("A UNIQUE INDEX must include all columns in the table's partitioning function");
+            errors = UNIQUE_ERRORS;
         }
         sb.append("INDEX ");
         sb.append(indexName);
@@ -57,8 +67,6 @@ public final class TiDBIndexGenerator {
             sb.append(" KEY_BLOCK_SIZE ");
             sb.append(Randomly.getPositiveOrZeroNonCachedInteger());
         }
-        errors.add("Cannot decode index value, because"); // invalid value for generated column
-        errors.add("index already exist");
         return new QueryAdapter(sb.toString(), errors, true);
     }
 
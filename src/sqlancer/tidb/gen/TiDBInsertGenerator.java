@@ -1,11 +1,10 @@
 package sqlancer.tidb.gen;
 
 import java.sql.SQLException;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 import java.util.stream.Collectors;
 
+import sqlancer.ExpectedErrors;
 import sqlancer.Query;
 import sqlancer.QueryAdapter;
 import sqlancer.Randomly;
@@ -18,13 +17,16 @@ import sqlancer.tidb.visitor.TiDBVisitor;
 
 public class TiDBInsertGenerator {
 
+    private static final ExpectedErrors ERRORS = ExpectedErrors.build(errors -> {
+        TiDBErrors.addInsertErrors(errors);
+        errors.add("Illegal mix of collations");
+    });
+
     private final TiDBGlobalState globalState;
-    private final Set<String> errors = new HashSet<>();
     private TiDBExpressionGenerator gen;
 
     public TiDBInsertGenerator(TiDBGlobalState globalState) {
         this.globalState = globalState;
-        TiDBErrors.addInsertErrors(errors);
     }
 
     public static Query getQuery(TiDBGlobalState globalState) throws SQLException {
@@ -67,8 +69,7 @@ public class TiDBInsertGenerator {
             sb.append("=");
             sb.append(TiDBVisitor.asString(gen.generateExpression()));
         }
-        errors.add("Illegal mix of collations");
-        return new QueryAdapter(sb.toString(), errors);
+        return new QueryAdapter(sb.toString(), ERRORS);
     }
 
     private void insertColumns(StringBuilder sb, List<TiDBColumn> columns) {
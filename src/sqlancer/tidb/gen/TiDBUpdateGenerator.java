@@ -1,10 +1,9 @@
 package sqlancer.tidb.gen;
 
 import java.sql.SQLException;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
+import sqlancer.ExpectedErrors;
 import sqlancer.Query;
 import sqlancer.QueryAdapter;
 import sqlancer.Randomly;
@@ -17,11 +16,22 @@ import sqlancer.tidb.visitor.TiDBVisitor;
 
 public final class TiDBUpdateGenerator {
 
+    private static final ExpectedErrors ERRORS = ExpectedErrors.build(TiDBErrors::addInsertErrors);
+    private static final ExpectedErrors EXPRESSION_ERRORS = ExpectedErrors.build(errors -> {
+        TiDBErrors.addExpressionErrors(errors);
+        TiDBErrors.addInsertErrors(errors);
+    });
+    private static final ExpectedErrors WHERE_ERRORS = ExpectedErrors.build(errors -> {
+        TiDBErrors.addExpressionErrors(errors);
+        errors.add("Data Too Long"); // https://github.com/tidb-challenge-program/bug-hunting-issue/issues/43
+        TiDBErrors.addInsertErrors(errors);
+    });
+
     private TiDBUpdateGenerator() {
     }
 
     public static Query getQuery(TiDBGlobalState globalState) throws SQLException {
-        Set<String> errors = new HashSet<>();
+        ExpectedErrors errors = ERRORS;
         TiDBTable table = globalState.getSchema().getRandomTable(t -> !t.isView());
         TiDBExpressionGenerator gen = new TiDBExpressionGenerator(globalState).setColumns(table.getColumns());
         StringBuilder sb = new StringBuilder("UPDATE ");
@@ -38,16 +48,14 @@ public final class TiDBUpdateGenerator {
                 sb.append(gen.generateConstant());
             } else {
                 sb.append(TiDBVisitor.asString(gen.generateExpression()));
-                TiDBErrors.addExpressionErrors(errors);
+                errors = EXPRESSION_ERRORS;
             }
         }
         if (Randomly.getBoolean()) {
             sb.append(" WHERE ");
-            TiDBErrors.addExpressionErrors(errors);
             sb.append(TiDBVisitor.asString(gen.generateExpression()));
-            errors.add("Data Too Long"); // https://github.com/tidb-challenge-program/bug-hunting-issue/issues/43
+            errors = WHERE_ERRORS;
         }
-        TiDBErrors.addInsertErrors(errors);
 
         return new QueryAdapter(sb.toString(), errors);
     }
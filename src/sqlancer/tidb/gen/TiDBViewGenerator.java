@@ -1,8 +1,6 @@
 package sqlancer.tidb.gen;
 
-import java.util.HashSet;
-import java.util.Set;
-
+import sqlancer.ExpectedErrors;
 import sqlancer.Query;
 import sqlancer.QueryAdapter;
 import sqlancer.Randomly;
@@ -11,6 +9,13 @@ import sqlancer.tidb.TiDBProvider.TiDBGlobalState;
 
 public final class TiDBViewGenerator {
 
+    private static final ExpectedErrors ERRORS = ExpectedErrors.build(errors -> {
+        TiDBErrors.addExpressionErrors(errors);
+        errors.add(
+                "references invalid table(s) or column(s) or function(s) or definer/invoker of view lack rights to use them");
+        errors.add("Unknown column ");
+    });
+
     private TiDBViewGenerator() {
     }
 
@@ -36,18 +41,13 @@ public final class TiDBViewGenerator {
         }
         sb.append(") AS ");
         sb.append(TiDBRandomQuerySynthesizer.generate(globalState, nrColumns).getQueryString());
-        Set<String> errors = new HashSet<>();
-        TiDBErrors.addExpressionErrors(errors);
-        errors.add(
-                "references invalid table(s) or column(s) or function(s) or definer/invoker of view lack rights to use them");
-        errors.add("Unknown column ");
         if (Randomly.getBoolean()) {
             sb.append(" WITH ");
             sb.append(Randomly.fromOptions("CASCADED", "LOCAL"));
             sb.append(" ");
             sb.append(" CHECK OPTION");
         }
-        return new QueryAdapter(sb.toString(), errors, true);
+        return new QueryAdapter(sb.toString(), ERRORS, true);
     }
 
 }
@@ -2,11 +2,10 @@ package sqlancer.tidb.oracle;
 
 import java.sql.SQLException;
 import java.util.Arrays;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 import java.util.stream.Collectors;
 
+import sqlancer.ExpectedErrors;
 import sqlancer.Randomly;
 import sqlancer.TestOracle;
 import sqlancer.tidb.TiDBErrors;
@@ -29,7 +28,7 @@ import sqlancer.tidb.gen.TiDBHintGenerator;
 public abstract class TiDBTLPBase implements TestOracle {
 
     final TiDBGlobalState state;
-    final Set<String> errors = new HashSet<>();
+    final ExpectedErrors errors;
 
     TiDBSchema s;
     TiDBTables targetTables;
@@ -40,8 +39,12 @@ public abstract class TiDBTLPBase implements TestOracle {
     TiDBExpression isNullPredicate;
 
     public TiDBTLPBase(TiDBGlobalState state) {
+        this(state, TiDBErrors.EXPRESSION_ERRORS);
+    }
+
+    TiDBTLPBase(TiDBGlobalState state, ExpectedErrors errors) {
         this.state = state;
-        TiDBErrors.addExpressionErrors(errors);
+        this.errors = errors;
     }
 
     @Override
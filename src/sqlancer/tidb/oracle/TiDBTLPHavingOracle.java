@@ -15,8 +15,7 @@ import sqlancer.tidb.visitor.TiDBVisitor;
 public class TiDBTLPHavingOracle extends TiDBTLPBase implements TestOracle {
 
     public TiDBTLPHavingOracle(TiDBGlobalState state) {
-        super(state);
-        TiDBErrors.addExpressionHavingErrors(errors);
+        super(state, TiDBErrors.EXPRESSION_HAVING_ERRORS);
     }
 
     @Override
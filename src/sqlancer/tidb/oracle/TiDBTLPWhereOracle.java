@@ -4,10 +4,8 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 
-import sqlancer.DatabaseProvider;
 import sqlancer.Randomly;
 import sqlancer.TestOracle;
-import sqlancer.tidb.TiDBErrors;
 import sqlancer.tidb.TiDBProvider.TiDBGlobalState;
 import sqlancer.tidb.visitor.TiDBVisitor;
 
@@ -15,7 +13,6 @@ public class TiDBTLPWhereOracle extends TiDBTLPBase {
 
     public TiDBTLPWhereOracle(TiDBGlobalState state) {
         super(state);
-        TiDBErrors.addExpressionErrors(errors);
     }
 
     @Override
@@ -24,8 +21,7 @@ public class TiDBTLPWhereOracle extends TiDBTLPBase {
         select.setWhereClause(null);
         String originalQueryString = TiDBVisitor.asString(select);
 
-        List<String> resultSet = DatabaseProvider.getResultSetFirstColumnAsString(originalQueryString, errors,
-                state.getConnection(), state);
+        List<String> resultSet = state.getBaselineResultSet(originalQueryString, errors);
 
         boolean orderBy = Randomly.getBooleanWithRatherLowProbability();
         if (orderBy) {
@@ -0,0 +1,65 @@
+package sqlancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class TestBaselineResultCache {
+
+    private static final String QUERY = "SELECT t0.c0 FROM t0";
+    private static final List<String> RESULT = List.of("1", "2");
+
+    @Test
+    public void testHitForSameDataVersion() {
+        BaselineResultCache cache = new BaselineResultCache(10);
+        assertNull(cache.get(QUERY, 0));
+        cache.put(QUERY, 0, RESULT);
+        assertEquals(RESULT, cache.get(QUERY, 0));
+        assertNull(cache.get("SELECT t0.c1 FROM t0", 0));
+    }
+
+    @Test
+    public void testInvalidatedByNewDataVersion() {
+        BaselineResultCache cache = new BaselineResultCache(10);
+        cache.get(QUERY, 0);
+        cache.put(QUERY, 0, RESULT);
+        assertNull(cache.get(QUERY, 1));
+        // the result is not restored when the data version is checked again
+        assertNull(cache.get(QUERY, 1));
+    }
+
+    @Test
+    public void testStalePutIgnored() {
+        BaselineResultCache cache = new BaselineResultCache(10);
+        cache.get(QUERY, 0);
+        // a statement was executed while the baseline query was executed
+        cache.put(QUERY, 1, RESULT);
+        assertNull(cache.get(QUERY, 0));
+        assertNull(cache.get(QUERY, 1));
+        cache.put(QUERY, 0, RESULT);
+        assertNull(cache.get(QUERY, 1));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEvicted() {
+        BaselineResultCache cache = new BaselineResultCache(2);
+        cache.get("q0", 0);
+        cache.put("q0", 0, List.of("0"));
+        cache.put("q1", 0, List.of("1"));
+        assertEquals(List.of("0"), cache.get("q0", 0));
+        cache.put("q2", 0, List.of("2"));
+        assertNull(cache.get("q1", 0));
+        assertEquals(List.of("0"), cache.get("q0", 0));
+        assertEquals(List.of("2"), cache.get("q2", 0));
+    }
+
+    @Test
+    public void testInvalidSize() {
+        assertThrows(IllegalArgumentException.class, () -> new BaselineResultCache(0));
+    }
+
+}
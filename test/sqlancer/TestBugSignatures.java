@@ -0,0 +1,84 @@
+package sqlancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.SQLException;
+
+import org.junit.jupiter.api.Test;
+
+public class TestBugSignatures {
+
+    private static final MainOptions OPTIONS = new MainOptions();
+
+    private static String compute(Throwable bug) {
+        return BugSignatures.compute(bug, new StateToReproduce("database0"), OPTIONS);
+    }
+
+    private static final class ThrowingOracle implements TestOracle {
+
+        private final String message;
+
+        ThrowingOracle(String message) {
+            this.message = message;
+        }
+
+        @Override
+        public void check() throws SQLException {
+            throw new AssertionError(message);
+        }
+
+    }
+
+    @Test
+    public void testConstantsAreIgnored() {
+        assertEquals(compute(new AssertionError("SELECT * FROM t0 WHERE c0 = 'abc' -- cardinality: 3")),
+                compute(new AssertionError("SELECT * FROM t1 WHERE c1 = 'x' -- cardinality: 42")));
+        assertEquals(compute(new AssertionError("x = \"a\" + 1.5")), compute(new AssertionError("x = \"b\" + 2")));
+        assertNotEquals(compute(new AssertionError("SELECT * FROM t0 WHERE c0 = 1")),
+                compute(new AssertionError("SELECT * FROM t0 WHERE c0 < 1")));
+    }
+
+    @Test
+    public void testOnlyFirstLineOfAssertion() {
+        assertEquals(compute(new AssertionError("the result sets mismatch!\nSELECT 1")),
+                compute(new AssertionError("the result sets mismatch!\nSELECT c0 FROM t0")));
+    }
+
+    @Test
+    public void testExceptionType() {
+        assertNotEquals(compute(new AssertionError("message")), compute(new IllegalStateException("message")));
+    }
+
+    @Test
+    public void testDBMSError() {
+        // the DBMS error characterizes an unexpected error, rather than the statement that caused it
+        assertEquals(compute(new AssertionError("SELECT c3 FROM t0", new SQLException("no such column: c3"))),
+                compute(new AssertionError("INSERT INTO t1(c7) VALUES (1)", new SQLException("no such column: c7"))));
+        assertNotEquals(compute(new AssertionError("SELECT c3 FROM t0", new SQLException("no such column: c3"))),
+                compute(new AssertionError("SELECT c3 FROM t0", new SQLException("no such table: t0"))));
+    }
+
+    @Test
+    public void testOracle() {
+        AssertionError fromOracle = assertThrows(AssertionError.class, () -> new ThrowingOracle("message").check());
+        String signature = compute(fromOracle);
+        assertTrue(signature.startsWith(ThrowingOracle.class.getSimpleName() + "|"), signature);
+        assertNotEquals(compute(new AssertionError("message")), signature);
+    }
+
+    @Test
+    public void testRegister() {
+        String signature = compute(new AssertionError("testRegister"));
+        int nrUniqueBugs = BugSignatures.getNrUniqueBugs();
+        long nrReports = BugSignatures.getNrReports();
+        assertTrue(BugSignatures.register(signature));
+        assertFalse(BugSignatures.register(signature));
+        assertEquals(nrUniqueBugs + 1, BugSignatures.getNrUniqueBugs());
+        assertEquals(nrReports + 2, BugSignatures.getNrReports());
+    }
+
+}
@@ -0,0 +1,79 @@
+package sqlancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+public class TestColumnValueSampler {
+
+    private static final int NR_DRAWS = 10000;
+
+    private static Set<Integer> draw(ColumnValueSampler<Integer> sampler, String column) {
+        Set<Integer> values = new HashSet<>();
+        for (int i = 0; i < NR_DRAWS; i++) {
+            values.add(sampler.getRandomValue(column));
+        }
+        return values;
+    }
+
+    @Test
+    public void testStaleness() {
+        ColumnValueSampler<Integer> sampler = new ColumnValueSampler<>();
+        assertTrue(sampler.isStale(0));
+        sampler.startSampling(5);
+        assertFalse(sampler.isStale(5));
+        assertTrue(sampler.isStale(6));
+    }
+
+    @Test
+    public void testStartSamplingDiscardsSamples() {
+        ColumnValueSampler<Integer> sampler = new ColumnValueSampler<>();
+        sampler.startSampling(0);
+        sampler.add("t0.c0", 1);
+        assertEquals(1, sampler.getRandomValue("t0.c0"));
+        sampler.startSampling(1);
+        assertNull(sampler.getRandomValue("t0.c0"));
+        assertNull(sampler.getRandomValue("t0.c1"));
+    }
+
+    @Test
+    public void testSmallColumnKeepsAllValues() {
+        ColumnValueSampler<Integer> sampler = new ColumnValueSampler<>();
+        sampler.startSampling(0);
+        for (int i = 0; i < 5; i++) {
+            sampler.add("t0.c0", i);
+        }
+        assertEquals(Set.of(0, 1, 2, 3, 4), draw(sampler, "t0.c0"));
+    }
+
+    @Test
+    public void testReservoirIsBounded() {
+        ColumnValueSampler<Integer> sampler = new ColumnValueSampler<>();
+        sampler.startSampling(0);
+        int nrValues = 10000;
+        for (int i = 0; i < nrValues; i++) {
+            sampler.add("t0.c0", i);
+        }
+        Set<Integer> values = draw(sampler, "t0.c0");
+        assertTrue(values.size() <= 16, values.toString());
+        // the reservoir is not only filled with the first values
+        assertTrue(values.stream().anyMatch(v -> v >= nrValues / 2), values.toString());
+        assertTrue(values.stream().allMatch(v -> v >= 0 && v < nrValues), values.toString());
+    }
+
+    @Test
+    public void testMinMax() {
+        ColumnValueSampler<Integer> sampler = new ColumnValueSampler<>();
+        sampler.startSampling(0);
+        sampler.add("t0.c0", 5);
+        sampler.setMinMax("t0.c0", -100, 100);
+        assertEquals(Set.of(-100, 5, 100), draw(sampler, "t0.c0"));
+    }
+
+}
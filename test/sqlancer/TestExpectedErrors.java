@@ -0,0 +1,108 @@
+package sqlancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class TestExpectedErrors {
+
+    private static boolean containsAny(List<String> errors, String message) {
+        for (String error : errors) {
+            if (message.contains(error)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Test
+    public void testSubstring() {
+        ExpectedErrors errors = ExpectedErrors.from(Arrays.asList("division by zero", "no such column"));
+        assertTrue(errors.matches("[SQLITE_ERROR] SQL error or missing database (no such column: c0)"));
+        assertTrue(errors.matches("division by zero"));
+        assertFalse(errors.matches("division by zer"));
+        assertFalse(errors.matches("no such table: t0"));
+        assertFalse(errors.matches(null));
+    }
+
+    @Test
+    public void testOverlappingErrors() {
+        // the classic example for the failure links of the Aho-Corasick automaton
+        ExpectedErrors errors = ExpectedErrors.from(Arrays.asList("he", "she", "his", "hers"));
+        assertTrue(errors.matches("ushers"));
+        assertTrue(errors.matches("xhis"));
+        assertFalse(errors.matches("hi sh"));
+        // "abce" fails in "abcd", but continues in "bce" via the failure link of "abc"
+        ExpectedErrors failureLink = ExpectedErrors.from(Arrays.asList("abcd", "bce"));
+        assertTrue(failureLink.matches("abce"));
+        assertFalse(failureLink.matches("abcx"));
+    }
+
+    @Test
+    public void testEmptyErrors() {
+        assertFalse(ExpectedErrors.from(Collections.emptyList()).matches("error"));
+        assertTrue(ExpectedErrors.from(Arrays.asList("")).matches("error"));
+    }
+
+    @Test
+    public void testBuild() {
+        ExpectedErrors errors = ExpectedErrors.build(e -> {
+            e.add("error a");
+            e.add("error b");
+            e.add("error a");
+        });
+        assertEquals(2, errors.size());
+        assertTrue(errors.contains("error b"));
+        assertTrue(errors.matches("an error b occurred"));
+    }
+
+    @Test
+    public void testImmutable() {
+        ExpectedErrors errors = ExpectedErrors.from(Arrays.asList("error"));
+        assertThrows(UnsupportedOperationException.class, () -> errors.add("other error"));
+    }
+
+    @Test
+    public void testMatchesCollection() {
+        List<String> errors = Arrays.asList("division by zero");
+        assertTrue(ExpectedErrors.matches(errors, "ERROR: division by zero"));
+        assertFalse(ExpectedErrors.matches(errors, "ERROR: integer out of range"));
+        assertFalse(ExpectedErrors.matches(errors, null));
+        assertTrue(ExpectedErrors.matches(ExpectedErrors.from(errors), "ERROR: division by zero"));
+    }
+
+    @Test
+    public void testAgainstLinearScan() {
+        Random r = new Random(0);
+        for (int i = 0; i < 2000; i++) {
+            List<String> errors = new ArrayList<>();
+            int nrErrors = r.nextInt(8);
+            for (int j = 0; j < nrErrors; j++) {
+                errors.add(randomString(r, 1 + r.nextInt(4)));
+            }
+            ExpectedErrors compiled = ExpectedErrors.from(errors);
+            for (int j = 0; j < 20; j++) {
+                String message = randomString(r, r.nextInt(20));
+                assertEquals(containsAny(errors, message), compiled.matches(message), errors + " in " + message);
+            }
+        }
+    }
+
+    private static String randomString(Random r, int length) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            sb.append((char) ('a' + r.nextInt(3)));
+        }
+        return sb.toString();
+    }
+
+}
@@ -0,0 +1,136 @@
+package sqlancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.beust.jcommander.JCommander;
+
+public class TestPregeneratingTestOracle {
+
+    private static final int NR_CHECKS = 100;
+
+    /**
+     * Plans the numbers 0, 1, 2, ..., and fails to plan those for which {@link #getFailure(int)} returns an exception.
+     */
+    private static class SequenceOracle implements PlannedTestOracle<Integer> {
+
+        private final AtomicInteger nrPlans = new AtomicInteger();
+        private final List<Integer> executed = new ArrayList<>();
+        private volatile Thread planningThread;
+
+        @Override
+        public Integer plan() {
+            planningThread = Thread.currentThread();
+            int i = nrPlans.getAndIncrement();
+            Throwable failure = getFailure(i);
+            if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            } else if (failure instanceof Error) {
+                throw (Error) failure;
+            }
+            return i;
+        }
+
+        Throwable getFailure(int i) {
+            return null;
+        }
+
+        @Override
+        public void execute(Integer plan) {
+            executed.add(plan);
+        }
+
+    }
+
+    private static MainOptions getOptions(String... args) {
+        MainOptions options = new MainOptions();
+        JCommander.newBuilder().addObject(options).build().parse(args);
+        return options;
+    }
+
+    private static PregeneratingTestOracle<?> wrap(TestOracle oracle) {
+        return PregeneratingTestOracle.wrap(oracle, getOptions("--pregenerated-queries", "4"));
+    }
+
+    @Test
+    public void testNotWrapped() {
+        assertNull(PregeneratingTestOracle.wrap(new SequenceOracle(), getOptions()));
+        assertNull(PregeneratingTestOracle.wrap(() -> {
+        }, getOptions("--pregenerated-queries", "4")));
+    }
+
+    @Test
+    public void testChecksInPlanningOrder() throws SQLException {
+        SequenceOracle oracle = new SequenceOracle();
+        try (PregeneratingTestOracle<?> pregenerating = wrap(oracle)) {
+            assertSame(oracle, pregenerating.getOracle());
+            for (int i = 0; i < NR_CHECKS; i++) {
+                pregenerating.check();
+            }
+        }
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < NR_CHECKS; i++) {
+            expected.add(i);
+        }
+        assertEquals(expected, oracle.executed);
+        assertNotSame(Thread.currentThread(), oracle.planningThread);
+    }
+
+    @Test
+    public void testExceptionsPropagated() throws SQLException {
+        SequenceOracle oracle = new SequenceOracle() {
+
+            @Override
+            Throwable getFailure(int i) {
+                switch (i) {
+                case 1:
+                    return new IgnoreMeException();
+                case 3:
+                    return new AssertionError("plan 3");
+                default:
+                    return null;
+                }
+            }
+
+        };
+        try (PregeneratingTestOracle<?> pregenerating = wrap(oracle)) {
+            pregenerating.check();
+            assertThrows(IgnoreMeException.class, pregenerating::check);
+            pregenerating.check();
+            AssertionError error = assertThrows(AssertionError.class, pregenerating::check);
+            assertEquals("plan 3", error.getMessage());
+            pregenerating.check();
+        }
+        assertEquals(List.of(0, 2, 4), oracle.executed);
+    }
+
+    @Test
+    public void testCloseStopsProducer() throws InterruptedException {
+        SequenceOracle oracle = new SequenceOracle();
+        PregeneratingTestOracle<?> pregenerating = wrap(oracle);
+        // wait until the producer is blocked on the full queue
+        while (oracle.nrPlans.get() <= 4) {
+            Thread.sleep(1);
+        }
+        pregenerating.close();
+        Thread planningThread = oracle.planningThread;
+        assertNotNull(planningThread);
+        assertFalse(planningThread.isAlive());
+        int nrPlans = oracle.nrPlans.get();
+        Thread.sleep(50);
+        assertEquals(nrPlans, oracle.nrPlans.get());
+    }
+
+}
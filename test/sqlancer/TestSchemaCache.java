@@ -0,0 +1,113 @@
+package sqlancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import sqlancer.Main.QueryManager;
+import sqlancer.schema.SchemaCache;
+
+public class TestSchemaCache {
+
+    /**
+     * Caches the names of the tables in an in-memory SQLite database and counts how often they are read.
+     */
+    private static class TableNameCache implements AutoCloseable {
+
+        private final Connection con;
+        private final QueryManager manager;
+        private final SchemaCache<List<String>> cache = new SchemaCache<>(this::readTableNames);
+        private int nrLoads;
+
+        TableNameCache() throws SQLException {
+            con = DriverManager.getConnection("jdbc:sqlite::memory:");
+            manager = new QueryManager(con, new StateToReproduce("test"));
+        }
+
+        private List<String> readTableNames() throws SQLException {
+            nrLoads++;
+            List<String> tableNames = new ArrayList<>();
+            try (Statement s = con.createStatement()) {
+                try (ResultSet rs = s.executeQuery("SELECT name FROM sqlite_master WHERE type='table' ORDER BY name")) {
+                    while (rs.next()) {
+                        tableNames.add(rs.getString(1));
+                    }
+                }
+            }
+            return tableNames;
+        }
+
+        boolean execute(Query q) throws SQLException {
+            return manager.execute(q);
+        }
+
+        List<String> get() throws SQLException {
+            return cache.get(manager);
+        }
+
+        @Override
+        public void close() throws SQLException {
+            con.close();
+        }
+
+    }
+
+    @Test
+    public void testReusedAfterDML() throws SQLException {
+        try (TableNameCache cache = new TableNameCache()) {
+            cache.execute(new QueryAdapter("CREATE TABLE t0(c0 INT)"));
+            List<String> schema = cache.get();
+            assertEquals(1, cache.nrLoads);
+            cache.execute(new QueryAdapter("INSERT INTO t0 VALUES (1)"));
+            cache.execute(new QueryAdapter("UPDATE t0 SET c0=2"));
+            cache.execute(new QueryAdapter("DELETE FROM t0"));
+            assertSame(schema, cache.get());
+            assertEquals(1, cache.nrLoads);
+        }
+    }
+
+    @Test
+    public void testInvalidatedAfterDDL() throws SQLException {
+        try (TableNameCache cache = new TableNameCache()) {
+            cache.execute(new QueryAdapter("CREATE TABLE t0(c0 INT)"));
+            assertEquals(List.of("t0"), cache.get());
+            // recognized by its keyword, although the statement is not marked as changing the schema
+            cache.execute(new QueryAdapter("CREATE TABLE t1(c0 INT)"));
+            assertEquals(List.of("t0", "t1"), cache.get());
+            cache.execute(new QueryAdapter("DROP TABLE t0"));
+            assertEquals(List.of("t1"), cache.get());
+            assertEquals(3, cache.nrLoads);
+        }
+    }
+
+    @Test
+    public void testInvalidatedByMarkedStatement() throws SQLException {
+        try (TableNameCache cache = new TableNameCache()) {
+            cache.get();
+            cache.execute(new QueryAdapter("PRAGMA user_version = 1", true));
+            cache.get();
+            assertEquals(2, cache.nrLoads);
+        }
+    }
+
+    @Test
+    public void testInvalidatedAfterFailingDDL() throws SQLException {
+        try (TableNameCache cache = new TableNameCache()) {
+            cache.get();
+            assertFalse(cache.execute(new QueryAdapter("DROP TABLE t0", List.of("no such table"))));
+            cache.get();
+            assertEquals(2, cache.nrLoads);
+        }
+    }
+
+}
@@ -0,0 +1,66 @@
+package sqlancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class TestSeenQueryFilter {
+
+    @Test
+    public void testQueryIsSeenAfterAdding() {
+        SeenQueryFilter filter = new SeenQueryFilter(1 << 16);
+        assertFalse(filter.add("SELECT * FROM t0 WHERE c0"));
+        assertTrue(filter.add("SELECT * FROM t0 WHERE c0"));
+        assertFalse(filter.add("SELECT * FROM t0 WHERE c1"));
+        assertFalse(filter.add("SELECT * FROM t0 WHERE NOT c0"));
+    }
+
+    @Test
+    public void testNoFalseNegatives() {
+        // the filter is much smaller than the number of queries, so that many queries share bits
+        SeenQueryFilter filter = new SeenQueryFilter(1024);
+        for (int i = 0; i < 10000; i++) {
+            filter.add("SELECT " + i);
+        }
+        for (int i = 0; i < 10000; i++) {
+            assertTrue(filter.add("SELECT " + i));
+        }
+    }
+
+    @Test
+    public void testFewFalsePositives() {
+        // adding a query also sets its bits, so the filter contains up to 2000 queries with 8 bits per query, for which
+        // at most about 2.4% of the new queries are reported as seen
+        SeenQueryFilter filter = new SeenQueryFilter(16 * 1000);
+        for (int i = 0; i < 1000; i++) {
+            filter.add("SELECT * FROM t0 WHERE c0 = " + i);
+        }
+        int nrFalsePositives = 0;
+        for (int i = 1000; i < 2000; i++) {
+            if (filter.add("SELECT * FROM t0 WHERE c0 = " + i)) {
+                nrFalsePositives++;
+            }
+        }
+        assertTrue(nrFalsePositives < 50, String.valueOf(nrFalsePositives));
+    }
+
+    @Test
+    public void testStatistics() {
+        long nrChecked = SeenQueryFilter.getNrCheckedQueries();
+        long nrSeen = SeenQueryFilter.getNrSeenQueries();
+        SeenQueryFilter filter = new SeenQueryFilter(64);
+        filter.add("SELECT 1");
+        filter.add("SELECT 1");
+        assertEquals(nrChecked + 2, SeenQueryFilter.getNrCheckedQueries());
+        assertEquals(nrSeen + 1, SeenQueryFilter.getNrSeenQueries());
+    }
+
+    @Test
+    public void testInvalidSize() {
+        assertThrows(IllegalArgumentException.class, () -> new SeenQueryFilter(0));
+    }
+
+}
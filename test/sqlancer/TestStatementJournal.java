@@ -0,0 +1,79 @@
+package sqlancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.Test;
+
+public class TestStatementJournal {
+
+    private static List<String> getStatements(StatementJournal journal) {
+        List<String> statements = new ArrayList<>();
+        for (Query q : journal) {
+            statements.add(q.getQueryString());
+        }
+        return statements;
+    }
+
+    private static List<String> addStatements(StatementJournal journal, int nrStatements) {
+        List<String> statements = new ArrayList<>();
+        for (int i = 0; i < nrStatements; i++) {
+            String statement = "INSERT INTO t0 VALUES (" + i + ", '\u00e4\u20ac" + i + "')";
+            journal.add(new QueryAdapter(statement));
+            statements.add(statement);
+        }
+        return statements;
+    }
+
+    @Test
+    public void testInMemory() {
+        StatementJournal journal = new StatementJournal();
+        List<String> statements = addStatements(journal, 10);
+        assertEquals(10, journal.size());
+        assertEquals(statements, getStatements(journal));
+        journal.close();
+    }
+
+    @Test
+    public void testSpilledToFile() {
+        StatementJournal journal = new StatementJournal();
+        List<String> statements = addStatements(journal, 2500);
+        assertEquals(2500, journal.size());
+        assertEquals(statements, getStatements(journal));
+        // the journal can be iterated several times
+        assertEquals(statements, getStatements(journal));
+        journal.close();
+    }
+
+    @Test
+    public void testAddWhileIterating() {
+        StatementJournal journal = new StatementJournal();
+        List<String> statements = addStatements(journal, 1500);
+        Iterator<Query> iterator = journal.iterator();
+        addStatements(journal, 1000);
+        List<String> iterated = new ArrayList<>();
+        while (iterator.hasNext()) {
+            iterated.add(iterator.next().getQueryString());
+        }
+        assertEquals(statements, iterated);
+        assertThrows(NoSuchElementException.class, () -> iterator.next());
+        assertEquals(2500, journal.size());
+        journal.close();
+    }
+
+    @Test
+    public void testClose() {
+        StatementJournal journal = new StatementJournal();
+        addStatements(journal, 1500);
+        journal.close();
+        assertEquals(0, journal.size());
+        assertFalse(journal.iterator().hasNext());
+    }
+
+}
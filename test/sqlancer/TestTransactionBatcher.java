@@ -0,0 +1,93 @@
+package sqlancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.beust.jcommander.JCommander;
+
+import sqlancer.Main.QueryManager;
+
+public class TestTransactionBatcher {
+
+    // the test is skipped if no PostgreSQL server accepts connections with these credentials
+    private static final String POSTGRES_URL = "jdbc:postgresql://localhost:5432/test";
+    private static final String POSTGRES_USER = "postgres";
+    private static final String POSTGRES_PASSWORD = "";
+
+    private static Connection connectToPostgres() {
+        try {
+            return DriverManager.getConnection(POSTGRES_URL, POSTGRES_USER, POSTGRES_PASSWORD);
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+
+    private static GlobalState<Void> createGlobalState(Connection con) {
+        MainOptions options = new MainOptions();
+        JCommander.newBuilder().addObject(options).build().parse("--transaction-batch-size", "10", "--log-each-select",
+                "false");
+        StateToReproduce state = new StateToReproduce("test");
+        GlobalState<Void> globalState = new GlobalState<>();
+        globalState.setMainOptions(options);
+        globalState.setConnection(con);
+        globalState.setState(state);
+        globalState.setManager(new QueryManager(con, state));
+        return globalState;
+    }
+
+    private static int count(Connection con, String table) throws SQLException {
+        try (Statement s = con.createStatement()) {
+            try (ResultSet rs = s.executeQuery("SELECT COUNT(*) FROM " + table)) {
+                rs.next();
+                return rs.getInt(1);
+            }
+        }
+    }
+
+    private static void execute(Connection con, String statement) throws SQLException {
+        try (Statement s = con.createStatement()) {
+            s.execute(statement);
+        }
+    }
+
+    /**
+     * A violation of a deferred foreign key must fail the batched statement as in autocommit mode, and not the COMMIT
+     * of the batch.
+     */
+    @Test
+    public void testDeferredForeignKeyViolation() throws SQLException {
+        Connection con = connectToPostgres();
+        assumeTrue(con != null);
+        try {
+            execute(con, "DROP TABLE IF EXISTS sqlancer_batch_child, sqlancer_batch_parent");
+            execute(con, "CREATE TABLE sqlancer_batch_parent(id INT PRIMARY KEY)");
+            execute(con, "CREATE TABLE sqlancer_batch_child(pid INT REFERENCES sqlancer_batch_parent "
+                    + "DEFERRABLE INITIALLY DEFERRED)");
+            GlobalState<Void> globalState = createGlobalState(con);
+            TransactionBatcher batcher = new TransactionBatcher(globalState, 10, true, "BEGIN",
+                    "SET CONSTRAINTS ALL IMMEDIATE");
+            List<String> errors = List.of("violates foreign key constraint");
+            assertTrue(batcher.execute(new QueryAdapter("INSERT INTO sqlancer_batch_parent VALUES (1)", errors)));
+            assertFalse(batcher.execute(new QueryAdapter("INSERT INTO sqlancer_batch_child VALUES (2)", errors)));
+            assertTrue(batcher.execute(new QueryAdapter("INSERT INTO sqlancer_batch_child VALUES (1)", errors)));
+            batcher.commit();
+            assertEquals(1, count(con, "sqlancer_batch_parent"));
+            assertEquals(1, count(con, "sqlancer_batch_child"));
+        } finally {
+            execute(con, "DROP TABLE IF EXISTS sqlancer_batch_child, sqlancer_batch_parent");
+            con.close();
+        }
+    }
+
+}
@@ -0,0 +1,192 @@
+package sqlancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import com.beust.jcommander.JCommander;
+
+import sqlancer.Main.QueryManager;
+import sqlancer.stress.TransactionStatistics;
+import sqlancer.stress.TransactionStressTester;
+import sqlancer.stress.TransactionWorkload;
+
+public class TestTransactionStressTester {
+
+    /**
+     * Executes fixed statements on the table t0 of a SQLite database file.
+     */
+    private static class SQLiteWorkload implements TransactionWorkload {
+
+        private final Path directory;
+        private final List<Query> statements;
+
+        SQLiteWorkload(Path directory, Query... statements) {
+            this.directory = directory;
+            this.statements = Arrays.asList(statements);
+        }
+
+        String getUrl() {
+            return "jdbc:sqlite:" + directory.resolve("test.db");
+        }
+
+        File getBackup() {
+            return directory.resolve("backup.db").toFile();
+        }
+
+        @Override
+        public Connection openConnection() throws SQLException {
+            return DriverManager.getConnection(getUrl());
+        }
+
+        @Override
+        public Query generateStatement() {
+            return Randomly.fromList(statements);
+        }
+
+        @Override
+        public boolean isTransactionConflict(SQLException e) {
+            return e.getMessage().contains("SQLITE_BUSY") || e.getMessage().contains("SQLITE_LOCKED");
+        }
+
+        @Override
+        public List<String> getTableNames() {
+            return List.of("t0");
+        }
+
+        @Override
+        public void saveState(Connection con) throws SQLException {
+            try (Statement s = con.createStatement()) {
+                s.executeUpdate("backup to \"" + getBackup() + "\"");
+            }
+        }
+
+        @Override
+        public Connection openReplayConnection() throws SQLException {
+            File replayDatabase = directory.resolve("replay.db").toFile();
+            replayDatabase.delete();
+            Connection con = DriverManager.getConnection("jdbc:sqlite:" + replayDatabase);
+            try (Statement s = con.createStatement()) {
+                s.executeUpdate("restore from \"" + getBackup() + "\"");
+            }
+            return con;
+        }
+
+    }
+
+    private static void run(SQLiteWorkload workload, String... setupStatements) throws SQLException {
+        MainOptions options = new MainOptions();
+        JCommander.newBuilder().addObject(options).build().parse("--stress-connections", "3", "--stress-transactions",
+                "5", "--num-queries", "50", "--max-serializability-history", "5");
+        try (Connection con = DriverManager.getConnection(workload.getUrl())) {
+            try (Statement s = con.createStatement()) {
+                for (String statement : setupStatements) {
+                    s.execute(statement);
+                }
+            }
+            StateToReproduce state = new StateToReproduce("test");
+            GlobalState<Void> globalState = new GlobalState<>();
+            globalState.setMainOptions(options);
+            globalState.setConnection(con);
+            globalState.setState(state);
+            globalState.setManager(new QueryManager(con, state));
+            new TransactionStressTester(globalState, workload).run();
+        }
+    }
+
+    private static Path createDirectory() throws IOException {
+        return Files.createTempDirectory("sqlancer-stress");
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(f -> f.toFile().delete());
+        }
+    }
+
+    @Test
+    public void testSerializableExecution() throws Exception {
+        Path directory = createDirectory();
+        try {
+            long nrTransactions = TransactionStatistics.getNrTransactions();
+            run(new SQLiteWorkload(directory, new QueryAdapter("UPDATE t0 SET c0 = c0 + 1"),
+                    new QueryAdapter("UPDATE t0 SET c0 = c0 * 2"), new QueryAdapter("INSERT INTO t0 VALUES (1)"),
+                    new QueryAdapter("DELETE FROM t0 WHERE c0 > 100")), "CREATE TABLE t0(c0 INT)",
+                    "INSERT INTO t0 VALUES (0)");
+            assertEquals(50, TransactionStatistics.getNrTransactions() - nrTransactions);
+        } finally {
+            delete(directory);
+        }
+    }
+
+    @Test
+    public void testNonSerializableExecutionDetected() throws Exception {
+        Path directory = createDirectory();
+        try {
+            SQLiteWorkload workload = new SQLiteWorkload(directory, new QueryAdapter("UPDATE t0 SET c0 = c0 + 1")) {
+
+                // the replay starts from a different state, so that no order can yield the same contents
+                @Override
+                public Connection openReplayConnection() throws SQLException {
+                    Connection con = super.openReplayConnection();
+                    try (Statement s = con.createStatement()) {
+                        s.execute("DELETE FROM t0");
+                    }
+                    return con;
+                }
+
+            };
+            AssertionError error = assertThrows(AssertionError.class,
+                    () -> run(workload, "CREATE TABLE t0(c0 INT)", "INSERT INTO t0 VALUES (0)"));
+            assertTrue(error.getMessage().startsWith("no sequential order"), error.getMessage());
+        } finally {
+            delete(directory);
+        }
+    }
+
+    /**
+     * A deferred foreign key is only checked when the transaction commits, so the COMMIT fails with the expected error
+     * of the statement that violated it.
+     */
+    @Test
+    public void testCommitTimeConstraintError() throws Exception {
+        Path directory = createDirectory();
+        try {
+            long nrTransactions = TransactionStatistics.getNrTransactions();
+            SQLiteWorkload workload = new SQLiteWorkload(directory,
+                    new QueryAdapter("INSERT INTO t1 VALUES (2)", List.of("FOREIGN KEY constraint failed"))) {
+
+                @Override
+                public Connection openConnection() throws SQLException {
+                    Connection con = super.openConnection();
+                    try (Statement s = con.createStatement()) {
+                        s.execute("PRAGMA foreign_keys = ON");
+                    }
+                    return con;
+                }
+
+            };
+            run(workload, "CREATE TABLE t0(c0 INT PRIMARY KEY)",
+                    "CREATE TABLE t1(c0 INT REFERENCES t0(c0) DEFERRABLE INITIALLY DEFERRED)");
+            assertEquals(50, TransactionStatistics.getNrTransactions() - nrTransactions);
+        } finally {
+            delete(directory);
+        }
+    }
+
+}
@@ -0,0 +1,185 @@
+package sqlancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+public class TestWildcardPattern {
+
+    private static boolean like(String str, String pattern) {
+        return WildcardPattern.like(pattern, true).matches(str);
+    }
+
+    @Test
+    public void testLikeLiteral() {
+        assertTrue(like("abc", "abc"));
+        assertFalse(like("abc", "ab"));
+        assertFalse(like("ab", "abc"));
+        assertTrue(like("", ""));
+        assertFalse(like("a", ""));
+    }
+
+    @Test
+    public void testLikeAnySequence() {
+        assertTrue(like("", "%"));
+        assertTrue(like("abc", "%"));
+        assertTrue(like("abc", "a%"));
+        assertTrue(like("abc", "%c"));
+        assertTrue(like("abc", "%b%"));
+        assertTrue(like("abc", "a%b%c"));
+        assertTrue(like("ac", "a%%c"));
+        assertTrue(like("abcabc", "%abc"));
+        assertFalse(like("abcab", "%abc"));
+        assertFalse(like("abc", "%d%"));
+    }
+
+    @Test
+    public void testLikeAnyCharacter() {
+        assertTrue(like("a", "_"));
+        assertFalse(like("", "_"));
+        assertFalse(like("ab", "_"));
+        assertTrue(like("abc", "a_c"));
+        assertTrue(like("ab", "_%"));
+        assertFalse(like("", "_%"));
+        assertTrue(like("abc", "%_"));
+        assertTrue(like("abc", "___"));
+        assertFalse(like("abc", "____"));
+        assertTrue(like("\n", "_"));
+    }
+
+    @Test
+    public void testLikeCaseFolding() {
+        assertFalse(like("ABC", "abc"));
+        assertTrue(WildcardPattern.like("abc", false).matches("ABC"));
+        assertTrue(WildcardPattern.like("A%c", false).matches("abC"));
+        // only ASCII letters are folded
+        assertFalse(WildcardPattern.like("\u00e4", false).matches("\u00c4"));
+    }
+
+    @Test
+    public void testLikeEscape() {
+        WildcardPattern percent = WildcardPattern.like("10\\%", true, '\\');
+        assertTrue(percent.matches("10%"));
+        assertFalse(percent.matches("100"));
+        WildcardPattern underscore = WildcardPattern.like("a\\_b", true, '\\');
+        assertTrue(underscore.matches("a_b"));
+        assertFalse(underscore.matches("axb"));
+        WildcardPattern escape = WildcardPattern.like("a\\\\%", true, '\\');
+        assertTrue(escape.matches("a\\"));
+        assertTrue(escape.matches("a\\bc"));
+        assertFalse(escape.matches("ab"));
+        WildcardPattern letter = WildcardPattern.like("a#b", false, '#');
+        assertTrue(letter.matches("AB"));
+        // without an escape character, the backslash is an ordinary character
+        assertTrue(WildcardPattern.like("a\\%", true).matches("a\\bc"));
+    }
+
+    @Test
+    public void testLikeTrailingEscape() {
+        assertThrows(IgnoreMeException.class, () -> WildcardPattern.like("abc\\", true, '\\'));
+    }
+
+    @Test
+    public void testLikePathologicalPattern() {
+        StringBuilder pattern = new StringBuilder();
+        for (int i = 0; i < 30; i++) {
+            pattern.append("%a");
+        }
+        pattern.append("%b");
+        StringBuilder str = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            str.append('a');
+        }
+        WildcardPattern compiled = WildcardPattern.like(pattern.toString(), true);
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> assertFalse(compiled.matches(str.toString())));
+    }
+
+    @Test
+    public void testGlob() {
+        assertTrue(WildcardPattern.glob("a*c").matches("abbc"));
+        assertTrue(WildcardPattern.glob("a?c").matches("abc"));
+        assertFalse(WildcardPattern.glob("a?c").matches("ac"));
+        assertFalse(WildcardPattern.glob("abc").matches("ABC"));
+        assertTrue(WildcardPattern.glob("[a-c]x").matches("bx"));
+        assertTrue(WildcardPattern.glob("[a-c]x").matches("cx"));
+        assertFalse(WildcardPattern.glob("[a-c]x").matches("dx"));
+        assertTrue(WildcardPattern.glob("[^a]").matches("b"));
+        assertFalse(WildcardPattern.glob("[^a]").matches("a"));
+        // LIKE wildcards are ordinary characters in GLOB patterns
+        assertTrue(WildcardPattern.glob("%_").matches("%_"));
+        assertFalse(WildcardPattern.glob("%_").matches("ab"));
+    }
+
+    @Test
+    public void testGlobInvalidCharacterSet() {
+        assertFalse(WildcardPattern.glob("[]").matches("]"));
+        assertFalse(WildcardPattern.glob("[^]").matches("a"));
+        assertFalse(WildcardPattern.glob("a[bc").matches("ab"));
+        assertFalse(WildcardPattern.glob("a[bc").matches("a[bc"));
+    }
+
+    @Test
+    public void testLikeAgainstRegex() {
+        Random r = new Random(0);
+        char[] patternChars = { 'a', 'b', 'A', '%', '_', '\\' };
+        char[] strChars = { 'a', 'b', 'A', 'B', '%', '_', '\\' };
+        for (int i = 0; i < 20000; i++) {
+            String pattern = randomString(r, patternChars, 8);
+            String str = randomString(r, strChars, 10);
+            boolean caseSensitive = r.nextBoolean();
+            char escape = r.nextBoolean() ? '\\' : WildcardPattern.NO_ESCAPE;
+            Pattern regex = toRegex(pattern, caseSensitive, escape);
+            if (regex == null) {
+                assertThrows(IgnoreMeException.class, () -> WildcardPattern.like(pattern, caseSensitive, escape));
+                continue;
+            }
+            assertEquals(regex.matcher(str).matches(),
+                    WildcardPattern.like(pattern, caseSensitive, escape).matches(str),
+                    String.format("'%s' LIKE '%s' (case sensitive: %b, escape: %b)", str, pattern, caseSensitive,
+                            escape != WildcardPattern.NO_ESCAPE));
+        }
+    }
+
+    private static String randomString(Random r, char[] chars, int maxLength) {
+        StringBuilder sb = new StringBuilder();
+        int length = r.nextInt(maxLength + 1);
+        for (int i = 0; i < length; i++) {
+            sb.append(chars[r.nextInt(chars.length)]);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Translates the LIKE pattern to an equivalent regular expression, or returns <code>null</code> if the pattern is
+     * invalid.
+     */
+    private static Pattern toRegex(String pattern, boolean caseSensitive, char escape) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (escape != WildcardPattern.NO_ESCAPE && c == escape) {
+                if (i == pattern.length() - 1) {
+                    return null;
+                }
+                sb.append(Pattern.quote(String.valueOf(pattern.charAt(++i))));
+            } else if (c == '%') {
+                sb.append(".*");
+            } else if (c == '_') {
+                sb.append('.');
+            } else {
+                sb.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        // without UNICODE_CASE, only ASCII letters are matched case-insensitively
+        return Pattern.compile(sb.toString(), Pattern.DOTALL | (caseSensitive ? 0 : Pattern.CASE_INSENSITIVE));
+    }
+
+}
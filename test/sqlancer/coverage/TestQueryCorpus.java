@@ -0,0 +1,56 @@
+package sqlancer.coverage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class TestQueryCorpus {
+
+    private final QueryPlanCoverage coverage = new QueryPlanCoverage(null, 0);
+
+    @Test
+    public void testNewErrorRetainsQuery() {
+        QueryCorpus<String> corpus = new QueryCorpus<>(10);
+        QueryPlanCoverage.startCheck();
+        corpus.submit("q0");
+        coverage.recordError("testNewErrorRetainsQuery: first error");
+        // the query is only retained once
+        coverage.recordError("testNewErrorRetainsQuery: second error");
+        assertEquals(1, corpus.size());
+        assertEquals("q0", corpus.getRandomQuery(q -> true));
+    }
+
+    @Test
+    public void testKnownErrorDoesNotRetainQuery() {
+        QueryCorpus<String> corpus = new QueryCorpus<>(10);
+        coverage.recordError("testKnownErrorDoesNotRetainQuery: error");
+        QueryPlanCoverage.startCheck();
+        corpus.submit("q0");
+        coverage.recordError("testKnownErrorDoesNotRetainQuery: error");
+        assertTrue(corpus.isEmpty());
+    }
+
+    @Test
+    public void testBehaviorOfLaterCheckIsNotAttributed() {
+        QueryCorpus<String> corpus = new QueryCorpus<>(10);
+        QueryPlanCoverage.startCheck();
+        corpus.submit("q0");
+        // a check of another oracle that does not use the corpus
+        QueryPlanCoverage.startCheck();
+        coverage.recordError("testBehaviorOfLaterCheckIsNotAttributed: error");
+        assertTrue(corpus.isEmpty());
+    }
+
+    @Test
+    public void testBoundedSize() {
+        QueryCorpus<String> corpus = new QueryCorpus<>(2);
+        for (int i = 0; i < 5; i++) {
+            QueryPlanCoverage.startCheck();
+            corpus.submit("q" + i);
+            coverage.recordError("testBoundedSize: error " + (char) ('a' + i));
+        }
+        assertEquals(2, corpus.size());
+    }
+
+}
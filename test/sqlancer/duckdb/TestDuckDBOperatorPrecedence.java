@@ -0,0 +1,206 @@
+package sqlancer.duckdb;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import sqlancer.ast.BinaryOperatorNode.Operator;
+import sqlancer.ast.newast.NewBetweenOperatorNode;
+import sqlancer.ast.newast.NewBinaryOperatorNode;
+import sqlancer.ast.newast.NewInOperatorNode;
+import sqlancer.ast.newast.NewUnaryPostfixOperatorNode;
+import sqlancer.ast.newast.NewUnaryPrefixOperatorNode;
+import sqlancer.ast.newast.Node;
+import sqlancer.duckdb.ast.DuckDBConstant;
+import sqlancer.duckdb.ast.DuckDBExpression;
+import sqlancer.duckdb.gen.DuckDBExpressionGenerator.DuckDBBinaryArithmeticOperator;
+import sqlancer.duckdb.gen.DuckDBExpressionGenerator.DuckDBBinaryComparisonOperator;
+import sqlancer.duckdb.gen.DuckDBExpressionGenerator.DuckDBBinaryLogicalOperator;
+import sqlancer.duckdb.gen.DuckDBExpressionGenerator.DuckDBUnaryPostfixOperator;
+import sqlancer.duckdb.gen.DuckDBExpressionGenerator.DuckDBUnaryPrefixOperator;
+
+/**
+ * Checks that printing DuckDB expressions with the fewest parentheses preserves their meaning.
+ */
+public class TestDuckDBOperatorPrecedence {
+
+    private static final int NR_RANDOM_EXPRESSIONS = 2000;
+    private static final int MAX_DEPTH = 4;
+    private static final String ERROR = "error";
+
+    @Test
+    public void testArithmetic() {
+        assertMinimal("1 + 2 * 3", binary(intConst(1), binary(intConst(2), intConst(3), mult()), add()));
+        assertMinimal("(1 + 2) * 3", binary(binary(intConst(1), intConst(2), add()), intConst(3), mult()));
+        assertMinimal("1 - 2 - 3", binary(binary(intConst(1), intConst(2), sub()), intConst(3), sub()));
+        assertMinimal("1 - (2 - 3)", binary(intConst(1), binary(intConst(2), intConst(3), sub()), sub()));
+        assertMinimal("1 - -1", binary(intConst(1), intConst(-1), sub()));
+    }
+
+    @Test
+    public void testUnaryOperators() {
+        assertMinimal("- (1 + 2)", prefix(binary(intConst(1), intConst(2), add()), DuckDBUnaryPrefixOperator.MINUS));
+        assertMinimal("- 1 + 2", binary(prefix(intConst(1), DuckDBUnaryPrefixOperator.MINUS), intConst(2), add()));
+        assertMinimal("NOT (true AND false)",
+                prefix(binary(boolConst(true), boolConst(false), DuckDBBinaryLogicalOperator.AND),
+                        DuckDBUnaryPrefixOperator.NOT));
+        assertMinimal("NOT true AND false", binary(prefix(boolConst(true), DuckDBUnaryPrefixOperator.NOT),
+                boolConst(false), DuckDBBinaryLogicalOperator.AND));
+        assertMinimal("1 + 2 IS NULL",
+                postfix(binary(intConst(1), intConst(2), add()), DuckDBUnaryPostfixOperator.IS_NULL));
+        assertMinimal("(1 IS NULL) IS NULL",
+                postfix(postfix(intConst(1), DuckDBUnaryPostfixOperator.IS_NULL), DuckDBUnaryPostfixOperator.IS_NULL));
+    }
+
+    @Test
+    public void testLogicalAndComparison() {
+        assertMinimal("true OR false AND true",
+                binary(boolConst(true), binary(boolConst(false), boolConst(true), DuckDBBinaryLogicalOperator.AND),
+                        DuckDBBinaryLogicalOperator.OR));
+        assertMinimal("(true OR false) AND true",
+                binary(binary(boolConst(true), boolConst(false), DuckDBBinaryLogicalOperator.OR), boolConst(true),
+                        DuckDBBinaryLogicalOperator.AND));
+        assertMinimal("(1 = 1) = true", binary(binary(intConst(1), intConst(1), DuckDBBinaryComparisonOperator.EQUALS),
+                boolConst(true), DuckDBBinaryComparisonOperator.EQUALS));
+        assertMinimal("1 < 2 AND 2 < 3",
+                binary(binary(intConst(1), intConst(2), DuckDBBinaryComparisonOperator.SMALLER),
+                        binary(intConst(2), intConst(3), DuckDBBinaryComparisonOperator.SMALLER),
+                        DuckDBBinaryLogicalOperator.AND));
+    }
+
+    @Test
+    public void testFullParenthesesUnchanged() {
+        Node<DuckDBExpression> expr = binary(intConst(1), binary(intConst(2), intConst(3), mult()), add());
+        assertEquals("((1)+(((2)*(3))))", DuckDBToStringVisitor.asString(expr, false));
+    }
+
+    /**
+     * Evaluates random expressions printed with all and with the fewest parentheses in an in-memory database, which
+     * must agree on the result, or both fail.
+     */
+    @Test
+    public void testRoundTrip() throws SQLException {
+        Random r = new Random(0);
+        int nrEvaluated = 0;
+        try (Connection con = DriverManager.getConnection("jdbc:duckdb:")) {
+            for (int i = 0; i < NR_RANDOM_EXPRESSIONS; i++) {
+                Node<DuckDBExpression> expr = generateExpression(r, MAX_DEPTH);
+                String full = DuckDBToStringVisitor.asString(expr, false);
+                String minimal = DuckDBToStringVisitor.asString(expr, true);
+                String result = evaluate(con, full);
+                assertEquals(result, evaluate(con, minimal), full + " vs. " + minimal);
+                if (!result.equals(ERROR)) {
+                    nrEvaluated++;
+                }
+            }
+        }
+        assertTrue(nrEvaluated > NR_RANDOM_EXPRESSIONS / 4, "too few expressions could be evaluated");
+    }
+
+    private static String evaluate(Connection con, String expr) {
+        try (Statement s = con.createStatement()) {
+            try (ResultSet rs = s.executeQuery("SELECT " + expr)) {
+                rs.next();
+                return String.valueOf(rs.getString(1));
+            }
+        } catch (SQLException e) {
+            return ERROR;
+        }
+    }
+
+    private static Node<DuckDBExpression> generateExpression(Random r, int depth) {
+        if (depth == 0 || r.nextInt(4) == 0) {
+            switch (r.nextInt(4)) {
+            case 0:
+                return DuckDBConstant.createNullConstant();
+            case 1:
+                return boolConst(r.nextBoolean());
+            default:
+                return intConst(r.nextInt(7) - 3);
+            }
+        }
+        switch (r.nextInt(7)) {
+        case 0:
+            return binary(generateExpression(r, depth - 1), generateExpression(r, depth - 1),
+                    pick(r, DuckDBBinaryArithmeticOperator.ADD, DuckDBBinaryArithmeticOperator.SUB,
+                            DuckDBBinaryArithmeticOperator.MULT, DuckDBBinaryArithmeticOperator.MOD,
+                            DuckDBBinaryArithmeticOperator.AND, DuckDBBinaryArithmeticOperator.OR,
+                            DuckDBBinaryArithmeticOperator.LSHIFT));
+        case 1:
+            return binary(generateExpression(r, depth - 1), generateExpression(r, depth - 1),
+                    pick(r, DuckDBBinaryComparisonOperator.EQUALS, DuckDBBinaryComparisonOperator.GREATER,
+                            DuckDBBinaryComparisonOperator.SMALLER_EQUALS, DuckDBBinaryComparisonOperator.NOT_EQUALS));
+        case 2:
+            return binary(generateExpression(r, depth - 1), generateExpression(r, depth - 1),
+                    pick(r, DuckDBBinaryLogicalOperator.AND, DuckDBBinaryLogicalOperator.OR));
+        case 3:
+            return prefix(generateExpression(r, depth - 1), pick(r, DuckDBUnaryPrefixOperator.NOT,
+                    DuckDBUnaryPrefixOperator.PLUS, DuckDBUnaryPrefixOperator.MINUS));
+        case 4:
+            return postfix(generateExpression(r, depth - 1),
+                    pick(r, DuckDBUnaryPostfixOperator.IS_NULL, DuckDBUnaryPostfixOperator.IS_NOT_NULL));
+        case 5:
+            return new NewBetweenOperatorNode<>(generateExpression(r, depth - 1), generateExpression(r, depth - 1),
+                    generateExpression(r, depth - 1), r.nextBoolean());
+        default:
+            List<Node<DuckDBExpression>> list = new ArrayList<>();
+            for (int i = 0; i < 1 + r.nextInt(2); i++) {
+                list.add(generateExpression(r, depth - 1));
+            }
+            return new NewInOperatorNode<>(generateExpression(r, depth - 1), list, r.nextBoolean());
+        }
+    }
+
+    @SafeVarargs
+    private static <T extends Operator> T pick(Random r, T... ops) {
+        return ops[r.nextInt(ops.length)];
+    }
+
+    private static void assertMinimal(String expected, Node<DuckDBExpression> expr) {
+        assertEquals(expected, DuckDBToStringVisitor.asString(expr, true));
+    }
+
+    private static Node<DuckDBExpression> intConst(long val) {
+        return DuckDBConstant.createIntConstant(val);
+    }
+
+    private static Node<DuckDBExpression> boolConst(boolean val) {
+        return DuckDBConstant.createBooleanConstant(val);
+    }
+
+    private static Node<DuckDBExpression> binary(Node<DuckDBExpression> left, Node<DuckDBExpression> right,
+            Operator op) {
+        return new NewBinaryOperatorNode<>(left, right, op);
+    }
+
+    private static Node<DuckDBExpression> prefix(Node<DuckDBExpression> expr, Operator op) {
+        return new NewUnaryPrefixOperatorNode<>(expr, op);
+    }
+
+    private static Node<DuckDBExpression> postfix(Node<DuckDBExpression> expr, Operator op) {
+        return new NewUnaryPostfixOperatorNode<>(expr, op);
+    }
+
+    private static Operator add() {
+        return DuckDBBinaryArithmeticOperator.ADD;
+    }
+
+    private static Operator sub() {
+        return DuckDBBinaryArithmeticOperator.SUB;
+    }
+
+    private static Operator mult() {
+        return DuckDBBinaryArithmeticOperator.MULT;
+    }
+
+}
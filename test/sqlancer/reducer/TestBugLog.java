@@ -0,0 +1,63 @@
+package sqlancer.reducer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+public class TestBugLog {
+
+    private static BugLog parse(String... lines) throws IOException {
+        File file = File.createTempFile("database0", ".log");
+        try {
+            Files.write(file.toPath(), Arrays.asList(lines), StandardCharsets.UTF_8);
+            return new BugLog(file);
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testSplitQueries() {
+        assertEquals(Arrays.asList("SELECT 1", "SELECT 2"), BugLog.splitQueries("SELECT 1;SELECT 2"));
+        assertEquals(Arrays.asList("SELECT 'a;b'", "SELECT \"c;\"", "SELECT `d;`"),
+                BugLog.splitQueries("SELECT 'a;b';SELECT \"c;\";SELECT `d;`"));
+        // a doubled quote ends the literal and starts a new one
+        assertEquals(Arrays.asList("SELECT 'it''s;'", "SELECT 1"), BugLog.splitQueries("SELECT 'it''s;';SELECT 1"));
+        assertEquals(Arrays.asList("SELECT 1 UNION ALL SELECT ';'"),
+                BugLog.splitQueries("SELECT 1 UNION ALL SELECT ';'"));
+    }
+
+    @Test
+    public void testResultSetMismatchWithSemicolonInLiteral() throws IOException {
+        BugLog log = parse("--java.lang.AssertionError: the content of the result sets mismatch!",
+                "CREATE TABLE t0(c0);", "INSERT INTO t0 VALUES ('a;b');", "SELECT c0 FROM t0; -- misses: [a;b];",
+                "SELECT c0 FROM t0 WHERE c0 = 'a;b';SELECT c0 FROM t0 WHERE NOT (c0 = 'a;b');"
+                        + "SELECT c0 FROM t0 WHERE (c0 = 'a;b') IS NULL; -- misses: [];");
+        assertEquals(Arrays.asList("CREATE TABLE t0(c0)", "INSERT INTO t0 VALUES ('a;b')"), log.getStatements());
+        assertTrue(log.getTest() instanceof InterestingnessTest.ResultSetMismatch);
+        assertEquals(
+                Arrays.asList("SELECT c0 FROM t0", "SELECT c0 FROM t0 WHERE c0 = 'a;b'",
+                        "SELECT c0 FROM t0 WHERE NOT (c0 = 'a;b')", "SELECT c0 FROM t0 WHERE (c0 = 'a;b') IS NULL"),
+                log.getTest().getQueries());
+    }
+
+    @Test
+    public void testResultSetMismatchWithUnion() throws IOException {
+        BugLog log = parse("CREATE TABLE t0(c0);", "SELECT c0 FROM t0; -- cardinality: 1;",
+                "SELECT c0 FROM t0 WHERE c0 UNION ALL SELECT c0 FROM t0 WHERE NOT c0 UNION ALL "
+                        + "SELECT c0 FROM t0 WHERE c0 IS NULL; -- cardinality: 0;");
+        assertEquals(
+                Arrays.asList("SELECT c0 FROM t0",
+                        "SELECT c0 FROM t0 WHERE c0 UNION ALL SELECT c0 FROM t0 "
+                                + "WHERE NOT c0 UNION ALL SELECT c0 FROM t0 WHERE c0 IS NULL"),
+                log.getTest().getQueries());
+    }
+
+}
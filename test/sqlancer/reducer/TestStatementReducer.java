@@ -0,0 +1,103 @@
+package sqlancer.reducer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.Test;
+
+import com.beust.jcommander.JCommander;
+
+import sqlancer.MainOptions;
+import sqlancer.sqlite3.SQLite3Options;
+import sqlancer.sqlite3.SQLite3Options.SQLite3StorageMode;
+import sqlancer.sqlite3.SQLite3Provider;
+
+/**
+ * Checks the delta debugging of {@link StatementReducer} on in-memory SQLite databases.
+ */
+public class TestStatementReducer {
+
+    private static final String CREATE_TABLE = "CREATE TABLE t0(c0)";
+
+    private static StatementReducer createReducer(String databaseName, Predicate<List<Integer>> isInteresting)
+            throws SQLException {
+        MainOptions options = new MainOptions();
+        JCommander.newBuilder().addObject(options).build().parse("--num-threads", "2");
+        SQLite3Options sqliteOptions = new SQLite3Options();
+        sqliteOptions.storageMode = SQLite3StorageMode.MEMORY;
+        return new StatementReducer(new SQLite3Provider.Factory(), sqliteOptions, options, databaseName,
+                new InterestingnessTest() {
+
+                    @Override
+                    public boolean isInteresting(Connection con) {
+                        List<Integer> values = new ArrayList<>();
+                        try (Statement s = con.createStatement()) {
+                            try (ResultSet rs = s.executeQuery("SELECT c0 FROM t0 ORDER BY c0")) {
+                                while (rs.next()) {
+                                    values.add(rs.getInt(1));
+                                }
+                            }
+                        } catch (SQLException e) {
+                            return false;
+                        }
+                        return isInteresting.test(values);
+                    }
+
+                    @Override
+                    public List<String> getQueries() {
+                        return Collections.emptyList();
+                    }
+
+                });
+    }
+
+    private static List<String> getInserts(int nrRows) {
+        List<String> statements = new ArrayList<>();
+        for (int i = 0; i < nrRows; i++) {
+            statements.add("INSERT INTO t0 VALUES (" + i + ")");
+        }
+        return statements;
+    }
+
+    @Test
+    public void testReduceToRequiredStatements() throws SQLException {
+        StatementReducer reducer = createReducer("reducer0", v -> v.contains(3) && v.contains(7));
+        List<String> statements = new ArrayList<>();
+        statements.add(CREATE_TABLE);
+        statements.addAll(getInserts(20));
+        assertEquals(Arrays.asList(CREATE_TABLE, "INSERT INTO t0 VALUES (3)", "INSERT INTO t0 VALUES (7)"),
+                reducer.reduce(statements));
+    }
+
+    @Test
+    public void testReduceKeepsOrder() throws SQLException {
+        // the bug needs the row to be updated after it was inserted
+        StatementReducer reducer = createReducer("reducer1", v -> v.contains(100) && v.contains(7));
+        List<String> statements = new ArrayList<>();
+        statements.add(CREATE_TABLE);
+        statements.addAll(getInserts(10));
+        statements.add("UPDATE t0 SET c0 = 100 WHERE c0 = 3");
+        statements.add("CREATE INDEX i0 ON t0(c0)");
+        assertEquals(Arrays.asList(CREATE_TABLE, "INSERT INTO t0 VALUES (3)", "INSERT INTO t0 VALUES (7)",
+                "UPDATE t0 SET c0 = 100 WHERE c0 = 3"), reducer.reduce(statements));
+    }
+
+    @Test
+    public void testReduceToSingleStatement() throws SQLException {
+        StatementReducer reducer = createReducer("reducer2", v -> true);
+        List<String> statements = new ArrayList<>();
+        statements.add(CREATE_TABLE);
+        statements.addAll(getInserts(9));
+        assertEquals(Arrays.asList(CREATE_TABLE), reducer.reduce(statements));
+    }
+
+}
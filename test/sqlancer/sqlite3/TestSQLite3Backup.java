@@ -0,0 +1,50 @@
+package sqlancer.sqlite3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.junit.jupiter.api.Test;
+
+public class TestSQLite3Backup {
+
+    @Test
+    public void testBackupAndRestoreWithSpacesInPath() throws IOException, SQLException {
+        File dir = Files.createTempDirectory("sqlancer backup's dir").toFile();
+        File backup = new File(dir, "database 0.db");
+        try {
+            try (Connection con = DriverManager.getConnection("jdbc:sqlite::memory:");
+                    Statement s = con.createStatement()) {
+                s.execute("CREATE TABLE t0(c0)");
+                s.execute("INSERT INTO t0 VALUES (1)");
+                s.executeUpdate("backup to " + SQLite3Provider.quotePath(backup));
+            }
+            try (Connection con = DriverManager.getConnection("jdbc:sqlite::memory:");
+                    Statement s = con.createStatement()) {
+                s.executeUpdate("restore from " + SQLite3Provider.quotePath(backup));
+                try (ResultSet rs = s.executeQuery("SELECT COUNT(*) FROM t0")) {
+                    assertEquals(1, rs.getInt(1));
+                }
+            }
+        } finally {
+            backup.delete();
+            dir.delete();
+        }
+    }
+
+    @Test
+    public void testQuotePath() {
+        assertEquals("\"/a b/c.db\"", SQLite3Provider.quotePath(new File("/a b/c.db")));
+        assertEquals("'/a\"b/c.db'", SQLite3Provider.quotePath(new File("/a\"b/c.db")));
+        assertThrows(IllegalArgumentException.class, () -> SQLite3Provider.quotePath(new File("/a\"b'/c.db")));
+    }
+
+}
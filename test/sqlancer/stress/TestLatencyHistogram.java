@@ -0,0 +1,47 @@
+package sqlancer.stress;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class TestLatencyHistogram {
+
+    @Test
+    public void testEmpty() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals("-", histogram.getPercentile(0.5));
+    }
+
+    @Test
+    public void testBucketUpperBounds() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(500);
+        assertEquals("<1 us", histogram.getPercentile(0.5));
+        histogram = new LatencyHistogram();
+        histogram.record(TimeUnit.MICROSECONDS.toNanos(8));
+        assertEquals("<16 us", histogram.getPercentile(0.5));
+        histogram = new LatencyHistogram();
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(5));
+        assertEquals("<8 ms", histogram.getPercentile(0.5));
+    }
+
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 90; i++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(10));
+        }
+        for (int i = 0; i < 9; i++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(5));
+        }
+        histogram.record(TimeUnit.SECONDS.toNanos(1));
+        assertEquals("<16 us", histogram.getPercentile(0.5));
+        assertEquals("<16 us", histogram.getPercentile(0.9));
+        assertEquals("<8 ms", histogram.getPercentile(0.95));
+        assertEquals("<8 ms", histogram.getPercentile(0.99));
+        assertEquals("<1048 ms", histogram.getPercentile(1));
+    }
+
+}